@@ -15,7 +15,7 @@ import java.util.logging.Logger;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockCoverage;
 import org.pitest.coverage.BlockLocation;
-import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.IndexedCoverageData;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
 import org.pitest.coverage.analysis.LineMapper;
@@ -82,11 +82,11 @@ public final class ReportAggregator {
     };
   }
 
-  private CoverageData calculateCoverage(final CodeSource codeSource, final MutationMetaData metadata) throws ReportAggregationException {
+  private IndexedCoverageData calculateCoverage(final CodeSource codeSource, final MutationMetaData metadata) throws ReportAggregationException {
     final Collection<BlockCoverage> coverageData = this.blockCoverageLoader.loadData();
     try {
       final Map<BlockLocation, Set<TestInfo>> blockCoverageMap = blocksToMap(coverageData);
-      return new CoverageData(codeSource, new LineMapper(codeSource),blockCoverageMap);
+      return new IndexedCoverageData(codeSource, new LineMapper(codeSource), blockCoverageMap);
     } catch (final Exception e) {
       throw new ReportAggregationException(e.getMessage(), e);
     }
@@ -253,4 +253,44 @@ public class PitestTask extends Task { // NO_UCD (test only)
   public void setUseClasspathJar(String value) {
     this.setOption(ConfigOption.USE_CLASSPATH_JAR, value);
   }
+
+  public void setMinionReuseLimit(String value) {
+    this.setOption(ConfigOption.MINION_REUSE_LIMIT, value);
+  }
+
+  public void setAdaptiveTimeouts(String value) {
+    this.setOption(ConfigOption.ADAPTIVE_TIMEOUTS, value);
+  }
+
+  public void setMutantSchemata(String value) {
+    this.setOption(ConfigOption.MUTANT_SCHEMATA, value);
+  }
+
+  public void setBlockTargeting(String value) {
+    this.setOption(ConfigOption.BLOCK_TARGETING, value);
+  }
+
+  public void setCostBalancedUnits(String value) {
+    this.setOption(ConfigOption.COST_BALANCED_UNITS, value);
+  }
+
+  public void setWorkStealing(String value) {
+    this.setOption(ConfigOption.WORK_STEALING, value);
+  }
+
+  public void setRemoteAgents(String value) {
+    this.setOption(ConfigOption.REMOTE_AGENTS, value);
+  }
+
+  public void setBatchTestsByClass(String value) {
+    this.setOption(ConfigOption.BATCH_TESTS_BY_CLASS, value);
+  }
+
+  public void setClassDataSharing(String value) {
+    this.setOption(ConfigOption.CLASS_DATA_SHARING, value);
+  }
+
+  public void setCooperativeTimeouts(String value) {
+    this.setOption(ConfigOption.COOPERATIVE_TIMEOUTS, value);
+  }
 }
\ No newline at end of file
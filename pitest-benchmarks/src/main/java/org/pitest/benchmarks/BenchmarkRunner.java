@@ -0,0 +1,42 @@
+package org.pitest.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, accepting the usual JMH command line options.
+ *
+ * Unless told otherwise results are written as JSON to jmh-result.json in
+ * the working directory, so that runs against different versions of pitest
+ * can be compared.
+ */
+public final class BenchmarkRunner {
+
+  static final String DEFAULT_RESULTS = "jmh-result.json";
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(final String[] args) throws RunnerException,
+      CommandLineOptionException {
+    final CommandLineOptions commandLine = new CommandLineOptions(args);
+    final ChainedOptionsBuilder options = new OptionsBuilder()
+        .parent(commandLine);
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      options.result(DEFAULT_RESULTS);
+    }
+    new Runner(options.build()).run();
+  }
+
+}
@@ -0,0 +1,108 @@
+package org.pitest.benchmarks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.benchmarks.fixtures.Fixtures;
+
+import sun.pitest.CodeCoverageStore;
+
+/**
+ * The probe calls made by instrumented code under test during coverage, and
+ * the collection of hits after each test.
+ *
+ * Each test touches the same number of classes whatever the number loaded,
+ * so the per test cost should not grow with the number of classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeCoverageStoreBenchmark {
+
+  private static final int PROBES_PER_CLASS = 64;
+  private static final int CLASSES_PER_TEST = 50;
+
+  @Param({ "100", "5000", "50000" })
+  public int               classes;
+
+  private boolean[]        probes;
+  private int              next;
+
+  @Setup(Level.Trial)
+  public void registerClasses() {
+    CodeCoverageStore.resetAllStaticState();
+    for (int i = 0; i != this.classes; i++) {
+      CodeCoverageStore.registerClassProbes(i, PROBES_PER_CLASS);
+    }
+
+    final Random random = new Random(Fixtures.SEED);
+    this.probes = new boolean[16];
+    for (int i = 0; i != this.probes.length; i++) {
+      this.probes[i] = random.nextBoolean();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void runTest() {
+    CodeCoverageStore.reset();
+    visitClassesForTest();
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Benchmark
+  public void visitProbesArray() {
+    CodeCoverageStore.visitProbes(nextClass(), 16, this.probes);
+  }
+
+  @Benchmark
+  public void visitProbesUnrolled() {
+    CodeCoverageStore.visitProbes(nextClass(), 32, true, false, true);
+  }
+
+  @Benchmark
+  public Collection<Long> getHits() {
+    return CodeCoverageStore.getHits();
+  }
+
+  @Benchmark
+  public Map<Integer, boolean[]> perTestOverhead() {
+    CodeCoverageStore.reset();
+    visitClassesForTest();
+    return CodeCoverageStore.getClassHits();
+  }
+
+  private void visitClassesForTest() {
+    final int step = this.classes / CLASSES_PER_TEST;
+    for (int i = 0; i != CLASSES_PER_TEST; i++) {
+      CodeCoverageStore.visitProbes(i * step, 0, this.probes);
+    }
+  }
+
+  private int nextClass() {
+    this.next = (this.next + 1) % this.classes;
+    return this.next;
+  }
+
+}
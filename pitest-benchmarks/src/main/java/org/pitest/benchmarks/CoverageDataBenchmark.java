@@ -0,0 +1,196 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.benchmarks.fixtures.Fixtures;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.IndexedCoverageData;
+import org.pitest.coverage.LineMap;
+import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.analysis.LineMapper;
+import org.pitest.testapi.Description;
+
+/**
+ * Building the coverage database from the results sent by the coverage
+ * minion, and the lookups made when assigning tests to mutants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoverageDataBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Results {
+
+    @Param({ "100", "2000" })
+    public int                   tests;
+
+    private CodeSource           code;
+    private LineMap              lineMap;
+    private List<CoverageResult> results;
+    private List<ClassLine>      lines;
+
+    @Setup(Level.Trial)
+    public void create() {
+      this.code = Fixtures.codeSource();
+      this.lineMap = new LineMapper(this.code);
+
+      final List<BlockLocation> blocks = new ArrayList<>();
+      this.lines = new ArrayList<>();
+      for (final ClassName each : Fixtures.CLASSES) {
+        for (final Entry<BlockLocation, Set<Integer>> block : this.lineMap
+            .mapLines(each).entrySet()) {
+          blocks.add(block.getKey());
+          for (final int line : block.getValue()) {
+            this.lines.add(new ClassLine(each, line));
+          }
+        }
+      }
+
+      // each test visits around a fifth of the blocks
+      final Random random = new Random(Fixtures.SEED);
+      this.results = new ArrayList<>();
+      for (int i = 0; i != this.tests; i++) {
+        final List<BlockLocation> visited = new ArrayList<>();
+        for (final BlockLocation each : blocks) {
+          if (random.nextInt(5) == 0) {
+            visited.add(each);
+          }
+        }
+        this.results.add(new CoverageResult(new Description("test" + i,
+            "com.example.FixtureTest" + (i % 20)), random.nextInt(100), true,
+            visited));
+      }
+    }
+
+    CoverageData populate(final CoverageData data) {
+      for (final CoverageResult each : this.results) {
+        data.calculateClassCoverage(each);
+      }
+      return data;
+    }
+
+    IndexedCoverageData populate(final IndexedCoverageData data) {
+      for (final CoverageResult each : this.results) {
+        data.calculateClassCoverage(each);
+      }
+      return data;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class EmptyDatabase {
+
+    private CoverageData data;
+
+    // a fresh database is needed for each call, but each call adds thousands
+    // of results so the per invocation setup does not skew the measurement
+    @Setup(Level.Invocation)
+    public void create(final Results results) {
+      this.data = new CoverageData(results.code, results.lineMap);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class PopulatedDatabase {
+
+    private CoverageData data;
+    private int          next;
+
+    @Setup(Level.Trial)
+    public void create(final Results results) {
+      this.data = results.populate(new CoverageData(results.code,
+          results.lineMap));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class EmptyIndexedDatabase {
+
+    private IndexedCoverageData data;
+
+    @Setup(Level.Invocation)
+    public void create(final Results results) {
+      this.data = new IndexedCoverageData(results.code, results.lineMap);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class PopulatedIndexedDatabase {
+
+    private IndexedCoverageData data;
+    private int                 next;
+
+    @Setup(Level.Trial)
+    public void create(final Results results) {
+      this.data = results.populate(new IndexedCoverageData(results.code,
+          results.lineMap));
+    }
+  }
+
+  @Benchmark
+  public CoverageData calculateClassCoverage(final Results results,
+      final EmptyDatabase empty) {
+    return results.populate(empty.data);
+  }
+
+  @Benchmark
+  public Collection<TestInfo> getTestsForClassLine(final Results results,
+      final PopulatedDatabase database) {
+    database.next = (database.next + 1) % results.lines.size();
+    return database.data.getTestsForClassLine(results.lines.get(database.next));
+  }
+
+  @Benchmark
+  public Collection<TestInfo> getTestsForClass(
+      final PopulatedDatabase database) {
+    database.next = (database.next + 1) % Fixtures.CLASSES.size();
+    return database.data.getTestsForClass(Fixtures.CLASSES.get(database.next));
+  }
+
+  @Benchmark
+  public IndexedCoverageData calculateIndexedCoverage(final Results results,
+      final EmptyIndexedDatabase empty) {
+    return results.populate(empty.data);
+  }
+
+  @Benchmark
+  public Collection<TestInfo> getTestsForClassLineIndexed(
+      final Results results, final PopulatedIndexedDatabase database) {
+    database.next = (database.next + 1) % results.lines.size();
+    return database.data.getTestsForClassLine(results.lines.get(database.next));
+  }
+
+  @Benchmark
+  public Collection<TestInfo> getTestsForClassIndexed(
+      final PopulatedIndexedDatabase database) {
+    database.next = (database.next + 1) % Fixtures.CLASSES.size();
+    return database.data.getTestsForClass(Fixtures.CLASSES.get(database.next));
+  }
+
+}
@@ -0,0 +1,65 @@
+package org.pitest.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+/**
+ * Finding the mutations in a class, and creating the bytes of each mutant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GregorMutaterBenchmark {
+
+  @Param({ "org.pitest.benchmarks.fixtures.Ledger",
+      "org.pitest.benchmarks.fixtures.TextStatistics" })
+  public String                 clazz;
+
+  private ClassName             name;
+  private GregorMutater         mutater;
+  private List<MutationDetails> mutations;
+  private int                   next;
+
+  @Setup(Level.Trial)
+  public void findAllMutations() {
+    this.name = ClassName.fromString(this.clazz);
+    this.mutater = new GregorMutater(new ClassloaderByteArraySource(
+        GregorMutaterBenchmark.class.getClassLoader()), m -> true,
+        Mutator.all());
+    this.mutations = this.mutater.findMutations(this.name);
+  }
+
+  @Benchmark
+  public List<MutationDetails> findMutations() {
+    return this.mutater.findMutations(this.name);
+  }
+
+  @Benchmark
+  public Mutant getMutation() {
+    this.next = (this.next + 1) % this.mutations.size();
+    return this.mutater.getMutation(this.mutations.get(this.next).getId());
+  }
+
+}
@@ -0,0 +1,114 @@
+package org.pitest.benchmarks;
+
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.benchmarks.fixtures.Fixtures;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
+import org.pitest.mutationtest.incremental.WriterFactory;
+
+/**
+ * Saving the results of a run to the history file, and reading them back at
+ * the start of the next.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryStoreBenchmark {
+
+  @Param({ "1000", "10000" })
+  public int                   mutants;
+
+  private List<MutationResult> results;
+  private String               saved;
+
+  @Setup(Level.Trial)
+  public void createHistory() {
+    final Random random = new Random(Fixtures.SEED);
+    this.results = new ArrayList<>();
+    for (int i = 0; i != this.mutants; i++) {
+      final ClassName clazz = ClassName.fromString("com.example.Class"
+          + random.nextInt(100));
+      final MutationIdentifier id = new MutationIdentifier(Location.location(
+          clazz, MethodName.fromString("method" + random.nextInt(10)), "()V"),
+          random.nextInt(200), "org.pitest.mutator" + random.nextInt(10));
+      this.results.add(new MutationResult(new MutationDetails(id, "Class.java",
+          "a mutation", random.nextInt(500), 0), new MutationStatusTestPair(1,
+          DetectionStatus.KILLED, Arrays.asList(clazz.asJavaName() + "Test"),
+          Collections.<String> emptyList())));
+    }
+    this.saved = save().toString();
+  }
+
+  @Benchmark
+  public StringWriter save() {
+    final StringWriter out = new StringWriter();
+    final WriterFactory output = writerTo(out);
+    final ObjectOutputStreamHistoryStore store = new ObjectOutputStreamHistoryStore(
+        output, Optional.<Reader> empty());
+    // an empty classpath section, as stored when no classes were analysed
+    output.create().println(0);
+    for (final MutationResult each : this.results) {
+      store.recordResult(each);
+    }
+    return out;
+  }
+
+  @Benchmark
+  public Map<MutationIdentifier, MutationStatusTestPair> load() {
+    final ObjectOutputStreamHistoryStore store = new ObjectOutputStreamHistoryStore(
+        writerTo(new StringWriter()), Optional.<Reader> of(new StringReader(
+            this.saved)));
+    store.initialize();
+    return store.getHistoricResults();
+  }
+
+  private static WriterFactory writerTo(final StringWriter out) {
+    final PrintWriter writer = new PrintWriter(out);
+    return new WriterFactory() {
+      @Override
+      public PrintWriter create() {
+        return writer;
+      }
+
+      @Override
+      public void close() {
+        writer.close();
+      }
+    };
+  }
+
+}
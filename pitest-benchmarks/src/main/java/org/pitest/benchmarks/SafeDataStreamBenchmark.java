@@ -0,0 +1,84 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.benchmarks.fixtures.Fixtures;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.MessageCodec;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Writing and reading back the messages a mutation minion sends for each
+ * mutant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeDataStreamBenchmark {
+
+  private static final int                   MUTANTS = 1000;
+
+  private final List<MutationIdentifier>     ids     = new ArrayList<>();
+  private final List<MutationStatusTestPair> results = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void createMessages() {
+    final Random random = new Random(Fixtures.SEED);
+    for (int i = 0; i != MUTANTS; i++) {
+      final ClassName clazz = ClassName.fromString("com.example.Class"
+          + random.nextInt(50));
+      this.ids.add(new MutationIdentifier(Location.location(clazz,
+          MethodName.fromString("method" + random.nextInt(10)), "(I)I"),
+          random.nextInt(200), "org.pitest.mutator" + random.nextInt(10)));
+      this.results.add(new MutationStatusTestPair(1 + random.nextInt(5),
+          DetectionStatus.KILLED, Arrays.asList(clazz.asJavaName() + "Test.test"
+              + random.nextInt(20)), Arrays.<String> asList()));
+    }
+  }
+
+  @Benchmark
+  public void roundTrip(final Blackhole bh) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    for (int i = 0; i != MUTANTS; i++) {
+      MessageCodec.writeMutationIdentifier(dos, this.ids.get(i));
+      MessageCodec.writeStatusTestPair(dos, this.results.get(i));
+    }
+    dos.flush();
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    for (int i = 0; i != MUTANTS; i++) {
+      bh.consume(MessageCodec.readMutationIdentifier(dis));
+      bh.consume(MessageCodec.readStatusTestPair(dis));
+    }
+  }
+
+}
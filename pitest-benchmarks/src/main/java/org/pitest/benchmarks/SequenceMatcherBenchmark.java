@@ -0,0 +1,83 @@
+package org.pitest.benchmarks;
+
+import static org.pitest.bytecode.analysis.InstructionMatchers.anyInstruction;
+import static org.pitest.bytecode.analysis.InstructionMatchers.aConditionalJump;
+import static org.pitest.bytecode.analysis.InstructionMatchers.methodCallNamed;
+import static org.pitest.bytecode.analysis.InstructionMatchers.notAnInstruction;
+import static org.pitest.bytecode.analysis.InstructionMatchers.opCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.benchmarks.fixtures.Fixtures;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.bytecode.analysis.MethodTree;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.sequence.QueryParams;
+import org.pitest.sequence.QueryStart;
+import org.pitest.sequence.SequenceMatcher;
+
+/**
+ * Matching an instruction sequence query, of the sort used by the mutation
+ * filters, against every method of the fixture classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceMatcherBenchmark {
+
+  // an iterator based loop
+  private static final SequenceMatcher<AbstractInsnNode> ITERATOR_LOOP = QueryStart
+      .any(AbstractInsnNode.class)
+      .zeroOrMore(QueryStart.match(anyInstruction()))
+      .then(methodCallNamed("iterator"))
+      .then(opCode(Opcodes.ASTORE))
+      .zeroOrMore(QueryStart.match(anyInstruction()))
+      .then(methodCallNamed("hasNext"))
+      .then(aConditionalJump())
+      .zeroOrMore(QueryStart.match(anyInstruction()))
+      .compile(QueryParams.params(AbstractInsnNode.class)
+          .withIgnores(notAnInstruction()));
+
+  private final List<List<AbstractInsnNode>> methods = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void readMethods() {
+    final ClassloaderByteArraySource source = new ClassloaderByteArraySource(
+        SequenceMatcherBenchmark.class.getClassLoader());
+    for (final ClassName each : Fixtures.CLASSES) {
+      final ClassTree tree = ClassTree.fromBytes(source.getBytes(
+          each.asJavaName()).get());
+      for (final MethodTree method : tree.methods()) {
+        this.methods.add(method.instructions());
+      }
+    }
+  }
+
+  @Benchmark
+  public void matches(final Blackhole bh) {
+    for (final List<AbstractInsnNode> each : this.methods) {
+      bh.consume(ITERATOR_LOOP.matches(each));
+    }
+  }
+
+}
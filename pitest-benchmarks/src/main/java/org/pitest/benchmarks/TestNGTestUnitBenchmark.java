@@ -0,0 +1,118 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.benchmarks.fixtures.Ledger;
+import org.pitest.testapi.BatchableTestUnit;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestResult;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.execute.containers.ConcreteResultCollector;
+import org.pitest.testng.TestNGTestUnit;
+import org.pitest.testng.TestNGTestUnitFinder;
+import org.testng.Assert;
+
+/**
+ * The cost of each invocation of TestNG against a mutant. Running the whole
+ * class by rebuilding its suite, as is done by default, is compared with
+ * selecting a single method, or a batch of methods, from a suite prepared
+ * once for the class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestNGTestUnitBenchmark {
+
+  private TestUnit         wholeClass;
+  private TestUnit         singleMethod;
+  private TestUnit         batchedMethods;
+
+  private List<TestResult> results;
+
+  @Setup(Level.Trial)
+  public void createUnits() {
+    final TestGroupConfig config = new TestGroupConfig();
+    this.wholeClass = new TestNGTestUnit(LedgerTest.class, config,
+        Collections.<String> emptyList());
+
+    final List<TestUnit> methods = new TestNGTestUnitFinder(config,
+        Collections.<String> emptyList(), true).findTestUnits(LedgerTest.class);
+    this.singleMethod = methods.get(0);
+    this.batchedMethods = ((BatchableTestUnit) methods.get(0))
+        .batchWith(methods.subList(1, methods.size()));
+  }
+
+  @Setup(Level.Invocation)
+  public void clearResults() {
+    this.results = new ArrayList<>();
+  }
+
+  @Benchmark
+  public List<TestResult> wholeClassWithSuiteBuiltEachTime() {
+    this.wholeClass.execute(new ConcreteResultCollector(this.results));
+    return this.results;
+  }
+
+  @Benchmark
+  public List<TestResult> singleMethodFromPreparedSuite() {
+    this.singleMethod.execute(new ConcreteResultCollector(this.results));
+    return this.results;
+  }
+
+  @Benchmark
+  public List<TestResult> batchOfMethodsFromPreparedSuite() {
+    this.batchedMethods.execute(new ConcreteResultCollector(this.results));
+    return this.results;
+  }
+
+  public static class LedgerTest {
+
+    @org.testng.annotations.Test
+    public void shouldPostToAccount() {
+      final Ledger ledger = new Ledger(0);
+      Assert.assertTrue(ledger.post("a", 10));
+      Assert.assertEquals(ledger.balance("a"), 10);
+    }
+
+    @org.testng.annotations.Test
+    public void shouldRefuseToExceedOverdraft() {
+      final Ledger ledger = new Ledger(5);
+      Assert.assertFalse(ledger.post("a", -10));
+    }
+
+    @org.testng.annotations.Test
+    public void shouldTransferBetweenAccounts() {
+      final Ledger ledger = new Ledger(0);
+      ledger.post("a", 10);
+      Assert.assertTrue(ledger.transfer("a", "b", 4));
+      Assert.assertEquals(ledger.balance("b"), 4);
+    }
+
+    @org.testng.annotations.Test
+    public void shouldTotalAllAccounts() {
+      final Ledger ledger = new Ledger(0);
+      ledger.post("a", 10);
+      ledger.post("b", 5);
+      Assert.assertEquals(ledger.total(), 15);
+    }
+
+  }
+
+}
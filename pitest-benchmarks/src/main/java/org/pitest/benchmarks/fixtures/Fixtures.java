@@ -0,0 +1,41 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassFilter;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.PathFilter;
+import org.pitest.classpath.ProjectClassPaths;
+
+/**
+ * Shared fixture data. Random data is always generated from a fixed seed so
+ * that each run measures the same work.
+ */
+public final class Fixtures {
+
+  public static final long            SEED    = 42;
+
+  public static final List<ClassName> CLASSES = Arrays.asList(
+      ClassName.fromClass(Ledger.class),
+      ClassName.fromClass(TextStatistics.class));
+
+  private Fixtures() {
+  }
+
+  /**
+   * @return a code source treating the fixture classes as the code under
+   *         test
+   */
+  public static CodeSource codeSource() {
+    final String fixtures = Fixtures.class.getPackage().getName() + ".";
+    final ClassFilter classes = new ClassFilter(name -> false,
+        name -> name.startsWith(fixtures) && !name.equals(Fixtures.class.getName()));
+    final PathFilter paths = new PathFilter(root -> true, root -> true);
+    return new CodeSource(new ProjectClassPaths(new ClassPath(), classes,
+        paths));
+  }
+
+}
@@ -0,0 +1,111 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixture for the benchmarks. Typical business logic with loops, branches,
+ * arithmetic and calls to collections.
+ */
+public class Ledger {
+
+  private final List<Entry>       entries  = new ArrayList<>();
+  private final Map<String, Long> balances = new HashMap<>();
+  private final long              overdraftLimit;
+
+  public Ledger(final long overdraftLimit) {
+    this.overdraftLimit = overdraftLimit;
+  }
+
+  public boolean post(final String account, final long amount) {
+    if (account == null || account.isEmpty()) {
+      throw new IllegalArgumentException("No account");
+    }
+    final long current = balance(account);
+    final long next = current + amount;
+    if (next < -this.overdraftLimit) {
+      return false;
+    }
+    this.balances.put(account, next);
+    this.entries.add(new Entry(account, amount));
+    return true;
+  }
+
+  public boolean transfer(final String from, final String to, final long amount) {
+    if (amount <= 0 || from.equals(to)) {
+      return false;
+    }
+    if (!post(from, -amount)) {
+      return false;
+    }
+    post(to, amount);
+    return true;
+  }
+
+  public long balance(final String account) {
+    final Long balance = this.balances.get(account);
+    return balance == null ? 0 : balance;
+  }
+
+  public long total() {
+    long total = 0;
+    for (final long each : this.balances.values()) {
+      total += each;
+    }
+    return total;
+  }
+
+  public List<String> accountsInDebit() {
+    final List<String> debit = new ArrayList<>();
+    for (final Map.Entry<String, Long> each : this.balances.entrySet()) {
+      if (each.getValue() < 0) {
+        debit.add(each.getKey());
+      }
+    }
+    Collections.sort(debit);
+    return debit;
+  }
+
+  public long largestMovement(final String account) {
+    long largest = 0;
+    for (int i = 0; i != this.entries.size(); i++) {
+      final Entry entry = this.entries.get(i);
+      if (entry.account.equals(account) && Math.abs(entry.amount) > largest) {
+        largest = Math.abs(entry.amount);
+      }
+    }
+    return largest;
+  }
+
+  public long interest(final String account, final int basisPoints) {
+    final long balance = balance(account);
+    if (balance <= 0) {
+      return 0;
+    }
+    return (balance * basisPoints) / 10000;
+  }
+
+  public int countEntries(final String account) {
+    int count = 0;
+    for (final Entry each : this.entries) {
+      if (each.account.equals(account)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static final class Entry {
+    private final String account;
+    private final long   amount;
+
+    Entry(final String account, final long amount) {
+      this.account = account;
+      this.amount = amount;
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixture for the benchmarks. String handling with nested loops, switches
+ * and early returns.
+ */
+public class TextStatistics {
+
+  private final String text;
+
+  public TextStatistics(final String text) {
+    this.text = text;
+  }
+
+  public int words() {
+    int words = 0;
+    boolean inWord = false;
+    for (int i = 0; i < this.text.length(); i++) {
+      final char c = this.text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        if (!inWord) {
+          words++;
+          inWord = true;
+        }
+      } else {
+        inWord = false;
+      }
+    }
+    return words;
+  }
+
+  public int sentences() {
+    int sentences = 0;
+    for (final char c : this.text.toCharArray()) {
+      switch (c) {
+      case '.':
+      case '!':
+      case '?':
+        sentences++;
+        break;
+      default:
+        break;
+      }
+    }
+    return sentences;
+  }
+
+  public double averageWordLength() {
+    final int words = words();
+    if (words == 0) {
+      return 0;
+    }
+    int letters = 0;
+    for (int i = 0; i < this.text.length(); i++) {
+      if (Character.isLetterOrDigit(this.text.charAt(i))) {
+        letters++;
+      }
+    }
+    return (double) letters / words;
+  }
+
+  public Map<Character, Integer> letterFrequencies() {
+    final Map<Character, Integer> frequencies = new LinkedHashMap<>();
+    for (final char c : this.text.toLowerCase().toCharArray()) {
+      if (c >= 'a' && c <= 'z') {
+        final Integer count = frequencies.get(c);
+        frequencies.put(c, count == null ? 1 : count + 1);
+      }
+    }
+    return frequencies;
+  }
+
+  public char mostCommonLetter() {
+    char best = ' ';
+    int bestCount = 0;
+    final Iterator<Map.Entry<Character, Integer>> it = letterFrequencies()
+        .entrySet().iterator();
+    while (it.hasNext()) {
+      final Map.Entry<Character, Integer> each = it.next();
+      if (each.getValue() > bestCount) {
+        best = each.getKey();
+        bestCount = each.getValue();
+      }
+    }
+    return best;
+  }
+
+  public boolean isPalindrome() {
+    int left = 0;
+    int right = this.text.length() - 1;
+    while (left < right) {
+      if (!Character.isLetterOrDigit(this.text.charAt(left))) {
+        left++;
+      } else if (!Character.isLetterOrDigit(this.text.charAt(right))) {
+        right--;
+      } else if (Character.toLowerCase(this.text.charAt(left)) != Character
+          .toLowerCase(this.text.charAt(right))) {
+        return false;
+      } else {
+        left++;
+        right--;
+      }
+    }
+    return true;
+  }
+
+}
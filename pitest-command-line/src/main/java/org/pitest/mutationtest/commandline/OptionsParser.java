@@ -55,6 +55,16 @@ import static org.pitest.mutationtest.config.ConfigOption.TIME_STAMPED_REPORTS;
 import static org.pitest.mutationtest.config.ConfigOption.USE_CLASSPATH_JAR;
 import static org.pitest.mutationtest.config.ConfigOption.USE_INLINED_CODE_DETECTION;
 import static org.pitest.mutationtest.config.ConfigOption.VERBOSE;
+import static org.pitest.mutationtest.config.ConfigOption.MINION_REUSE_LIMIT;
+import static org.pitest.mutationtest.config.ConfigOption.ADAPTIVE_TIMEOUTS;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_SCHEMATA;
+import static org.pitest.mutationtest.config.ConfigOption.BLOCK_TARGETING;
+import static org.pitest.mutationtest.config.ConfigOption.COST_BALANCED_UNITS;
+import static org.pitest.mutationtest.config.ConfigOption.WORK_STEALING;
+import static org.pitest.mutationtest.config.ConfigOption.REMOTE_AGENTS;
+import static org.pitest.mutationtest.config.ConfigOption.BATCH_TESTS_BY_CLASS;
+import static org.pitest.mutationtest.config.ConfigOption.CLASS_DATA_SHARING;
+import static org.pitest.mutationtest.config.ConfigOption.COOPERATIVE_TIMEOUTS;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -131,6 +141,16 @@ public class OptionsParser {
   private final OptionSpec<String>                   testPluginSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> includeLaunchClasspathSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> useClasspathJarSpec;
+  private final OptionSpec<Integer>                  minionReuseLimitSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> adaptiveTimeoutsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> mutantSchemataSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> blockTargetingSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> costBalancedUnitsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> workStealingSpec;
+  private final OptionSpec<String>                   remoteAgentsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> batchTestsByClassSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> classDataSharingSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> cooperativeTimeoutsSpec;
   
   public OptionsParser(Predicate<String> dependencyFilter) {
 
@@ -346,6 +366,47 @@ public class OptionsParser {
     this.pluginPropertiesSpec = parserAccepts(PLUGIN_CONFIGURATION)
         .withRequiredArg().ofType(KeyValuePair.class)
         .describedAs("custom plugin properties");
+
+    this.minionReuseLimitSpec = parserAccepts(MINION_REUSE_LIMIT).withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs("Maximum number of mutation units to analyse in a single minion before replacing it")
+        .defaultsTo(MINION_REUSE_LIMIT.getDefault(Integer.class));
+
+    this.adaptiveTimeoutsSpec = parserAccepts(ADAPTIVE_TIMEOUTS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("derive timeouts from the times tests took against earlier mutants");
+
+    this.mutantSchemataSpec = parserAccepts(MUTANT_SCHEMATA)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("select mutants at runtime from one class per mutated class instead of redefining classes");
+
+    this.blockTargetingSpec = parserAccepts(BLOCK_TARGETING)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("assign tests to mutants by the coverage of their block instead of their line");
+
+    this.costBalancedUnitsSpec = parserAccepts(COST_BALANCED_UNITS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("group mutations into units of similar predicted cost");
+
+    this.workStealingSpec = parserAccepts(WORK_STEALING)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("let minions take batches of mutations from units still running once their own are done");
+
+    this.remoteAgentsSpec = parserAccepts(REMOTE_AGENTS).withRequiredArg()
+        .ofType(String.class).withValuesSeparatedBy(',')
+        .describedAs("comma separated list of remote agents, as host:port, to analyse mutations on");
+
+    this.batchTestsByClassSpec = parserAccepts(BATCH_TESTS_BY_CLASS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether to run the selected tests of each class against a mutant in one runner invocation");
+
+    this.classDataSharingSpec = parserAccepts(CLASS_DATA_SHARING)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("Whether to launch minions using a class data sharing archive of their classpath");
+
+    this.cooperativeTimeoutsSpec = parserAccepts(COOPERATIVE_TIMEOUTS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether to stop mutants that time out by cancelling their loops rather than restarting the minion");
   }
 
   private OptionSpecBuilder parserAccepts(final ConfigOption option) {
@@ -434,6 +495,25 @@ public class OptionsParser {
     data.setIncludedTestMethods(this.includedTestMethodsSpec.values(userArgs));
     data.setJavaExecutable(this.javaExecutable.value(userArgs));
 
+    data.setMinionReuseLimit(this.minionReuseLimitSpec.value(userArgs));
+    data.setAdaptiveTimeouts(userArgs.has(this.adaptiveTimeoutsSpec)
+        && userArgs.valueOf(this.adaptiveTimeoutsSpec));
+    data.setMutantSchemata(userArgs.has(this.mutantSchemataSpec)
+        && userArgs.valueOf(this.mutantSchemataSpec));
+    data.setBlockTargeting(userArgs.has(this.blockTargetingSpec)
+        && userArgs.valueOf(this.blockTargetingSpec));
+    data.setCostBalancedUnits(userArgs.has(this.costBalancedUnitsSpec)
+        && userArgs.valueOf(this.costBalancedUnitsSpec));
+    data.setWorkStealing(userArgs.has(this.workStealingSpec)
+        && userArgs.valueOf(this.workStealingSpec));
+    data.setRemoteAgents(this.remoteAgentsSpec.values(userArgs));
+    data.setBatchTestsByClass(userArgs.has(this.batchTestsByClassSpec)
+        && userArgs.valueOf(this.batchTestsByClassSpec));
+    data.setClassDataSharing(userArgs.has(this.classDataSharingSpec)
+        && userArgs.valueOf(this.classDataSharingSpec));
+    data.setCooperativeTimeouts(userArgs.has(this.cooperativeTimeoutsSpec)
+        && userArgs.valueOf(this.cooperativeTimeoutsSpec));
+
     if (userArgs.has("?")) {
       return new ParseResult(data, "See above for supported parameters.");
     } else {
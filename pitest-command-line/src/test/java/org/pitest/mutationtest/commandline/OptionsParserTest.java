@@ -521,6 +521,129 @@ public class OptionsParserTest {
         JAVA_PATH_SEPARATOR + "." + JAVA_PATH_SEPARATOR).toString();
   }
 
+  @Test
+  public void shouldParseMinionReuseLimit() {
+    final ReportOptions actual = parseAddingRequiredArgs("--minionReuseLimit", "10");
+    assertEquals(10, actual.getMinionReuseLimit());
+  }
+
+  @Test
+  public void shouldParseAdaptiveTimeouts() {
+    final ReportOptions actual = parseAddingRequiredArgs("--adaptiveTimeouts");
+    assertTrue(actual.isAdaptiveTimeouts());
+  }
+
+  @Test
+  public void shouldNotUseAdaptiveTimeoutsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isAdaptiveTimeouts());
+  }
+
+  @Test
+  public void shouldParseMutantSchemata() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantSchemata");
+    assertTrue(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldNotUseMutantSchemataByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldDefaultMinionReuseLimitToCorrectValue() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals((int) ConfigOption.MINION_REUSE_LIMIT.getDefault(Integer.class),
+        actual.getMinionReuseLimit());
+  }
+
+  @Test
+  public void shouldParseBlockTargeting() {
+    final ReportOptions actual = parseAddingRequiredArgs("--blockTargeting");
+    assertTrue(actual.isBlockTargeting());
+  }
+
+  @Test
+  public void shouldNotUseBlockTargetingByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isBlockTargeting());
+  }
+
+  @Test
+  public void shouldParseCostBalancedUnits() {
+    final ReportOptions actual = parseAddingRequiredArgs("--costBalancedUnits");
+    assertTrue(actual.isCostBalancedUnits());
+  }
+
+  @Test
+  public void shouldNotUseCostBalancedUnitsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isCostBalancedUnits());
+  }
+
+  @Test
+  public void shouldParseWorkStealing() {
+    final ReportOptions actual = parseAddingRequiredArgs("--workStealing");
+    assertTrue(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldNotUseWorkStealingByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldParseCommaSeparatedListOfRemoteAgents() {
+    final ReportOptions actual = parseAddingRequiredArgs("--remoteAgents",
+        "localhost:9001,build2:9001");
+    assertThat(actual.getRemoteAgents()).containsExactly("localhost:9001",
+        "build2:9001");
+  }
+
+  @Test
+  public void shouldNotUseRemoteAgentsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertThat(actual.getRemoteAgents()).isEmpty();
+  }
+
+  @Test
+  public void shouldParseBatchTestsByClass() {
+    final ReportOptions actual = parseAddingRequiredArgs("--batchTestsByClass");
+    assertTrue(actual.isBatchTestsByClass());
+  }
+
+  @Test
+  public void shouldNotUseBatchTestsByClassByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isBatchTestsByClass());
+  }
+
+  @Test
+  public void shouldParseClassDataSharing() {
+    final ReportOptions actual = parseAddingRequiredArgs("--classDataSharing");
+    assertTrue(actual.isClassDataSharing());
+  }
+
+  @Test
+  public void shouldNotUseClassDataSharingByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isClassDataSharing());
+  }
+
+  @Test
+  public void shouldParseCooperativeTimeouts() {
+    final ReportOptions actual = parseAddingRequiredArgs("--cooperativeTimeouts");
+    assertTrue(actual.isCooperativeTimeouts());
+  }
+
+  @Test
+  public void shouldNotUseCooperativeTimeoutsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isCooperativeTimeouts());
+  }
+
   private Predicate<String> gregorClass() {
     return s -> GregorMutationEngine.class.getName().equals(s);
   }
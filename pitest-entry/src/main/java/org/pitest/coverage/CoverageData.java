@@ -27,6 +27,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -50,8 +51,9 @@ public class CoverageData implements CoverageDatabase {
   // coverage. Ugly mess of maps below should go when
   // api changed to work via blocks
   private final Map<BlockLocation, Set<TestInfo>>             blockCoverage;
-  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<>();
-  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<>();
+  // lazily populated and read by concurrent mutation discovery threads
+  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new ConcurrentHashMap<>();
+  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new ConcurrentHashMap<>();
   private final Map<String, Collection<ClassInfo>>            classesForFile;
 
   private final CodeSource                                    code;
@@ -84,6 +86,16 @@ public class CoverageData implements CoverageDatabase {
     }
   }
 
+  @Override
+  public Collection<TestInfo> getTestsForBlockLocation(final BlockLocation block) {
+    final Collection<TestInfo> result = this.blockCoverage.get(block);
+    if (result == null) {
+      return Collections.emptyList();
+    } else {
+      return result;
+    }
+  }
+
   public boolean allTestsGreen() {
     return this.failingTestDescriptions.isEmpty();
   }
@@ -117,7 +129,8 @@ public class CoverageData implements CoverageDatabase {
     return tis;
   }
 
-  public void calculateClassCoverage(final CoverageResult cr) {
+  // results may arrive from several coverage minions at once
+  public synchronized void calculateClassCoverage(final CoverageResult cr) {
 
     checkForFailedTest(cr);
     final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
@@ -16,10 +16,19 @@ public interface CoverageDatabase {
 
   Collection<TestInfo> getTestsForClassLine(ClassLine classLine);
 
+  Collection<TestInfo> getTestsForBlockLocation(BlockLocation block);
+
   BigInteger getCoverageIdForClass(ClassName clazz);
 
   Collection<ClassInfo> getClassesForFile(String sourceFile, String packageName);
 
   CoverageSummary createSummary();
 
+  /**
+   * @return descriptors of the test units found while calculating coverage
+   */
+  default TestUnitManifest getTestUnitManifest() {
+    return new TestUnitManifest();
+  }
+
 }
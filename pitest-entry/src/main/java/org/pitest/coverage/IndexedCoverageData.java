@@ -0,0 +1,372 @@
+package org.pitest.coverage;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.functional.FCollection;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+
+/**
+ * Coverage database that numbers tests and blocks as they are first seen.
+ *
+ * Each block holds the ids of the tests that covered it, and each class the
+ * ids of its blocks, so the tests for a class can be found without scanning
+ * the coverage of the whole project. Lookups return the same results as
+ * {@link CoverageData}.
+ */
+public class IndexedCoverageData implements CoverageDatabase {
+
+  private static final Logger                                 LOG                     = Log
+      .getLogger();
+
+  private final List<TestInfo>                                tests                   = new ArrayList<>();
+  private final Map<String, Integer>                          testIds                 = new HashMap<>();
+
+  private final List<BlockLocation>                           blocks                  = new ArrayList<>();
+  private final List<IdSet>                                   testsForBlock           = new ArrayList<>();
+  private final Map<BlockLocation, Integer>                   blockIds                = new HashMap<>();
+  private final Map<ClassName, IdSet>                         blocksForClass          = new HashMap<>();
+
+  // lazily populated and read by concurrent mutation discovery threads
+  private final Map<BlockLocation, Set<Integer>>              blocksToLines           = new ConcurrentHashMap<>();
+  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage            = new ConcurrentHashMap<>();
+  private final Map<String, Collection<ClassInfo>>            classesForFile;
+
+  private final CodeSource                                    code;
+
+  private final LineMap                                       lm;
+
+  private final List<Description>                             failingTestDescriptions = new ArrayList<>();
+
+  private final TestUnitManifest                              testUnits               = new TestUnitManifest();
+
+  public IndexedCoverageData(final CodeSource code, final LineMap lm) {
+    this.code = code;
+    this.lm = lm;
+    this.classesForFile = FCollection.bucket(this.code.getCode(),
+        c -> keyFromSourceAndPackage(c.getSourceFileName(), c.getName()
+            .getPackage().asJavaName()));
+  }
+
+  public IndexedCoverageData(final CodeSource code, final LineMap lm,
+      final Map<BlockLocation, Set<TestInfo>> blockCoverage) {
+    this(code, lm);
+    for (final Entry<BlockLocation, Set<TestInfo>> each : blockCoverage
+        .entrySet()) {
+      final IdSet blockTests = this.testsForBlock.get(blockIdFor(each.getKey()));
+      for (final TestInfo test : each.getValue()) {
+        blockTests.add(testIdFor(test));
+      }
+    }
+  }
+
+  // results may arrive from several coverage minions at once
+  public synchronized void calculateClassCoverage(final CoverageResult cr) {
+    checkForFailedTest(cr);
+    final int test = testIdFor(createTestInfo(cr.getTestUnitDescription(),
+        cr.getExecutionTime(), cr.getNumberOfCoveredBlocks()));
+    for (final BlockLocation each : cr.getCoverage()) {
+      this.testsForBlock.get(blockIdFor(each)).add(test);
+    }
+  }
+
+  public boolean allTestsGreen() {
+    return this.failingTestDescriptions.isEmpty();
+  }
+
+  public int getCountFailedTests() {
+    return this.failingTestDescriptions.size();
+  }
+
+  public List<Description> getFailingTestDescriptions() {
+    return this.failingTestDescriptions;
+  }
+
+  @Override
+  public Collection<ClassInfo> getClassInfo(final Collection<ClassName> classes) {
+    return this.code.getClassInfo(classes);
+  }
+
+  @Override
+  public int getNumberOfCoveredLines(final Collection<ClassName> mutatedClass) {
+    int lines = 0;
+    for (final ClassName each : mutatedClass) {
+      lines = lines + getTestsForClassName(each).size();
+    }
+    return lines;
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
+    final BitSet ids = new BitSet(this.tests.size());
+    blocksFor(clazz).forEach(block -> this.testsForBlock.get(block).addTo(ids));
+    return toTestInfos(ids);
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
+    final Collection<TestInfo> result = getTestsForClassName(
+        classLine.getClassName()).get(classLine);
+    if (result == null) {
+      return Collections.emptyList();
+    } else {
+      return result;
+    }
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForBlockLocation(final BlockLocation block) {
+    final Integer id = this.blockIds.get(block);
+    if (id == null) {
+      return Collections.emptyList();
+    }
+    final BitSet ids = new BitSet(this.tests.size());
+    this.testsForBlock.get(id).addTo(ids);
+    return toTestInfos(ids);
+  }
+
+  @Override
+  public BigInteger getCoverageIdForClass(final ClassName clazz) {
+    final Map<ClassLine, Set<TestInfo>> coverage = getTestsForClassName(clazz);
+    if (coverage.isEmpty()) {
+      return BigInteger.ZERO;
+    }
+
+    final Set<ClassName> testClasses = new HashSet<>();
+    for (final Set<TestInfo> each : coverage.values()) {
+      FCollection.mapTo(each, TestInfo.toDefiningClassName(), testClasses);
+    }
+
+    BigInteger coverageNumber = BigInteger.ZERO;
+    for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
+      coverageNumber = coverageNumber.add(each.getDeepHash());
+    }
+    return coverageNumber;
+  }
+
+  public List<BlockCoverage> createCoverage() {
+    final List<BlockCoverage> coverage = new ArrayList<>(this.blocks.size());
+    for (int i = 0; i != this.blocks.size(); i++) {
+      final BitSet ids = new BitSet(this.tests.size());
+      this.testsForBlock.get(i).addTo(ids);
+      coverage.add(new BlockCoverage(this.blocks.get(i), FCollection.map(
+          toTestInfos(ids), TestInfo.toName())));
+    }
+    return coverage;
+  }
+
+  @Override
+  public Collection<ClassInfo> getClassesForFile(final String sourceFile,
+      final String packageName) {
+    final Collection<ClassInfo> value = this.classesForFile
+        .get(keyFromSourceAndPackage(sourceFile, packageName));
+    if (value == null) {
+      return Collections.<ClassInfo> emptyList();
+    } else {
+      return value;
+    }
+  }
+
+  @Override
+  public CoverageSummary createSummary() {
+    final Collection<ClassName> classes = this.code.getCodeUnderTestNames();
+    int lines = 0;
+    for (final ClassInfo each : this.code.getClassInfo(classes)) {
+      lines = lines + each.getNumberOfCodeLines();
+    }
+    return new CoverageSummary(lines, getNumberOfCoveredLines(classes));
+  }
+
+  @Override
+  public TestUnitManifest getTestUnitManifest() {
+    return this.testUnits;
+  }
+
+  private int testIdFor(final TestInfo test) {
+    // tests are identified by name, the first one seen is kept
+    final Integer id = this.testIds.get(test.getName());
+    if (id != null) {
+      return id;
+    }
+    final int newId = this.tests.size();
+    this.tests.add(test);
+    this.testIds.put(test.getName(), newId);
+    return newId;
+  }
+
+  private int blockIdFor(final BlockLocation block) {
+    final Integer id = this.blockIds.get(block);
+    if (id != null) {
+      return id;
+    }
+    final int newId = this.blocks.size();
+    this.blocks.add(block);
+    this.testsForBlock.add(new IdSet());
+    this.blockIds.put(block, newId);
+    this.blocksForClass.computeIfAbsent(block.getLocation().getClassName(),
+        c -> new IdSet()).add(newId);
+    return newId;
+  }
+
+  private IdSet blocksFor(final ClassName clazz) {
+    final IdSet ids = this.blocksForClass.get(clazz);
+    if (ids == null) {
+      return new IdSet();
+    }
+    return ids;
+  }
+
+  private Set<TestInfo> toTestInfos(final BitSet ids) {
+    final Set<TestInfo> tis = new TreeSet<>(new TestInfoNameComparator());
+    for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1)) {
+      tis.add(this.tests.get(i));
+    }
+    return tis;
+  }
+
+  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+      final ClassName clazz) {
+    // Use any test that provided some coverage of the class
+    // This fails to consider tests that only accessed a static variable
+    // of the class in question as this does not register as coverage.
+    final Map<ClassLine, Set<TestInfo>> map = this.lineCoverage.get(clazz);
+    if (map != null) {
+      return map;
+    }
+
+    final Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<>(0);
+    blocksFor(clazz).forEach(block -> {
+      for (final int line : getLinesForBlock(this.blocks.get(block))) {
+        final Set<TestInfo> tis = linesToTests.computeIfAbsent(new ClassLine(
+            clazz, line), l -> new TreeSet<>(new TestInfoNameComparator()));
+        this.testsForBlock.get(block).forEach(test -> tis.add(this.tests
+            .get(test)));
+      }
+    });
+
+    this.lineCoverage.put(clazz, linesToTests);
+    return linesToTests;
+  }
+
+  private Set<Integer> getLinesForBlock(final BlockLocation bl) {
+    Set<Integer> lines = this.blocksToLines.get(bl);
+    if (lines == null) {
+      this.blocksToLines.putAll(this.lm.mapLines(bl.getLocation()
+          .getClassName()));
+      lines = this.blocksToLines.get(bl);
+      if (lines == null) {
+        lines = Collections.emptySet();
+      }
+    }
+    return lines;
+  }
+
+  private void checkForFailedTest(final CoverageResult cr) {
+    if (!cr.isGreenTest()) {
+      this.failingTestDescriptions.add(cr.getTestUnitDescription());
+      LOG.severe(cr.getTestUnitDescription()
+          + " did not pass without mutation.");
+    }
+  }
+
+  private TestInfo createTestInfo(final Description description,
+      final int executionTime, final int linesCovered) {
+    final Optional<ClassName> testee = this.code.findTestee(description
+        .getFirstTestClass());
+    return new TestInfo(description.getFirstTestClass(),
+        description.getQualifiedName(), executionTime, testee, linesCovered);
+  }
+
+  private static String keyFromSourceAndPackage(final String sourceFile,
+      final String packageName) {
+    return packageName + " " + sourceFile;
+  }
+
+  /**
+   * Set of non negative ints. Held as a sorted array while sparse, and as a
+   * bitmap once that takes less space.
+   */
+  static final class IdSet {
+
+    private int[]  ids = new int[2];
+    private int    size;
+    private BitSet bits;
+
+    void add(final int id) {
+      if (this.bits != null) {
+        this.bits.set(id);
+        return;
+      }
+
+      // ids are allocated in the order first seen, so usually arrive in order
+      if ((this.size == 0) || (this.ids[this.size - 1] < id)) {
+        insert(this.size, id);
+      } else {
+        final int pos = Arrays.binarySearch(this.ids, 0, this.size, id);
+        if (pos >= 0) {
+          return;
+        }
+        insert(-(pos + 1), id);
+      }
+
+      final int largest = this.ids[this.size - 1];
+      if ((largest / Byte.SIZE) < (this.size * Integer.BYTES)) {
+        this.bits = new BitSet(largest + 1);
+        for (int i = 0; i != this.size; i++) {
+          this.bits.set(this.ids[i]);
+        }
+        this.ids = null;
+      }
+    }
+
+    void forEach(final IntConsumer action) {
+      if (this.bits != null) {
+        this.bits.stream().forEach(action);
+      } else {
+        for (int i = 0; i != this.size; i++) {
+          action.accept(this.ids[i]);
+        }
+      }
+    }
+
+    void addTo(final BitSet target) {
+      if (this.bits != null) {
+        target.or(this.bits);
+      } else {
+        for (int i = 0; i != this.size; i++) {
+          target.set(this.ids[i]);
+        }
+      }
+    }
+
+    private void insert(final int pos, final int id) {
+      if (this.size == this.ids.length) {
+        this.ids = Arrays.copyOf(this.ids, this.size * 2);
+      }
+      System.arraycopy(this.ids, pos, this.ids, pos + 1, this.size - pos);
+      this.ids[pos] = id;
+      this.size++;
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+package org.pitest.coverage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.testapi.SerializedTestUnit;
+
+/**
+ * Descriptors of the test units found while calculating coverage, keyed by
+ * the name of the test. Minions are sent the descriptors of the tests their
+ * mutations need, so they do not have to find the tests again.
+ *
+ * The descriptors are held in serialised form and are never deserialised by
+ * the parent, as the test framework types they refer to are not on its
+ * classpath.
+ */
+public class TestUnitManifest {
+
+  // populated by the communication thread of each coverage minion
+  private final Map<String, SerializedTestUnit> descriptors = new ConcurrentHashMap<>();
+
+  public void add(final SerializedTestUnit descriptor) {
+    this.descriptors.put(descriptor.getName(), descriptor);
+  }
+
+  public Optional<SerializedTestUnit> descriptorFor(final String test) {
+    return Optional.ofNullable(this.descriptors.get(test));
+  }
+
+  public int size() {
+    return this.descriptors.size();
+  }
+
+  /**
+   * Picks the descriptors of the tests the mutations need. The tests of a
+   * class are described only if all those needed can be, as a class with any
+   * undescribed test must be examined by the minion to find it.
+   */
+  public List<SerializedTestUnit> describeTestsFor(
+      final Collection<MutationDetails> mutations) {
+    final Map<ClassName, Map<String, SerializedTestUnit>> byClass = new LinkedHashMap<>();
+    final Set<ClassName> undescribed = new HashSet<>();
+    for (final MutationDetails mutation : mutations) {
+      for (final TestInfo each : mutation.getTestsInOrder()) {
+        final ClassName testClass = TestInfo.toDefiningClassName().apply(each);
+        if (undescribed.contains(testClass)) {
+          continue;
+        }
+        final SerializedTestUnit descriptor = this.descriptors.get(each
+            .getName());
+        if (descriptor == null) {
+          undescribed.add(testClass);
+          byClass.remove(testClass);
+        } else {
+          byClass.computeIfAbsent(testClass, c -> new LinkedHashMap<>()).put(
+              each.getName(), descriptor);
+        }
+      }
+    }
+
+    final List<SerializedTestUnit> described = new ArrayList<>();
+    for (final Map<String, SerializedTestUnit> each : byClass.values()) {
+      described.addAll(each.values());
+    }
+    return described;
+  }
+
+}
@@ -0,0 +1,330 @@
+package org.pitest.coverage.execute;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Per test class coverage from a previous run.
+ *
+ * The coverage of a test class may be reused if neither the test class, any
+ * class it covered nor any class it depends on has changed since it was
+ * recorded, and coverage was gathered with the same options. All coverage is
+ * discarded if any resource in the supplied directories has changed, as the
+ * resources a test reads cannot be known.
+ *
+ * Classes that a test uses only by reflection, without referring to them or
+ * covering them, are not tracked.
+ */
+public final class CoverageCache {
+
+  private static final Logger              LOG = Log.getLogger();
+
+  private final byte[]                     options;
+  private final Map<ClassName, TestEntry>  entries;
+  private final boolean                    enabled;
+
+  private CoverageCache(final byte[] options,
+      final Map<ClassName, TestEntry> entries, final boolean enabled) {
+    this.options = options;
+    this.entries = entries;
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return a cache that neither provides nor records coverage
+   */
+  public static CoverageCache none() {
+    return new CoverageCache(new byte[0], new HashMap<ClassName, TestEntry>(),
+        false);
+  }
+
+  /**
+   * Reads coverage saved by a previous run. Coverage recorded with different
+   * options is discarded, as is coverage that cannot be read.
+   */
+  public static CoverageCache load(final File file,
+      final CoverageOptions coverageOptions) {
+    return load(file, coverageOptions, Collections.<File> emptyList());
+  }
+
+  /**
+   * Reads coverage saved by a previous run. Coverage recorded with different
+   * options, or before a resource in one of the directories changed, is
+   * discarded, as is coverage that cannot be read.
+   *
+   * @param resourceDirectories
+   *          directories holding resources the tests may read
+   */
+  public static CoverageCache load(final File file,
+      final CoverageOptions coverageOptions,
+      final Collection<File> resourceDirectories) {
+    final byte[] options = fingerprint(coverageOptions, resourceDirectories);
+    final CoverageCache cache = new CoverageCache(options,
+        new HashMap<ClassName, TestEntry>(), true);
+    if ((file == null) || !file.exists()) {
+      return cache;
+    }
+
+    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(
+        new FileInputStream(file)))) {
+      final byte[] storedOptions = (byte[]) in.readObject();
+      if (!Arrays.equals(options, storedOptions)) {
+        LOG.info("Coverage options or resources have changed. Coverage will be calculated for all tests.");
+        return cache;
+      }
+      @SuppressWarnings("unchecked")
+      final Map<ClassName, TestEntry> stored = (Map<ClassName, TestEntry>) in
+          .readObject();
+      cache.entries.putAll(stored);
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.warning("Could not read coverage from " + file
+          + ". Coverage will be calculated for all tests. " + e.getMessage());
+    }
+    return cache;
+  }
+
+  public void save(final File file) {
+    if (!this.enabled) {
+      return;
+    }
+    try (ObjectOutputStream out = new ObjectOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeObject(this.options);
+      out.writeObject(new HashMap<>(this.entries));
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * @return total execution time of each test class when last run, keyed by
+   *         internal class name
+   */
+  public Map<String, Integer> testClassTimes() {
+    final Map<String, Integer> times = new HashMap<>();
+    for (final Entry<ClassName, TestEntry> each : this.entries.entrySet()) {
+      int time = 0;
+      for (final CachedResult result : each.getValue().results) {
+        time = time + result.executionTime;
+      }
+      times.put(each.getKey().asInternalName(), time);
+    }
+    return times;
+  }
+
+  /**
+   * @param test
+   *          test class
+   * @param classInfo
+   *          provides current information about classes
+   * @param dependencies
+   *          provides a fingerprint of the classes a test class depends on
+   * @return the recorded coverage of the test class if it is still valid
+   */
+  public Optional<List<CoverageResult>> reusableResults(final ClassInfo test,
+      final Function<Collection<ClassName>, Collection<ClassInfo>> classInfo,
+      final Function<ClassName, byte[]> dependencies) {
+    final TestEntry entry = this.entries.get(test.getName());
+    if ((entry == null) || !entry.test.equals(test.getHierarchicalId())) {
+      return Optional.empty();
+    }
+
+    final Set<ClassName> names = new LinkedHashSet<>();
+    for (final HierarchicalClassId each : entry.covered) {
+      names.add(each.getName());
+    }
+    final Collection<ClassInfo> current = classInfo.apply(names);
+    if (current.size() != entry.covered.size()) {
+      return Optional.empty();
+    }
+    for (final ClassInfo each : current) {
+      if (!entry.covered.contains(each.getHierarchicalId())) {
+        return Optional.empty();
+      }
+    }
+    if (!Arrays.equals(entry.dependencies, dependencies.apply(test.getName()))) {
+      return Optional.empty();
+    }
+
+    final List<CoverageResult> results = new ArrayList<>();
+    for (final CachedResult each : entry.results) {
+      results.add(new CoverageResult(each.description, each.executionTime,
+          true, each.blocks));
+    }
+    return Optional.of(results);
+  }
+
+  /**
+   * Replaces the recorded coverage of a test class. Coverage is not recorded
+   * for test classes with failing tests.
+   */
+  public void record(final ClassInfo test, final List<CoverageResult> results,
+      final Function<Collection<ClassName>, Collection<ClassInfo>> classInfo,
+      final Function<ClassName, byte[]> dependencies) {
+    if (!this.enabled) {
+      return;
+    }
+
+    final Set<ClassName> covered = new LinkedHashSet<>();
+    final List<CachedResult> cached = new ArrayList<>();
+    for (final CoverageResult each : results) {
+      if (!each.isGreenTest()) {
+        this.entries.remove(test.getName());
+        return;
+      }
+      for (final BlockLocation block : each.getCoverage()) {
+        covered.add(block.getLocation().getClassName());
+      }
+      cached.add(new CachedResult(each.getTestUnitDescription(),
+          each.getExecutionTime(), new ArrayList<>(each.getCoverage())));
+    }
+
+    final List<HierarchicalClassId> ids = new ArrayList<>();
+    for (final ClassInfo each : classInfo.apply(covered)) {
+      ids.add(each.getHierarchicalId());
+    }
+    this.entries.put(test.getName(), new TestEntry(test.getHierarchicalId(),
+        ids, dependencies.apply(test.getName()), cached));
+  }
+
+  /**
+   * Drops coverage for test classes that no longer exist.
+   */
+  public void retainOnly(final Collection<ClassName> tests) {
+    this.entries.keySet().retainAll(tests);
+  }
+
+  /**
+   * Drops all recorded coverage.
+   */
+  public void clear() {
+    this.entries.clear();
+  }
+
+  public int size() {
+    return this.entries.size();
+  }
+
+  private static byte[] fingerprint(final CoverageOptions coverageOptions,
+      final Collection<File> resourceDirectories) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(coverageOptions);
+      out.writeObject(fingerprintResources(resourceDirectories));
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    return bos.toByteArray();
+  }
+
+  // resources are compared by size and modification time, so are not read
+  private static byte[] fingerprintResources(
+      final Collection<File> directories) throws IOException {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bos)) {
+      for (final File each : directories) {
+        final Path root = each.toPath();
+        if (!Files.isDirectory(root)) {
+          continue;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+          for (final Path file : sortedResources(files)) {
+            out.writeUTF(root.relativize(file).toString());
+            out.writeLong(Files.size(file));
+            out.writeLong(Files.getLastModifiedTime(file).toMillis());
+          }
+        }
+      }
+    }
+    return sha256().digest(bos.toByteArray());
+  }
+
+  private static List<Path> sortedResources(final Stream<Path> files) {
+    return files.filter(Files::isRegularFile)
+        .filter(f -> !f.getFileName().toString().endsWith(".class")).sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static class TestEntry implements Serializable {
+    private static final long               serialVersionUID = 2L;
+
+    private final HierarchicalClassId       test;
+    private final List<HierarchicalClassId> covered;
+    private final byte[]                    dependencies;
+    private final List<CachedResult>        results;
+
+    TestEntry(final HierarchicalClassId test,
+        final List<HierarchicalClassId> covered, final byte[] dependencies,
+        final List<CachedResult> results) {
+      this.test = test;
+      this.covered = covered;
+      this.dependencies = dependencies;
+      this.results = results;
+    }
+  }
+
+  private static class CachedResult implements Serializable {
+    private static final long         serialVersionUID = 1L;
+
+    private final Description         description;
+    private final int                 executionTime;
+    private final List<BlockLocation> blocks;
+
+    CachedResult(final Description description, final int executionTime,
+        final List<BlockLocation> blocks) {
+      this.description = description;
+      this.executionTime = executionTime;
+      this.blocks = blocks;
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.testapi.SerializedTestUnit;
 import org.pitest.util.CommunicationThread;
 
 public class CoverageCommunicationThread extends CommunicationThread {
@@ -16,4 +17,12 @@ public class CoverageCommunicationThread extends CommunicationThread {
 
   }
 
+  public CoverageCommunicationThread(final ServerSocket socket,
+      final CoverageOptions arguments, final List<String> tus,
+      final SideEffect1<CoverageResult> handler,
+      final SideEffect1<SerializedTestUnit> testUnitHandler) {
+    super(socket, new SendData(arguments, tus), new Receive(handler,
+        testUnitHandler));
+  }
+
 }
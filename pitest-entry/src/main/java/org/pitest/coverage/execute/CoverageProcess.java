@@ -6,8 +6,10 @@ import java.util.List;
 
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.functional.prelude.Prelude;
 import org.pitest.process.ProcessArgs;
 import org.pitest.process.WrappingProcess;
+import org.pitest.testapi.SerializedTestUnit;
 import org.pitest.util.ExitCode;
 
 public class CoverageProcess {
@@ -19,10 +21,23 @@ public class CoverageProcess {
       final CoverageOptions arguments, final ServerSocket socket,
       final List<String> testClases, final SideEffect1<CoverageResult> handler)
           throws IOException {
+    this(processArgs, arguments, socket, testClases, handler, Prelude
+        .noSideEffect(SerializedTestUnit.class));
+  }
+
+  /**
+   * @param testUnitHandler
+   *          receives a descriptor of each test unit the minion found
+   */
+  public CoverageProcess(final ProcessArgs processArgs,
+      final CoverageOptions arguments, final ServerSocket socket,
+      final List<String> testClases, final SideEffect1<CoverageResult> handler,
+      final SideEffect1<SerializedTestUnit> testUnitHandler)
+          throws IOException {
     this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
         CoverageMinion.class);
     this.crt = new CoverageCommunicationThread(socket, arguments, testClases,
-        handler);
+        handler, testUnitHandler);
   }
 
   public void start() throws IOException, InterruptedException {
@@ -34,9 +49,16 @@ public class CoverageProcess {
     try {
       return this.crt.waitToFinish();
     } finally {
+      recordBootTime();
       this.process.destroy();
     }
 
   }
 
+  private void recordBootTime() {
+    if (this.crt.connectedAt() != 0) {
+      this.process.connectedAt(this.crt.connectedAt());
+    }
+  }
+
 }
@@ -0,0 +1,127 @@
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits test classes between coverage minions so that each has a similar
+ * amount of work.
+ *
+ * Where the time taken by a test class in a previous run is known it is used
+ * as the weight of the class, otherwise the class is assumed to take the
+ * average of the known times. Classes are assigned heaviest first to the
+ * lightest shard.
+ */
+public final class CoverageShards {
+
+  private CoverageShards() {
+  }
+
+  /**
+   * @param testClasses
+   *          classes to split
+   * @param shards
+   *          maximum number of shards to create
+   * @param previousTimes
+   *          time taken by each test class in a previous run, keyed by class
+   *          name
+   * @return non empty shards, each holding classes in their original order
+   */
+  public static List<List<String>> partition(final List<String> testClasses,
+      final int shards, final Map<String, Integer> previousTimes) {
+    final int count = Math.max(1, Math.min(shards, testClasses.size()));
+    if (count == 1) {
+      return Collections.singletonList(testClasses);
+    }
+
+    final long defaultWeight = averageOf(testClasses, previousTimes);
+    final List<Integer> heaviestFirst = new ArrayList<>();
+    for (int i = 0; i != testClasses.size(); i++) {
+      heaviestFirst.add(i);
+    }
+    heaviestFirst.sort(Comparator.comparingLong(
+        (Integer i) -> weight(testClasses.get(i), previousTimes, defaultWeight))
+        .reversed().thenComparing(i -> i));
+
+    final PriorityQueue<Shard> lightestFirst = new PriorityQueue<>();
+    final List<Shard> all = new ArrayList<>();
+    for (int i = 0; i != count; i++) {
+      final Shard shard = new Shard(i);
+      all.add(shard);
+      lightestFirst.add(shard);
+    }
+
+    for (final int each : heaviestFirst) {
+      final Shard lightest = lightestFirst.poll();
+      lightest.add(each,
+          weight(testClasses.get(each), previousTimes, defaultWeight));
+      lightestFirst.add(lightest);
+    }
+
+    final List<List<String>> partitions = new ArrayList<>();
+    for (final Shard each : all) {
+      Collections.sort(each.members);
+      final List<String> classes = new ArrayList<>();
+      for (final int member : each.members) {
+        classes.add(testClasses.get(member));
+      }
+      partitions.add(classes);
+    }
+    return partitions;
+  }
+
+  private static long averageOf(final List<String> testClasses,
+      final Map<String, Integer> previousTimes) {
+    long total = 0;
+    int known = 0;
+    for (final String each : testClasses) {
+      final Integer time = previousTimes.get(each);
+      if (time != null) {
+        total = total + time;
+        known++;
+      }
+    }
+    if (known == 0) {
+      return 1;
+    }
+    return Math.max(1, total / known);
+  }
+
+  private static long weight(final String testClass,
+      final Map<String, Integer> previousTimes, final long defaultWeight) {
+    final Integer time = previousTimes.get(testClass);
+    if (time == null) {
+      return defaultWeight;
+    }
+    return Math.max(1, time);
+  }
+
+  private static class Shard implements Comparable<Shard> {
+    private final int           id;
+    private final List<Integer> members = new ArrayList<>();
+    private long                weight;
+
+    Shard(final int id) {
+      this.id = id;
+    }
+
+    void add(final int member, final long memberWeight) {
+      this.members.add(member);
+      this.weight = this.weight + memberWeight;
+    }
+
+    @Override
+    public int compareTo(final Shard o) {
+      final int byWeight = Long.compare(this.weight, o.weight);
+      if (byWeight != 0) {
+        return byWeight;
+      }
+      return Integer.compare(this.id, o.id);
+    }
+  }
+
+}
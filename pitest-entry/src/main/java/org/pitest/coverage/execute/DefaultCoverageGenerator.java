@@ -17,17 +17,23 @@ package org.pitest.coverage.execute;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
-import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.IndexedCoverageData;
 import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
@@ -40,6 +46,7 @@ import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.process.LaunchOptions;
 import org.pitest.process.ProcessArgs;
+import org.pitest.testapi.Description;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 import org.pitest.util.PitError;
@@ -50,20 +57,47 @@ import org.pitest.util.Unchecked;
 
 public class DefaultCoverageGenerator implements CoverageGenerator {
 
-  private static final Logger    LOG = Log.getLogger();
+  private static final Logger        LOG = Log.getLogger();
 
-  private final CoverageOptions  coverageOptions;
-  private final LaunchOptions    launchOptions;
-  private final CodeSource       code;
-  private final Timings          timings;
-  private final File             workingDir;
-  private final CoverageExporter exporter;
-  private final boolean          showProgress;
+  private final CoverageOptions      coverageOptions;
+  private final LaunchOptions        launchOptions;
+  private final CodeSource           code;
+  private final Timings              timings;
+  private final File                 workingDir;
+  private final CoverageExporter     exporter;
+  private final boolean              showProgress;
+  private final int                  shards;
+  private final CoverageCache        cache;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1);
+  }
+
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int shards) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, shards, CoverageCache.none());
+  }
+
+  /**
+   * @param shards
+   *          number of coverage minions to split the tests between
+   * @param cache
+   *          coverage from a previous run. Tests whose coverage is still valid
+   *          are not run again, and the timings of the others are used to
+   *          balance the shards
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int shards,
+      final CoverageCache cache) {
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -71,10 +105,12 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.shards = shards;
+    this.cache = cache;
   }
 
   @Override
-  public CoverageData calculateCoverage() {
+  public IndexedCoverageData calculateCoverage() {
     try {
       final long t0 = System.currentTimeMillis();
 
@@ -82,8 +118,8 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       final Collection<ClassInfo> tests = this.code.getTests();
       this.timings.registerEnd(Timings.Stage.SCAN_CLASS_PATH);
 
-      final CoverageData coverage = new CoverageData(this.code, new LineMapper(
-          this.code));
+      final IndexedCoverageData coverage = new IndexedCoverageData(this.code,
+          new LineMapper(this.code));
 
       this.timings.registerStart(Timings.Stage.COVERAGE);
       gatherCoverageData(tests, coverage);
@@ -106,7 +142,8 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
-  private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
+  private static void verifyBuildSuitableForMutationTesting(
+      final IndexedCoverageData coverage) {
     if (!coverage.allTestsGreen()) {
       LOG.severe("Tests failing without mutation: " + StringUtil.newLine()
           + coverage.getFailingTestDescriptions().stream().map(test -> test.toString())
@@ -116,38 +153,176 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private void gatherCoverageData(final Collection<ClassInfo> tests,
-      final CoverageData coverage) throws IOException, InterruptedException,
-      ExecutionException {
+      final IndexedCoverageData coverage) throws IOException,
+      InterruptedException, ExecutionException {
+
+    final Function<ClassName, byte[]> dependencies = fingerprintDependencies();
+    final List<ClassInfo> toRun = reuseCachedCoverage(tests, coverage,
+        dependencies);
+    if (toRun.isEmpty()) {
+      return;
+    }
 
     final List<String> filteredTests = FCollection
-        .map(tests, classInfoToName());
+        .map(toRun, classInfoToName());
 
-    final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
+    final List<List<String>> partitions = CoverageShards.partition(
+        filteredTests, this.shards, this.cache.testClassTimes());
+    if (partitions.size() > 1) {
+      LOG.info("Splitting " + filteredTests.size() + " test classes between "
+          + partitions.size() + " coverage minions");
+    }
 
-    final SocketFinder sf = new SocketFinder();
-    final ServerSocket socket = sf.getNextAvailableServerSocket();
+    final Map<ClassName, List<CoverageResult>> byTestClass = new ConcurrentHashMap<>();
+    final SideEffect1<CoverageResult> handler = recordingByTestClass(
+        byTestClass, resultProcessor(coverage));
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
-        .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
-        .andLaunchOptions(this.launchOptions).andStderr(logInfo())
-        .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
+    final SocketFinder sf = new SocketFinder();
+    final List<Shard> running = new ArrayList<>();
+    for (final List<String> each : partitions) {
+      final Shard shard = new Shard(running.size() + 1, partitions.size(), each);
+      final CoverageProcess process = new CoverageProcess(ProcessArgs
+          .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
+          .andLaunchOptions(this.launchOptions).andStderr(logInfo())
+          .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
+          sf.getNextAvailableServerSocket(), each,
+          shard.recordingFailures(handler),
+          coverage.getTestUnitManifest()::add);
+      process.start();
+      shard.process = process;
+      running.add(shard);
+    }
 
-    process.start();
+    // wait for every minion so none are left running if one fails
+    final List<Shard> failed = new ArrayList<>();
+    for (final Shard each : running) {
+      each.exitCode = each.process.waitToDie();
+      if (!each.exitCode.isOk()) {
+        failed.add(each);
+      }
+    }
 
-    final ExitCode exitCode = process.waitToDie();
+    if (partitions.size() > 1) {
+      for (final Shard each : running) {
+        if (!each.failingTests.isEmpty()) {
+          LOG.severe(each + " has " + each.failingTests.size()
+              + " tests failing without mutation: " + each.failingTests);
+        }
+      }
+    }
 
-    if (exitCode == ExitCode.JUNIT_ISSUE) {
-      LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
-      throw new PitError(
-          "Coverage generation minion exited abnormally. Please check the classpath.");
-    } else if (!exitCode.isOk()) {
+    for (final Shard each : failed) {
+      if (each.exitCode == ExitCode.JUNIT_ISSUE) {
+        LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
+        throw new PitError(
+            "Coverage generation minion exited abnormally. Please check the classpath.");
+      }
       LOG.severe("Coverage generator Minion exited abnormally due to "
-          + exitCode);
+          + each.exitCode + describeIfSharded(each, partitions.size()));
+    }
+
+    if (!failed.isEmpty()) {
       throw new PitError("Coverage generation minion exited abnormally!");
-    } else {
-      LOG.fine("Coverage generator Minion exited ok");
     }
+    LOG.fine("Coverage generator Minion exited ok");
+    LOG.fine("Received descriptors of " + coverage.getTestUnitManifest().size()
+        + " tests");
+
+    updateCache(toRun, byTestClass, dependencies);
+  }
+
+  // the classes do not change during a run, so each test class is
+  // fingerprinted at most once
+  private Function<ClassName, byte[]> fingerprintDependencies() {
+    final Map<ClassName, byte[]> fingerprints = new HashMap<>();
+    final TestClassDependencies dependencies = new TestClassDependencies(
+        this.code);
+    return test -> fingerprints.computeIfAbsent(test,
+        dependencies::fingerprint);
+  }
+
+  /**
+   * Adds the still valid coverage of previously run tests to the coverage
+   * data.
+   *
+   * @return the tests that must be run
+   */
+  private List<ClassInfo> reuseCachedCoverage(final Collection<ClassInfo> tests,
+      final IndexedCoverageData coverage,
+      final Function<ClassName, byte[]> dependencies) {
+    this.cache.retainOnly(FCollection.map(tests, ClassInfo.toClassName()));
+
+    final List<ClassInfo> toRun = new ArrayList<>();
+    for (final ClassInfo each : tests) {
+      final Optional<List<CoverageResult>> cached = this.cache.reusableResults(
+          each, classes -> this.code.getClassInfo(classes), dependencies);
+      if (cached.isPresent()) {
+        for (final CoverageResult result : cached.get()) {
+          coverage.calculateClassCoverage(result);
+        }
+      } else {
+        toRun.add(each);
+      }
+    }
+
+    if (toRun.size() != tests.size()) {
+      LOG.info("Reusing previous coverage for "
+          + (tests.size() - toRun.size()) + " of " + tests.size()
+          + " test classes");
+    }
+    return toRun;
+  }
+
+  private SideEffect1<CoverageResult> recordingByTestClass(
+      final Map<ClassName, List<CoverageResult>> byTestClass,
+      final SideEffect1<CoverageResult> handler) {
+    if (!this.cache.isEnabled()) {
+      return handler;
+    }
+    return cr -> {
+      byTestClass.computeIfAbsent(testClassOf(cr),
+          c -> Collections.synchronizedList(new ArrayList<CoverageResult>()))
+          .add(cr);
+      handler.apply(cr);
+    };
+  }
+
+  private void updateCache(final List<ClassInfo> ran,
+      final Map<ClassName, List<CoverageResult>> byTestClass,
+      final Function<ClassName, byte[]> dependencies) {
+    if (!this.cache.isEnabled()) {
+      return;
+    }
+
+    for (final ClassInfo each : ran) {
+      final List<CoverageResult> results = byTestClass.remove(each.getName());
+      this.cache.record(each, results != null ? results
+          : Collections.<CoverageResult> emptyList(),
+          classes -> this.code.getClassInfo(classes), dependencies);
+    }
+
+    // tests reported against a class that was not asked to run (e.g. by a
+    // suite) cannot safely be reused
+    if (!byTestClass.isEmpty()) {
+      LOG.fine("Could not attribute coverage of tests in " + byTestClass.keySet()
+          + " to a test class. Coverage will not be reused.");
+      this.cache.clear();
+    }
+  }
+
+  private static ClassName testClassOf(final CoverageResult cr) {
+    final String testClass = cr.getTestUnitDescription().getFirstTestClass();
+    if (testClass == null) {
+      return ClassName.fromString("");
+    }
+    return ClassName.fromString(testClass);
+  }
+
+  private static String describeIfSharded(final Shard shard, final int shards) {
+    if (shards == 1) {
+      return "";
+    }
+    return ". " + shard + " ran test classes " + shard.testClasses;
   }
 
   private static Function<ClassInfo, String> classInfoToName() {
@@ -171,14 +346,15 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private SideEffect1<CoverageResult> resultProcessor(
-      final CoverageData coverage) {
+      final IndexedCoverageData coverage) {
     return new SideEffect1<CoverageResult>() {
       private final String[] spinner = new String[] { "\u0008/", "\u0008-",
           "\u0008\\", "\u0008|" };
       int i = 0;
 
+      // called by the communication thread of each coverage minion
       @Override
-      public void apply(final CoverageResult cr) {
+      public synchronized void apply(final CoverageResult cr) {
         coverage.calculateClassCoverage(cr);
         if (DefaultCoverageGenerator.this.showProgress) {
           System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
@@ -189,6 +365,36 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     };
   }
 
+  private static class Shard {
+    private final int               number;
+    private final int               of;
+    private final List<String>      testClasses;
+    private final List<Description> failingTests = new ArrayList<>();
+    private CoverageProcess         process;
+    private ExitCode                exitCode;
+
+    Shard(final int number, final int of, final List<String> testClasses) {
+      this.number = number;
+      this.of = of;
+      this.testClasses = testClasses;
+    }
+
+    SideEffect1<CoverageResult> recordingFailures(
+        final SideEffect1<CoverageResult> handler) {
+      return cr -> {
+        if (!cr.isGreenTest()) {
+          this.failingTests.add(cr.getTestUnitDescription());
+        }
+        handler.apply(cr);
+      };
+    }
+
+    @Override
+    public String toString() {
+      return "Coverage shard " + this.number + " of " + this.of;
+    }
+  }
+
   @Override
   public TestPluginArguments getConfiguration() {
     return this.coverageOptions.getPitConfig();
@@ -1,33 +1,42 @@
 package org.pitest.coverage.execute;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.testapi.Description;
+import org.pitest.testapi.SerializedTestUnit;
 import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 
-import sun.pitest.CodeCoverageStore;
-
 final class Receive implements ReceiveStrategy {
 
-  private final Map<Integer, ClassName>     classIdToName = new ConcurrentHashMap<>();
-  private final Map<Long, BlockLocation>    probeToBlock  = new ConcurrentHashMap<>();
+  private final Map<Integer, ClassName>       classIdToName = new ConcurrentHashMap<>();
+  private final Map<Integer, BlockLocation[]> probeToBlock  = new ConcurrentHashMap<>();
 
-  private final SideEffect1<CoverageResult> handler;
+  private final SideEffect1<CoverageResult>     handler;
+  private final SideEffect1<SerializedTestUnit> testUnitHandler;
 
   Receive(final SideEffect1<CoverageResult> handler) {
+    this(handler, Prelude.noSideEffect(SerializedTestUnit.class));
+  }
+
+  Receive(final SideEffect1<CoverageResult> handler,
+      final SideEffect1<SerializedTestUnit> testUnitHandler) {
     this.handler = handler;
+    this.testUnitHandler = testUnitHandler;
   }
 
   @Override
@@ -44,11 +53,22 @@ final class Receive implements ReceiveStrategy {
     case Id.OUTCOME:
       handleTestEnd(is);
       break;
+    case Id.TEST_UNIT:
+      handleTestUnit(is);
+      break;
     case Id.DONE:
       // nothing to do ?
     }
   }
 
+  // the descriptor is only forwarded to minions, so is never deserialised here
+  private void handleTestUnit(final SafeDataInputStream is) {
+    final String name = is.readString();
+    final String testClass = is.readString();
+    this.testUnitHandler.apply(new SerializedTestUnit(name, testClass, is
+        .readBytes()));
+  }
+
   private void handleProbes(final SafeDataInputStream is) {
     final int classId = is.readInt();
     final String methodName = is.readString();
@@ -57,36 +77,60 @@ final class Receive implements ReceiveStrategy {
     final int last = is.readInt();
     final Location loc = Location.location(this.classIdToName.get(classId),
         MethodName.fromString(methodName), methodSig);
+    final BlockLocation[] blocks = blocksForClass(classId, last + 1);
     for (int i = first; i != (last + 1); i++) {
       // nb, convert from classwide id to method scoped index within
       // BlockLocation
-      this.probeToBlock.put(CodeCoverageStore.encode(classId, i),
-          new BlockLocation(loc, i - first));
+      blocks[i] = new BlockLocation(loc, i - first);
     }
   }
 
+  private BlockLocation[] blocksForClass(final int classId,
+      final int numberOfProbes) {
+    final BlockLocation[] existing = this.probeToBlock.get(classId);
+    if ((existing != null) && (existing.length >= numberOfProbes)) {
+      return existing;
+    }
+    final BlockLocation[] blocks = existing == null ? new BlockLocation[numberOfProbes]
+        : Arrays.copyOf(existing, numberOfProbes);
+    this.probeToBlock.put(classId, blocks);
+    return blocks;
+  }
+
   private void handleTestEnd(final SafeDataInputStream is) {
-    final Description d = is.read(Description.class);
-    final int numberOfResults = is.readInt();
+    final Description d = MessageCodec.readDescription(is);
+    final int numberOfClasses = is.readVarInt();
 
-    final Set<BlockLocation> hits = new HashSet<>(numberOfResults);
+    final List<BlockLocation> hits = new ArrayList<>();
 
-    for (int i = 0; i != numberOfResults; i++) {
-      readProbeHit(is, hits);
+    for (int i = 0; i != numberOfClasses; i++) {
+      readClassHits(is, hits);
     }
 
     this.handler.apply(createCoverageResult(is, d, hits));
   }
 
-  private void readProbeHit(final SafeDataInputStream is,
-      final Set<BlockLocation> hits) {
-    final long encoded = is.readLong();
-    final BlockLocation location = probeToBlock(encoded);
-    hits.add(location);
+  // each probe maps to a distinct block, so no need to check for duplicates
+  private void readClassHits(final SafeDataInputStream is,
+      final List<BlockLocation> hits) {
+    final int classId = is.readVarInt();
+    final int numberOfProbes = is.readVarInt();
+    final BlockLocation[] blocks = this.probeToBlock.get(classId);
+    for (int i = 0; i < numberOfProbes; i += 8) {
+      final int packed = is.readByte() & 0xFF;
+      for (int bit = 0; bit != 8; bit++) {
+        if ((packed & (1 << bit)) != 0) {
+          addBlock(blocks, i + bit, hits);
+        }
+      }
+    }
   }
 
-  private BlockLocation probeToBlock(long encoded) {
-    return this.probeToBlock.get(encoded);
+  private static void addBlock(final BlockLocation[] blocks, final int probe,
+      final List<BlockLocation> hits) {
+    if ((blocks != null) && (probe < blocks.length) && (blocks[probe] != null)) {
+      hits.add(blocks[probe]);
+    }
   }
 
   private CoverageResult createCoverageResult(final SafeDataInputStream is,
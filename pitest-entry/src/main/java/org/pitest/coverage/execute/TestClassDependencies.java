@@ -0,0 +1,121 @@
+package org.pitest.coverage.execute;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.classpath.CodeSource;
+import org.pitest.dependency.DependencyExtractor;
+import org.pitest.util.Unchecked;
+
+/**
+ * Fingerprints the classes a test class depends on, so that its recorded
+ * coverage is not reused once a helper, fixture or any other class it uses
+ * has changed, whether or not that class is code under test.
+ *
+ * Dependencies are followed through the classes of the project. Classes read
+ * from archives are included but not followed, as an archive is replaced as a
+ * whole when a library changes. Classes used only by reflection are not found.
+ */
+final class TestClassDependencies {
+
+  private final ClassPath                                              classPath;
+  private final DependencyExtractor                                    extractor;
+  private final Function<Collection<ClassName>, Collection<ClassInfo>> classInfo;
+
+  // direct dependencies of each class, shared by all test classes
+  private final Map<ClassName, Collection<ClassName>>                  direct = new HashMap<>();
+
+  TestClassDependencies(final CodeSource code) {
+    this(code.getClassPath(), classes -> code.getClassInfo(classes));
+  }
+
+  TestClassDependencies(final ClassPath classPath,
+      final Function<Collection<ClassName>, Collection<ClassInfo>> classInfo) {
+    this.classPath = classPath;
+    this.extractor = new DependencyExtractor(new ClassPathByteArraySource(
+        classPath), 1);
+    this.classInfo = classInfo;
+  }
+
+  /**
+   * @return a hash of the identities of the test class and every class it
+   *         depends on
+   */
+  byte[] fingerprint(final ClassName test) {
+    final MessageDigest digest = sha256();
+    for (final ClassInfo each : this.classInfo.apply(dependenciesOf(test))) {
+      digest.update(each.getName().asJavaName()
+          .getBytes(StandardCharsets.UTF_8));
+      digest.update(each.getHierarchicalId().getHierarchicalHash()
+          .getBytes(StandardCharsets.UTF_8));
+    }
+    return digest.digest();
+  }
+
+  Set<ClassName> dependenciesOf(final ClassName test) {
+    final Set<ClassName> found = new TreeSet<>();
+    final Deque<ClassName> toVisit = new ArrayDeque<>();
+    found.add(test);
+    toVisit.add(test);
+    while (!toVisit.isEmpty()) {
+      for (final ClassName each : directDependencies(toVisit.remove())) {
+        if (found.add(each)) {
+          toVisit.add(each);
+        }
+      }
+    }
+    return found;
+  }
+
+  private Collection<ClassName> directDependencies(final ClassName clazz) {
+    return this.direct.computeIfAbsent(clazz, c -> {
+      if (!isProjectClass(c)) {
+        return new ArrayList<>();
+      }
+      final List<ClassName> names = new ArrayList<>();
+      for (final String each : extract(c)) {
+        names.add(ClassName.fromString(each));
+      }
+      return names;
+    });
+  }
+
+  private boolean isProjectClass(final ClassName clazz) {
+    return (this.classPath.findResource(clazz.asInternalName() + ".class") != null)
+        && !this.classPath.findArchive(clazz.asJavaName()).isPresent();
+  }
+
+  private Collection<String> extract(final ClassName clazz) {
+    try {
+      return this.extractor.extractCallDependenciesForPackages(
+          clazz.asJavaName(), name -> true);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
@@ -6,7 +6,7 @@ import java.util.Comparator;
 /**
  * Comparator to prioritise the order of mutation analysis units.
  *
- * The ones with the most mutations are run first. This should make it less
+ * The ones predicted to take longest are run first. This should make it less
  * likely that a single thread remains running at the of a run because it has
  * just picked up a large unit.
  *
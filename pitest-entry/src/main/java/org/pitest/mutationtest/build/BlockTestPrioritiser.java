@@ -0,0 +1,90 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.analysis.Block;
+import org.pitest.coverage.analysis.BlockMapper;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Assigns tests based on the coverage of the block containing each mutation,
+ * rather than of its line, so mutations on lines holding several blocks are
+ * not assigned tests that only executed the other blocks. Tests are ordered as
+ * by {@link DefaultTestPrioritiser}.
+ *
+ * The block numbers held by mutations are counted across the class, so
+ * mutations are instead placed within the coverage blocks of their method by
+ * instruction index. Line coverage is used if the block cannot be found or
+ * was not covered, and for mutations within finally blocks as the compiler
+ * inlines these.
+ */
+public class BlockTestPrioritiser extends DefaultTestPrioritiser {
+
+  private final CoverageDatabase                          coverage;
+  private final ClassByteArraySource                      source;
+
+  // read by concurrent mutation discovery threads
+  private final Map<ClassName, Map<Location, List<Block>>> blocks = new ConcurrentHashMap<>();
+
+  public BlockTestPrioritiser(final CoverageDatabase coverage,
+      final ClassByteArraySource source) {
+    super(coverage);
+    this.coverage = coverage;
+    this.source = source;
+  }
+
+  @Override
+  Collection<TestInfo> pickTests(final MutationDetails mutation) {
+    if (mutation.isInStaticInitializer() || mutation.isInFinallyBlock()) {
+      return super.pickTests(mutation);
+    }
+
+    final Optional<BlockLocation> block = findBlock(mutation);
+    if (block.isPresent()) {
+      final Collection<TestInfo> tests = this.coverage
+          .getTestsForBlockLocation(block.get());
+      if ((tests != null) && !tests.isEmpty()) {
+        return tests;
+      }
+    }
+    return super.pickTests(mutation);
+  }
+
+  private Optional<BlockLocation> findBlock(final MutationDetails mutation) {
+    final Location location = mutation.getId().getLocation();
+    final List<Block> methodBlocks = this.blocks
+        .computeIfAbsent(mutation.getClassName(), this::analyse)
+        .getOrDefault(location, Collections.<Block> emptyList());
+    final int instruction = mutation.getInstructionIndex();
+    for (int i = 0; i != methodBlocks.size(); i++) {
+      final Block each = methodBlocks.get(i);
+      if ((instruction >= each.getFirstInstruction())
+          && (instruction <= each.getLastInstruction())) {
+        return Optional.of(new BlockLocation(location, i));
+      }
+    }
+    return Optional.empty();
+  }
+
+  // blocks are numbered as by the LineMapper used when coverage is recorded
+  private Map<Location, List<Block>> analyse(final ClassName clazz) {
+    final Optional<byte[]> bytes = this.source.getBytes(clazz.asJavaName());
+    if (!bytes.isPresent()) {
+      return Collections.emptyMap();
+    }
+
+    return BlockMapper.mapBlocks(clazz, bytes.get());
+  }
+
+}
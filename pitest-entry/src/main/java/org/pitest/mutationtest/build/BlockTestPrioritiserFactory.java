@@ -0,0 +1,23 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Properties;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageDatabase;
+
+public class BlockTestPrioritiserFactory implements TestPrioritiserFactory {
+
+  @Override
+  public String description() {
+    return "Block coverage test prioritiser";
+  }
+
+  @Override
+  public TestPrioritiser makeTestPrioritiser(final Properties props,
+      final CodeSource code, final CoverageDatabase coverage) {
+    return new BlockTestPrioritiser(coverage,
+        c -> code.fetchClassBytes(ClassName.fromString(c)));
+  }
+
+}
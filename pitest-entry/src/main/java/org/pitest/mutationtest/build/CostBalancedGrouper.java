@@ -0,0 +1,134 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Log;
+
+/**
+ * Groups mutations into units of similar predicted cost, so that the threads
+ * running them finish at about the same time.
+ *
+ * A target cost is chosen that gives each thread several units. Classes
+ * predicted to cost more than the target are split, and cheaper classes are
+ * packed together up to the target, largest first. No unit holds more than
+ * the unit size, if one is set. Units are returned most expensive first.
+ */
+public class CostBalancedGrouper implements MutationGrouper {
+
+  private static final Logger LOG              = Log.getLogger();
+
+  static final int            UNITS_PER_THREAD = 4;
+
+  private final int           threads;
+  private final int           unitSize;
+
+  public CostBalancedGrouper(final int threads, final int unitSize) {
+    this.threads = Math.max(1, threads);
+    this.unitSize = unitSize;
+  }
+
+  @Override
+  public List<List<MutationDetails>> groupMutations(
+      final Collection<ClassName> codeClasses,
+      final Collection<MutationDetails> mutations) {
+    final long target = targetMillis(mutations);
+
+    final List<Unit> chunks = new ArrayList<>();
+    for (final List<MutationDetails> each : byClass(mutations)) {
+      split(each, target, chunks);
+    }
+    chunks.sort(mostExpensiveFirst());
+
+    final List<Unit> units = new ArrayList<>();
+    for (final Unit each : chunks) {
+      pack(each, target, units);
+    }
+    units.sort(mostExpensiveFirst());
+
+    if (!units.isEmpty()) {
+      LOG.fine("Grouped " + mutations.size() + " mutations into "
+          + units.size() + " units with a target of " + target
+          + " ms, predicted to take from "
+          + units.get(units.size() - 1).millis + " to " + units.get(0).millis
+          + " ms");
+    }
+
+    return units.stream().map(u -> u.mutations).collect(Collectors.toList());
+  }
+
+  // splitting below the cost of starting a minion would cost more than it saves
+  private long targetMillis(final Collection<MutationDetails> mutations) {
+    return Math.max(MutationCost.MINION_START_MILLIS,
+        MutationCost.predictMillis(mutations)
+            / (this.threads * UNITS_PER_THREAD));
+  }
+
+  private static Collection<List<MutationDetails>> byClass(
+      final Collection<MutationDetails> mutations) {
+    return mutations.stream().collect(Collectors.groupingBy(
+        MutationDetails::getClassName, LinkedHashMap::new,
+        Collectors.toList())).values();
+  }
+
+  private void split(final List<MutationDetails> mutations, final long target,
+      final List<Unit> chunks) {
+    Unit current = new Unit();
+    for (final MutationDetails each : mutations) {
+      final long millis = MutationCost.predictMillis(each);
+      if (!current.mutations.isEmpty()
+          && ((current.millis + millis) > target || isFull(current, 1))) {
+        chunks.add(current);
+        current = new Unit();
+      }
+      current.add(each, millis);
+    }
+    if (!current.mutations.isEmpty()) {
+      chunks.add(current);
+    }
+  }
+
+  // first fit, so most units are filled close to the target
+  private void pack(final Unit chunk, final long target, final List<Unit> units) {
+    for (final Unit each : units) {
+      if (((each.millis + chunk.millis) <= target)
+          && !isFull(each, chunk.mutations.size())) {
+        each.addAll(chunk);
+        return;
+      }
+    }
+    units.add(chunk);
+  }
+
+  private boolean isFull(final Unit unit, final int adding) {
+    return (this.unitSize > 0)
+        && ((unit.mutations.size() + adding) > this.unitSize);
+  }
+
+  private static Comparator<Unit> mostExpensiveFirst() {
+    return (a, b) -> Long.compare(b.millis, a.millis);
+  }
+
+  private static class Unit {
+    private final List<MutationDetails> mutations = new ArrayList<>();
+    private long                        millis;
+
+    void add(final MutationDetails mutation, final long millis) {
+      this.mutations.add(mutation);
+      this.millis = this.millis + millis;
+    }
+
+    void addAll(final Unit other) {
+      this.mutations.addAll(other.mutations);
+      this.millis = this.millis + other.millis;
+    }
+  }
+
+}
@@ -39,7 +39,7 @@ public class DefaultTestPrioritiser implements TestPrioritiser {
     return prioritizeTests(mutation.getClassName(), pickTests(mutation));
   }
 
-  private Collection<TestInfo> pickTests(MutationDetails mutation) {
+  Collection<TestInfo> pickTests(MutationDetails mutation) {
     if (!mutation.isInStaticInitializer()) {
       return this.coverage.getTestsForClassLine(mutation.getClassLine());
     } else {
@@ -0,0 +1,118 @@
+package org.pitest.mutationtest.build;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.execute.MinionProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+
+/**
+ * A mutation test unit that shares its mutations through a
+ * {@link MutationDispatcher}.
+ *
+ * Mutations are sent to the minion a small batch at a time. Once its own
+ * mutations have been taken the unit takes batches from other units until
+ * none remain. If a minion fails, the mutation it was analysing is given a
+ * status from the exit code and only the mutations of the batch that had not
+ * started are queued again.
+ */
+public class DispatchedMutationTestUnit implements MutationAnalysisUnit {
+
+  private static final Logger               LOG = Log.getLogger();
+
+  private final Collection<MutationDetails> availableMutations;
+  private final WorkerFactory               workerFactory;
+  private final MutationDispatcher          dispatcher;
+  private final Deque<MutationDetails>      queue;
+  private final int                         priority;
+
+  public DispatchedMutationTestUnit(
+      final Collection<MutationDetails> availableMutations,
+      final WorkerFactory workerFactory, final MutationDispatcher dispatcher,
+      final int priority) {
+    this.availableMutations = availableMutations;
+    this.workerFactory = workerFactory;
+    this.dispatcher = dispatcher;
+    this.priority = priority;
+    this.queue = dispatcher.register(FCollection.filter(availableMutations,
+        m -> !m.getTestsInOrder().isEmpty()));
+  }
+
+  @Override
+  public MutationMetaData call() throws Exception {
+    final MutationStatusMap uncovered = new MutationStatusMap();
+    uncovered.setStatusForMutations(FCollection.filter(
+        this.availableMutations, m -> m.getTestsInOrder().isEmpty()),
+        DetectionStatus.NO_COVERAGE);
+    final List<MutationResult> results = new ArrayList<>(
+        uncovered.createMutationResults());
+
+    int analysed = 0;
+    List<MutationDetails> batch = this.dispatcher.nextBatch(this.queue);
+    while (!batch.isEmpty()) {
+      final List<MutationResult> batchResults = runBatch(batch);
+      results.addAll(batchResults);
+      analysed = analysed + batchResults.size();
+      batch = this.dispatcher.nextBatch(this.queue);
+    }
+
+    LOG.fine("Unit of " + this.availableMutations.size()
+        + " mutations analysed " + analysed + " mutations");
+    return new MutationMetaData(results);
+  }
+
+  @Override
+  public int priority() {
+    return this.priority;
+  }
+
+  private List<MutationResult> runBatch(final List<MutationDetails> batch)
+      throws IOException, InterruptedException {
+    final MutationStatusMap mutations = new MutationStatusMap();
+    mutations.setStatusForMutations(batch, DetectionStatus.NOT_STARTED);
+
+    final MinionProcess worker = this.workerFactory.createWorker(batch,
+        testClassesFor(batch));
+    worker.start();
+
+    MutationTestUnit.setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(
+        mutations, batch);
+
+    final ExitCode exitCode = MutationTestUnit.waitForMinionToDie(worker);
+    worker.results(mutations);
+
+    MutationTestUnit.correctResultForProcessExitCode(mutations, exitCode);
+
+    final Set<MutationDetails> unrun = new HashSet<>(
+        mutations.getUnrunMutations());
+    this.dispatcher.requeue(this.queue,
+        FCollection.filter(batch, m -> unrun.contains(m)));
+
+    return FCollection.filter(mutations.createMutationResults(),
+        r -> r.getStatus() != DetectionStatus.NOT_STARTED);
+  }
+
+  private static Set<ClassName> testClassesFor(
+      final Collection<MutationDetails> mutations) {
+    final Set<ClassName> testClasses = new HashSet<>();
+    FCollection.flatMapTo(mutations, m -> FCollection.map(
+        m.getTestsInOrder(), TestInfo.toDefiningClassName()), testClasses);
+    return testClasses;
+  }
+
+}
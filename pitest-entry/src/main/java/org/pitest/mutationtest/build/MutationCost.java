@@ -0,0 +1,50 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Predicts the time taken to analyse mutations from the times their tests
+ * took during coverage.
+ *
+ * Every assigned test is assumed to run, as it would for a surviving mutant,
+ * so killed mutants will usually take less time than predicted.
+ */
+final class MutationCost {
+
+  /**
+   * Rough time to launch a minion and load its tests
+   */
+  static final long MINION_START_MILLIS = 500;
+
+  /**
+   * Rough time to insert a mutant and restore the class afterwards
+   */
+  static final long MUTANT_MILLIS       = 5;
+
+  private MutationCost() {
+  }
+
+  static long predictMillis(final MutationDetails mutation) {
+    long millis = MUTANT_MILLIS;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      millis = millis + each.getTime();
+    }
+    return millis;
+  }
+
+  static long predictMillis(final Collection<MutationDetails> mutations) {
+    long millis = 0;
+    for (final MutationDetails each : mutations) {
+      millis = millis + predictMillis(each);
+    }
+    return millis;
+  }
+
+  static long predictUnitMillis(final Collection<MutationDetails> mutations) {
+    return MINION_START_MILLIS + predictMillis(mutations);
+  }
+
+}
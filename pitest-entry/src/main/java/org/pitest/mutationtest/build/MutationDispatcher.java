@@ -0,0 +1,98 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Shares the mutations of the units in a run so that no unit keeps mutations
+ * it is not yet ready to analyse.
+ *
+ * Each unit queues its mutations here and takes them back in small batches
+ * from the head of its queue. A unit whose own queue is empty takes batches
+ * from the tail of the longest remaining queue, so units that finish early
+ * take on the work of those still running rather than leaving their threads
+ * idle.
+ */
+public class MutationDispatcher {
+
+  public static final int                    DEFAULT_BATCH_SIZE = 8;
+
+  private final int                          batchSize;
+  private final List<Deque<MutationDetails>> queues             = new ArrayList<>();
+
+  private int                                stolen;
+
+  public MutationDispatcher(final int batchSize) {
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  synchronized Deque<MutationDetails> register(
+      final Collection<MutationDetails> mutations) {
+    final Deque<MutationDetails> queue = new ArrayDeque<>(mutations);
+    this.queues.add(queue);
+    return queue;
+  }
+
+  /**
+   * Returns the next batch of mutations for the owner of the given queue to
+   * analyse, or an empty list once every queue is empty
+   */
+  synchronized List<MutationDetails> nextBatch(
+      final Deque<MutationDetails> own) {
+    if (!own.isEmpty()) {
+      final List<MutationDetails> batch = new ArrayList<>(this.batchSize);
+      while (!own.isEmpty() && (batch.size() < this.batchSize)) {
+        batch.add(own.pollFirst());
+      }
+      return batch;
+    }
+
+    final Deque<MutationDetails> victim = longestQueue();
+    if (victim == null) {
+      return Collections.emptyList();
+    }
+    // taken from the tail so the batch stays in the order it was queued
+    final LinkedList<MutationDetails> batch = new LinkedList<>();
+    while (!victim.isEmpty() && (batch.size() < this.batchSize)) {
+      batch.addFirst(victim.pollLast());
+    }
+    this.stolen = this.stolen + batch.size();
+    return batch;
+  }
+
+  /**
+   * Returns mutations that were taken but not analysed to the head of the
+   * given queue
+   */
+  synchronized void requeue(final Deque<MutationDetails> own,
+      final Collection<MutationDetails> mutations) {
+    final List<MutationDetails> reversed = new ArrayList<>(mutations);
+    Collections.reverse(reversed);
+    for (final MutationDetails each : reversed) {
+      own.addFirst(each);
+    }
+  }
+
+  public synchronized int mutationsStolen() {
+    return this.stolen;
+  }
+
+  private Deque<MutationDetails> longestQueue() {
+    Deque<MutationDetails> longest = null;
+    for (final Deque<MutationDetails> each : this.queues) {
+      if (!each.isEmpty() && ((longest == null)
+          || (each.size() > longest.size()))) {
+        longest = each;
+      }
+    }
+    return longest;
+  }
+
+}
@@ -20,9 +20,14 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
@@ -33,30 +38,63 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  private final Supplier<MutationSource>     mutationSources;
+  private final MutationAnalyser             analyser;
+  private final WorkerFactory                workerFactory;
+  private final MutationGrouper              grouper;
+  private final int                          threads;
+  private final Optional<MutationDispatcher> dispatcher;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, () -> mutationSource, grouper, 1);
+  }
+
+  /**
+   * @param mutationSources
+   *          supplies a mutation source for each discovery thread. Sources
+   *          hold per class interceptor state so are never shared between
+   *          threads.
+   * @param threads
+   *          number of threads to use when searching for mutations
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final Supplier<MutationSource> mutationSources,
+      final MutationGrouper grouper, final int threads) {
+    this(workerFactory, analyser, mutationSources, grouper, threads,
+        Optional.empty());
+  }
 
-    this.mutationSource = mutationSource;
+  /**
+   * @param dispatcher
+   *          if present, units share their mutations through it and send
+   *          them to minions in batches
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final Supplier<MutationSource> mutationSources,
+      final MutationGrouper grouper, final int threads,
+      final Optional<MutationDispatcher> dispatcher) {
+
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
+    this.threads = threads;
+    this.dispatcher = dispatcher;
   }
 
   public List<MutationAnalysisUnit> createMutationTestUnits(
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<>();
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+    final List<MutationDetails> mutations = findMutations(codeClasses);
 
     Collections.sort(mutations, comparator());
 
@@ -90,8 +128,35 @@ public class MutationTestBuilder {
     return (arg0, arg1) -> arg0.getId().compareTo(arg1.getId());
   }
 
-  private Function<ClassName, Iterable<MutationDetails>> classToMutations() {
-    return a -> MutationTestBuilder.this.mutationSource.createMutations(a);
+  private List<MutationDetails> findMutations(
+      final Collection<ClassName> codeClasses) {
+    if (this.threads <= 1) {
+      return FCollection.flatMap(codeClasses,
+          classToMutations(this.mutationSources.get()));
+    }
+
+    // the stream is ordered, so results are merged in the order of the
+    // supplied classes regardless of which thread analysed them
+    final ThreadLocal<MutationSource> sources = ThreadLocal
+        .withInitial(this.mutationSources);
+    final ForkJoinPool pool = new ForkJoinPool(this.threads);
+    try {
+      return pool.submit(() -> codeClasses.parallelStream()
+          .flatMap(c -> sources.get().createMutations(c).stream())
+          .collect(Collectors.toList())).get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      throw Unchecked.translateCheckedException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static Function<ClassName, Iterable<MutationDetails>> classToMutations(
+      final MutationSource source) {
+    return a -> source.createMutations(a);
   }
 
   private MutationAnalysisUnit makePreAnalysedUnit(
@@ -101,12 +166,19 @@ public class MutationTestBuilder {
 
   private MutationAnalysisUnit makeUnanalysedUnit(
       final Collection<MutationDetails> needAnalysis) {
+    final long predictedMillis = MutationCost.predictUnitMillis(needAnalysis);
+    if (this.dispatcher.isPresent()) {
+      return new DispatchedMutationTestUnit(needAnalysis, this.workerFactory,
+          this.dispatcher.get(),
+          (int) Math.min(Integer.MAX_VALUE, predictedMillis));
+    }
+
     final Set<ClassName> uniqueTestClasses = new HashSet<>();
     FCollection.flatMapTo(needAnalysis, mutationDetailsToTestClass(),
         uniqueTestClasses);
 
     return new MutationTestUnit(needAnalysis, uniqueTestClasses,
-        this.workerFactory);
+        this.workerFactory, OptionalLong.of(predictedMillis));
   }
 
   private static Function<MutationResult, MutationDetails> resultToDetails() {
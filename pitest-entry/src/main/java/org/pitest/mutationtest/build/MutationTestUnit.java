@@ -16,6 +16,8 @@ package org.pitest.mutationtest.build;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
@@ -23,7 +25,7 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.engine.MutationDetails;
-import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 
@@ -36,11 +38,26 @@ public class MutationTestUnit implements MutationAnalysisUnit {
 
   private final Collection<ClassName>       testClasses;
 
+  private final OptionalLong                predictedMillis;
+
   public MutationTestUnit(final Collection<MutationDetails> availableMutations,
       final Collection<ClassName> testClasses, final WorkerFactory workerFactor) {
+    this(availableMutations, testClasses, workerFactor, OptionalLong.empty());
+  }
+
+  /**
+   * @param predictedMillis
+   *          predicted time to analyse the mutations. If present it is used
+   *          as the priority of the unit, and logged against the actual time
+   *          taken.
+   */
+  public MutationTestUnit(final Collection<MutationDetails> availableMutations,
+      final Collection<ClassName> testClasses,
+      final WorkerFactory workerFactor, final OptionalLong predictedMillis) {
     this.availableMutations = availableMutations;
     this.testClasses = testClasses;
     this.workerFactory = workerFactor;
+    this.predictedMillis = predictedMillis;
   }
 
   @Override
@@ -52,16 +69,31 @@ public class MutationTestUnit implements MutationAnalysisUnit {
 
     mutations.markUncoveredMutations();
 
+    final long start = System.nanoTime();
     runTestsInSeperateProcess(mutations);
+    logTimeTaken(System.nanoTime() - start);
 
     return reportResults(mutations);
   }
 
   @Override
   public int priority() {
+    if (this.predictedMillis.isPresent()) {
+      return (int) Math.min(Integer.MAX_VALUE,
+          this.predictedMillis.getAsLong());
+    }
     return this.availableMutations.size();
   }
 
+  private void logTimeTaken(final long nanos) {
+    if (this.predictedMillis.isPresent()) {
+      LOG.fine("Unit of " + this.availableMutations.size()
+          + " mutations predicted to take "
+          + this.predictedMillis.getAsLong() + " ms took "
+          + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+    }
+  }
+
   private void runTestsInSeperateProcess(final MutationStatusMap mutations)
       throws IOException, InterruptedException {
     while (mutations.hasUnrunMutations()) {
@@ -75,7 +107,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
 
     final Collection<MutationDetails> remainingMutations = mutations
         .getUnrunMutations();
-    final MutationTestProcess worker = this.workerFactory.createWorker(
+    final MinionProcess worker = this.workerFactory.createWorker(
         remainingMutations, this.testClasses);
     worker.start();
 
@@ -88,20 +120,20 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     correctResultForProcessExitCode(mutations, exitCode);
   }
 
-  private static ExitCode waitForMinionToDie(final MutationTestProcess worker) {
+  static ExitCode waitForMinionToDie(final MinionProcess worker) {
     final ExitCode exitCode = worker.waitToDie();
     LOG.fine("Exit code was - " + exitCode);
     return exitCode;
   }
 
-  private static void setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(
+  static void setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(
       final MutationStatusMap mutations,
       final Collection<MutationDetails> remainingMutations) {
     mutations.setStatusForMutation(remainingMutations.iterator().next(),
         DetectionStatus.STARTED);
   }
 
-  private static void correctResultForProcessExitCode(
+  static void correctResultForProcessExitCode(
       final MutationStatusMap mutations, final ExitCode exitCode) {
 
     if (!exitCode.isOk()) {
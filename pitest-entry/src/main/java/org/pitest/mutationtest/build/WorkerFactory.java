@@ -4,8 +4,14 @@ import static org.pitest.functional.prelude.Prelude.printWith;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestUnitManifest;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.EngineArguments;
@@ -14,21 +20,30 @@ import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
+import org.pitest.mutationtest.execute.RemoteAgentPool;
+import org.pitest.mutationtest.execute.RemoteMutationTestProcess;
 import org.pitest.process.ProcessArgs;
+import org.pitest.testapi.SerializedTestUnit;
 import org.pitest.util.Log;
 import org.pitest.util.SocketFinder;
 
 public class WorkerFactory {
 
-  private final String                classPath;
-  private final File                  baseDir;
-  private final TestPluginArguments   pitConfig;
-  private final TimeoutLengthStrategy timeoutStrategy;
-  private final boolean               verbose;
-  private final boolean               fullMutationMatrix;
-  private final MutationConfig        config;
-  private final EngineArguments       args;
+  private final String                    classPath;
+  private final File                      baseDir;
+  private final TestPluginArguments       pitConfig;
+  private final TimeoutLengthStrategy     timeoutStrategy;
+  private final boolean                   verbose;
+  private final boolean                   fullMutationMatrix;
+  private final MutationConfig            config;
+  private final EngineArguments           args;
+  private final Optional<MinionPool>      pool;
+  private final Optional<RemoteAgentPool> remoteAgents;
+  private final TestUnitManifest          testUnits;
 
   public WorkerFactory(final File baseDir,
       final TestPluginArguments pitConfig,
@@ -38,6 +53,61 @@ public class WorkerFactory {
       final boolean verbose,
       final boolean fullMutationMatrix,
       final String classPath) {
+    this(baseDir, pitConfig, mutationConfig, args, timeoutStrategy, verbose,
+        fullMutationMatrix, classPath, Optional.<MinionPool> empty());
+  }
+
+  public WorkerFactory(final File baseDir,
+      final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final EngineArguments args,
+      final TimeoutLengthStrategy timeoutStrategy,
+      final boolean verbose,
+      final boolean fullMutationMatrix,
+      final String classPath,
+      final Optional<MinionPool> pool) {
+    this(baseDir, pitConfig, mutationConfig, args, timeoutStrategy, verbose,
+        fullMutationMatrix, classPath, pool,
+        Optional.<RemoteAgentPool> empty());
+  }
+
+  /**
+   * @param remoteAgents
+   *          if present, batches are sent to remote agents instead of being
+   *          run in minions on this machine
+   */
+  public WorkerFactory(final File baseDir,
+      final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final EngineArguments args,
+      final TimeoutLengthStrategy timeoutStrategy,
+      final boolean verbose,
+      final boolean fullMutationMatrix,
+      final String classPath,
+      final Optional<MinionPool> pool,
+      final Optional<RemoteAgentPool> remoteAgents) {
+    this(baseDir, pitConfig, mutationConfig, args, timeoutStrategy, verbose,
+        fullMutationMatrix, classPath, pool, remoteAgents,
+        new TestUnitManifest());
+  }
+
+  /**
+   * @param testUnits
+   *          descriptors of the tests found while calculating coverage. Tests
+   *          that are described are created by the minion when needed rather
+   *          than found by examining their classes.
+   */
+  public WorkerFactory(final File baseDir,
+      final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final EngineArguments args,
+      final TimeoutLengthStrategy timeoutStrategy,
+      final boolean verbose,
+      final boolean fullMutationMatrix,
+      final String classPath,
+      final Optional<MinionPool> pool,
+      final Optional<RemoteAgentPool> remoteAgents,
+      final TestUnitManifest testUnits) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
@@ -46,13 +116,19 @@ public class WorkerFactory {
     this.baseDir = baseDir;
     this.config = mutationConfig;
     this.args = args;
+    this.pool = pool;
+    this.remoteAgents = remoteAgents;
+    this.testUnits = testUnits;
   }
 
-  public MutationTestProcess createWorker(
+  public MinionProcess createWorker(
       final Collection<MutationDetails> remainingMutations,
       final Collection<ClassName> testClasses) {
+    final List<SerializedTestUnit> described = this.testUnits
+        .describeTestsFor(remainingMutations);
     final MinionArguments fileArgs = new MinionArguments(remainingMutations,
-        testClasses, this.config.getEngine().getName(), this.args, this.timeoutStrategy,
+        classesToExamine(testClasses, described), described,
+        this.config.getEngine().getName(), this.args, this.timeoutStrategy,
         Log.isVerbose(), this.fullMutationMatrix, this.pitConfig);
 
     final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
@@ -60,12 +136,31 @@ public class WorkerFactory {
         .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
         .andStderr(printWith("stderr "));
 
+    if (this.remoteAgents.isPresent()) {
+      return new RemoteMutationTestProcess(this.remoteAgents.get(), fileArgs);
+    }
+
+    if (this.pool.isPresent()) {
+      return new PooledMutationTestProcess(this.pool.get(), args, fileArgs);
+    }
+
     final SocketFinder sf = new SocketFinder();
     final MutationTestProcess worker = new MutationTestProcess(
         sf.getNextAvailableServerSocket(), args, fileArgs);
     return worker;
   }
 
+  private static List<ClassName> classesToExamine(
+      final Collection<ClassName> testClasses,
+      final List<SerializedTestUnit> described) {
+    final Set<ClassName> describedClasses = new HashSet<>();
+    for (final SerializedTestUnit each : described) {
+      describedClasses.add(ClassName.fromString(each.getTestClass()));
+    }
+    return testClasses.stream().filter(c -> !describedClasses.contains(c))
+        .collect(Collectors.toList());
+  }
+
   private SideEffect1<String> captureStdOutIfVerbose() {
     if (this.verbose) {
       return Prelude.printWith("stdout ");
@@ -215,7 +215,70 @@ public enum ConfigOption {
    * Allows very long classpaths that would otherwise exceed OS limits, but
    * may cause problems with some third party libraries.
    */
-  USE_CLASSPATH_JAR("useClasspathJar", false);
+  USE_CLASSPATH_JAR("useClasspathJar", false),
+
+  /**
+   * Maximum number of mutation test units a minion may analyse before it is
+   * replaced. Values greater than one enable a pool of reusable minions.
+   */
+  MINION_REUSE_LIMIT("minionReuseLimit", 1),
+
+  /**
+   * Derive the time each test may take from the times it took to pass against
+   * earlier mutants, instead of from the time it took during coverage.
+   */
+  ADAPTIVE_TIMEOUTS("adaptiveTimeouts", false),
+
+  /**
+   * Compile the mutants of each class into a single class and select them at
+   * runtime, instead of redefining the class for each mutant.
+   */
+  MUTANT_SCHEMATA("mutantSchemata", false),
+
+  /**
+   * Assign tests to each mutant by the coverage of the block holding it, instead
+   * of by the coverage of its line.
+   */
+  BLOCK_TARGETING("blockTargeting", false),
+
+  /**
+   * Group mutations into units of similar predicted cost, based on the times of
+   * the tests that cover them, instead of by class and unit size alone.
+   */
+  COST_BALANCED_UNITS("costBalancedUnits", false),
+
+  /**
+   * Send mutations to minions in small batches from a shared queue, so that
+   * threads that finish early take on the work of those still running.
+   */
+  WORK_STEALING("workStealing", false),
+
+  /**
+   * Addresses of remote agents, as host:port, to send mutations to instead of
+   * analysing them on this machine. The agents and this process must share a
+   * secret, given by the PIT_REMOTE_AGENT_SECRET environment variable.
+   */
+  REMOTE_AGENTS("remoteAgents"),
+
+  /**
+   * Flag to indicate if the selected tests of each class should be run against
+   * a mutant in a single invocation of the test framework. For TestNG this
+   * also targets tests by method rather than by class.
+   */
+  BATCH_TESTS_BY_CLASS("batchTestsByClass", false),
+
+  /**
+   * Flag to indicate if minions should share the classes they load through
+   * an application class data sharing archive kept between runs
+   */
+  CLASS_DATA_SHARING("classDataSharing", false),
+
+  /**
+   * Flag to indicate if mutants that time out should be stopped within the
+   * minion, by checks the engine places in the loops of mutated methods,
+   * rather than by the minion exiting
+   */
+  COOPERATIVE_TIMEOUTS("cooperativeTimeouts", false);
 
   private final String       text;
   private final Serializable defaultValue;
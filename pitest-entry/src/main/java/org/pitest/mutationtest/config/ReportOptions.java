@@ -88,6 +88,7 @@ public class ReportOptions {
 
   private Collection<File>               sourceDirs;
   private Collection<String>             classPathElements;
+  private ClassPath                      classPath;
   private Collection<String>             mutators;
   private Collection<String>             features;
 
@@ -136,6 +137,16 @@ public class ReportOptions {
   private String                         testPlugin                     = "";
   
   private boolean                        useClasspathJar;
+  private int                            minionReuseLimit               = 1;
+  private boolean                        adaptiveTimeouts;
+  private boolean                        mutantSchemata;
+  private boolean                        blockTargeting;
+  private boolean                        costBalancedUnits;
+  private boolean                        workStealing;
+  private Collection<String>             remoteAgents                   = Collections.emptyList();
+  private boolean                        batchTestsByClass;
+  private boolean                        classDataSharing;
+  private boolean                        cooperativeTimeouts;
 
 
   public boolean isVerbose() {
@@ -170,6 +181,7 @@ public class ReportOptions {
 
   public void setClassPathElements(final Collection<String> classPathElements) {
     this.classPathElements = classPathElements;
+    this.classPath = null;
   }
 
   /**
@@ -228,7 +240,28 @@ public class ReportOptions {
     this.jvmArgs.addAll(args);
   }
 
+  /**
+   * The classpath is created once and shared, so archives on it are opened
+   * only once per run. Callers should not close it.
+   */
   public ClassPath getClassPath() {
+    if (this.classPath == null) {
+      this.classPath = createClassPath();
+    }
+    return this.classPath;
+  }
+
+  /**
+   * Releases any archives held open by the classpath. It will be reopened if
+   * used again.
+   */
+  public void closeClassPath() {
+    if (this.classPath != null) {
+      this.classPath.close();
+    }
+  }
+
+  private ClassPath createClassPath() {
     if (this.classPathElements != null) {
       return createClassPathFromElements();
     } else {
@@ -589,7 +622,7 @@ public class ReportOptions {
    */
   public TestPluginArguments createMinionSettings() {
     return new TestPluginArguments(getTestPlugin(), this.getGroupConfig(), this.getExcludedRunners(),
-            this.getIncludedTestMethods());
+            this.getIncludedTestMethods(), this.isBatchTestsByClass());
   }
 
   public String getTestPlugin() {
@@ -608,6 +641,86 @@ public class ReportOptions {
     this.useClasspathJar = useClasspathJar;
   }
 
+  public int getMinionReuseLimit() {
+    return this.minionReuseLimit;
+  }
+
+  public void setMinionReuseLimit(final int minionReuseLimit) {
+    this.minionReuseLimit = minionReuseLimit;
+  }
+
+  public boolean isAdaptiveTimeouts() {
+    return this.adaptiveTimeouts;
+  }
+
+  public void setAdaptiveTimeouts(final boolean adaptiveTimeouts) {
+    this.adaptiveTimeouts = adaptiveTimeouts;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public void setMutantSchemata(final boolean mutantSchemata) {
+    this.mutantSchemata = mutantSchemata;
+  }
+
+  public boolean isBlockTargeting() {
+    return this.blockTargeting;
+  }
+
+  public void setBlockTargeting(final boolean blockTargeting) {
+    this.blockTargeting = blockTargeting;
+  }
+
+  public boolean isCostBalancedUnits() {
+    return this.costBalancedUnits;
+  }
+
+  public void setCostBalancedUnits(final boolean costBalancedUnits) {
+    this.costBalancedUnits = costBalancedUnits;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public void setWorkStealing(final boolean workStealing) {
+    this.workStealing = workStealing;
+  }
+
+  public Collection<String> getRemoteAgents() {
+    return this.remoteAgents;
+  }
+
+  public void setRemoteAgents(final Collection<String> remoteAgents) {
+    this.remoteAgents = remoteAgents;
+  }
+
+  public boolean isBatchTestsByClass() {
+    return this.batchTestsByClass;
+  }
+
+  public void setBatchTestsByClass(final boolean batchTestsByClass) {
+    this.batchTestsByClass = batchTestsByClass;
+  }
+
+  public boolean isClassDataSharing() {
+    return this.classDataSharing;
+  }
+
+  public void setClassDataSharing(final boolean classDataSharing) {
+    this.classDataSharing = classDataSharing;
+  }
+
+  public boolean isCooperativeTimeouts() {
+    return this.cooperativeTimeouts;
+  }
+
+  public void setCooperativeTimeouts(final boolean cooperativeTimeouts) {
+    this.cooperativeTimeouts = cooperativeTimeouts;
+  }
+
   @Override
   public String toString() {
     return "ReportOptions [targetClasses=" + targetClasses
@@ -635,6 +748,16 @@ public class ReportOptions {
         + properties + ", maxSurvivors=" + maxSurvivors + ", excludedRunners="
         + excludedRunners + ", includedTestMethods=" + includedTestMethods
         + ", testPlugin=" + testPlugin + ", useClasspathJar=" + useClasspathJar
+        + ", minionReuseLimit=" + minionReuseLimit
+        + ", adaptiveTimeouts=" + adaptiveTimeouts
+        + ", mutantSchemata=" + mutantSchemata
+        + ", blockTargeting=" + blockTargeting
+        + ", costBalancedUnits=" + costBalancedUnits
+        + ", workStealing=" + workStealing
+        + ", remoteAgents=" + remoteAgents
+        + ", batchTestsByClass=" + batchTestsByClass
+        + ", classDataSharing=" + classDataSharing
+        + ", cooperativeTimeouts=" + cooperativeTimeouts
         + "]";
   }
 
@@ -15,7 +15,9 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.MutationEngineFactory;
 import org.pitest.mutationtest.MutationResultListenerFactory;
+import org.pitest.mutationtest.build.BlockTestPrioritiserFactory;
 import org.pitest.mutationtest.build.CompoundInterceptorFactory;
+import org.pitest.mutationtest.build.CostBalancedGrouperFactory;
 import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
 import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
 import org.pitest.mutationtest.build.MutationGrouperFactory;
@@ -81,6 +83,9 @@ public class SettingsFactory {
   public MutationGrouperFactory getMutationGrouper() {
     final Collection<? extends MutationGrouperFactory> groupers = this.plugins
         .findGroupers();
+    if (this.options.isCostBalancedUnits()) {
+      return firstOrDefault(groupers, new CostBalancedGrouperFactory());
+    }
     return firstOrDefault(groupers, new DefaultMutationGrouperFactory());
   }
 
@@ -106,6 +111,9 @@ public class SettingsFactory {
   public TestPrioritiserFactory getTestPrioritiser() {
     final Collection<? extends TestPrioritiserFactory> testPickers = this.plugins
         .findTestPrioritisers();
+    if (this.options.isBlockTargeting()) {
+      return firstOrDefault(testPickers, new BlockTestPrioritiserFactory());
+    }
     return firstOrDefault(testPickers, new DefaultTestPrioritiserFactory());
   }
 
@@ -0,0 +1,66 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.pitest.util.Sha256;
+import org.pitest.util.Unchecked;
+
+/**
+ * Summarises the contents of a class path so that a coordinator can check a
+ * remote agent will run the same code.
+ *
+ * Only file names and contents are digested, not absolute paths, so the same
+ * build checked out in different places on different machines gives the same
+ * digest.
+ */
+final class ClassPathDigest {
+
+  private ClassPathDigest() {
+  }
+
+  static String digest(final String classPath) {
+    final MessageDigest digest = Sha256.newDigest();
+    for (final String each : classPath.split(File.pathSeparator)) {
+      if (!each.isEmpty()) {
+        addEntry(digest, new File(each).toPath());
+      }
+    }
+    return Sha256.toHex(digest);
+  }
+
+  private static void addEntry(final MessageDigest digest, final Path entry) {
+    digest.update(entry.getFileName().toString()
+        .getBytes(StandardCharsets.UTF_8));
+    try {
+      if (Files.isDirectory(entry)) {
+        for (final String each : filesBelow(entry)) {
+          digest.update(each.getBytes(StandardCharsets.UTF_8));
+          digest.update(Files.readAllBytes(entry.resolve(each)));
+        }
+      } else if (Files.exists(entry)) {
+        digest.update(Files.readAllBytes(entry));
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  // relative names with a fixed separator and order, so the digest does not
+  // depend on the platform
+  private static List<String> filesBelow(final Path dir) throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      return files.filter(Files::isRegularFile)
+          .map(f -> dir.relativize(f).toString().replace('\\', '/'))
+          .sorted().collect(Collectors.toList());
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+package org.pitest.mutationtest.execute;
+
+import org.pitest.util.ExitCode;
+import org.pitest.util.ReceiveStrategy;
+
+/**
+ * A mutation test minion held by a {@link MinionPool}, which runs successive
+ * batches of mutations over one connection.
+ */
+interface Minion {
+
+  /**
+   * Runs a batch, passing the messages of the minion to the given strategy
+   */
+  ExitCode runBatch(MinionArguments arguments, ReceiveStrategy receive);
+
+  int batchesRun();
+
+  /**
+   * @return milliseconds taken for the minion to launch and connect back
+   */
+  long bootTime();
+
+  /**
+   * Asks the minion to exit, then releases it
+   */
+  void shutdown();
+
+  /**
+   * Releases the minion without waiting for it to exit
+   */
+  void destroy();
+
+}
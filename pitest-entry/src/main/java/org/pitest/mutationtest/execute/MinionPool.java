@@ -0,0 +1,105 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+
+/**
+ * Holds idle mutation test minions so they can be leased by successive
+ * mutation test units instead of launching a new JVM for each one.
+ *
+ * Minions are retired after they report anything other than a clean exit
+ * (timeouts, memory watchdog trips, crashes) or once they have run the
+ * configured maximum number of batches.
+ */
+public class MinionPool {
+
+  private static final Logger               LOG      = Log.getLogger();
+
+  /**
+   * Launches a new minion when none is idle
+   */
+  interface Launcher {
+    Minion launch(ProcessArgs args) throws IOException;
+  }
+
+  private final BlockingQueue<Minion>       idle;
+  private final int                         maxBatches;
+  private final Launcher                    launcher;
+
+  private final AtomicInteger               launched = new AtomicInteger();
+  private final AtomicInteger               reused   = new AtomicInteger();
+  private final AtomicLong                  bootTime = new AtomicLong();
+
+  public MinionPool(final int size, final int maxBatches) {
+    this(size, maxBatches, PooledMinion::launch);
+  }
+
+  MinionPool(final int size, final int maxBatches, final Launcher launcher) {
+    this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+    this.maxBatches = maxBatches;
+    this.launcher = launcher;
+  }
+
+  Minion lease(final ProcessArgs args) throws IOException {
+    final Minion minion = this.idle.poll();
+    if (minion != null) {
+      this.reused.incrementAndGet();
+      return minion;
+    }
+    final Minion launchedMinion = this.launcher.launch(args);
+    this.launched.incrementAndGet();
+    this.bootTime.addAndGet(launchedMinion.bootTime());
+    return launchedMinion;
+  }
+
+  boolean acceptsFurtherBatches(final Minion minion) {
+    return (minion.batchesRun() + 1) < this.maxBatches;
+  }
+
+  void release(final Minion minion, final ExitCode exitCode) {
+    if (!exitCode.isOk() || (minion.batchesRun() >= this.maxBatches)) {
+      LOG.fine("Retiring minion after " + minion.batchesRun()
+          + " batches with exit code " + exitCode);
+      minion.destroy();
+    } else if (!this.idle.offer(minion)) {
+      minion.shutdown();
+    }
+  }
+
+  public void shutdown() {
+    Minion each = this.idle.poll();
+    while (each != null) {
+      each.shutdown();
+      each = this.idle.poll();
+    }
+  }
+
+  public int minionsLaunched() {
+    return this.launched.get();
+  }
+
+  public int minionsReused() {
+    return this.reused.get();
+  }
+
+  /**
+   * Estimates the time saved by reusing minions, based on the average observed
+   * time taken for a new minion to launch and connect back to the parent.
+   */
+  public long estimatedTimeSaved() {
+    final int launches = this.launched.get();
+    if (launches == 0) {
+      return 0;
+    }
+    return (this.bootTime.get() / launches) * this.reused.get();
+  }
+
+}
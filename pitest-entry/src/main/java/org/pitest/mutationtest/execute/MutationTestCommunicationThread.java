@@ -16,15 +16,18 @@ package org.pitest.mutationtest.execute;
 
 import java.net.ServerSocket;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.logging.Logger;
 
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.CommunicationThread;
 import org.pitest.util.Id;
 import org.pitest.util.Log;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 import org.pitest.util.SafeDataOutputStream;
@@ -47,12 +50,15 @@ public class MutationTestCommunicationThread extends CommunicationThread {
     }
   }
 
-  private static class Receive implements ReceiveStrategy {
+  static class Receive implements ReceiveStrategy {
 
     private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
+    private final TimeoutLengthStrategy                           timeoutStrategy;
 
-    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final TimeoutLengthStrategy timeoutStrategy) {
       this.idMap = idMap;
+      this.timeoutStrategy = timeoutStrategy;
     }
 
     @Override
@@ -64,19 +70,30 @@ public class MutationTestCommunicationThread extends CommunicationThread {
       case Id.REPORT:
         handleReport(is);
         break;
+      case Id.TIMINGS:
+        handleTimings(is);
+        break;
+      }
+    }
+
+    private void handleTimings(final SafeDataInputStream is) {
+      for (final Entry<String, Long> each : MessageCodec.readTimings(is)
+          .entrySet()) {
+        this.timeoutStrategy.recordExecution(each.getKey(), each.getValue());
       }
     }
 
     private void handleReport(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
-      final MutationStatusTestPair value = is
-          .read(MutationStatusTestPair.class);
+      final MutationIdentifier mutation = MessageCodec
+          .readMutationIdentifier(is);
+      final MutationStatusTestPair value = MessageCodec.readStatusTestPair(is);
       this.idMap.put(mutation, value);
       LOG.fine(mutation + " " + value);
     }
 
     private void handleDescribe(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = MessageCodec
+          .readMutationIdentifier(is);
       this.idMap.put(mutation, new MutationStatusTestPair(1,
           DetectionStatus.STARTED));
     }
@@ -88,7 +105,8 @@ public class MutationTestCommunicationThread extends CommunicationThread {
   public MutationTestCommunicationThread(final ServerSocket socket,
       final MinionArguments arguments,
       final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
-    super(socket, new SendData(arguments), new Receive(idMap));
+    super(socket, new SendData(arguments), new Receive(idMap,
+        arguments.timeoutStrategy));
     this.idMap = idMap;
   }
 
@@ -0,0 +1,122 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.SocketFinder;
+
+/**
+ * A long lived mutation test minion that keeps its socket connection open
+ * between batches of mutations.
+ */
+final class PooledMinion implements Minion {
+
+  private static final Logger        LOG = Log.getLogger();
+
+  private final ServerSocket         socket;
+  private final Socket               client;
+  private final WrappingProcess      process;
+  private final SafeDataOutputStream dos;
+  private final SafeDataInputStream  dis;
+  private final long                 bootTime;
+
+  private int                        batches;
+
+  private PooledMinion(final ServerSocket socket, final Socket client,
+      final WrappingProcess process, final long bootTime) throws IOException {
+    this.socket = socket;
+    this.client = client;
+    this.process = process;
+    this.bootTime = bootTime;
+    this.dos = new SafeDataOutputStream(client.getOutputStream());
+    this.dis = new SafeDataInputStream(new BufferedInputStream(
+        client.getInputStream()));
+  }
+
+  static PooledMinion launch(final ProcessArgs args) throws IOException {
+    final ServerSocket socket = new SocketFinder()
+        .getNextAvailableServerSocket();
+    final WrappingProcess process = new WrappingProcess(socket.getLocalPort(),
+        args, MutationTestMinion.class);
+    final long t0 = System.currentTimeMillis();
+    process.start();
+    final Socket client = socket.accept();
+    final long connected = System.currentTimeMillis();
+    process.connectedAt(connected);
+    return new PooledMinion(socket, client, process, connected - t0);
+  }
+
+  @Override
+  public ExitCode runBatch(final MinionArguments arguments,
+      final ReceiveStrategy receive) {
+    try {
+      if (this.batches != 0) {
+        this.dos.writeByte(Id.BATCH);
+      }
+      this.dos.write(arguments);
+      this.dos.flush();
+      this.batches++;
+      return receiveResults(receive);
+    } catch (final PitError e) {
+      LOG.log(Level.WARNING, "Lost contact with pooled minion", e);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.dis.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, this.dis);
+      control = this.dis.readByte();
+    }
+    return ExitCode.fromCode(this.dis.readInt());
+  }
+
+  @Override
+  public int batchesRun() {
+    return this.batches;
+  }
+
+  @Override
+  public long bootTime() {
+    return this.bootTime;
+  }
+
+  @Override
+  public void shutdown() {
+    try {
+      this.dos.writeByte(Id.DONE);
+      this.dos.flush();
+    } catch (final PitError e) {
+      LOG.log(Level.FINE, "Could not ask pooled minion to exit", e);
+    } finally {
+      destroy();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    try {
+      this.client.close();
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Error closing pooled minion socket", e);
+    } finally {
+      this.process.destroy();
+    }
+  }
+
+}
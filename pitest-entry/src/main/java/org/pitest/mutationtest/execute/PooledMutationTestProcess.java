@@ -0,0 +1,59 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+
+/**
+ * Runs a batch of mutations in a minion leased from a {@link MinionPool}
+ */
+public class PooledMutationTestProcess implements MinionProcess {
+
+  private final MinionPool                                    pool;
+  private final ProcessArgs                                   processArgs;
+  private final MinionArguments                               arguments;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<>();
+
+  private Minion                                              minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final ProcessArgs processArgs, final MinionArguments arguments) {
+    this.pool = pool;
+    this.processArgs = processArgs;
+    this.arguments = arguments;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.minion = this.pool.lease(this.processArgs);
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final ExitCode exitCode = this.minion.runBatch(
+        this.arguments.awaitingFurtherBatches(this.pool
+            .acceptsFurtherBatches(this.minion)),
+        new MutationTestCommunicationThread.Receive(this.idMap,
+            this.arguments.timeoutStrategy));
+    this.pool.release(this.minion, exitCode);
+    return exitCode;
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,348 @@
+package org.pitest.mutationtest.execute;
+
+import static org.pitest.functional.prelude.Prelude.printWith;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
+import org.pitest.mutationtest.tooling.KnownLocationJavaAgentFinder;
+import org.pitest.process.JavaAgent;
+import org.pitest.process.LaunchOptions;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.MessageCodec;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * Runs batches of mutations on behalf of a remote coordinator.
+ *
+ * The agent is started on each worker machine with the same class path as
+ * the coordinator, and listens on a port for connections from it. A
+ * coordinator connection is only accepted if it proves it holds the same
+ * {@link SharedSecret} as the agent, and the digest of its class path matches
+ * the agent's. Only the classes of pitest and the JDK are deserialized from
+ * a batch, and each message is limited in size. Each batch received is run in a pooled minion on
+ * this machine and the minion's messages are streamed back, with a heartbeat
+ * sent while the connection is open so the coordinator can tell the agent is
+ * still alive.
+ *
+ * The agent listens on the loopback address unless an address to bind to is
+ * given, so it must be explicitly exposed to other machines.
+ *
+ * Usage: RemoteAgent port classpath [bind address]
+ */
+public class RemoteAgent {
+
+  private static final Logger LOG                 = Log.getLogger();
+
+  // the handshake is read before the coordinator is trusted, so only needs
+  // room for a digest and an HMAC
+  static final int            MAX_HANDSHAKE_BYTES = 1024;
+  static final int            MAX_BATCH_BYTES     = 64 * 1024 * 1024;
+
+  /**
+   * Runs a single batch, passing the messages of the minion to the given
+   * strategy
+   */
+  interface BatchRunner {
+    ExitCode run(MinionArguments arguments, ReceiveStrategy receive)
+        throws IOException;
+  }
+
+  private final ServerSocket  socket;
+  private final SharedSecret  secret;
+  private final String        classPathDigest;
+  private final BatchRunner   runner;
+  private final int           heartbeatMillis;
+
+  RemoteAgent(final ServerSocket socket, final SharedSecret secret,
+      final String classPathDigest, final BatchRunner runner,
+      final int heartbeatMillis) {
+    this.socket = socket;
+    this.secret = secret;
+    this.classPathDigest = classPathDigest;
+    this.runner = runner;
+    this.heartbeatMillis = heartbeatMillis;
+  }
+
+  /**
+   * Accepts coordinator connections until the agent is stopped
+   */
+  void serve() {
+    while (!this.socket.isClosed()) {
+      final Socket client;
+      try {
+        client = this.socket.accept();
+      } catch (final IOException e) {
+        if (this.socket.isClosed()) {
+          return;
+        }
+        throw Unchecked.translateCheckedException(e);
+      }
+      final Thread thread = new Thread(() -> handle(client));
+      thread.setDaemon(true);
+      thread.setName("pit remote agent");
+      thread.start();
+    }
+  }
+
+  void stop() {
+    try {
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Error closing remote agent socket", e);
+    }
+  }
+
+  private void handle(final Socket client) {
+    try {
+      final InputStream in = new BufferedInputStream(client.getInputStream());
+      final SafeDataOutputStream dos = new SafeDataOutputStream(
+          client.getOutputStream());
+
+      if (!accept(client, new SafeDataInputStream(in, MAX_HANDSHAKE_BYTES),
+          dos)) {
+        return;
+      }
+
+      final Thread heartbeat = startHeartbeat(dos);
+      try {
+        runBatches(new SafeDataInputStream(in, MAX_BATCH_BYTES), dos);
+      } finally {
+        heartbeat.interrupt();
+      }
+    } catch (final IOException | PitError e) {
+      LOG.log(Level.FINE, "Lost connection to coordinator", e);
+    } finally {
+      try {
+        client.close();
+      } catch (final IOException e) {
+        LOG.log(Level.FINE, "Error closing coordinator connection", e);
+      }
+    }
+  }
+
+  private boolean accept(final Socket client, final SafeDataInputStream dis,
+      final SafeDataOutputStream dos) {
+    final byte[] challenge = SharedSecret.challenge();
+    dos.writeBytes(challenge);
+    dos.flush();
+
+    final boolean authenticated = this.secret.accepts(challenge,
+        dis.readBytes());
+    final boolean sameClassPath = this.classPathDigest.equals(dis
+        .readString());
+    dos.writeBoolean(authenticated && sameClassPath);
+    dos.flush();
+
+    if (!authenticated) {
+      LOG.warning("Refused coordinator at " + client.getRemoteSocketAddress()
+          + " as it does not hold the shared secret");
+    } else if (!sameClassPath) {
+      LOG.warning("Refused coordinator at " + client.getRemoteSocketAddress()
+          + " as it has a different class path");
+    }
+    return authenticated && sameClassPath;
+  }
+
+  private void runBatches(final SafeDataInputStream dis,
+      final SafeDataOutputStream dos) throws IOException {
+    while (dis.readByte() == Id.BATCH) {
+      final MinionArguments arguments = dis.read(MinionArguments.class,
+          RemoteAgent::isAllowedInBatch);
+      final ExitCode exitCode = this.runner.run(arguments, new Forward(dos));
+      synchronized (dos) {
+        dos.writeByte(Id.DONE);
+        dos.writeInt(exitCode.getCode());
+        dos.flush();
+      }
+    }
+  }
+
+  private Thread startHeartbeat(final SafeDataOutputStream dos) {
+    final Thread thread = new Thread(() -> {
+      try {
+        while (!Thread.currentThread().isInterrupted()) {
+          synchronized (dos) {
+            dos.writeByte(Id.HEARTBEAT);
+            dos.flush();
+          }
+          Thread.sleep(this.heartbeatMillis);
+        }
+      } catch (final InterruptedException | PitError e) {
+        // connection closed
+      }
+    });
+    thread.setDaemon(true);
+    thread.setName("pit remote agent heartbeat");
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Streams the messages of a minion back to the coordinator
+   */
+  private static class Forward implements ReceiveStrategy {
+
+    private final SafeDataOutputStream dos;
+
+    Forward(final SafeDataOutputStream dos) {
+      this.dos = dos;
+    }
+
+    @Override
+    public void apply(final byte control, final SafeDataInputStream is) {
+      switch (control) {
+      case Id.DESCRIBE:
+        forwardDescribe(is);
+        break;
+      case Id.REPORT:
+        forwardReport(is);
+        break;
+      case Id.TIMINGS:
+        forwardTimings(is);
+        break;
+      }
+    }
+
+    private void forwardDescribe(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = MessageCodec
+          .readMutationIdentifier(is);
+      synchronized (this.dos) {
+        this.dos.writeByte(Id.DESCRIBE);
+        MessageCodec.writeMutationIdentifier(this.dos, mutation);
+        this.dos.flush();
+      }
+    }
+
+    private void forwardReport(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = MessageCodec
+          .readMutationIdentifier(is);
+      final MutationStatusTestPair value = MessageCodec.readStatusTestPair(is);
+      synchronized (this.dos) {
+        this.dos.writeByte(Id.REPORT);
+        MessageCodec.writeMutationIdentifier(this.dos, mutation);
+        MessageCodec.writeStatusTestPair(this.dos, value);
+        this.dos.flush();
+      }
+    }
+
+    private void forwardTimings(final SafeDataInputStream is) {
+      final Map<String, Long> timings = MessageCodec.readTimings(is);
+      synchronized (this.dos) {
+        this.dos.writeByte(Id.TIMINGS);
+        MessageCodec.writeTimings(this.dos, timings);
+        this.dos.flush();
+      }
+    }
+
+  }
+
+  /**
+   * Batches hold only the classes of pitest and the JDK's values and
+   * collections, so nothing else need be deserialized. Subpackages of the JDK,
+   * such as java.lang.invoke, are not allowed.
+   */
+  static boolean isAllowedInBatch(final String className) {
+    if (className.startsWith("[")) {
+      final String element = className
+          .substring(className.lastIndexOf('[') + 1);
+      // primitive elements are named by a single letter, others as Lname;
+      return (element.length() == 1)
+          || isAllowedInBatch(element.substring(1, element.length() - 1));
+    }
+    return className.startsWith("org.pitest.")
+        || isInPackage(className, "java.lang")
+        || isInPackage(className, "java.util");
+  }
+
+  private static boolean isInPackage(final String className,
+      final String packageName) {
+    return className.startsWith(packageName + ".")
+        && (className.indexOf('.', packageName.length() + 1) == -1);
+  }
+
+  static BatchRunner pooledMinions(final MinionPool pool,
+      final ProcessArgs processArgs) {
+    return (arguments, receive) -> {
+      final Minion minion = pool.lease(processArgs);
+      final ExitCode exitCode = minion.runBatch(arguments
+          .awaitingFurtherBatches(pool.acceptsFurtherBatches(minion)), receive);
+      pool.release(minion, exitCode);
+      return exitCode;
+    };
+  }
+
+  public static void main(final String[] args) {
+    if ((args.length != 2) && (args.length != 3)) {
+      System.err.println("Usage: RemoteAgent port classpath [bind address]");
+      System.exit(1);
+    }
+    final int port = Integer.parseInt(args[0]);
+    final String classPath = args[1];
+    final SharedSecret secret = SharedSecret.fromEnvironment();
+
+    final JavaAgent jac = new JarCreatingJarFinder(
+        new ClassPathByteArraySource(new ClassPath(toFiles(classPath))));
+    final LaunchOptions launchOptions = new LaunchOptions(
+        new KnownLocationJavaAgentFinder(jac.getJarLocation().get()));
+    final ProcessArgs processArgs = ProcessArgs.withClassPath(classPath)
+        .andLaunchOptions(launchOptions).andBaseDir(new File("."))
+        .andStdout(printWith("stdout ")).andStderr(printWith("stderr "));
+
+    final MinionPool pool = new MinionPool(Runtime.getRuntime()
+        .availableProcessors(), Integer.MAX_VALUE);
+    try (ServerSocket socket = new ServerSocket(port, 0, bindAddress(args))) {
+      LOG.info("Remote agent listening on "
+          + socket.getLocalSocketAddress());
+      new RemoteAgent(socket, secret, ClassPathDigest.digest(classPath),
+          pooledMinions(pool, processArgs),
+          RemoteAgentPool.DEFAULT_HEARTBEAT_MILLIS).serve();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    } finally {
+      pool.shutdown();
+      jac.close();
+    }
+  }
+
+  private static InetAddress bindAddress(final String[] args)
+      throws IOException {
+    if (args.length == 3) {
+      return InetAddress.getByName(args[2]);
+    }
+    return InetAddress.getLoopbackAddress();
+  }
+
+  private static List<File> toFiles(final String classPath) {
+    final List<File> files = new ArrayList<>();
+    for (final String each : classPath.split(File.pathSeparator)) {
+      if (!each.isEmpty()) {
+        files.add(new File(each));
+      }
+    }
+    return files;
+  }
+
+}
@@ -0,0 +1,136 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * A coordinator's connection to a {@link RemoteAgent}, through which batches
+ * of mutations are run one at a time.
+ *
+ * The agent sends a heartbeat while the connection is open. If nothing is
+ * heard from it for several heartbeats, or the connection fails, the agent is
+ * treated as lost.
+ */
+final class RemoteAgentConnection {
+
+  private static final Logger        LOG                 = Log.getLogger();
+
+  static final int                   CONNECT_TIMEOUT     = 10000;
+  static final int                   MISSED_HEARTBEATS   = 4;
+
+  private final InetSocketAddress    agent;
+  private final Socket               socket;
+  private final SafeDataOutputStream dos;
+  private final SafeDataInputStream  dis;
+
+  private RemoteAgentConnection(final InetSocketAddress agent,
+      final Socket socket) throws IOException {
+    this.agent = agent;
+    this.socket = socket;
+    this.dos = new SafeDataOutputStream(socket.getOutputStream());
+    this.dis = new SafeDataInputStream(new BufferedInputStream(
+        socket.getInputStream()), RemoteAgent.MAX_BATCH_BYTES);
+  }
+
+  /**
+   * Connects to the agent, answers its challenge with the shared secret and
+   * checks that it will run the same code as the coordinator. Returns empty if
+   * the agent cannot be reached or refuses the connection.
+   */
+  static Optional<RemoteAgentConnection> connect(final InetSocketAddress agent,
+      final SharedSecret secret, final String classPathDigest,
+      final int heartbeatMillis) {
+    final Socket socket = new Socket();
+    try {
+      socket.connect(agent, CONNECT_TIMEOUT);
+      socket.setSoTimeout(heartbeatMillis * MISSED_HEARTBEATS);
+      final RemoteAgentConnection connection = new RemoteAgentConnection(
+          agent, socket);
+      connection.dos.writeBytes(secret.respond(connection.dis.readBytes()));
+      connection.dos.writeString(classPathDigest);
+      connection.dos.flush();
+      if (!connection.dis.readBoolean()) {
+        LOG.warning("Remote agent " + agent
+            + " refused this process, as it has a different class path or"
+            + " shared secret, and will not be used");
+        connection.close();
+        return Optional.empty();
+      }
+      return Optional.of(connection);
+    } catch (final IOException | PitError e) {
+      LOG.log(Level.WARNING, "Could not connect to remote agent " + agent, e);
+      closeQuietly(socket);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Runs a batch on the agent, passing the messages of its minion to the
+   * given strategy. Returns empty if the agent was lost before the batch
+   * completed.
+   */
+  Optional<ExitCode> runBatch(final MinionArguments arguments,
+      final ReceiveStrategy receive) {
+    try {
+      this.dos.writeByte(Id.BATCH);
+      this.dos.write(arguments);
+      this.dos.flush();
+      return Optional.of(receiveResults(receive));
+    } catch (final PitError e) {
+      LOG.log(Level.WARNING, "Lost contact with remote agent " + this.agent, e);
+      return Optional.empty();
+    }
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.dis.readByte();
+    while (control != Id.DONE) {
+      if (control != Id.HEARTBEAT) {
+        receive.apply(control, this.dis);
+      }
+      control = this.dis.readByte();
+    }
+    return ExitCode.fromCode(this.dis.readInt());
+  }
+
+  InetSocketAddress agent() {
+    return this.agent;
+  }
+
+  void shutdown() {
+    try {
+      this.dos.writeByte(Id.DONE);
+      this.dos.flush();
+    } catch (final PitError e) {
+      LOG.log(Level.FINE, "Could not ask remote agent to close connection", e);
+    } finally {
+      close();
+    }
+  }
+
+  void close() {
+    closeQuietly(this.socket);
+  }
+
+  private static void closeQuietly(final Socket socket) {
+    try {
+      socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Error closing remote agent socket", e);
+    }
+  }
+
+}
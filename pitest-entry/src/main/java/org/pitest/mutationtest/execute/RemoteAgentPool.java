@@ -0,0 +1,142 @@
+package org.pitest.mutationtest.execute;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+
+/**
+ * Holds the coordinator's connections to remote agents.
+ *
+ * New connections are opened to the live agents in turn, and idle ones are
+ * reused by later batches. An agent that is lost is not used again. Once no
+ * agents remain the analysis cannot continue.
+ */
+public class RemoteAgentPool {
+
+  private static final Logger                LOG                      = Log.getLogger();
+
+  public static final int                    DEFAULT_HEARTBEAT_MILLIS = 1000;
+
+  private final List<InetSocketAddress>      live;
+  private final SharedSecret                 secret;
+  private final String                       classPathDigest;
+  private final int                          heartbeatMillis;
+  private final Deque<RemoteAgentConnection> idle                     = new ArrayDeque<>();
+
+  private int                                next;
+  private int                                lost;
+
+  /**
+   * @param agents
+   *          agent addresses, each as host:port
+   * @param classPath
+   *          class path the agents are expected to match
+   */
+  public RemoteAgentPool(final Collection<String> agents,
+      final String classPath) {
+    this(parse(agents), SharedSecret.fromEnvironment(),
+        ClassPathDigest.digest(classPath), DEFAULT_HEARTBEAT_MILLIS);
+  }
+
+  RemoteAgentPool(final List<InetSocketAddress> agents,
+      final SharedSecret secret, final String classPathDigest,
+      final int heartbeatMillis) {
+    this.live = new ArrayList<>(agents);
+    this.secret = secret;
+    this.classPathDigest = classPathDigest;
+    this.heartbeatMillis = heartbeatMillis;
+  }
+
+  synchronized RemoteAgentConnection lease() {
+    final RemoteAgentConnection connection = this.idle.poll();
+    if (connection != null) {
+      return connection;
+    }
+
+    while (!this.live.isEmpty()) {
+      this.next = this.next % this.live.size();
+      final InetSocketAddress agent = this.live.get(this.next);
+      final Optional<RemoteAgentConnection> opened = RemoteAgentConnection
+          .connect(agent, this.secret, this.classPathDigest,
+              this.heartbeatMillis);
+      if (opened.isPresent()) {
+        this.next++;
+        return opened.get();
+      }
+      removeAgent(agent);
+    }
+
+    throw new PitError("No remote agents are available to analyse mutations");
+  }
+
+  synchronized void release(final RemoteAgentConnection connection) {
+    if (this.live.contains(connection.agent())) {
+      this.idle.push(connection);
+    } else {
+      connection.shutdown();
+    }
+  }
+
+  synchronized void lost(final RemoteAgentConnection connection) {
+    connection.close();
+    if (this.live.contains(connection.agent())) {
+      LOG.warning("Remote agent " + connection.agent()
+          + " was lost. Its unfinished mutations will be analysed elsewhere");
+      removeAgent(connection.agent());
+    }
+  }
+
+  public synchronized void shutdown() {
+    RemoteAgentConnection each = this.idle.poll();
+    while (each != null) {
+      each.shutdown();
+      each = this.idle.poll();
+    }
+  }
+
+  public synchronized int agentsLost() {
+    return this.lost;
+  }
+
+  private void removeAgent(final InetSocketAddress agent) {
+    this.live.remove(agent);
+    this.lost++;
+    final Iterator<RemoteAgentConnection> it = this.idle.iterator();
+    while (it.hasNext()) {
+      final RemoteAgentConnection each = it.next();
+      if (each.agent().equals(agent)) {
+        each.close();
+        it.remove();
+      }
+    }
+  }
+
+  static List<InetSocketAddress> parse(final Collection<String> agents) {
+    final List<InetSocketAddress> addresses = new ArrayList<>();
+    for (final String each : agents) {
+      final int colon = each.lastIndexOf(':');
+      if (colon <= 0) {
+        throw new PitError("Remote agent " + each
+            + " should be given as host:port");
+      }
+      try {
+        addresses.add(new InetSocketAddress(each.substring(0, colon),
+            Integer.parseInt(each.substring(colon + 1).trim())));
+      } catch (final IllegalArgumentException e) {
+        throw new PitError("Remote agent " + each
+            + " should be given as host:port", e);
+      }
+    }
+    return addresses;
+  }
+
+}
@@ -0,0 +1,77 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.ExitCode;
+
+/**
+ * Runs a batch of mutations on a remote agent leased from a
+ * {@link RemoteAgentPool}.
+ *
+ * If the agent is lost part way through, the mutations it had not finished
+ * are reported as not started, so the unit will send them to another agent.
+ */
+public class RemoteMutationTestProcess implements MinionProcess {
+
+  private final RemoteAgentPool                                 pool;
+  private final MinionArguments                                 arguments;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<>();
+
+  private RemoteAgentConnection                                 connection;
+  private boolean                                               agentLost;
+
+  public RemoteMutationTestProcess(final RemoteAgentPool pool,
+      final MinionArguments arguments) {
+    this.pool = pool;
+    this.arguments = arguments;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.connection = this.pool.lease();
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final Optional<ExitCode> exitCode = this.connection.runBatch(
+        this.arguments, new MutationTestCommunicationThread.Receive(
+            this.idMap, this.arguments.timeoutStrategy));
+    if (!exitCode.isPresent()) {
+      this.pool.lost(this.connection);
+      this.agentLost = true;
+      return ExitCode.OK;
+    }
+    this.pool.release(this.connection);
+    return exitCode.get();
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+
+    if (this.agentLost) {
+      for (final MutationDetails each : this.arguments.mutations) {
+        final MutationStatusTestPair status = this.idMap.get(each.getId());
+        if ((status == null)
+            || (status.getStatus() == DetectionStatus.STARTED)) {
+          allmutations.setStatusForMutation(each,
+              DetectionStatus.NOT_STARTED);
+        }
+      }
+    }
+  }
+
+}
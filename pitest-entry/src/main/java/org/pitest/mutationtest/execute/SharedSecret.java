@@ -0,0 +1,65 @@
+package org.pitest.mutationtest.execute;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * A secret shared by a coordinator and its remote agents, which an agent uses
+ * to check that a connection comes from a coordinator it should run code for.
+ *
+ * The secret itself is never sent. The agent sends a random challenge and the
+ * coordinator answers with an HMAC of it keyed by the secret.
+ */
+final class SharedSecret {
+
+  static final String               ENVIRONMENT_VARIABLE = "PIT_REMOTE_AGENT_SECRET";
+
+  private static final String       ALGORITHM            = "HmacSHA256";
+  private static final int          CHALLENGE_LENGTH     = 32;
+  private static final SecureRandom RANDOM               = new SecureRandom();
+
+  private final byte[]              key;
+
+  SharedSecret(final String secret) {
+    this.key = secret.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static SharedSecret fromEnvironment() {
+    final String secret = System.getenv(ENVIRONMENT_VARIABLE);
+    if ((secret == null) || secret.isEmpty()) {
+      throw new PitError("Remote agents require a shared secret. Set "
+          + ENVIRONMENT_VARIABLE
+          + " to the same value for the coordinator and each agent.");
+    }
+    return new SharedSecret(secret);
+  }
+
+  static byte[] challenge() {
+    final byte[] challenge = new byte[CHALLENGE_LENGTH];
+    RANDOM.nextBytes(challenge);
+    return challenge;
+  }
+
+  byte[] respond(final byte[] challenge) {
+    try {
+      final Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(this.key, ALGORITHM));
+      return mac.doFinal(challenge);
+    } catch (final GeneralSecurityException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  boolean accepts(final byte[] challenge, final byte[] response) {
+    return MessageDigest.isEqual(respond(challenge), response);
+  }
+
+}
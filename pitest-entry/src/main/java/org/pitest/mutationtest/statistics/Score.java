@@ -16,6 +16,8 @@ package org.pitest.mutationtest.statistics;
 
 import java.io.PrintStream;
 
+import org.pitest.mutationtest.DetectionStatus;
+
 public final class Score {
 
   private final String                mutatorName;
@@ -56,6 +58,16 @@ public final class Score {
     return this.totalMutations;
   }
 
+  public long getCount(final DetectionStatus status) {
+    long count = 0;
+    for (final StatusCount each : this.counts) {
+      if (each.getStatus() == status) {
+        count = count + each.getCount();
+      }
+    }
+    return count;
+  }
+
   public long getTotalDetectedMutations() {
     return this.totalDetected;
   }
@@ -5,14 +5,17 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.Map;
 
+import org.pitest.classinfo.ClassInfoIndex;
 import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.execute.CoverageOptions;
+import org.pitest.coverage.execute.CoverageCache;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
 import java.util.Optional;
+import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
@@ -23,7 +26,9 @@ import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
 import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
+import org.pitest.process.ClassDataSharing;
 import org.pitest.process.JavaAgent;
+import org.pitest.process.JavaExecutableLocator;
 import org.pitest.process.LaunchOptions;
 import org.pitest.util.Log;
 import org.pitest.util.PitError;
@@ -95,17 +100,20 @@ public class EntryPoint {
         .createListener();
 
     final CoverageOptions coverageOptions = settings.createCoverageOptions();
-    final LaunchOptions launchOptions = new LaunchOptions(ja,
-        settings.getJavaExecutable(), data.getJvmArgs(), environmentVariables)
-        .usingClassPathJar(data.useClasspathJar());
+    final LaunchOptions launchOptions = launchOptions(data, ja,
+        settings.getJavaExecutable(), environmentVariables);
     final ProjectClassPaths cps = data.getMutationClassPaths();
 
-    final CodeSource code = new CodeSource(cps);
+    final ClassInfoIndex classInfoIndex = classInfoIndexFor(data, cps);
+    final CodeSource code = new CodeSource(cps, classInfoIndex);
+
+    final CoverageCache coverageCache = coverageCacheFor(data, coverageOptions);
 
     final Timings timings = new Timings();
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        data.getNumberOfThreads(), coverageCache);
 
     final HistoryStore history = new ObjectOutputStreamHistoryStore(historyWriter, reader);
 
@@ -117,15 +125,71 @@ public class EntryPoint {
         code, data, settings, timings);
 
     try {
-      return AnalysisResult.success(report.runReport());
+      final CombinedStatistics stats = report.runReport();
+      final File historyOutput = data.getHistoryOutputLocation();
+      if (historyOutput != null) {
+        classInfoIndex.save(besideHistory(historyOutput, ".classinfo"));
+        coverageCache.save(besideHistory(historyOutput, ".coverage"));
+      }
+      return AnalysisResult.success(stats);
     } catch (final IOException e) {
       return AnalysisResult.fail(e);
     } finally {
       jac.close();
       ja.close();
       historyWriter.close();
+      data.closeClassPath();
+    }
+
+  }
+
+  private static ClassInfoIndex classInfoIndexFor(final ReportOptions data,
+      final ProjectClassPaths cps) {
+    if ((data.getHistoryInputLocation() == null)
+        && (data.getHistoryOutputLocation() == null)) {
+      return ClassInfoIndex.none();
+    }
+    return ClassInfoIndex.load(
+        besideHistory(data.getHistoryInputLocation(), ".classinfo"),
+        name -> cps.getClassPath().findArchive(name.asJavaName()));
+  }
+
+  /**
+   * The class info index and coverage cache are stored alongside the history
+   * file, so are only kept when incremental analysis is enabled.
+   */
+  private static File besideHistory(final File historyLocation,
+      final String suffix) {
+    if (historyLocation == null) {
+      return null;
     }
+    return new File(historyLocation.getPath() + suffix);
+  }
 
+  private static LaunchOptions launchOptions(final ReportOptions data,
+      final JavaAgent agent, final JavaExecutableLocator javaExecutable,
+      final Map<String, String> environmentVariables) {
+    final LaunchOptions launchOptions = new LaunchOptions(agent,
+        javaExecutable, data.getJvmArgs(), environmentVariables)
+        .usingClassPathJar(data.useClasspathJar());
+    if (data.isClassDataSharing()) {
+      return launchOptions.usingClassDataSharing(ClassDataSharing
+          .inUserCache());
+    }
+    return launchOptions;
+  }
+
+  private static CoverageCache coverageCacheFor(final ReportOptions data,
+      final CoverageOptions coverageOptions) {
+    if ((data.getHistoryInputLocation() == null)
+        && (data.getHistoryOutputLocation() == null)) {
+      return CoverageCache.none();
+    }
+    // directories on the classpath hold the resources the tests may read
+    return CoverageCache.load(
+        besideHistory(data.getHistoryInputLocation(), ".coverage"),
+        coverageOptions, FCollection.map(data.getClassPathElements(),
+            File::new));
   }
 
   private void checkMatrixMode(ReportOptions data) {
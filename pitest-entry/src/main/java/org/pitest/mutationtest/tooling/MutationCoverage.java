@@ -23,8 +23,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
@@ -39,15 +41,18 @@ import org.pitest.coverage.TestInfo;
 import org.pitest.functional.FCollection;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.build.AdaptiveTimeoutStrategy;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationDispatcher;
 import org.pitest.mutationtest.build.MutationGrouper;
-import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.build.MutationSource;
 import org.pitest.mutationtest.build.MutationTestBuilder;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
@@ -56,12 +61,15 @@ import org.pitest.mutationtest.build.WorkerFactory;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.execute.RemoteAgentPool;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
 import org.pitest.mutationtest.incremental.IncrementalAnalyser;
 import org.pitest.mutationtest.statistics.MutationStatisticsListener;
 import org.pitest.mutationtest.statistics.Score;
+import org.pitest.process.MinionBootTimes;
 import org.pitest.util.Log;
 import org.pitest.util.StringUtil;
 import org.pitest.util.Timings;
@@ -123,7 +131,9 @@ public class MutationCoverage {
 
     final EngineArguments args = EngineArguments.arguments()
         .withExcludedMethods(this.data.getExcludedMethods())
-        .withMutators(this.data.getMutators());
+        .withMutators(this.data.getMutators())
+        .withSchemata(this.data.isMutantSchemata())
+        .withCancellableLoops(this.data.isCooperativeTimeouts());
     final MutationEngine engine = this.strategies.factory().createEngine(args);
 
     final List<MutationResultListener> config = createConfig(t0, coverageData,
@@ -131,9 +141,15 @@ public class MutationCoverage {
 
     history().initialize();
 
+    final Optional<MinionPool> pool = createMinionPool();
+    final Optional<AdaptiveTimeoutStrategy> adaptiveTimeouts = createAdaptiveTimeouts(
+        coverageData);
+    final Optional<MutationDispatcher> dispatcher = createDispatcher();
+    final Optional<RemoteAgentPool> remoteAgents = createRemoteAgents();
+
     this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
     final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine, args);
+        engine, args, pool, adaptiveTimeouts, dispatcher, remoteAgents);
     this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
     LOG.info("Created  " + tus.size() + " mutation test units");
@@ -149,12 +165,23 @@ public class MutationCoverage {
     final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
         numberOfThreads(), config);
     this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
+    try {
+      mae.run(tus);
+    } finally {
+      pool.ifPresent(p -> p.shutdown());
+      remoteAgents.ifPresent(r -> r.shutdown());
+    }
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+    pool.ifPresent(p -> recordMinionReuse(p));
+    // a generator that launches no minions may have no launch options
+    Optional.ofNullable(coverage().getLaunchOptions()).ifPresent(
+        l -> recordMinionBootTimes(l.getBootTimes()));
+    dispatcher.ifPresent(d -> LOG.fine(d.mutationsStolen()
+        + " mutations were analysed by a unit other than their own"));
 
     LOG.info("Completed in " + timeSpan(t0));
 
-    printStats(stats);
+    printStats(stats, adaptiveTimeouts);
 
     return new CombinedStatistics(stats.getStatistics(),
         coverageData.createSummary());
@@ -174,7 +201,65 @@ public class MutationCoverage {
     }
   }
 
-private int numberOfThreads() {
+  private Optional<MinionPool> createMinionPool() {
+    if (this.data.getMinionReuseLimit() > 1) {
+      return Optional.of(new MinionPool(numberOfThreads(),
+          this.data.getMinionReuseLimit()));
+    }
+    // work stealing sends many small batches, so must not launch a minion
+    // for each one
+    if (this.data.isWorkStealing()) {
+      return Optional.of(new MinionPool(numberOfThreads(), Integer.MAX_VALUE));
+    }
+    return Optional.empty();
+  }
+
+  private Optional<RemoteAgentPool> createRemoteAgents() {
+    if (!this.data.getRemoteAgents().isEmpty()) {
+      return Optional.of(new RemoteAgentPool(this.data.getRemoteAgents(),
+          this.data.getClassPath().getLocalClassPath()));
+    }
+    return Optional.empty();
+  }
+
+  private Optional<MutationDispatcher> createDispatcher() {
+    if (this.data.isWorkStealing()) {
+      return Optional.of(new MutationDispatcher(
+          MutationDispatcher.DEFAULT_BATCH_SIZE));
+    }
+    return Optional.empty();
+  }
+
+  private Optional<AdaptiveTimeoutStrategy> createAdaptiveTimeouts(
+      final CoverageDatabase coverageData) {
+    if (this.data.isAdaptiveTimeouts()) {
+      final AdaptiveTimeoutStrategy timeouts = new AdaptiveTimeoutStrategy(
+          this.data.getTimeoutFactor(), this.data.getTimeoutConstant());
+      // the coverage run is the first unmutated execution of each test
+      timeouts.recordCoverage(this.code.getCodeUnderTestNames().stream()
+          .flatMap(c -> coverageData.getTestsForClass(c).stream())
+          .collect(Collectors.toList()));
+      return Optional.of(timeouts);
+    }
+    return Optional.empty();
+  }
+
+  private void recordMinionReuse(final MinionPool pool) {
+    LOG.fine("Launched " + pool.minionsLaunched() + " minions, reused "
+        + pool.minionsReused() + " times");
+    this.timings.registerEstimate("minion reuse saved (estimated)",
+        pool.estimatedTimeSaved());
+  }
+
+  private void recordMinionBootTimes(final MinionBootTimes bootTimes) {
+    if (bootTimes.launches() != 0) {
+      this.timings.registerEstimate("minion boot (" + bootTimes.launches()
+          + " launches, average " + bootTimes.average() + " ms)",
+          bootTimes.total());
+    }
+  }
+
+  private int numberOfThreads() {
     return Math.max(1, this.data.getNumberOfThreads());
   }
 
@@ -223,7 +308,8 @@ private int numberOfThreads() {
     this.strategies.buildVerifier().verify(this.code);
   }
 
-  private void printStats(final MutationStatisticsListener stats) {
+  private void printStats(final MutationStatisticsListener stats,
+      final Optional<AdaptiveTimeoutStrategy> adaptiveTimeouts) {
     final PrintStream ps = System.out;
 
     ps.println(StringUtil.separatorLine('='));
@@ -243,10 +329,26 @@ private int numberOfThreads() {
     ps.println("- Statistics");
     ps.println(StringUtil.separatorLine('='));
     stats.getStatistics().report(ps);
+
+    if (adaptiveTimeouts.isPresent()) {
+      ps.println(StringUtil.separatorLine('='));
+      ps.println("- Timeouts");
+      ps.println(StringUtil.separatorLine('='));
+      long timedOut = 0;
+      for (final Score each : stats.getStatistics().getScores()) {
+        timedOut = timedOut + each.getCount(DetectionStatus.TIMED_OUT);
+      }
+      ps.println(">> " + timedOut + " mutations timed out");
+      adaptiveTimeouts.get().report(ps);
+    }
   }
 
   private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args) {
+      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args,
+      final Optional<MinionPool> pool,
+      final Optional<AdaptiveTimeoutStrategy> adaptiveTimeouts,
+      final Optional<MutationDispatcher> dispatcher,
+      final Optional<RemoteAgentPool> remoteAgents) {
 
     final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
         .getLaunchOptions());
@@ -258,25 +360,34 @@ private int numberOfThreads() {
         .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
             coverageData);
 
-    final MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+    // interceptors hold state for the class being analysed, so each
+    // discovery thread gets its own
+    final Supplier<MutationSource> sources = () -> new MutationSource(
+        mutationConfig, testPrioritiser, bas, this.settings.getInterceptor()
+            .createInterceptor(this.data, bas));
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
         new DefaultCodeHistory(this.code, history()), coverageData);
 
+    final TimeoutLengthStrategy timeouts;
+    if (adaptiveTimeouts.isPresent()) {
+      timeouts = adaptiveTimeouts.get();
+    } else {
+      timeouts = new PercentAndConstantTimeoutStrategy(
+          this.data.getTimeoutFactor(), this.data.getTimeoutConstant());
+    }
+
     final WorkerFactory wf = new WorkerFactory(this.baseDir, coverage()
-        .getConfiguration(), mutationConfig, args,
-        new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
-            this.data.getTimeoutConstant()), this.data.isVerbose(), this.data.isFullMutationMatrix(),
-            this.data.getClassPath().getLocalClassPath());
+        .getConfiguration(), mutationConfig, args, timeouts,
+            this.data.isVerbose(), this.data.isFullMutationMatrix(),
+            this.data.getClassPath().getLocalClassPath(), pool, remoteAgents,
+            coverageData.getTestUnitManifest());
 
     final MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+        sources, grouper, this.data.getNumberOfThreads(), dispatcher);
 
     return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
   }
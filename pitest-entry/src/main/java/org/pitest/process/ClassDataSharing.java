@@ -0,0 +1,316 @@
+package org.pitest.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.Sha256;
+
+/**
+ * Launches minions using an application class data sharing archive of the
+ * classes they load, so that each minion does not parse and verify the same
+ * classes again.
+ *
+ * The first minion launched for a classpath with no archive records the
+ * classes it loads. Once it has exited an archive is dumped from the
+ * recording in the background, and minions launched after the dump has
+ * finished use it. An analysis that ends before then leaves no archive, so
+ * the classes are recorded again by the next one.
+ * Archives are kept between runs in a directory, named by a digest of the
+ * java executable, jvm arguments and classpath, so a change to any of these
+ * results in a new archive rather than one the JVM would reject.
+ *
+ * A minion runs whatever classes an archive holds, so the directory must be
+ * private to the user. Where the file system supports posix permissions it
+ * is only accessible to its owner, and is not used if owned by another user.
+ *
+ * The JVM will not archive classes from a classpath containing non empty
+ * directories, so only the JDK classes and those of any jars preceding the
+ * first directory on the classpath are shared. JVMs that cannot dump an
+ * archive (such as Java 8) are remembered, and their minions are launched
+ * as normal.
+ */
+public class ClassDataSharing {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private enum State {
+    NOT_RECORDED, RECORDING, SHARED, UNAVAILABLE
+  }
+
+  private static final Set<PosixFilePermission> OWNER_ONLY =
+      PosixFilePermissions.fromString("rwx------");
+
+  private final File               dir;
+  private final Map<String, State> states = new HashMap<>();
+  private final Executor           dumper;
+
+  private Boolean                  usable;
+
+  public ClassDataSharing(final File dir) {
+    this.dir = dir;
+    this.dumper = Executors
+        .newSingleThreadExecutor(ClassDataSharing::dumperThread);
+  }
+
+  public static ClassDataSharing inUserCache() {
+    return new ClassDataSharing(new File(System.getProperty("user.home"),
+        ".pitest" + File.separator + "cds"));
+  }
+
+  synchronized Launch launch(final String javaExecutable,
+      final List<String> jvmArgs, final String classPath) {
+    if (!isUsable()) {
+      return Launch.NONE;
+    }
+
+    final String key = key(javaExecutable, jvmArgs, classPath);
+    State state = this.states.get(key);
+    if (state == null) {
+      state = stateOnDisk(key);
+    }
+
+    switch (state) {
+    case NOT_RECORDED:
+      return startRecording(key, javaExecutable, jvmArgs, classPath);
+    case SHARED:
+      this.states.put(key, state);
+      return new Launch(Collections.singletonList("-XX:SharedArchiveFile="
+          + archive(key).getAbsolutePath()), null);
+    default:
+      this.states.put(key, state);
+      return Launch.NONE;
+    }
+  }
+
+  private static Thread dumperThread(final Runnable r) {
+    final Thread thread = new Thread(r, "pit class data sharing");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private boolean isUsable() {
+    if (this.usable == null) {
+      try {
+        createPrivateDirectory(this.dir.toPath());
+        this.usable = true;
+      } catch (final IOException e) {
+        LOG.log(Level.WARNING, "Could not use " + this.dir
+            + " for class data sharing archives, minions will be launched"
+            + " without one", e);
+        this.usable = false;
+      }
+    }
+    return this.usable;
+  }
+
+  static void createPrivateDirectory(final Path dir) throws IOException {
+    if (!dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(dir);
+      return;
+    }
+
+    Files.createDirectories(dir,
+        PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+    final UserPrincipal user = dir.getFileSystem()
+        .getUserPrincipalLookupService()
+        .lookupPrincipalByName(System.getProperty("user.name"));
+    if (!Files.getOwner(dir).equals(user)) {
+      throw new IOException(dir + " is owned by another user");
+    }
+    Files.setPosixFilePermissions(dir, OWNER_ONLY);
+  }
+
+  private State stateOnDisk(final String key) {
+    if (archive(key).exists()) {
+      return State.SHARED;
+    }
+    if (unavailableMarker(key).exists()) {
+      return State.UNAVAILABLE;
+    }
+    return State.NOT_RECORDED;
+  }
+
+  private Launch startRecording(final String key, final String javaExecutable,
+      final List<String> jvmArgs, final String classPath) {
+    final File classList;
+    try {
+      classList = File.createTempFile(key, ".classlist", this.dir);
+      classList.deleteOnExit();
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Could not record classes for sharing", e);
+      this.states.put(key, State.UNAVAILABLE);
+      return Launch.NONE;
+    }
+
+    LOG.fine("Recording classes loaded by minion for sharing");
+    this.states.put(key, State.RECORDING);
+    return new Launch(Collections.singletonList("-XX:DumpLoadedClassList="
+        + classList.getAbsolutePath()), process -> this.dumper.execute(
+        () -> dump(process, key, classList, javaExecutable, jvmArgs,
+            classPath)));
+  }
+
+  private void dump(final JavaProcess recorder, final String key,
+      final File classList, final String javaExecutable,
+      final List<String> jvmArgs, final String classPath) {
+    try {
+      recorder.waitToDie();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    final boolean dumped = dumpArchive(key, classList, javaExecutable,
+        jvmArgs, classPath);
+    classList.delete();
+    synchronized (this) {
+      this.states.put(key, dumped ? State.SHARED : State.UNAVAILABLE);
+    }
+  }
+
+  private boolean dumpArchive(final String key, final File classList,
+      final String javaExecutable, final List<String> jvmArgs,
+      final String classPath) {
+    try {
+      final File tmp = File.createTempFile(key, ".jsa", this.dir);
+      tmp.deleteOnExit();
+      final List<String> cmd = dumpCommand(classList, tmp, javaExecutable,
+          jvmArgs, classPath);
+      final ProcessBuilder pb = new ProcessBuilder(cmd);
+      pb.environment().remove("CLASSPATH");
+      pb.redirectErrorStream(true);
+      pb.redirectOutput(new File(this.dir, key + ".log"));
+      final int exitCode = pb.start().waitFor();
+      if ((exitCode == 0) && (tmp.length() != 0)) {
+        Files.move(tmp.toPath(), archive(key).toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+        LOG.fine("Created class data sharing archive " + archive(key));
+        return true;
+      }
+      tmp.delete();
+      LOG.info("Could not create class data sharing archive (exit code "
+          + exitCode + "), minions will be launched without one");
+      unavailableMarker(key).createNewFile();
+      return false;
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Could not create class data sharing archive", e);
+      return false;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  static List<String> dumpCommand(final File classList, final File archive,
+      final String javaExecutable, final List<String> jvmArgs,
+      final String classPath) {
+    final List<String> cmd = new ArrayList<>();
+    cmd.add(javaExecutable);
+    cmd.addAll(jvmArgs);
+    cmd.add("-Xshare:dump");
+    cmd.add("-XX:SharedClassListFile=" + classList.getAbsolutePath());
+    cmd.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+    final String jars = leadingJars(classPath);
+    if (!jars.isEmpty()) {
+      cmd.add("-cp");
+      cmd.add(jars);
+    }
+    return cmd;
+  }
+
+  /**
+   * The jars the JVM is able to archive classes from, those preceding the
+   * first entry that is not a file
+   */
+  static String leadingJars(final String classPath) {
+    final List<String> jars = new ArrayList<>();
+    for (final String each : classPath.split(File.pathSeparator)) {
+      if (!new File(each).isFile()) {
+        break;
+      }
+      jars.add(each);
+    }
+    return String.join(File.pathSeparator, jars);
+  }
+
+  /**
+   * The JVM checks the size and modification time of the archived jars, so
+   * the same is done here instead of digesting their contents
+   */
+  static String key(final String javaExecutable, final List<String> jvmArgs,
+      final String classPath) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(javaExecutable).append(' ')
+        .append(new File(javaExecutable).lastModified()).append('\n');
+    for (final String each : jvmArgs) {
+      sb.append(each).append('\n');
+    }
+    sb.append(classPath).append('\n');
+    for (final String each : leadingJars(classPath).split(File.pathSeparator)) {
+      final File jar = new File(each);
+      sb.append(jar.length()).append(' ').append(jar.lastModified())
+          .append('\n');
+    }
+    return Sha256.of(sb.toString());
+  }
+
+  private File archive(final String key) {
+    return new File(this.dir, key + ".jsa");
+  }
+
+  private File unavailableMarker(final String key) {
+    return new File(this.dir, key + ".unavailable");
+  }
+
+  /**
+   * The arguments to launch one minion with, and what must be done once it
+   * has exited
+   */
+  static final class Launch {
+
+    static final Launch                 NONE = new Launch(
+        Collections.<String> emptyList(), null);
+
+    private final List<String>          jvmArgs;
+    private final Consumer<JavaProcess> onExit;
+
+    Launch(final List<String> jvmArgs, final Consumer<JavaProcess> onExit) {
+      this.jvmArgs = jvmArgs;
+      this.onExit = onExit;
+    }
+
+    List<String> jvmArgs() {
+      return this.jvmArgs;
+    }
+
+    /**
+     * Called once the minion has been asked to exit. Does not wait for it to
+     * do so.
+     */
+    void exited(final JavaProcess process) {
+      if (this.onExit != null) {
+        this.onExit.accept(process);
+      }
+    }
+
+  }
+
+}
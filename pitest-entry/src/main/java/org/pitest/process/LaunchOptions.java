@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class LaunchOptions {
 
@@ -26,6 +27,8 @@ public class LaunchOptions {
   private final JavaExecutableLocator javaExecutable;
   private final Map<String, String>   environmentVariables;
   private final boolean               usingClassPathJar;
+  private final Optional<ClassDataSharing> classDataSharing;
+  private final MinionBootTimes       bootTimes;
 
   public LaunchOptions(JavaAgent javaAgentFinder) {
     this(javaAgentFinder, new DefaultJavaExecutableLocator(), Collections
@@ -41,11 +44,22 @@ public class LaunchOptions {
   public LaunchOptions(JavaAgent javaAgentFinder,
       JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
       Map<String, String> environmentVariables, boolean usingClassPathJar) {
+    this(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables,
+        usingClassPathJar, Optional.<ClassDataSharing> empty(),
+        new MinionBootTimes());
+  }
+
+  private LaunchOptions(JavaAgent javaAgentFinder,
+      JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
+      Map<String, String> environmentVariables, boolean usingClassPathJar,
+      Optional<ClassDataSharing> classDataSharing, MinionBootTimes bootTimes) {
     this.javaAgentFinder = javaAgentFinder;
     this.childJVMArgs = childJVMArgs;
     this.javaExecutable = javaExecutable;
     this.environmentVariables = environmentVariables;
     this.usingClassPathJar = usingClassPathJar;
+    this.classDataSharing = classDataSharing;
+    this.bootTimes = bootTimes;
   }
 
   public JavaAgent getJavaAgentFinder() {
@@ -65,10 +79,29 @@ public class LaunchOptions {
   }
 
   public LaunchOptions usingClassPathJar(boolean useJar) {
-    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, useJar);
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs,
+        environmentVariables, useJar, classDataSharing, bootTimes);
   }
   
   public boolean useClasspathJar() {
     return usingClassPathJar;
   }
+
+  /**
+   * Launch minions using class data sharing archives. Archives are not used
+   * when the classpath is passed in a jar, as each run creates a new one.
+   */
+  public LaunchOptions usingClassDataSharing(ClassDataSharing sharing) {
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs,
+        environmentVariables, usingClassPathJar, Optional.of(sharing),
+        bootTimes);
+  }
+
+  public Optional<ClassDataSharing> getClassDataSharing() {
+    return classDataSharing;
+  }
+
+  public MinionBootTimes getBootTimes() {
+    return bootTimes;
+  }
 }
@@ -0,0 +1,32 @@
+package org.pitest.process;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The time taken by each minion from being launched to connecting back to
+ * the process that launched it.
+ */
+public class MinionBootTimes {
+
+  private final AtomicLong launches = new AtomicLong();
+  private final AtomicLong total    = new AtomicLong();
+
+  public void record(final long millis) {
+    this.launches.incrementAndGet();
+    this.total.addAndGet(millis);
+  }
+
+  public long launches() {
+    return this.launches.get();
+  }
+
+  public long total() {
+    return this.total.get();
+  }
+
+  public long average() {
+    final long n = this.launches.get();
+    return n == 0 ? 0 : this.total.get() / n;
+  }
+
+}
@@ -23,6 +23,8 @@ public class WrappingProcess {
   private final Class<?>    minionClass;
 
   private JavaProcess       process;
+  private ClassDataSharing.Launch sharing;
+  private long              startedAt;
 
   public WrappingProcess(int port, ProcessArgs args, Class<?> minionClass) {
     this.port = port;
@@ -33,6 +35,8 @@ public class WrappingProcess {
   public void start() throws IOException {
     final String[] args = { "" + this.port };
 
+    this.sharing = classDataSharing();
+
     final ProcessBuilder processBuilder = createProcessBuilder(
         this.processArgs.getJavaExecutable(), this.processArgs.getJvmArgs(),
         this.minionClass, Arrays.asList(args),
@@ -45,6 +49,7 @@ public class WrappingProcess {
     configureProcessBuilder(processBuilder, this.processArgs.getWorkingDir(),
         this.processArgs.getEnvironmentVariables());
 
+    this.startedAt = System.currentTimeMillis();
     final Process process = processBuilder.start();
     this.process = new JavaProcess(process, this.processArgs.getStdout(),
         this.processArgs.getStdErr());
@@ -69,8 +74,27 @@ public class WrappingProcess {
     }
   }
 
+  private ClassDataSharing.Launch classDataSharing() {
+    if (this.processArgs.useClasspathJar()
+        || !this.processArgs.getClassDataSharing().isPresent()) {
+      return ClassDataSharing.Launch.NONE;
+    }
+    return this.processArgs.getClassDataSharing().get().launch(
+        this.processArgs.getJavaExecutable(), this.processArgs.getJvmArgs(),
+        this.processArgs.getLaunchClassPath());
+  }
+
+  /**
+   * Records how long the process took to boot, given the time at which it
+   * connected back to its parent
+   */
+  public void connectedAt(final long time) {
+    this.processArgs.getBootTimes().record(time - this.startedAt);
+  }
+
   public void destroy() {
     this.process.destroy();
+    this.sharing.exited(this.process);
   }
 
   private ProcessBuilder createProcessBuilder(String javaProc,
@@ -103,6 +127,7 @@ public class WrappingProcess {
     createClasspathJar(classPath, cmd);
 
     cmd.addAll(args);
+    cmd.addAll(this.sharing.jvmArgs());
 
     addPITJavaAgent(agentJarLocator, cmd);
     addLaunchJavaAgents(cmd);
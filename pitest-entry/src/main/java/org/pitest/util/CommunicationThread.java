@@ -31,6 +31,7 @@ public class CommunicationThread {
   private final ReceiveStrategy                   receive;
   private final ServerSocket                      socket;
   private FutureTask<ExitCode>                    future;
+  private volatile long                           connectedAt;
 
   public CommunicationThread(final ServerSocket socket,
       final SideEffect1<SafeDataOutputStream> sendInitialData,
@@ -46,8 +47,10 @@ public class CommunicationThread {
 
   private FutureTask<ExitCode> createFuture() {
     final FutureTask<ExitCode> newFuture = new FutureTask<>(
-        new SocketReadingCallable(this.socket, this.sendInitialData,
-            this.receive));
+        new SocketReadingCallable(this.socket, dos -> {
+          this.connectedAt = System.currentTimeMillis();
+          this.sendInitialData.apply(dos);
+        }, this.receive));
     final Thread thread = new Thread(newFuture);
     thread.setDaemon(true);
     thread.setName("pit communication");
@@ -55,6 +58,13 @@ public class CommunicationThread {
     return newFuture;
   }
 
+  /**
+   * @return the time at which the minion connected, or zero if it has not
+   */
+  public long connectedAt() {
+    return this.connectedAt;
+  }
+
   public ExitCode waitToFinish() {
     try {
       return this.future.get();
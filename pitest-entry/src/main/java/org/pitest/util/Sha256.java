@@ -0,0 +1,40 @@
+package org.pitest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests, written as hex so they can be used in file names and
+ * compared as strings.
+ */
+public final class Sha256 {
+
+  private Sha256() {
+  }
+
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public static String of(final String text) {
+    return toHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  public static String toHex(final MessageDigest digest) {
+    return toHex(digest.digest());
+  }
+
+  private static String toHex(final byte[] bytes) {
+    final StringBuilder sb = new StringBuilder();
+    for (final byte each : bytes) {
+      sb.append(String.format("%02x", each));
+    }
+    return sb.toString();
+  }
+
+}
@@ -38,7 +38,8 @@ public class Timings {
     }
   }
 
-  private final Map<Stage, TimeSpan> timings = new LinkedHashMap<>();
+  private final Map<Stage, TimeSpan> timings   = new LinkedHashMap<>();
+  private final Map<String, TimeSpan> estimates = new LinkedHashMap<>();
 
   public void registerStart(final Stage stage) {
     this.timings.put(stage, new TimeSpan(System.currentTimeMillis(), 0));
@@ -49,6 +50,14 @@ public class Timings {
     this.timings.get(stage).setEnd(end);
   }
 
+  /**
+   * Records a duration that is not part of the run's total, such as time
+   * saved by an optimisation compared to the default behaviour.
+   */
+  public void registerEstimate(final String description, final long millis) {
+    this.estimates.put(description, new TimeSpan(0, millis));
+  }
+
   public void report(final PrintStream ps) {
     long total = 0;
     for (final Entry<Stage, TimeSpan> each : this.timings.entrySet()) {
@@ -58,6 +67,12 @@ public class Timings {
     ps.println(StringUtil.separatorLine());
     ps.println("> Total " + " : " + new TimeSpan(0, total));
     ps.println(StringUtil.separatorLine());
+    for (final Entry<String, TimeSpan> each : this.estimates.entrySet()) {
+      ps.println("> " + each.getKey() + " : " + each.getValue());
+    }
+    if (!this.estimates.isEmpty()) {
+      ps.println(StringUtil.separatorLine());
+    }
   }
 
 }
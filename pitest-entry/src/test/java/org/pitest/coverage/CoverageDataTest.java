@@ -102,6 +102,23 @@ public class CoverageDataTest {
         testInfoToExecutionTime()));
   }
 
+  @Test
+  public void shouldReturnOnlyTestsCoveringTheRequestedBlock() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    assertEquals(Arrays.asList("fooTest2"), FCollection.map(
+        this.testee.getTestsForBlockLocation(makeCoverage("foo", 2).iterator()
+            .next()), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnNoTestsWhenNoTestsCoverABlock() {
+    assertEquals(Collections.emptyList(), this.testee
+        .getTestsForBlockLocation(makeCoverage("foo", 1).iterator().next()));
+  }
+
   @Test
   public void shouldReportNumberOfCoveredLinesWhenNoneCovered() {
     assertEquals(0, this.testee.getNumberOfCoveredLines(Collections
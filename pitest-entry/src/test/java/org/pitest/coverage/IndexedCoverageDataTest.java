@@ -0,0 +1,373 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.coverage.CoverageMother.aBlockLocation;
+import static org.pitest.coverage.CoverageMother.aCoverageResult;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageMother.BlockLocationBuilder;
+import org.pitest.coverage.CoverageMother.CoverageResultBuilder;
+import org.pitest.functional.FCollection;
+import java.util.Optional;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+public class IndexedCoverageDataTest {
+
+  private IndexedCoverageData testee;
+
+  @Mock
+  private CodeSource      code;
+
+  @Mock
+  private LineMap         lm;
+
+  private final ClassName foo = ClassName.fromString("foo");
+  private final ClassName bar = ClassName.fromString("bar");
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        new HashMap<BlockLocation, Set<Integer>>());
+    when(this.code.findTestee(any())).thenReturn(Optional.empty());
+    this.testee = new IndexedCoverageData(this.code, this.lm);
+  }
+
+  @Test
+  public void shouldReturnNoTestsWhenNoTestsCoverALine() {
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        new HashMap<BlockLocation, Set<Integer>>());
+    final ClassLine line = new ClassLine("foo", 1);
+    assertEquals(Collections.emptyList(),
+        this.testee.getTestsForClassLine(line));
+  }
+
+  @Test
+  public void shouldStoreExecutionTimesOfTests() {
+
+    final int line = 1;
+    final int time = 42;
+
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, line));
+
+    final CoverageResultBuilder cr = aCoverageResult().withVisitedBlocks(
+        block.build(1)).withExecutionTime(time);
+
+    this.testee.calculateClassCoverage(cr.build());
+
+    assertEquals(Arrays.asList(42), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, line)),
+        testInfoToExecutionTime()));
+  }
+
+  @Test
+  public void shouldReturnOnlyTestsCoveringTheRequestedBlock() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    assertEquals(Arrays.asList("fooTest2"), FCollection.map(
+        this.testee.getTestsForBlockLocation(makeCoverage("foo", 2).iterator()
+            .next()), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnNoTestsWhenNoTestsCoverABlock() {
+    assertEquals(Collections.emptyList(), this.testee
+        .getTestsForBlockLocation(makeCoverage("foo", 1).iterator().next()));
+  }
+
+  @Test
+  public void shouldReportNumberOfCoveredLinesWhenNoneCovered() {
+    assertEquals(0, this.testee.getNumberOfCoveredLines(Collections
+        .singletonList(ClassName.fromString("foo"))));
+  }
+
+  @Test
+  public void shouldReportNumberOfCoveredLinesWhenSomeCovered() {
+
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, 101, 300));
+
+    final CoverageResultBuilder cr = aCoverageResult().withVisitedBlocks(
+        block.build(1));
+
+    this.testee.calculateClassCoverage(cr.build());
+
+    assertEquals(2, this.testee.getNumberOfCoveredLines(Collections
+        .singletonList(this.foo)));
+  }
+
+  @Test
+  public void shouldReturnNotTestsWhenNoTestsCoverClass() {
+    assertTrue(this.testee.getTestsForClass(this.foo).isEmpty());
+  }
+
+  @Test
+  public void shouldReturnUniqueTestsForClassWhenSomeTestsCoverClass() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        2));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    assertEquals(Arrays.asList("fooTest", "fooTest2"), FCollection.map(
+        this.testee.getTestsForClass(this.foo), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReportAGreenSuiteWhenNoTestHasFailed() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 42,
+        1));
+    assertTrue(this.testee.allTestsGreen());
+  }
+
+  @Test
+  public void shouldNotReportAGreenSuiteWhenATestHasFailed() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo",
+        new Description("fooTest"), 42, 1, false));
+    assertFalse(this.testee.allTestsGreen());
+  }
+
+  @Test
+  public void shouldProvideAccessToClassData() {
+    final Collection<ClassName> classes = Arrays.asList(ClassName
+        .fromString("foo"));
+    this.testee.getClassInfo(classes);
+    verify(this.code).getClassInfo(classes);
+  }
+
+  @Test
+  public void shouldReturnCoverageIdOf0WhenNoTestsCoverClass() {
+    assertEquals(0,
+        this.testee.getCoverageIdForClass(ClassName.fromString("unknown"))
+        .longValue());
+  }
+
+  @Test
+  public void shouldReturnNonZeroCoverageIdWhenTestsCoverClass() {
+
+    final ClassName foo = ClassName.fromString("Foo");
+    final ClassInfo ci = ClassInfoMother.make(foo);
+
+    when(this.code.getClassInfo(any(Collection.class))).thenReturn(
+        Collections.singletonList(ci));
+
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(foo));
+    final HashMap<BlockLocation, Set<Integer>> map = makeCoverageMapForBlock(block,
+        42);
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(map);
+    this.testee.calculateClassCoverage(aCoverageResult().withVisitedBlocks(
+        block.build(1)).build());
+
+    assertThat(this.testee.getCoverageIdForClass(foo).longValue())
+        .isNotEqualTo(0);
+
+  }
+
+  @Test
+  public void shouldProvideEmptyBlockCoverageListWhenNoCoverage() {
+    assertEquals(Collections.emptyList(), this.testee.createCoverage());
+  }
+
+  @Test
+  public void shouldProvideCoverageListWhenCoverageRecorded() {
+
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    final CoverageResultBuilder cr = aCoverageResult().withVisitedBlocks(
+        block.build(1));
+
+    this.testee.calculateClassCoverage(cr.build());
+
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    final BlockCoverage actual = this.testee.createCoverage().get(0);
+    assertEquals(block.build(), actual.getBlock());
+    assertThat(actual.getTests()).contains("FooTest.fooTest");
+  }
+
+  @Test
+  public void shouldProvideListOfClassesForSourceFile() {
+
+    final ClassInfo fooClass = ClassInfoMother.make(this.foo, "foo.java");
+    final ClassInfo barClass = ClassInfoMother.make(this.bar, "bar.java");
+    final Collection<ClassInfo> classes = Arrays.asList(fooClass, barClass);
+    when(this.code.getCode()).thenReturn(classes);
+
+    this.testee = new IndexedCoverageData(this.code, this.lm);
+
+    assertEquals(Arrays.asList(barClass),
+        this.testee.getClassesForFile("bar.java", ""));
+  }
+
+  @Test
+  public void shouldMatchPackageWhenFindingSources() {
+    final ClassName foo1 = ClassName.fromString("a.b.c.foo");
+    final ClassName foo2 = ClassName.fromString("d.e.f.foo");
+    final ClassInfo foo1Class = ClassInfoMother.make(foo1, "foo.java");
+    final ClassInfo foo2Class = ClassInfoMother.make(foo2, "foo.java");
+    final Collection<ClassInfo> classes = Arrays.asList(foo1Class, foo2Class);
+    when(this.code.getCode()).thenReturn(classes);
+
+    this.testee = new IndexedCoverageData(this.code, this.lm);
+
+    assertEquals(Arrays.asList(foo1Class),
+        this.testee.getClassesForFile("foo.java", "a.b.c"));
+  }
+
+  @Test
+  public void shouldIncludeAllCoveredLinesInCoverageSummary() {
+
+    final BlockLocationBuilder block = aBlockLocation();
+    when(this.code.getCodeUnderTestNames()).thenReturn(
+        Collections.singleton(block.build().getLocation().getClassName()));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, 1, 2, 3, 4));
+
+    final CoverageResultBuilder cr = aCoverageResult().withVisitedBlocks(
+        block.build(1));
+
+    this.testee.calculateClassCoverage(cr.build());
+
+    final CoverageSummary actual = this.testee.createSummary();
+    assertEquals(4, actual.getNumberOfCoveredLines());
+  }
+
+  @Test
+  public void shouldNotReturnTestsForOtherClasses() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("bar", "barTest", 0,
+        1));
+    assertEquals(Arrays.asList("barTest"), FCollection.map(
+        this.testee.getTestsForClass(this.bar), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnTestsForClassInNameOrder() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "c", 0, 1));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "a", 0, 2));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "b", 0, 3));
+    assertEquals(Arrays.asList("a", "b", "c"), FCollection.map(
+        this.testee.getTestsForClass(this.foo), testInfoToString()));
+  }
+
+  @Test
+  public void shouldFindTestsForClassWhenManyTestsCoverIt() {
+    for (int i = 0; i != 1000; i++) {
+      this.testee.calculateClassCoverage(makeCoverageResult("foo", "test" + i,
+          0, i % 3));
+    }
+    assertEquals(1000, this.testee.getTestsForClass(this.foo).size());
+  }
+
+  @Test
+  public void shouldProvideCoverageGivenAsBlockMap() {
+    final BlockLocation block = makeCoverage("foo", 1).iterator().next();
+    final Set<TestInfo> tests = new HashSet<>(Arrays.asList(new TestInfo(
+        null, "fooTest", 0, Optional.<ClassName> empty(), 1), new TestInfo(
+            null, "fooTest2", 0, Optional.<ClassName> empty(), 1)));
+    this.testee = new IndexedCoverageData(this.code, this.lm,
+        Collections.singletonMap(block, tests));
+    assertEquals(Arrays.asList("fooTest", "fooTest2"), FCollection.map(
+        this.testee.getTestsForClass(this.foo), testInfoToString()));
+  }
+
+  @Test
+  public void idSetShouldHoldIdsInOrderWhenSparse() {
+    final IndexedCoverageData.IdSet ids = new IndexedCoverageData.IdSet();
+    ids.add(1000);
+    ids.add(10);
+    ids.add(500);
+    ids.add(10);
+    assertThat(idsIn(ids)).containsExactly(10, 500, 1000);
+  }
+
+  @Test
+  public void idSetShouldHoldIdsInOrderWhenDense() {
+    final IndexedCoverageData.IdSet ids = new IndexedCoverageData.IdSet();
+    for (int i = 200; i >= 0; i--) {
+      ids.add(i);
+    }
+    ids.add(7);
+    assertThat(idsIn(ids)).hasSize(201).startsWith(0, 1, 2).endsWith(200);
+  }
+
+  private static List<Integer> idsIn(final IndexedCoverageData.IdSet ids) {
+    final List<Integer> actual = new ArrayList<>();
+    ids.forEach(i -> actual.add(i));
+    return actual;
+  }
+
+  private static Function<TestInfo, Integer> testInfoToExecutionTime() {
+    return a -> a.getTime();
+  }
+
+  private static Function<TestInfo, String> testInfoToString() {
+    return a -> a.getName();
+  }
+
+  private CoverageResult makeCoverageResult(final String clazz,
+      final String testName, final int time, final int block) {
+    return makeCoverageResult(clazz, new Description(testName), time, block,
+        true);
+  }
+
+  private CoverageResult makeCoverageResult(final String clazz,
+      final Description desc, final int time, final int block,
+      final boolean testPassed) {
+    return new CoverageResult(desc, time, testPassed,
+        makeCoverage(clazz, block));
+  }
+
+  private Collection<BlockLocation> makeCoverage(final String clazz,
+      final int block) {
+    final BlockLocation cs = new BlockLocation(Location.location(
+        ClassName.fromString(clazz), MethodName.fromString("foo"), "V"), block);
+
+    return Collections.singleton(cs);
+  }
+
+  private HashMap<BlockLocation, Set<Integer>> makeCoverageMapForBlock(
+      BlockLocationBuilder blocks, Integer... lines) {
+    final HashMap<BlockLocation, Set<Integer>> map = new HashMap<>();
+    final Set<Integer> s = new HashSet<>();
+    s.addAll(Arrays.asList(lines));
+    map.put(blocks.build(), s);
+    return map;
+  }
+
+}
@@ -0,0 +1,88 @@
+package org.pitest.coverage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.SerializedTestUnit;
+
+public class TestUnitManifestTest {
+
+  private final TestUnitManifest testee = new TestUnitManifest();
+
+  @Test
+  public void shouldFindDescriptorsByQualifiedTestName() {
+    final SerializedTestUnit descriptor = describe("FooTest", "one");
+    this.testee.add(descriptor);
+    assertEquals(Optional.of(descriptor),
+        this.testee.descriptorFor("FooTest.one"));
+    assertFalse(this.testee.descriptorFor("FooTest.two").isPresent());
+  }
+
+  @Test
+  public void shouldDescribeEachTestNeededByMutationsOnce() {
+    final SerializedTestUnit one = describe("FooTest", "one");
+    final SerializedTestUnit two = describe("FooTest", "two");
+    this.testee.add(one);
+    this.testee.add(two);
+    this.testee.add(describe("FooTest", "unneeded"));
+
+    final List<SerializedTestUnit> actual = this.testee.describeTestsFor(Arrays
+        .asList(mutationCoveredBy(test("FooTest", "one")),
+            mutationCoveredBy(test("FooTest", "one"), test("FooTest", "two"))));
+
+    assertEquals(Arrays.asList(one, two), actual);
+  }
+
+  @Test
+  public void shouldNotDescribeTestsOfClassesWithAnyUndescribedTest() {
+    final SerializedTestUnit bar = describe("BarTest", "one");
+    this.testee.add(describe("FooTest", "one"));
+    this.testee.add(bar);
+
+    final List<SerializedTestUnit> actual = this.testee.describeTestsFor(Arrays
+        .asList(mutationCoveredBy(test("FooTest", "one"),
+            test("BarTest", "one"), test("FooTest", "two"))));
+
+    assertEquals(Collections.singletonList(bar), actual);
+  }
+
+  @Test
+  public void shouldDescribeNothingWhenManifestIsEmpty() {
+    assertTrue(this.testee.describeTestsFor(
+        Arrays.asList(mutationCoveredBy(test("FooTest", "one")))).isEmpty());
+  }
+
+  private static SerializedTestUnit describe(final String testClass,
+      final String name) {
+    return new SerializedTestUnit(new Description(name, testClass)
+        .getQualifiedName(), testClass, new byte[0]);
+  }
+
+  private static TestInfo test(final String testClass, final String name) {
+    return new TestInfo(testClass, testClass + "." + name, 1,
+        Optional.<ClassName> empty(), 0);
+  }
+
+  private static MutationDetails mutationCoveredBy(final TestInfo... tests) {
+    final MutationDetails mutation = new MutationDetails(new MutationIdentifier(
+        Location.location(ClassName.fromString("foo"),
+            MethodName.fromString("bar"), "()V"), 0, "mutator"), "foo.java",
+        "A mutation", 0, 0);
+    mutation.addTestsInOrder(Arrays.asList(tests));
+    return mutation;
+  }
+
+}
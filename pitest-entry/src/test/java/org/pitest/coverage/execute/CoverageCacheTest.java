@@ -0,0 +1,247 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+public class CoverageCacheTest {
+
+  private static final ClassName          TEST    = ClassName
+      .fromString("com.example.FooTest");
+  private static final ClassName          COVERED = ClassName
+      .fromString("com.example.Foo");
+
+  @Rule
+  public TemporaryFolder                  folder  = new TemporaryFolder();
+
+  private final Map<ClassName, ClassInfo> classes = new HashMap<>();
+
+  private byte[]                          dependencies = { 1 };
+
+  private CoverageCache                   testee;
+
+  @Before
+  public void setUp() {
+    this.testee = CoverageCache.load(null, options("com.example.*"));
+    classVersion(TEST, 1);
+    classVersion(COVERED, 1);
+  }
+
+  @Test
+  public void shouldReuseCoverageWhenNothingHasChanged() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    final Optional<List<CoverageResult>> actual = this.testee.reusableResults(
+        test(), classInfo(), dependencies());
+    assertThat(actual.isPresent()).isTrue();
+    assertThat(actual.get().get(0).getCoverage()).containsExactly(block());
+    assertThat(actual.get().get(0).getExecutionTime()).isEqualTo(42);
+  }
+
+  @Test
+  public void shouldNotReuseCoverageWhenTestClassHasChanged() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    classVersion(TEST, 2);
+    assertThat(this.testee.reusableResults(test(), classInfo(), dependencies())
+        .isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldNotReuseCoverageWhenCoveredClassHasChanged() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    classVersion(COVERED, 2);
+    assertThat(this.testee.reusableResults(test(), classInfo(), dependencies())
+        .isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldNotReuseCoverageWhenADependencyOfTheTestHasChanged() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.dependencies = new byte[] { 2 };
+    assertThat(this.testee.reusableResults(test(), classInfo(), dependencies())
+        .isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldNotReuseCoverageWhenCoveredClassNoLongerExists() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.classes.remove(COVERED);
+    assertThat(this.testee.reusableResults(test(), classInfo(), dependencies())
+        .isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldNotRecordTestClassesWithFailingTests() {
+    this.testee.record(test(), Arrays.asList(passingResult(), new CoverageResult(
+        new Description("fails", TEST.asJavaName()), 1, false,
+        Collections.<BlockLocation> emptyList())), classInfo(),
+        dependencies());
+    assertThat(this.testee.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRecordNothingWhenDisabled() {
+    this.testee = CoverageCache.none();
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    assertThat(this.testee.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldForgetTestClassesThatNoLongerExist() {
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.testee.retainOnly(Collections.singletonList(COVERED));
+    assertThat(this.testee.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldProvideTotalTimeOfEachTestClass() {
+    this.testee.record(test(), Arrays.asList(passingResult(), passingResult()),
+        classInfo(),
+        dependencies());
+    assertThat(this.testee.testClassTimes()).containsEntry(
+        TEST.asInternalName(), 84);
+  }
+
+  @Test
+  public void shouldReadBackSavedCoverage() throws IOException {
+    final File file = this.folder.newFile();
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.testee.save(file);
+
+    final CoverageCache actual = CoverageCache.load(file,
+        options("com.example.*"));
+    assertThat(actual.reusableResults(test(), classInfo(), dependencies())
+        .isPresent()).isTrue();
+  }
+
+  @Test
+  public void shouldDiscardSavedCoverageWhenOptionsDiffer() throws IOException {
+    final File file = this.folder.newFile();
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.testee.save(file);
+
+    final CoverageCache actual = CoverageCache.load(file,
+        options("com.other.*"));
+    assertThat(actual.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReadBackSavedCoverageWhenResourcesAreUnchanged()
+      throws IOException {
+    final File file = this.folder.newFile();
+    final File resources = this.folder.newFolder();
+    Files.write(new File(resources, "fixture.txt").toPath(), "a".getBytes());
+    this.testee = CoverageCache.load(null, options("com.example.*"),
+        Arrays.asList(resources));
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.testee.save(file);
+
+    final CoverageCache actual = CoverageCache.load(file,
+        options("com.example.*"), Arrays.asList(resources));
+    assertThat(actual.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDiscardSavedCoverageWhenResourcesHaveChanged()
+      throws IOException {
+    final File file = this.folder.newFile();
+    final File resources = this.folder.newFolder();
+    final File fixture = new File(resources, "fixture.txt");
+    Files.write(fixture.toPath(), "a".getBytes());
+    this.testee = CoverageCache.load(null, options("com.example.*"),
+        Arrays.asList(resources));
+    this.testee.record(test(), Arrays.asList(passingResult()), classInfo(),
+        dependencies());
+    this.testee.save(file);
+
+    Files.write(fixture.toPath(), "changed".getBytes());
+    final CoverageCache actual = CoverageCache.load(file,
+        options("com.example.*"), Arrays.asList(resources));
+    assertThat(actual.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldIgnoreUnreadableFiles() throws IOException {
+    final File file = this.folder.newFile();
+    final CoverageCache actual = CoverageCache.load(file,
+        options("com.example.*"));
+    assertThat(actual.size()).isEqualTo(0);
+    assertThat(actual.isEnabled()).isTrue();
+  }
+
+  private ClassInfo test() {
+    return this.classes.get(TEST);
+  }
+
+  private void classVersion(final ClassName name, final long hash) {
+    this.classes.put(name, ClassInfoMother.make(new ClassIdentifier(hash, name)));
+  }
+
+  private Function<Collection<ClassName>, Collection<ClassInfo>> classInfo() {
+    return names -> {
+      final List<ClassInfo> found = new ArrayList<>();
+      for (final ClassName each : names) {
+        if (this.classes.containsKey(each)) {
+          found.add(this.classes.get(each));
+        }
+      }
+      return found;
+    };
+  }
+
+  private Function<ClassName, byte[]> dependencies() {
+    return test -> this.dependencies;
+  }
+
+  private static CoverageResult passingResult() {
+    return new CoverageResult(new Description("passes", TEST.asJavaName()), 42,
+        true, Arrays.asList(block()));
+  }
+
+  private static BlockLocation block() {
+    return new BlockLocation(Location.location(COVERED,
+        MethodName.fromString("foo"), "()V"), 1);
+  }
+
+  private static CoverageOptions options(final String include) {
+    return new CoverageOptions(Arrays.asList(include),
+        Collections.<String> emptyList(), TestPluginArguments.defaults(), false,
+        -1);
+  }
+
+}
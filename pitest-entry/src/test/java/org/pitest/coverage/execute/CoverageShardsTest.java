@@ -0,0 +1,67 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CoverageShardsTest {
+
+  private final Map<String, Integer> times = new HashMap<>();
+
+  @Test
+  public void shouldUseSingleShardWhenOneRequested() {
+    final List<String> tests = Arrays.asList("a", "b", "c");
+    assertThat(CoverageShards.partition(tests, 1, this.times)).containsExactly(
+        tests);
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTestClasses() {
+    final List<String> tests = Arrays.asList("a", "b");
+    assertThat(CoverageShards.partition(tests, 8, this.times)).hasSize(2);
+  }
+
+  @Test
+  public void shouldReturnSingleEmptyShardWhenNoTests() {
+    assertThat(CoverageShards.partition(Collections.<String> emptyList(), 4,
+        this.times)).containsExactly(Collections.<String> emptyList());
+  }
+
+  @Test
+  public void shouldSplitClassesEvenlyWhenNoTimingsKnown() {
+    final List<String> tests = Arrays.asList("a", "b", "c", "d", "e");
+    final List<List<String>> actual = CoverageShards.partition(tests, 2,
+        this.times);
+    assertThat(actual).containsExactly(Arrays.asList("a", "c", "e"),
+        Arrays.asList("b", "d"));
+  }
+
+  @Test
+  public void shouldBalanceShardsByPreviousTimes() {
+    this.times.put("slow", 1000);
+    this.times.put("a", 100);
+    this.times.put("b", 100);
+    this.times.put("c", 100);
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "slow", "c"), 2, this.times);
+    assertThat(actual).containsExactly(Arrays.asList("slow"),
+        Arrays.asList("a", "b", "c"));
+  }
+
+  @Test
+  public void shouldAssumeUnknownClassesTakeTheAverageTime() {
+    this.times.put("a", 10);
+    this.times.put("b", 30);
+    final List<List<String>> actual = CoverageShards.partition(
+        Arrays.asList("a", "b", "new"), 2, this.times);
+    assertThat(actual).containsExactly(Arrays.asList("b"),
+        Arrays.asList("a", "new"));
+  }
+
+}
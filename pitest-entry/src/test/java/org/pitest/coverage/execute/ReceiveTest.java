@@ -1,17 +1,34 @@
 package org.pitest.coverage.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.manipulation.Filter;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.junit.DescriptionFilter;
+import org.pitest.junit.adapter.AdaptedJUnitTestUnit;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.testapi.Description;
+import org.pitest.testapi.SerializedTestUnit;
+import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.SafeDataInputStream;
 
 import sun.pitest.CodeCoverageStore;
@@ -60,16 +77,91 @@ public class ReceiveTest {
     assertEquals(true, this.result.isGreenTest());
   }
 
+  @Test
+  public void shouldDecodeProbeHitsSentByCoveragePipe() {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final CoveragePipe pipe = new CoveragePipe(bos);
+
+    CodeCoverageStore.resetAllStaticState();
+    CodeCoverageStore.registerClassProbes(3, 10);
+    pipe.registerClass(3, "foo");
+    pipe.registerProbes(3, "a", "()V", 0, 1);
+    pipe.registerProbes(3, "b", "()V", 2, 9);
+    CodeCoverageStore.visitProbes(3, 0, true, false);
+    CodeCoverageStore.visitProbes(3, 2, new boolean[] { false, false, false,
+        false, false, false, false, true });
+    pipe.recordTestOutcome(this.description, true, 42);
+    pipe.end(ExitCode.OK);
+
+    applyAll(new SafeDataInputStream(new ByteArrayInputStream(bos
+        .toByteArray())));
+
+    final Location a = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("a"), "()V");
+    final Location b = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("b"), "()V");
+    assertThat(this.result.getCoverage()).containsOnly(
+        new BlockLocation(a, 0), new BlockLocation(b, 7));
+    assertEquals(42, this.result.getExecutionTime());
+  }
+
+  @Test
+  public void shouldPassTestUnitsSentByCoveragePipeToHandler() {
+    final List<SerializedTestUnit> received = new ArrayList<>();
+    this.testee = new Receive(this.handler, a -> received.add(a));
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final CoveragePipe pipe = new CoveragePipe(bos);
+
+    final AdaptedJUnitTestUnit unit = new AdaptedJUnitTestUnit(
+        ReceiveTest.class, Optional.<Filter> of(new DescriptionFilter(
+            "shouldReportWhenTestPasses(org.pitest.coverage.execute.ReceiveTest)")));
+    pipe.recordTestUnit(unit.descriptor().get());
+    pipe.end(ExitCode.OK);
+
+    applyAll(new SafeDataInputStream(new ByteArrayInputStream(bos
+        .toByteArray())));
+
+    assertEquals(1, received.size());
+    assertEquals(unit.getDescription().getQualifiedName(), received.get(0)
+        .getName());
+    assertEquals(ReceiveTest.class.getName(), received.get(0).getTestClass());
+    assertEquals(unit.getDescription(), received.get(0).deserialize()
+        .getDescription());
+  }
+
+  @Test
+  public void shouldForwardTestUnitsWithoutDeserialisingThem() {
+    final List<SerializedTestUnit> received = new ArrayList<>();
+    this.testee = new Receive(this.handler, a -> received.add(a));
+    final byte[] notAnObject = { 1, 2, 3 };
+    when(this.is.readString()).thenReturn("FooTest.one", "FooTest");
+    when(this.is.readBytes()).thenReturn(notAnObject);
+
+    this.testee.apply(Id.TEST_UNIT, this.is);
+
+    assertEquals("FooTest.one", received.get(0).getName());
+    assertEquals("FooTest", received.get(0).getTestClass());
+    assertThat(received.get(0).getDescriptor()).isEqualTo(notAnObject);
+  }
+
+  private void applyAll(final SafeDataInputStream is) {
+    byte control = is.readByte();
+    while (control != Id.DONE) {
+      this.testee.apply(control, is);
+      control = is.readByte();
+    }
+  }
+
   private void recordTestCoverage(final int executionTime, final int classId,
       final int probeNumber, final boolean testPassed) {
     when(this.is.readInt()).thenReturn(classId, executionTime);
     when(this.is.readString()).thenReturn("foo");
     this.testee.apply(Id.CLAZZ, this.is);
 
-    when(this.is.read(Description.class)).thenReturn(this.description);
-    when(this.is.readInt()).thenReturn(1);
-    when(this.is.readLong()).thenReturn(1l,
-        CodeCoverageStore.encode(classId, probeNumber));
+    when(this.is.readInternedString()).thenReturn("bar", "foo");
+    when(this.is.readVarInt()).thenReturn(1, classId, probeNumber + 1);
+    when(this.is.readByte()).thenReturn(MessageCodec.VERSION,
+        (byte) (1 << probeNumber));
     when(this.is.readBoolean()).thenReturn(testPassed);
     this.testee.apply(Id.OUTCOME, this.is);
   }
@@ -0,0 +1,85 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+
+public class TestClassDependenciesTest {
+
+  private final Map<ClassName, Long>  hashes = new HashMap<>();
+
+  private final TestClassDependencies testee = new TestClassDependencies(
+      new ClassPath(), classInfo());
+
+  public static class Fixture {
+    static int value() {
+      return Helper.value() + 1;
+    }
+  }
+
+  public static class Helper {
+    static int value() {
+      return 1;
+    }
+  }
+
+  public static class UsesFixture {
+    public void test() {
+      Fixture.value();
+    }
+  }
+
+  @Test
+  public void shouldFindClassesUsedIndirectlyByATestClass() {
+    assertThat(this.testee.dependenciesOf(ClassName.fromClass(UsesFixture.class)))
+        .contains(ClassName.fromClass(UsesFixture.class),
+            ClassName.fromClass(Fixture.class),
+            ClassName.fromClass(Helper.class));
+  }
+
+  @Test
+  public void shouldNotFollowClassesFromArchives() {
+    assertThat(this.testee.dependenciesOf(ClassName.fromClass(Test.class)))
+        .containsExactly(ClassName.fromClass(Test.class));
+  }
+
+  @Test
+  public void shouldChangeFingerprintWhenAnIndirectDependencyChanges() {
+    final byte[] before = this.testee.fingerprint(ClassName
+        .fromClass(UsesFixture.class));
+    this.hashes.put(ClassName.fromClass(Helper.class), 2L);
+    assertThat(this.testee.fingerprint(ClassName.fromClass(UsesFixture.class)))
+        .isNotEqualTo(before);
+  }
+
+  @Test
+  public void shouldNotChangeFingerprintWhenNothingChanges() {
+    assertThat(this.testee.fingerprint(ClassName.fromClass(UsesFixture.class)))
+        .isEqualTo(
+            this.testee.fingerprint(ClassName.fromClass(UsesFixture.class)));
+  }
+
+  private Function<Collection<ClassName>, Collection<ClassInfo>> classInfo() {
+    return names -> {
+      final List<ClassInfo> found = new ArrayList<>();
+      for (final ClassName each : names) {
+        found.add(ClassInfoMother.make(new ClassIdentifier(this.hashes
+            .getOrDefault(each, 1L), each)));
+      }
+      return found;
+    };
+  }
+
+}
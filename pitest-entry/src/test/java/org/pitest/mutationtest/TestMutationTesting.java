@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -64,6 +65,7 @@ import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
 import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
 import org.pitest.process.DefaultJavaExecutableLocator;
@@ -85,6 +87,9 @@ public class TestMutationTesting {
 
   private MetaDataExtractor        metaDataExtractor;
 
+  private Optional<MinionPool>     pool             = Optional.empty();
+  private int                      mutationUnitSize = 0;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -221,6 +226,35 @@ public class TestMutationTesting {
     verifyResults(KILLED, TIMED_OUT);
   }
 
+  @Test
+  public void shouldReuseMinionsAcrossMutationUnitsWhenPooled() {
+    final MinionPool minions = new MinionPool(1, 10);
+    this.pool = Optional.of(minions);
+    this.mutationUnitSize = 1;
+    try {
+      run(ThreeMutations.class, ThreeMutationsTwoMeaningfullTests.class,
+          "RETURN_VALS");
+    } finally {
+      minions.shutdown();
+    }
+    verifyResults(SURVIVED, KILLED, KILLED);
+    assertEquals(1, minions.minionsLaunched());
+    assertEquals(2, minions.minionsReused());
+  }
+
+  @Test(timeout = 30000)
+  public void shouldReplacePooledMinionsThatTimeOut() {
+    final MinionPool minions = new MinionPool(1, 10);
+    this.pool = Optional.of(minions);
+    this.mutationUnitSize = 1;
+    try {
+      run(InfiniteLoop.class, InfiniteLoopTest.class, "INCREMENTS");
+    } finally {
+      minions.shutdown();
+    }
+    verifyResults(KILLED, TIMED_OUT);
+  }
+
   public static class OneMutationFullTestWithSystemPropertyDependency {
     @TestAnnotationForTesting
     public void testReturnOne() {
@@ -381,13 +415,13 @@ public class TestMutationTesting {
         coverageOptions.getPitConfig(), mutationConfig, arguments,
         new PercentAndConstantTimeoutStrategy(data.getTimeoutFactor(),
             data.getTimeoutConstant()), data.isVerbose(), false, data.getClassPath()
-            .getLocalClassPath());
+            .getLocalClassPath(), this.pool);
 
 
 
 
     final MutationTestBuilder builder = new MutationTestBuilder(wf,
-        new NullAnalyser(), source, new DefaultGrouper(0));
+        new NullAnalyser(), source, new DefaultGrouper(this.mutationUnitSize));
 
     final List<MutationAnalysisUnit> tus = builder
         .createMutationTestUnits(codeClasses);
@@ -0,0 +1,117 @@
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.PoisonStatus;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+public class BlockTestPrioritiserTest {
+
+  private final ClassName            ternary    = ClassName
+      .fromClass(HasTernary.class);
+
+  private final ClassByteArraySource source     = ClassloaderByteArraySource
+      .fromContext();
+
+  private final List<TestInfo>       lineTests  = Arrays.asList(aTest("line"));
+
+  private BlockTestPrioritiser       testee;
+
+  @Mock
+  private CoverageDatabase           coverage;
+
+  public static class HasTernary {
+    public static int choose(final int a) {
+      return a > 0 ? 1 : 2;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new BlockTestPrioritiser(this.coverage, this.source);
+    when(this.coverage.getTestsForClassLine(any(ClassLine.class))).thenReturn(
+        this.lineTests);
+    when(this.coverage.getTestsForBlockLocation(any(BlockLocation.class)))
+        .thenAnswer(invocation -> Collections.singletonList(aTest("block"
+            + ((BlockLocation) invocation.getArguments()[0]).getBlock())));
+  }
+
+  @Test
+  public void shouldAssignTestsCoveringTheBlockOfEachMutationOnALine() {
+    final MutationDetails condition = findMutation("NEGATE_CONDITIONALS");
+    final MutationDetails returned = findMutation("RETURN_VALS");
+    assertEquals(condition.getLineNumber(), returned.getLineNumber());
+
+    assertEquals("block0", this.testee.assignTests(condition).get(0).getName());
+    assertEquals("block3", this.testee.assignTests(returned).get(0).getName());
+    verify(this.coverage, never()).getTestsForClassLine(any(ClassLine.class));
+  }
+
+  @Test
+  public void shouldAssignTestsForLineWhenBlockNotCovered() {
+    doReturn(Collections.emptyList()).when(this.coverage)
+        .getTestsForBlockLocation(any(BlockLocation.class));
+    assertEquals(this.lineTests,
+        this.testee.assignTests(findMutation("RETURN_VALS")));
+  }
+
+  @Test
+  public void shouldAssignTestsForLineWhenMutationInFinallyBlock() {
+    final MutationDetails mutation = findMutation("RETURN_VALS");
+    final MutationDetails inFinally = new MutationDetails(mutation.getId(),
+        mutation.getFilename(), mutation.getDescription(),
+        mutation.getLineNumber(), mutation.getBlock(), true,
+        PoisonStatus.NORMAL);
+    assertEquals(this.lineTests, this.testee.assignTests(inFinally));
+  }
+
+  @Test
+  public void shouldAssignTestsForLineWhenClassBytesNotFound() {
+    this.testee = new BlockTestPrioritiser(this.coverage,
+        c -> Optional.<byte[]> empty());
+    assertEquals(this.lineTests,
+        this.testee.assignTests(findMutation("RETURN_VALS")));
+  }
+
+  @Test
+  public void shouldAssignAllTestsForClassWhenMutationInStaticInitialiser() {
+    final List<TestInfo> expected = Arrays.asList(aTest("class"));
+    when(this.coverage.getTestsForClass(this.ternary)).thenReturn(expected);
+    assertEquals(expected, this.testee.assignTests(findMutation("RETURN_VALS")
+        .withPoisonStatus(PoisonStatus.IS_STATIC_INITIALIZER_CODE)));
+  }
+
+  private MutationDetails findMutation(final String mutator) {
+    return new GregorMutater(this.source, m -> m.getName().equals("choose"),
+        Mutator.byName(mutator)).findMutations(this.ternary).get(0);
+  }
+
+  private static TestInfo aTest(final String name) {
+    return new TestInfo("foo", name, 1, Optional.<ClassName> empty(), 0);
+  }
+
+}
@@ -0,0 +1,112 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class CostBalancedGrouperTest {
+
+  private CostBalancedGrouper testee;
+
+  @Test
+  public void shouldCreateSingleUnitForCheapMutations() {
+    this.testee = new CostBalancedGrouper(4, 0);
+    final List<List<MutationDetails>> actual = group(createDetails("foo", 1),
+        createDetails("foo", 1), createDetails("bar", 1));
+    assertEquals(1, actual.size());
+    assertEquals(3, actual.get(0).size());
+  }
+
+  @Test
+  public void shouldSplitExpensiveClassesAcrossThreads() {
+    this.testee = new CostBalancedGrouper(2, 0);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 16; i++) {
+      mutations.add(createDetails("foo", 1000));
+    }
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, mutations);
+    assertEquals(2 * CostBalancedGrouper.UNITS_PER_THREAD, actual.size());
+    for (final List<MutationDetails> each : actual) {
+      assertEquals(2, each.size());
+    }
+  }
+
+  @Test
+  public void shouldPackCheapClassesAlongsideSplitOfExpensiveClass() {
+    this.testee = new CostBalancedGrouper(1, 0);
+    final List<List<MutationDetails>> actual = group(
+        createDetails("foo", 3000), createDetails("foo", 3000),
+        createDetails("bar", 1), createDetails("baz", 1));
+    assertEquals(3, actual.size());
+    assertThat(actual.get(2)).extracting("className").containsOnly(
+        ClassName.fromString("bar"), ClassName.fromString("baz"));
+  }
+
+  @Test
+  public void shouldReturnMostExpensiveUnitsFirst() {
+    this.testee = new CostBalancedGrouper(1, 0);
+    final List<List<MutationDetails>> actual = group(
+        createDetails("foo", 100), createDetails("bar", 3000),
+        createDetails("baz", 1500));
+    final List<Long> predicted = new ArrayList<>();
+    for (final List<MutationDetails> each : actual) {
+      predicted.add(MutationCost.predictMillis(each));
+    }
+    final List<Long> sorted = new ArrayList<>(predicted);
+    sorted.sort(Collections.reverseOrder());
+    assertEquals(sorted, predicted);
+    assertEquals(ClassName.fromString("bar"), actual.get(0).get(0)
+        .getClassName());
+  }
+
+  @Test
+  public void shouldNotCreateUnitsLargerThanUnitSize() {
+    this.testee = new CostBalancedGrouper(1, 2);
+    final List<List<MutationDetails>> actual = group(createDetails("foo", 1),
+        createDetails("foo", 1), createDetails("bar", 1));
+    assertEquals(2, actual.size());
+    for (final List<MutationDetails> each : actual) {
+      assertThat(each.size()).isLessThanOrEqualTo(2);
+    }
+  }
+
+  @Test
+  public void shouldKeepEveryMutation() {
+    this.testee = new CostBalancedGrouper(3, 0);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      mutations.add(createDetails("foo" + (i % 7), i * 37));
+    }
+    final List<MutationDetails> actual = new ArrayList<>();
+    for (final List<MutationDetails> each : this.testee.groupMutations(null,
+        mutations)) {
+      actual.addAll(each);
+    }
+    assertThat(actual).containsOnlyElementsOf(mutations).hasSameSizeAs(
+        mutations);
+  }
+
+  private List<List<MutationDetails>> group(final MutationDetails... details) {
+    return this.testee.groupMutations(null, Arrays.asList(details));
+  }
+
+  private static MutationDetails createDetails(final String clazz,
+      final int testMillis) {
+    final MutationDetails details = DefaultGrouperTest.createDetails(clazz);
+    details.addTestsInOrder(Collections.singletonList(new TestInfo("foo",
+        "fooTest", testMillis, Optional.<ClassName> empty(), 0)));
+    return details;
+  }
+
+}
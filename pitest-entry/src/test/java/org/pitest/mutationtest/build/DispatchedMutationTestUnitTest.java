@@ -0,0 +1,150 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.execute.MinionProcess;
+import org.pitest.util.ExitCode;
+
+public class DispatchedMutationTestUnitTest {
+
+  private MutationDispatcher dispatcher;
+
+  @Mock
+  private WorkerFactory      workerFactory;
+
+  @Mock
+  private MinionProcess      worker;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.dispatcher = new MutationDispatcher(
+        MutationDispatcher.DEFAULT_BATCH_SIZE);
+    when(this.workerFactory.createWorker(anyCollectionOf(MutationDetails.class),
+        anyCollectionOf(ClassName.class))).thenReturn(this.worker);
+  }
+
+  @Test
+  public void shouldReportUncoveredMutationsWithoutLaunchingMinion()
+      throws Exception {
+    final List<MutationDetails> mutations = MutationDispatcherTest
+        .makeMutations(1);
+    final MutationMetaData actual = makeTestee(mutations).call();
+    assertThat(actual.getMutations()).extracting("status").containsOnly(
+        DetectionStatus.NO_COVERAGE);
+    verify(this.workerFactory, never()).createWorker(
+        anyCollectionOf(MutationDetails.class),
+        anyCollectionOf(ClassName.class));
+  }
+
+  @Test
+  public void shouldRequeueOnlyMutationsNotStartedWhenMinionFails()
+      throws Exception {
+    final List<MutationDetails> mutations = covered(3);
+    when(this.worker.waitToDie()).thenReturn(ExitCode.UNKNOWN_ERROR,
+        ExitCode.OK);
+    doAnswer(invocation -> {
+      final MutationStatusMap map = (MutationStatusMap) invocation
+          .getArguments()[0];
+      if (map.allMutations().size() == 3) {
+        map.setStatusForMutation(mutations.get(0), DetectionStatus.KILLED);
+        map.setStatusForMutation(mutations.get(1), DetectionStatus.STARTED);
+      } else {
+        map.setStatusForMutations(map.allMutations(), DetectionStatus.KILLED);
+      }
+      return null;
+    }).when(this.worker).results(any(MutationStatusMap.class));
+
+    final MutationMetaData actual = makeTestee(mutations).call();
+
+    verify(this.workerFactory).createWorker(eq(mutations),
+        anyCollectionOf(ClassName.class));
+    verify(this.workerFactory).createWorker(
+        eq(Collections.singletonList(mutations.get(2))),
+        anyCollectionOf(ClassName.class));
+    assertEquals(3, actual.getMutations().size());
+    assertEquals(DetectionStatus.RUN_ERROR, statusOf(actual, mutations.get(1)));
+    assertEquals(DetectionStatus.KILLED, statusOf(actual, mutations.get(2)));
+  }
+
+  @Test
+  public void shouldAnalyseMutationsOfOtherUnitsOnceOwnAreDone()
+      throws Exception {
+    final List<MutationDetails> others = covered(10);
+    new DispatchedMutationTestUnit(others, this.workerFactory,
+        this.dispatcher, 0);
+    when(this.worker.waitToDie()).thenReturn(ExitCode.OK);
+    doAnswer(invocation -> {
+      final MutationStatusMap map = (MutationStatusMap) invocation
+          .getArguments()[0];
+      map.setStatusForMutations(map.allMutations(), DetectionStatus.KILLED);
+      return null;
+    }).when(this.worker).results(any(MutationStatusMap.class));
+
+    final MutationMetaData actual = makeTestee(
+        Collections.<MutationDetails> emptyList()).call();
+
+    assertThat(actual.getMutations()).extracting("details")
+        .containsOnlyElementsOf(others).hasSameSizeAs(others);
+    assertEquals(10, this.dispatcher.mutationsStolen());
+  }
+
+  @Test
+  public void shouldReportPriorityGiven() {
+    assertEquals(42, new DispatchedMutationTestUnit(
+        Collections.<MutationDetails> emptyList(), this.workerFactory,
+        this.dispatcher, 42).priority());
+  }
+
+  private DispatchedMutationTestUnit makeTestee(
+      final List<MutationDetails> mutations) {
+    return new DispatchedMutationTestUnit(mutations, this.workerFactory,
+        this.dispatcher, 0);
+  }
+
+  private static List<MutationDetails> covered(final int count) {
+    final List<MutationDetails> mutations = new ArrayList<>(
+        MutationDispatcherTest.makeMutations(count));
+    for (final MutationDetails each : mutations) {
+      each.addTestsInOrder(Arrays.asList(new TestInfo("foo", "fooTest", 1,
+          Optional.<ClassName> empty(), 0)));
+    }
+    return mutations;
+  }
+
+  private static DetectionStatus statusOf(final MutationMetaData data,
+      final MutationDetails mutation) {
+    for (final MutationResult each : data.getMutations()) {
+      if (each.getDetails().equals(mutation)) {
+        return each.getStatus();
+      }
+    }
+    return null;
+  }
+
+}
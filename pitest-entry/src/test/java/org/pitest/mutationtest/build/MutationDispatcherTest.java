@@ -0,0 +1,82 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class MutationDispatcherTest {
+
+  private MutationDispatcher testee;
+
+  @Before
+  public void setUp() {
+    this.testee = new MutationDispatcher(2);
+  }
+
+  @Test
+  public void shouldTakeBatchesFromHeadOfOwnQueue() {
+    final List<MutationDetails> mutations = makeMutations(3);
+    final Deque<MutationDetails> own = this.testee.register(mutations);
+    assertEquals(mutations.subList(0, 2), this.testee.nextBatch(own));
+    assertEquals(mutations.subList(2, 3), this.testee.nextBatch(own));
+  }
+
+  @Test
+  public void shouldTakeFromTailOfLongestQueueWhenOwnQueueEmpty() {
+    final List<MutationDetails> shorter = makeMutations(3);
+    final List<MutationDetails> longer = makeMutations(5);
+    this.testee.register(shorter);
+    this.testee.register(longer);
+    final Deque<MutationDetails> own = this.testee.register(makeMutations(0));
+
+    assertEquals(longer.subList(3, 5), this.testee.nextBatch(own));
+    assertEquals(2, this.testee.mutationsStolen());
+  }
+
+  @Test
+  public void shouldReturnRequeuedMutationsInOrderBeforeOthers() {
+    final List<MutationDetails> mutations = makeMutations(4);
+    final Deque<MutationDetails> own = this.testee.register(mutations);
+    final List<MutationDetails> batch = this.testee.nextBatch(own);
+    this.testee.requeue(own, batch);
+    assertEquals(mutations.subList(0, 2), this.testee.nextBatch(own));
+  }
+
+  @Test
+  public void shouldReturnEmptyBatchWhenAllQueuesEmpty() {
+    final Deque<MutationDetails> own = this.testee.register(makeMutations(1));
+    this.testee.nextBatch(own);
+    assertThat(this.testee.nextBatch(own)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotStealWhenOwnQueueHasMutations() {
+    final Deque<MutationDetails> own = this.testee.register(makeMutations(1));
+    this.testee.register(makeMutations(10));
+    this.testee.nextBatch(own);
+    assertEquals(0, this.testee.mutationsStolen());
+  }
+
+  static List<MutationDetails> makeMutations(final int count) {
+    final MutationDetails[] mutations = new MutationDetails[count];
+    for (int i = 0; i != count; i++) {
+      mutations[i] = new MutationDetails(new MutationIdentifier(
+          Location.location(ClassName.fromString("foo"),
+              MethodName.fromString("bar"), "()V"), i, "mutator"),
+          "foo.java", "A mutation", i, 0);
+    }
+    return Arrays.asList(mutations);
+  }
+
+}
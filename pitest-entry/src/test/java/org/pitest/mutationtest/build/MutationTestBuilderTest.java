@@ -7,15 +7,19 @@ import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.NullAnalyser;
 import org.pitest.mutationtest.engine.MutationDetails;
 
@@ -80,6 +84,87 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldOrderUnitPredictedToTakeLongestFirst() {
+    final MutationDetails slow = createDetails("foo");
+    slow.addTestsInOrder(Collections.singletonList(new TestInfo("foo",
+        "slowTest", 10000, Optional.<ClassName> empty(), 0)));
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    when(this.source.createMutations(foo)).thenReturn(Arrays.asList(slow));
+    when(this.source.createMutations(bar)).thenReturn(
+        Arrays.asList(createDetails("bar"), createDetails("bar")));
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(Arrays.asList(foo, bar));
+    assertTrue(actual.get(0).priority() > actual.get(1).priority());
+    assertEquals(10000 + MutationCost.MINION_START_MILLIS
+        + MutationCost.MUTANT_MILLIS, actual.get(0).priority());
+  }
+
+  @Test
+  public void shouldCreateSameUnitsWhenSearchingForMutationsInParallel() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      final ClassName clazz = ClassName.fromString("foo" + i);
+      classes.add(clazz);
+      final List<MutationDetails> mutations = new ArrayList<>();
+      for (int j = 0; j <= (i % 5); j++) {
+        mutations.add(createDetails(clazz.asJavaName()));
+      }
+      when(this.source.createMutations(clazz)).thenReturn(mutations);
+    }
+
+    final List<Integer> serial = priorities(this.testee
+        .createMutationTestUnits(classes));
+
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), 4);
+    final List<Integer> parallel = priorities(this.testee
+        .createMutationTestUnits(classes));
+
+    assertEquals(serial, parallel);
+  }
+
+  @Test
+  public void shouldCreateNoMoreMutationSourcesThanThreads() {
+    final AtomicInteger created = new AtomicInteger();
+    when(this.source.createMutations(any(ClassName.class))).thenReturn(
+        Collections.<MutationDetails> emptyList());
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(), () -> {
+      created.incrementAndGet();
+      return this.source;
+    }, new DefaultGrouper(0), 2);
+
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      classes.add(ClassName.fromString("foo" + i));
+    }
+    this.testee.createMutationTestUnits(classes);
+
+    assertTrue(created.get() <= 2);
+  }
+
+  @Test
+  public void shouldCreateDispatchedUnitsWhenDispatcherSupplied() {
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), 1,
+        Optional.of(new MutationDispatcher(2)));
+    when(this.source.createMutations(any(ClassName.class))).thenReturn(
+        Arrays.asList(createDetails("foo")));
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(Arrays.asList(ClassName.fromString("foo")));
+    assertTrue(actual.get(0) instanceof DispatchedMutationTestUnit);
+  }
+
+  private static List<Integer> priorities(
+      final List<MutationAnalysisUnit> units) {
+    final List<Integer> priorities = new ArrayList<>();
+    for (final MutationAnalysisUnit each : units) {
+      priorities.add(each.priority());
+    }
+    return priorities;
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
@@ -6,6 +6,7 @@ import static org.pitest.mutationtest.LocationMother.aMutationId;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.OptionalLong;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -78,6 +79,13 @@ public class MutationTestUnitTest {
     assertThat(this.testee.priority()).isEqualTo(42);
   }
 
+  @Test
+  public void shouldReportPriorityBasedOnPredictedTimeWhenKnown() {
+    this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
+        .build(42), this.tests, null, OptionalLong.of(1000));
+    assertThat(this.testee.priority()).isEqualTo(1000);
+  }
+
   private void addMutation() {
     this.mutations.add(new MutationDetails(aMutationId().build(), "file", "desc",
         0, 0));
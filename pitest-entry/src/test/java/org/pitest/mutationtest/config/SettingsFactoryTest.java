@@ -17,6 +17,10 @@ import org.mockito.Mockito;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.export.NullCoverageExporter;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.build.BlockTestPrioritiserFactory;
+import org.pitest.mutationtest.build.CostBalancedGrouperFactory;
+import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
+import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
 import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.testapi.TestGroupConfig;
@@ -115,6 +119,28 @@ public class SettingsFactoryTest {
     verify(disabled, never()).apply(Feature.named("FSTATINIT"));
   }
 
+  @Test
+  public void shouldTargetTestsByLineByDefault() {
+    assertTrue(this.testee.getTestPrioritiser() instanceof DefaultTestPrioritiserFactory);
+  }
+
+  @Test
+  public void shouldTargetTestsByBlockWhenRequested() {
+    this.options.setBlockTargeting(true);
+    assertTrue(this.testee.getTestPrioritiser() instanceof BlockTestPrioritiserFactory);
+  }
+
+  @Test
+  public void shouldGroupMutationsByClassByDefault() {
+    assertTrue(this.testee.getMutationGrouper() instanceof DefaultMutationGrouperFactory);
+  }
+
+  @Test
+  public void shouldGroupMutationsByCostWhenRequested() {
+    this.options.setCostBalancedUnits(true);
+    assertTrue(this.testee.getMutationGrouper() instanceof CostBalancedGrouperFactory);
+  }
+
   @Test
   public void shouldDescribeDisabledFeatures() {
     final SideEffect1<Feature> disabled = Mockito.mock(SideEffect1.class);
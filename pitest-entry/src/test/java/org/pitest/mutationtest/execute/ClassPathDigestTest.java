@@ -0,0 +1,55 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassPathDigestTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldGiveSameDigestForSameContentInDifferentLocations()
+      throws IOException {
+    final File first = classesDir("first", "foo");
+    final File second = classesDir("second", "foo");
+    assertThat(ClassPathDigest.digest(first.getAbsolutePath())).isEqualTo(
+        ClassPathDigest.digest(second.getAbsolutePath()));
+  }
+
+  @Test
+  public void shouldGiveDifferentDigestWhenContentDiffers() throws IOException {
+    final File first = classesDir("first", "foo");
+    final File second = classesDir("second", "bar");
+    assertThat(ClassPathDigest.digest(first.getAbsolutePath())).isNotEqualTo(
+        ClassPathDigest.digest(second.getAbsolutePath()));
+  }
+
+  @Test
+  public void shouldGiveDifferentDigestWhenEntriesDiffer() throws IOException {
+    final File classes = classesDir("first", "foo");
+    final String classPath = classes.getAbsolutePath() + File.pathSeparator
+        + classes.getAbsolutePath();
+    assertThat(ClassPathDigest.digest(classes.getAbsolutePath()))
+        .isNotEqualTo(ClassPathDigest.digest(classPath));
+  }
+
+  private File classesDir(final String location, final String content)
+      throws IOException {
+    final File root = this.folder.newFolder(location, "classes");
+    final File pkg = new File(root, "com/example");
+    pkg.mkdirs();
+    Files.write(new File(pkg, "Foo.class").toPath(),
+        content.getBytes(StandardCharsets.UTF_8));
+    return root;
+  }
+
+}
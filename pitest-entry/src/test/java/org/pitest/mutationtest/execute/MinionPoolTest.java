@@ -0,0 +1,84 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.pitest.util.ExitCode;
+
+public class MinionPoolTest {
+
+  private final MinionPool testee = new MinionPool(1, 3);
+
+  @Test
+  public void shouldAllowFurtherBatchesUntilLimitReached() {
+    assertThat(this.testee.acceptsFurtherBatches(minionThatHasRun(0))).isTrue();
+    assertThat(this.testee.acceptsFurtherBatches(minionThatHasRun(1))).isTrue();
+    assertThat(this.testee.acceptsFurtherBatches(minionThatHasRun(2))).isFalse();
+  }
+
+  @Test
+  public void shouldDestroyMinionsThatDidNotExitCleanly() {
+    final Minion minion = minionThatHasRun(1);
+    this.testee.release(minion, ExitCode.TIMEOUT);
+    verify(minion).destroy();
+  }
+
+  @Test
+  public void shouldDestroyMinionsThatHaveReachedTheirBatchLimit() {
+    final Minion minion = minionThatHasRun(3);
+    this.testee.release(minion, ExitCode.OK);
+    verify(minion).destroy();
+  }
+
+  @Test
+  public void shouldKeepHealthyMinionsUntilShutdown() {
+    final Minion minion = minionThatHasRun(1);
+    this.testee.release(minion, ExitCode.OK);
+    verify(minion, never()).destroy();
+    verify(minion, never()).shutdown();
+    this.testee.shutdown();
+    verify(minion).shutdown();
+  }
+
+  @Test
+  public void shouldShutdownMinionsThatDoNotFitInThePool() {
+    final Minion first = minionThatHasRun(1);
+    final Minion second = minionThatHasRun(1);
+    this.testee.release(first, ExitCode.OK);
+    this.testee.release(second, ExitCode.OK);
+    verify(first, never()).shutdown();
+    verify(second).shutdown();
+  }
+
+  @Test
+  public void shouldLeaseIdleMinionRatherThanLaunchingAnother()
+      throws Exception {
+    final Minion minion = minionThatHasRun(1);
+    final MinionPool.Launcher launcher = mock(MinionPool.Launcher.class);
+    when(launcher.launch(null)).thenReturn(minion);
+    final MinionPool pool = new MinionPool(1, 3, launcher);
+
+    pool.release(pool.lease(null), ExitCode.OK);
+
+    assertThat(pool.lease(null)).isSameAs(minion);
+    verify(launcher, times(1)).launch(null);
+    assertThat(pool.minionsReused()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEstimateNoSavingWhenNoMinionsLaunched() {
+    assertThat(this.testee.estimatedTimeSaved()).isEqualTo(0);
+  }
+
+  private Minion minionThatHasRun(final int batches) {
+    final Minion minion = mock(Minion.class);
+    when(minion.batchesRun()).thenReturn(batches);
+    return minion;
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class MutationAnalysisExecutorTest {
+
+  private final List<ClassName> reported = Collections
+      .synchronizedList(new ArrayList<ClassName>());
+
+  @Test
+  public void shouldReportResultsInTheOrderUnitsComplete() {
+    final CountDownLatch fastReported = new CountDownLatch(1);
+    final MutationAnalysisUnit slow = unitFor("slow", fastReported);
+    final MutationAnalysisUnit fast = unitFor("fast", new CountDownLatch(0));
+
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(recordingListener(
+            fastReported)));
+    testee.run(Arrays.asList(slow, fast));
+
+    assertThat(this.reported).containsExactly(ClassName.fromString("fast"),
+        ClassName.fromString("slow"));
+  }
+
+  @Test
+  public void shouldReportEveryUnit() {
+    final List<MutationAnalysisUnit> units = new ArrayList<>();
+    for (int i = 0; i != 20; i++) {
+      units.add(unitFor("foo" + i, new CountDownLatch(0)));
+    }
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(3,
+        Collections.<MutationResultListener> singletonList(recordingListener(
+            new CountDownLatch(1))));
+    testee.run(units);
+
+    assertThat(this.reported).hasSize(20);
+  }
+
+  private MutationResultListener recordingListener(final CountDownLatch latch) {
+    return new MutationResultListener() {
+      @Override
+      public void runStart() {
+      }
+
+      @Override
+      public void handleMutationResult(final ClassMutationResults results) {
+        MutationAnalysisExecutorTest.this.reported.add(results
+            .getMutatedClass());
+        latch.countDown();
+      }
+
+      @Override
+      public void runEnd() {
+      }
+    };
+  }
+
+  private static MutationAnalysisUnit unitFor(final String clazz,
+      final CountDownLatch waitFor) {
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        waitFor.await(5, TimeUnit.SECONDS);
+        return new MutationMetaData(Collections.singletonList(resultFor(clazz)));
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private static MutationResult resultFor(final String clazz) {
+    final MutationIdentifier id = new MutationIdentifier(Location.location(
+        ClassName.fromString(clazz), MethodName.fromString("foo"), "()V"), 0,
+        "mutator");
+    return new MutationResult(new MutationDetails(id, "file", "desc", 1, 0),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED));
+  }
+
+}
@@ -0,0 +1,270 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.EngineArguments;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class RemoteAgentTest {
+
+  private static final SharedSecret SECRET    = new SharedSecret("secret");
+  private static final String       DIGEST    = "digest";
+  private static final int          HEARTBEAT = 50;
+
+  private final List<RemoteAgent>   agents    = new ArrayList<>();
+
+  @After
+  public void stopAgents() {
+    for (final RemoteAgent each : this.agents) {
+      each.stop();
+    }
+  }
+
+  @Test
+  public void shouldReturnResultsOfBatchRunOnAgent() throws Exception {
+    final RemoteAgentPool pool = poolFor(startAgent(killEverything()));
+    final List<MutationDetails> mutations = makeMutations(2);
+
+    final MutationStatusMap actual = run(pool, mutations);
+
+    assertThat(actual.createMutationResults()).extracting("status")
+        .containsOnly(DetectionStatus.KILLED);
+    assertEquals(0, pool.agentsLost());
+  }
+
+  @Test
+  public void shouldReuseConnectionForLaterBatches() throws Exception {
+    final RemoteAgentPool pool = poolFor(startAgent(killEverything()));
+    final RemoteAgentConnection first = pool.lease();
+    pool.release(first);
+    assertThat(pool.lease()).isSameAs(first);
+  }
+
+  @Test
+  public void shouldMarkUnfinishedMutationsAsNotStartedWhenAgentLost()
+      throws Exception {
+    final RemoteAgentPool pool = poolFor(startAgent((arguments, receive) -> {
+      report(receive, arguments.mutations.iterator().next().getId());
+      throw new IOException("agent failed");
+    }));
+    final List<MutationDetails> mutations = makeMutations(2);
+
+    final MutationStatusMap actual = run(pool, mutations);
+
+    assertThat(actual.getUnrunMutations()).containsExactly(mutations.get(1));
+    assertEquals(1, pool.agentsLost());
+  }
+
+  @Test
+  public void shouldSendUnfinishedMutationsToAnotherAgentWhenAgentLost()
+      throws Exception {
+    final RemoteAgentPool pool = poolFor(startAgent((arguments, receive) -> {
+      throw new IOException("agent failed");
+    }), startAgent(killEverything()));
+    final List<MutationDetails> mutations = makeMutations(2);
+
+    final MutationStatusMap actual = run(pool, mutations);
+    assertThat(actual.getUnrunMutations()).hasSize(2);
+
+    run(pool, mutations, actual);
+    assertThat(actual.createMutationResults()).extracting("status")
+        .containsOnly(DetectionStatus.KILLED);
+  }
+
+  @Test
+  public void shouldTreatAgentAsLostWhenHeartbeatsStop() throws Exception {
+    final ServerSocket silent = new ServerSocket(0);
+    final Thread thread = new Thread(() -> {
+      try (Socket client = silent.accept()) {
+        final SafeDataOutputStream dos = new SafeDataOutputStream(
+            client.getOutputStream());
+        final SafeDataInputStream dis = new SafeDataInputStream(
+            client.getInputStream());
+        dos.writeBytes(SharedSecret.challenge());
+        dos.flush();
+        dis.readBytes();
+        dis.readString();
+        dos.writeBoolean(true);
+        dos.flush();
+        Thread.sleep(HEARTBEAT * RemoteAgentConnection.MISSED_HEARTBEATS * 10);
+      } catch (final IOException | InterruptedException e) {
+        // test over
+      }
+    });
+    thread.setDaemon(true);
+    thread.start();
+
+    try {
+      final RemoteAgentPool pool = poolFor(silent.getLocalPort());
+      final MutationStatusMap actual = run(pool, makeMutations(1));
+      assertThat(actual.getUnrunMutations()).hasSize(1);
+      assertEquals(1, pool.agentsLost());
+    } finally {
+      silent.close();
+    }
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldNotUseAgentsWithDifferentClassPath() throws Exception {
+    final int port = startAgent(killEverything());
+    final RemoteAgentPool pool = new RemoteAgentPool(
+        Arrays.asList(new InetSocketAddress("localhost", port)), SECRET,
+        "another digest", HEARTBEAT);
+    pool.lease();
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldNotUseAgentsWithDifferentSecret() throws Exception {
+    final int port = startAgent(killEverything());
+    final RemoteAgentPool pool = new RemoteAgentPool(
+        Arrays.asList(new InetSocketAddress("localhost", port)),
+        new SharedSecret("guess"), DIGEST, HEARTBEAT);
+    pool.lease();
+  }
+
+  @Test
+  public void shouldAllowPitestAndJdkClassesInBatches() {
+    assertThat(RemoteAgent.isAllowedInBatch(MinionArguments.class.getName()))
+        .isTrue();
+    assertThat(RemoteAgent.isAllowedInBatch("java.util.ArrayList")).isTrue();
+    assertThat(RemoteAgent.isAllowedInBatch("[Ljava.lang.String;")).isTrue();
+    assertThat(RemoteAgent.isAllowedInBatch("[[I")).isTrue();
+  }
+
+  @Test
+  public void shouldNotAllowOtherClassesInBatches() {
+    assertThat(RemoteAgent.isAllowedInBatch(
+        "org.apache.commons.collections.functors.InvokerTransformer"))
+        .isFalse();
+    assertThat(RemoteAgent.isAllowedInBatch(
+        "[Lorg.apache.commons.collections.functors.InvokerTransformer;"))
+        .isFalse();
+    assertThat(RemoteAgent.isAllowedInBatch(
+        "java.lang.invoke.SerializedLambda")).isFalse();
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectAgentsNotGivenAsHostAndPort() {
+    RemoteAgentPool.parse(Collections.singletonList("localhost"));
+  }
+
+  @Test
+  public void shouldParseAgentAddresses() {
+    final List<InetSocketAddress> actual = RemoteAgentPool.parse(Arrays
+        .asList("localhost:9001", "build2:9002"));
+    assertThat(actual).extracting("hostString").containsExactly("localhost",
+        "build2");
+    assertThat(actual).extracting("port").containsExactly(9001, 9002);
+  }
+
+  private MutationStatusMap run(final RemoteAgentPool pool,
+      final List<MutationDetails> mutations) throws Exception {
+    final MutationStatusMap statuses = new MutationStatusMap();
+    statuses.setStatusForMutations(mutations, DetectionStatus.NOT_STARTED);
+    return run(pool, mutations, statuses);
+  }
+
+  private MutationStatusMap run(final RemoteAgentPool pool,
+      final List<MutationDetails> mutations, final MutationStatusMap statuses)
+      throws Exception {
+    final RemoteMutationTestProcess process = new RemoteMutationTestProcess(
+        pool, makeArguments(mutations));
+    process.start();
+    assertEquals(ExitCode.OK, process.waitToDie());
+    process.results(statuses);
+    return statuses;
+  }
+
+  private int startAgent(final RemoteAgent.BatchRunner runner)
+      throws IOException {
+    final ServerSocket socket = new ServerSocket(0);
+    final RemoteAgent agent = new RemoteAgent(socket, SECRET, DIGEST, runner,
+        HEARTBEAT);
+    this.agents.add(agent);
+    final Thread thread = new Thread(() -> agent.serve());
+    thread.setDaemon(true);
+    thread.start();
+    return socket.getLocalPort();
+  }
+
+  private static RemoteAgentPool poolFor(final int... ports) {
+    final List<InetSocketAddress> agents = new ArrayList<>();
+    for (final int each : ports) {
+      agents.add(new InetSocketAddress("localhost", each));
+    }
+    return new RemoteAgentPool(agents, SECRET, DIGEST, HEARTBEAT);
+  }
+
+  private static RemoteAgent.BatchRunner killEverything() {
+    return (arguments, receive) -> {
+      for (final MutationDetails each : arguments.mutations) {
+        report(receive, each.getId());
+      }
+      return ExitCode.OK;
+    };
+  }
+
+  private static void report(final ReceiveStrategy receive,
+      final MutationIdentifier id) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    MessageCodec.writeMutationIdentifier(dos, id);
+    MessageCodec.writeStatusTestPair(dos, new MutationStatusTestPair(1,
+        DetectionStatus.KILLED));
+    dos.flush();
+    receive.apply(Id.REPORT, new SafeDataInputStream(new ByteArrayInputStream(
+        bos.toByteArray())));
+  }
+
+  private static MinionArguments makeArguments(
+      final List<MutationDetails> mutations) {
+    return new MinionArguments(mutations,
+        Collections.singletonList(ClassName.fromString("FooTest")), "gregor",
+        EngineArguments.arguments(), new PercentAndConstantTimeoutStrategy(
+            PercentAndConstantTimeoutStrategy.DEFAULT_FACTOR,
+            PercentAndConstantTimeoutStrategy.DEFAULT_CONSTANT), false, false,
+        TestPluginArguments.defaults());
+  }
+
+  private static List<MutationDetails> makeMutations(final int count) {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != count; i++) {
+      mutations.add(new MutationDetails(new MutationIdentifier(
+          Location.location(ClassName.fromString("foo"),
+              MethodName.fromString("bar"), "()V"), i, "mutator"),
+          "foo.java", "A mutation", i, 0));
+    }
+    return mutations;
+  }
+
+}
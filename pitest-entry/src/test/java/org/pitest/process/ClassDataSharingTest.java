@@ -0,0 +1,186 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+  private static final String       JAVA    = "java";
+  private static final List<String> NO_ARGS = Collections.emptyList();
+
+  @Rule
+  public TemporaryFolder            folder  = new TemporaryFolder();
+
+  private File                      archives;
+  private File                      jar;
+  private File                      classes;
+  private String                    classPath;
+
+  private ClassDataSharing          testee;
+
+  @Before
+  public void setUp() throws IOException {
+    this.archives = this.folder.newFolder("archives");
+    this.jar = this.folder.newFile("lib.jar");
+    this.classes = this.folder.newFolder("classes");
+    this.folder.newFile("classes/Foo.class");
+    this.classPath = join(this.jar, this.classes);
+    this.testee = new ClassDataSharing(this.archives);
+  }
+
+  @Test
+  public void shouldArchiveOnlyJarsPrecedingFirstDirectory() throws IOException {
+    final File later = this.folder.newFile("later.jar");
+    assertThat(ClassDataSharing.leadingJars(join(this.jar, this.classes,
+        later))).isEqualTo(this.jar.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldArchiveNoJarsWhenClassPathStartsWithDirectory() {
+    assertThat(ClassDataSharing.leadingJars(join(this.classes, this.jar)))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldGiveSameKeyForSameLaunch() {
+    assertThat(ClassDataSharing.key(JAVA, NO_ARGS, this.classPath)).isEqualTo(
+        ClassDataSharing.key(JAVA, NO_ARGS, this.classPath));
+  }
+
+  @Test
+  public void shouldGiveDifferentKeyWhenJvmArgsDiffer() {
+    assertThat(ClassDataSharing.key(JAVA, NO_ARGS, this.classPath))
+        .isNotEqualTo(ClassDataSharing.key(JAVA, Arrays.asList("-Xmx1g"),
+            this.classPath));
+  }
+
+  @Test
+  public void shouldGiveDifferentKeyWhenArchivedJarChanges() {
+    final String before = ClassDataSharing.key(JAVA, NO_ARGS, this.classPath);
+    this.jar.setLastModified(this.jar.lastModified() - 10000);
+    assertThat(ClassDataSharing.key(JAVA, NO_ARGS, this.classPath))
+        .isNotEqualTo(before);
+  }
+
+  @Test
+  public void shouldDumpArchiveOfLeadingJars() {
+    final List<String> actual = ClassDataSharing.dumpCommand(new File("list"),
+        new File("archive"), JAVA, NO_ARGS, this.classPath);
+    assertThat(actual).contains("-Xshare:dump", "-cp",
+        this.jar.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldRecordClassesLoadedByFirstLaunch() {
+    assertThat(this.testee.launch(JAVA, NO_ARGS, this.classPath).jvmArgs())
+        .hasSize(1).allMatch(a -> a.startsWith("-XX:DumpLoadedClassList="));
+  }
+
+  @Test
+  public void shouldLaunchNormallyWhileRecording() {
+    this.testee.launch(JAVA, NO_ARGS, this.classPath);
+    assertThat(this.testee.launch(JAVA, NO_ARGS, this.classPath).jvmArgs())
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldUseArchiveCreatedByEarlierRun() throws IOException {
+    final File archive = new File(this.archives, ClassDataSharing.key(JAVA,
+        NO_ARGS, this.classPath) + ".jsa");
+    archive.createNewFile();
+    assertThat(this.testee.launch(JAVA, NO_ARGS, this.classPath).jvmArgs())
+        .containsExactly("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldLaunchNormallyWhenArchiveCouldNotBeCreated()
+      throws IOException {
+    new File(this.archives, ClassDataSharing.key(JAVA, NO_ARGS,
+        this.classPath) + ".unavailable").createNewFile();
+    assertThat(this.testee.launch(JAVA, NO_ARGS, this.classPath).jvmArgs())
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldNotWaitForRecordingMinionToExit() throws Exception {
+    final CountDownLatch exit = new CountDownLatch(1);
+    final JavaProcess recorder = mock(JavaProcess.class);
+    when(recorder.waitToDie()).then(invocation -> {
+      exit.await();
+      return 0;
+    });
+
+    try {
+      // the dump that follows fails to start, rather than running a jvm
+      this.testee.launch("no-such-java", NO_ARGS, this.classPath).exited(
+          recorder);
+      verify(recorder, timeout(1000)).waitToDie();
+    } finally {
+      exit.countDown();
+    }
+  }
+
+  @Test
+  public void shouldMakeArchiveDirectoryPrivate() throws IOException {
+    final Path dir = this.folder.getRoot().toPath().resolve("cache/cds");
+    assumeTrue(supportsPosix(dir));
+    ClassDataSharing.createPrivateDirectory(dir);
+    assertThat(PosixFilePermissions.toString(Files
+        .getPosixFilePermissions(dir))).isEqualTo("rwx------");
+  }
+
+  @Test
+  public void shouldRestrictExistingArchiveDirectory() throws IOException {
+    final Path dir = this.archives.toPath();
+    assumeTrue(supportsPosix(dir));
+    Files.setPosixFilePermissions(dir,
+        PosixFilePermissions.fromString("rwxrwxrwx"));
+    ClassDataSharing.createPrivateDirectory(dir);
+    assertThat(PosixFilePermissions.toString(Files
+        .getPosixFilePermissions(dir))).isEqualTo("rwx------");
+  }
+
+  @Test
+  public void shouldLaunchNormallyWhenArchiveDirectoryCannotBeUsed()
+      throws IOException {
+    final File notADirectory = this.folder.newFile("cds");
+    assertThat(new ClassDataSharing(notADirectory).launch(JAVA, NO_ARGS,
+        this.classPath).jvmArgs()).isEmpty();
+  }
+
+  private static boolean supportsPosix(final Path path) {
+    return path.getFileSystem().supportedFileAttributeViews()
+        .contains("posix");
+  }
+
+  private static String join(final File... entries) {
+    final StringBuilder sb = new StringBuilder();
+    for (final File each : entries) {
+      if (sb.length() != 0) {
+        sb.append(File.pathSeparator);
+      }
+      sb.append(each.getAbsolutePath());
+    }
+    return sb.toString();
+  }
+
+}
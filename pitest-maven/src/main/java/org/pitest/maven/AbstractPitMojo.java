@@ -358,6 +358,91 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(property = "useClasspathJar", defaultValue = "false")
   private boolean                     useClasspathJar;
 
+  /**
+   * Maximum number of mutation units a minion process will analyse before it
+   * is replaced. Values greater than one keep a pool of minions (one per
+   * thread) alive between units, avoiding the cost of launching a new JVM for
+   * each unit.
+   */
+  @Parameter(property = "minionReuseLimit", defaultValue = "1")
+  private int                         minionReuseLimit;
+
+  /**
+   * Derive the time each test may take before a mutant is considered to have
+   * timed out from the times the test took to pass against earlier mutants,
+   * instead of from the single time measured during coverage.
+   */
+  @Parameter(property = "adaptiveTimeouts", defaultValue = "false")
+  private boolean                     adaptiveTimeouts;
+
+  /**
+   * Compile the mutants of each class into a single class and select each
+   * mutant at runtime, instead of redefining the class for every mutant.
+   * Mutants that cannot be selected this way are still hot swapped.
+   */
+  @Parameter(property = "mutantSchemata", defaultValue = "false")
+  private boolean                     mutantSchemata;
+
+  /**
+   * Assign tests to each mutant by the coverage of the block that holds it,
+   * instead of by the coverage of its line. Falls back to line coverage when
+   * the block of a mutant is not known.
+   */
+  @Parameter(property = "blockTargeting", defaultValue = "false")
+  private boolean                     blockTargeting;
+
+  /**
+   * Group mutations into units of similar predicted cost, based on the times
+   * of the tests that cover them, so that work is spread evenly between
+   * threads. Classes are split and packed together as needed, and the most
+   * expensive units are run first.
+   */
+  @Parameter(property = "costBalancedUnits", defaultValue = "false")
+  private boolean                     costBalancedUnits;
+
+  /**
+   * Send mutations to minions in small batches from a shared queue instead
+   * of a whole unit at a time. Threads that run out of work take batches from
+   * the units still running, and a minion that fails only causes the
+   * mutations it had not yet started to be queued again.
+   */
+  @Parameter(property = "workStealing", defaultValue = "false")
+  private boolean                     workStealing;
+
+  /**
+   * Remote agents, each given as host:port, to send mutations to instead of
+   * analysing them on this machine. Agents must be started with the same
+   * class path as this build, and with the same PIT_REMOTE_AGENT_SECRET
+   * environment variable.
+   */
+  @Parameter(property = "remoteAgents")
+  private ArrayList<String>           remoteAgents;
+
+  /**
+   * Run the selected tests of each JUnit class against a mutant in a single
+   * filtered runner invocation, rather than building a runner for each test.
+   * For TestNG, a unit is found for each test method, and the selected
+   * methods of each class are run in one invocation of TestNG.
+   */
+  @Parameter(property = "batchTestsByClass", defaultValue = "false")
+  private boolean                     batchTestsByClass;
+
+  /**
+   * Launch minions using an application class data sharing archive of
+   * the classes they load, created on the first run and reused by later runs.
+   * Requires Java 10 or later.
+   */
+  @Parameter(property = "classDataSharing", defaultValue = "false")
+  private boolean                     classDataSharing;
+
+  /**
+   * Stop mutants that time out by cancelling the loops of the mutated
+   * method, so the minion can go on to the next mutant rather than being
+   * restarted. Minions still exit for mutants that are not stopped this way.
+   */
+  @Parameter(property = "cooperativeTimeouts", defaultValue = "false")
+  private boolean                     cooperativeTimeouts;
+
   protected final GoalStrategy        goalStrategy;
 
   public AbstractPitMojo() {
@@ -668,6 +753,46 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.useClasspathJar;
   }
 
+  public int getMinionReuseLimit() {
+    return this.minionReuseLimit;
+  }
+
+  public boolean isAdaptiveTimeouts() {
+    return this.adaptiveTimeouts;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public boolean isBlockTargeting() {
+    return this.blockTargeting;
+  }
+
+  public boolean isCostBalancedUnits() {
+    return this.costBalancedUnits;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public ArrayList<String> getRemoteAgents() {
+    return this.remoteAgents;
+  }
+
+  public boolean isBatchTestsByClass() {
+    return this.batchTestsByClass;
+  }
+
+  public boolean isClassDataSharing() {
+    return this.classDataSharing;
+  }
+
+  public boolean isCooperativeTimeouts() {
+    return this.cooperativeTimeouts;
+  }
+
   static class RunDecision {
     private List<String> reasons = new ArrayList<>(4);
 
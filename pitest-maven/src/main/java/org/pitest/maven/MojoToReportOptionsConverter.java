@@ -148,6 +148,18 @@ public class MojoToReportOptionsConverter {
     data.setFreeFormProperties(createPluginProperties());
     data.setIncludedTestMethods(this.mojo.getIncludedTestMethods());
 
+    data.setMinionReuseLimit(this.mojo.getMinionReuseLimit());
+    data.setAdaptiveTimeouts(this.mojo.isAdaptiveTimeouts());
+    data.setMutantSchemata(this.mojo.isMutantSchemata());
+    data.setBlockTargeting(this.mojo.isBlockTargeting());
+    data.setCostBalancedUnits(this.mojo.isCostBalancedUnits());
+    data.setWorkStealing(this.mojo.isWorkStealing());
+    if (this.mojo.getRemoteAgents() != null) {
+      data.setRemoteAgents(this.mojo.getRemoteAgents());
+    }
+    data.setBatchTestsByClass(this.mojo.isBatchTestsByClass());
+    data.setClassDataSharing(this.mojo.isClassDataSharing());
+    data.setCooperativeTimeouts(this.mojo.isCooperativeTimeouts());
     return data;
   }
 
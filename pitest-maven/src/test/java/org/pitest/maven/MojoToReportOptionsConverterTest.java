@@ -392,6 +392,61 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
   }  
 
 
+  public void testParsesMinionReuseLimit() {
+    final ReportOptions actual = parseConfig("<minionReuseLimit>10</minionReuseLimit>");
+    assertEquals(10, actual.getMinionReuseLimit());
+  }
+
+  public void testParsesAdaptiveTimeouts() {
+    final ReportOptions actual = parseConfig("<adaptiveTimeouts>true</adaptiveTimeouts>");
+    assertTrue(actual.isAdaptiveTimeouts());
+  }
+
+  public void testParsesMutantSchemata() {
+    final ReportOptions actual = parseConfig("<mutantSchemata>true</mutantSchemata>");
+    assertTrue(actual.isMutantSchemata());
+  }
+
+  public void testParsesBlockTargeting() {
+    final ReportOptions actual = parseConfig("<blockTargeting>true</blockTargeting>");
+    assertTrue(actual.isBlockTargeting());
+  }
+
+  public void testParsesCostBalancedUnits() {
+    final ReportOptions actual = parseConfig("<costBalancedUnits>true</costBalancedUnits>");
+    assertTrue(actual.isCostBalancedUnits());
+  }
+
+  public void testParsesWorkStealing() {
+    final ReportOptions actual = parseConfig("<workStealing>true</workStealing>");
+    assertTrue(actual.isWorkStealing());
+  }
+
+  public void testParsesListOfRemoteAgents() {
+    final String xml = "<remoteAgents>" + //
+        "                      <param>localhost:9001</param>" + //
+        "                      <param>build2:9001</param>" + //
+        "               </remoteAgents>";
+    final ReportOptions actual = parseConfig(xml);
+    assertThat(actual.getRemoteAgents()).containsExactly("localhost:9001",
+        "build2:9001");
+  }
+
+  public void testParsesBatchTestsByClass() {
+    final ReportOptions actual = parseConfig("<batchTestsByClass>true</batchTestsByClass>");
+    assertTrue(actual.isBatchTestsByClass());
+  }
+
+  public void testParsesClassDataSharing() {
+    final ReportOptions actual = parseConfig("<classDataSharing>true</classDataSharing>");
+    assertTrue(actual.isClassDataSharing());
+  }
+
+  public void testParsesCooperativeTimeouts() {
+    final ReportOptions actual = parseConfig("<cooperativeTimeouts>true</cooperativeTimeouts>");
+    assertTrue(actual.isCooperativeTimeouts());
+  }
+
   private ReportOptions parseConfig(final String xml) {
     try {
       final String pom = createPomWithConfiguration(xml);
@@ -0,0 +1,67 @@
+package org.pitest.classinfo;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * Identifies a particular version of an archive by its path, modification
+ * time and size.
+ */
+public final class ArchiveVersion implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String path;
+  private final long   lastModified;
+  private final long   length;
+
+  ArchiveVersion(final String path, final long lastModified, final long length) {
+    this.path = path;
+    this.lastModified = lastModified;
+    this.length = length;
+  }
+
+  public static ArchiveVersion of(final File archive) {
+    return new ArchiveVersion(archive.getAbsolutePath(),
+        archive.lastModified(), archive.length());
+  }
+
+  /**
+   * @return true if the archive on disk still matches this version
+   */
+  public boolean isCurrent() {
+    return this.equals(of(new File(this.path)));
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = (prime * result) + this.path.hashCode();
+    result = (prime * result)
+        + (int) (this.lastModified ^ (this.lastModified >>> 32));
+    result = (prime * result) + (int) (this.length ^ (this.length >>> 32));
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final ArchiveVersion other = (ArchiveVersion) obj;
+    return this.path.equals(other.path)
+        && (this.lastModified == other.lastModified)
+        && (this.length == other.length);
+  }
+
+  @Override
+  public String toString() {
+    return "ArchiveVersion [path=" + this.path + ", lastModified="
+        + this.lastModified + ", length=" + this.length + "]";
+  }
+
+}
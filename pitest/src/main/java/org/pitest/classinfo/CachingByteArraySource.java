@@ -1,5 +1,6 @@
 package org.pitest.classinfo;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -12,7 +13,7 @@ public class CachingByteArraySource implements ClassByteArraySource {
 
   public CachingByteArraySource(ClassByteArraySource child, int maxSize) {
     this.child = child;
-    this.cache = new FixedSizeHashMap<>(maxSize);
+    this.cache = Collections.synchronizedMap(new FixedSizeHashMap<>(maxSize));
   }
 
   @Override
@@ -14,12 +14,15 @@
  */
 package org.pitest.classinfo;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-class ClassInfoBuilder {
+class ClassInfoBuilder implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   int                          access;
   ClassIdentifier              id;
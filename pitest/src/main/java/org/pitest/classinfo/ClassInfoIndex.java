@@ -0,0 +1,133 @@
+package org.pitest.classinfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Store of the information gathered about classes read from archives, so
+ * that unchanged jars need not be read and parsed again on later runs.
+ *
+ * Entries are grouped by the version of the archive the class would be read
+ * from, so are discarded when that archive changes. Classes read from
+ * directories are never stored.
+ */
+public class ClassInfoIndex {
+
+  private static final Logger                                       LOG = Log
+      .getLogger();
+
+  private final Function<ClassName, Optional<ArchiveVersion>>       locator;
+  private final Map<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> entries;
+
+  /**
+   * @param locator
+   *          returns the archive from which a class would be read, or empty if
+   *          the class is not read from an archive
+   */
+  public ClassInfoIndex(
+      final Function<ClassName, Optional<ArchiveVersion>> locator) {
+    this(locator, new ConcurrentHashMap<>());
+  }
+
+  private ClassInfoIndex(
+      final Function<ClassName, Optional<ArchiveVersion>> locator,
+      final Map<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> entries) {
+    this.locator = locator;
+    this.entries = entries;
+  }
+
+  /**
+   * @return an index that stores nothing
+   */
+  public static ClassInfoIndex none() {
+    return new ClassInfoIndex(c -> Optional.empty());
+  }
+
+  /**
+   * Reads a previously saved index. An empty index is returned if the file
+   * does not exist or cannot be read.
+   */
+  public static ClassInfoIndex load(final File file,
+      final Function<ClassName, Optional<ArchiveVersion>> locator) {
+    final ClassInfoIndex index = new ClassInfoIndex(locator);
+    if ((file == null) || !file.exists()) {
+      return index;
+    }
+
+    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(
+        new FileInputStream(file)))) {
+      @SuppressWarnings("unchecked")
+      final Map<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> stored = (Map<ArchiveVersion, Map<ClassName, ClassInfoBuilder>>) in
+          .readObject();
+      for (final Entry<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> each : stored
+          .entrySet()) {
+        index.entries.put(each.getKey(),
+            new ConcurrentHashMap<>(each.getValue()));
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.warning("Could not read class info index from " + file
+          + ". Classes will be analysed from scratch. " + e.getMessage());
+    }
+    return index;
+  }
+
+  /**
+   * Writes the index, dropping entries for archives that have since changed
+   * or been removed.
+   */
+  public void save(final File file) {
+    final Map<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> current = new HashMap<>();
+    for (final Entry<ArchiveVersion, Map<ClassName, ClassInfoBuilder>> each : this.entries
+        .entrySet()) {
+      if (each.getKey().isCurrent()) {
+        current.put(each.getKey(), new HashMap<>(each.getValue()));
+      }
+    }
+
+    try (ObjectOutputStream out = new ObjectOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeObject(current);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (final Map<ClassName, ClassInfoBuilder> each : this.entries.values()) {
+      size = size + each.size();
+    }
+    return size;
+  }
+
+  Optional<ClassInfoBuilder> get(final ClassName name) {
+    return this.locator.apply(name)
+        .map(archive -> this.entries.get(archive))
+        .map(classes -> classes.get(name));
+  }
+
+  void put(final ClassName name, final ClassInfoBuilder info) {
+    final Optional<ArchiveVersion> archive = this.locator.apply(name);
+    if (archive.isPresent()) {
+      this.entries.computeIfAbsent(archive.get(),
+          a -> new ConcurrentHashMap<>()).put(name, info);
+    }
+  }
+
+}
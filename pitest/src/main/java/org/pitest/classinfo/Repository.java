@@ -27,14 +27,26 @@ public class Repository implements ClassInfoSource {
   private final Map<ClassName, ClassInfo> knownClasses   = new HashMap<>();
   private final Set<ClassName>            unknownClasses = new HashSet<>();
   private final ClassByteArraySource      source;
+  private final ClassInfoIndex            index;
 
   public Repository(final ClassByteArraySource source) {
-    this(source, new AddlerHash());
+    this(source, ClassInfoIndex.none());
+  }
+
+  public Repository(final ClassByteArraySource source,
+      final ClassInfoIndex index) {
+    this(source, new AddlerHash(), index);
   }
 
   Repository(final ClassByteArraySource source, final HashFunction hashFunction) {
+    this(source, hashFunction, ClassInfoIndex.none());
+  }
+
+  Repository(final ClassByteArraySource source,
+      final HashFunction hashFunction, final ClassInfoIndex index) {
     this.source = source;
     this.hashFunction = hashFunction;
+    this.index = index;
   }
 
   public boolean hasClass(final ClassName name) {
@@ -65,10 +77,16 @@ public class Repository implements ClassInfoSource {
   }
 
   private Optional<ClassInfo> nameToClassInfo(final ClassName name) {
+    final Optional<ClassInfoBuilder> indexed = this.index.get(name);
+    if (indexed.isPresent()) {
+      return contructClassInfo(indexed.get());
+    }
+
     final Optional<byte[]> bytes = querySource(name);
     if (bytes.isPresent()) {
       final ClassInfoBuilder classData = ClassInfoVisitor.getClassInfo(name,
           bytes.get(), this.hashFunction.hash(bytes.get()));
+      this.index.put(name, classData);
       return contructClassInfo(classData);
     } else {
       return Optional.empty();
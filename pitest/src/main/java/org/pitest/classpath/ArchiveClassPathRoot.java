@@ -32,7 +32,12 @@ import org.pitest.util.Unchecked;
 
 /**
  * ClassPathRoot wrapping a jar or zip file
+ *
+ * @deprecated reopens the archive for every lookup. Classpaths now wrap
+ *             archives in {@link IndexedArchiveClassPathRoot}, which opens
+ *             each once.
  */
+@Deprecated
 public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   private final File file;
@@ -18,6 +18,7 @@ package org.pitest.classpath;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,6 +32,7 @@ import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.zip.ZipException;
 
+import org.pitest.classinfo.ArchiveVersion;
 import org.pitest.functional.FCollection;
 import org.pitest.util.Log;
 import org.pitest.util.ManifestUtils;
@@ -89,7 +91,7 @@ public class ClassPath {
       if (!f.canRead()) {
         throw new IOException("Can't read the file " + f);
       }
-      rs.add(new ArchiveClassPathRoot(f));
+      rs.add(new IndexedArchiveClassPathRoot(f));
     } catch (final ZipException ex) {
       LOG.warning("Can't open the archive " + f);
     }
@@ -105,6 +107,35 @@ public class ClassPath {
     }
   }
 
+  /**
+   * Returns the version of the archive from which the named class would be
+   * read, or empty if it would be read from a directory or other source, or
+   * is not on the classpath.
+   */
+  public Optional<ArchiveVersion> findArchive(final String classname) {
+    for (final ClassPathRoot each : this.root) {
+      if (each instanceof IndexedArchiveClassPathRoot) {
+        final IndexedArchiveClassPathRoot archive = (IndexedArchiveClassPathRoot) each;
+        if (archive.contains(classname)) {
+          return Optional.of(archive.version());
+        }
+      } else if (provides(each, classname)) {
+        return Optional.empty();
+      }
+    }
+    return Optional.empty();
+  }
+
+  // looks the class up without reading its bytes
+  private static boolean provides(final ClassPathRoot root,
+      final String classname) {
+    try {
+      return root.getResource(classname.replace('.', '/') + ".class") != null;
+    } catch (final MalformedURLException e) {
+      return false;
+    }
+  }
+
   public URL findResource(final String name) {
     try {
       return this.root.getResource(name);
@@ -151,6 +182,15 @@ public class ClassPath {
     return this.root.cacheLocation().get();
   }
 
+  /**
+   * Releases any archives held open by the roots of this classpath. Roots
+   * shared with components obtained from {@link #getComponent} are closed
+   * too.
+   */
+  public void close() {
+    this.root.close();
+  }
+
   public ClassPath getComponent(final Predicate<ClassPathRoot> predicate) {
     return new ClassPath(FCollection.filter(this.root, predicate).toArray(
         new ClassPathRoot[0]));
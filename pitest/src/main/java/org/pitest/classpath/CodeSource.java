@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoIndex;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.NameToClassInfo;
@@ -27,8 +28,13 @@ public class CodeSource implements ClassInfoSource {
   private final Repository          classRepository;
 
   public CodeSource(final ProjectClassPaths classPath) {
+    this(classPath, ClassInfoIndex.none());
+  }
+
+  public CodeSource(final ProjectClassPaths classPath,
+      final ClassInfoIndex index) {
     this(classPath, new Repository(new ClassPathByteArraySource(
-        classPath.getClassPath())));
+        classPath.getClassPath()), index));
   }
 
   CodeSource(final ProjectClassPaths classPath,
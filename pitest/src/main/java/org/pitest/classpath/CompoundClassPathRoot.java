@@ -1,5 +1,6 @@
 package org.pitest.classpath;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -11,10 +12,11 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.pitest.functional.FCollection;
+import org.pitest.util.Unchecked;
 import java.util.Optional;
 
 public class CompoundClassPathRoot implements ClassPathRoot,
-    Iterable<ClassPathRoot> {
+    Iterable<ClassPathRoot>, Closeable {
 
   private final List<ClassPathRoot> roots = new ArrayList<>();
 
@@ -74,6 +76,19 @@ public class CompoundClassPathRoot implements ClassPathRoot,
     return Optional.ofNullable(classpath.toString());
   }
 
+  @Override
+  public void close() {
+    for (final ClassPathRoot each : this.roots) {
+      if (each instanceof Closeable) {
+        try {
+          ((Closeable) each).close();
+        } catch (final IOException e) {
+          throw Unchecked.translateCheckedException(e);
+        }
+      }
+    }
+  }
+
   @Override
   public Iterator<ClassPathRoot> iterator() {
     return this.roots.iterator();
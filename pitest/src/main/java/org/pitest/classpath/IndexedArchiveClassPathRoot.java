@@ -0,0 +1,136 @@
+package org.pitest.classpath;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.pitest.classinfo.ArchiveVersion;
+import org.pitest.util.StreamUtil;
+import org.pitest.util.Unchecked;
+
+/**
+ * ClassPathRoot wrapping a jar or zip file that is opened once, on first use,
+ * and held open until closed.
+ *
+ * ZipFile indexes the central directory when opened, so each lookup is a hash
+ * probe rather than a reopen and rescan of the archive, and entries may be
+ * read by many threads at once. The archive is reopened if used after being
+ * closed.
+ */
+public class IndexedArchiveClassPathRoot implements ClassPathRoot, Closeable {
+
+  private final File     file;
+
+  private ZipFile        zip;
+  private List<String>   classNames;
+  private ArchiveVersion version;
+
+  public IndexedArchiveClassPathRoot(final File file) {
+    this.file = file;
+  }
+
+  @Override
+  public InputStream getData(final String name) throws IOException {
+    final ZipFile archive = archive();
+    final ZipEntry entry = archive.getEntry(name.replace('.', '/') + ".class");
+    if (entry == null) {
+      return null;
+    }
+    try (InputStream is = archive.getInputStream(entry)) {
+      return StreamUtil.copyStream(is);
+    }
+  }
+
+  public boolean contains(final String name) {
+    return archive().getEntry(name.replace('.', '/') + ".class") != null;
+  }
+
+  /**
+   * @return the version of the archive as it was when first opened
+   */
+  public synchronized ArchiveVersion version() {
+    if (this.version == null) {
+      this.version = ArchiveVersion.of(this.file);
+    }
+    return this.version;
+  }
+
+  @Override
+  public URL getResource(final String name) throws MalformedURLException {
+    final ZipFile archive = archive();
+    final ZipEntry entry = archive.getEntry(name);
+    if (entry != null) {
+      return new URL("jar:file:" + archive.getName() + "!/" + entry.getName());
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public synchronized Collection<String> classNames() {
+    if (this.classNames == null) {
+      final List<String> names = new ArrayList<>();
+      final Enumeration<? extends ZipEntry> entries = archive().entries();
+      while (entries.hasMoreElements()) {
+        final ZipEntry entry = entries.nextElement();
+        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+          names.add(stringToClassName(entry.getName()));
+        }
+      }
+      this.classNames = Collections.unmodifiableList(names);
+    }
+    return this.classNames;
+  }
+
+  @Override
+  public Optional<String> cacheLocation() {
+    return Optional.ofNullable(this.file.getAbsolutePath());
+  }
+
+  @Override
+  public synchronized void close() {
+    if (this.zip != null) {
+      try {
+        this.zip.close();
+      } catch (final IOException e) {
+        throw Unchecked.translateCheckedException(e);
+      } finally {
+        this.zip = null;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IndexedArchiveClassPathRoot [file=" + this.file.getName() + "]";
+  }
+
+  private synchronized ZipFile archive() {
+    if (this.zip == null) {
+      try {
+        this.zip = new ZipFile(this.file);
+      } catch (final IOException ex) {
+        throw Unchecked.translateCheckedException(ex.getMessage() + " ("
+            + this.file + ")", ex);
+      }
+    }
+    return this.zip;
+  }
+
+  private static String stringToClassName(final String name) {
+    return name.substring(0, (name.length() - ".class".length())).replace('/',
+        '.');
+  }
+
+}
@@ -0,0 +1,40 @@
+package org.pitest.coverage.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+
+/**
+ * Finds the coverage blocks of each method of a class, numbered as when
+ * coverage is recorded.
+ *
+ * Takes the bytes of the class rather than ASM types, as ASM is relocated
+ * within this module and so cannot be shared with callers.
+ */
+public final class BlockMapper {
+
+  private BlockMapper() {
+  }
+
+  public static Map<Location, List<Block>> mapBlocks(final ClassName clazz,
+      final byte[] bytes) {
+    final ClassReader cr = new ClassReader(bytes);
+    final ClassNode classNode = new ClassNode();
+    cr.accept(classNode, ClassReader.EXPAND_FRAMES);
+
+    final Map<Location, List<Block>> map = new LinkedHashMap<>();
+    for (final MethodNode each : classNode.methods) {
+      map.put(Location.location(clazz, MethodName.fromString(each.name),
+          each.desc), ControlFlowAnalyser.analyze(each));
+    }
+    return map;
+  }
+
+}
@@ -3,18 +3,15 @@ package org.pitest.coverage.analysis;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.LineMap;
 import java.util.Optional;
 import org.pitest.mutationtest.engine.Location;
-import org.pitest.mutationtest.engine.MethodName;
 
 public class LineMapper implements LineMap {
 
@@ -33,20 +30,12 @@ public class LineMapper implements LineMap {
     // classes generated at runtime eg by mocking frameworks
     // will be instrumented but not available on the classpath
     if (maybeBytes.isPresent()) {
-      final ClassReader cr = new ClassReader(maybeBytes.get());
-      final ClassNode classNode = new ClassNode();
-
-      cr.accept(classNode, ClassReader.EXPAND_FRAMES);
-      for (final Object m : classNode.methods) {
-        final MethodNode mn = (MethodNode) m;
-        final Location l = Location.location(clazz,
-            MethodName.fromString(mn.name), mn.desc);
-        final List<Block> blocks = ControlFlowAnalyser.analyze(mn);
+      for (final Entry<Location, List<Block>> each : BlockMapper.mapBlocks(
+          clazz, maybeBytes.get()).entrySet()) {
+        final List<Block> blocks = each.getValue();
         for (int i = 0; i != blocks.size(); i++) {
-          final BlockLocation bl = new BlockLocation(l, i);
-          map.put(bl, blocks.get(i).getLines());
+          map.put(new BlockLocation(each.getKey(), i), blocks.get(i).getLines());
         }
-
       }
     }
 
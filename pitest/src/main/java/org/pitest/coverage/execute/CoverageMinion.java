@@ -22,6 +22,7 @@ import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -40,7 +41,9 @@ import org.pitest.mutationtest.config.MinionSettings;
 import org.pitest.mutationtest.mocksupport.BendJavassistToMyWillTransformer;
 import org.pitest.mutationtest.mocksupport.JavassistInputStreamInterceptorAdapater;
 import org.pitest.testapi.Configuration;
+import org.pitest.testapi.RecreatableTestUnit;
 import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
 import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
@@ -85,6 +88,8 @@ public class CoverageMinion {
 
       LOG.info(tus.size() + " tests received");
 
+      sendTestUnitsToParent(invokeQueue, tus);
+
       final CoverageWorker worker = new CoverageWorker(invokeQueue, tus);
 
       worker.run();
@@ -150,6 +155,19 @@ public class CoverageMinion {
 
   }
 
+  private static void sendTestUnitsToParent(final CoveragePipe invokeQueue,
+      final List<TestUnit> tus) {
+    for (final TestUnit each : tus) {
+      if (each instanceof RecreatableTestUnit) {
+        final Optional<TestUnitDescriptor> descriptor = ((RecreatableTestUnit) each)
+            .descriptor();
+        if (descriptor.isPresent()) {
+          invokeQueue.recordTestUnit(descriptor.get());
+        }
+      }
+    }
+  }
+
   private static List<TestUnit> discoverTests(final Configuration testPlugin,
  final List<ClassName> classes) {
     final FindTestUnits finder = new FindTestUnits(testPlugin);
@@ -1,12 +1,16 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
+import org.pitest.testapi.SerializedTestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.SafeDataOutputStream;
 
 import sun.pitest.CodeCoverageStore;
@@ -27,19 +31,50 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
+    final Map<Integer, boolean[]> hits = CodeCoverageStore.getClassHits();
 
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
+    MessageCodec.writeDescription(this.dos, description);
+    this.dos.writeVarInt(hits.size());
+    for (final Entry<Integer, boolean[]> each : hits.entrySet()) {
+      writeProbes(each.getKey(), each.getValue());
     }
     this.dos.writeBoolean(wasGreen);
     this.dos.writeInt(executionTime);
 
   }
 
+  // probes are sent as a bitset, one bit per probe, eight probes to a byte.
+  // The first slot of the array is the class hit flag so is skipped.
+  private void writeProbes(final int classId, final boolean[] probes) {
+    final int numberOfProbes = probes.length - 1;
+    this.dos.writeVarInt(classId);
+    this.dos.writeVarInt(numberOfProbes);
+    for (int i = 0; i < numberOfProbes; i += 8) {
+      int packed = 0;
+      for (int bit = 0; (bit != 8) && ((i + bit) != numberOfProbes); bit++) {
+        if (probes[i + bit + 1]) {
+          packed |= 1 << bit;
+        }
+      }
+      this.dos.writeByte((byte) packed);
+    }
+  }
+
+  /**
+   * Sends the parent a descriptor of a test unit, from which mutation testing
+   * minions can create the unit without finding the tests of its class again.
+   * The descriptor is sent as bytes labelled with the test name, so the parent
+   * can forward it without loading the test framework.
+   */
+  public synchronized void recordTestUnit(final TestUnitDescriptor descriptor) {
+    final SerializedTestUnit unit = SerializedTestUnit.serialize(descriptor);
+    this.dos.writeByte(Id.TEST_UNIT);
+    this.dos.writeString(unit.getName());
+    this.dos.writeString(unit.getTestClass());
+    this.dos.writeBytes(unit.getDescriptor());
+  }
+
   public synchronized void end(final ExitCode exitCode) {
     this.dos.writeByte(Id.DONE);
     this.dos.writeInt(exitCode.getCode());
@@ -15,10 +15,14 @@
 
 package org.pitest.junit;
 
+import java.io.Serializable;
+
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 
-public class DescriptionFilter extends Filter {
+public class DescriptionFilter extends Filter implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private final String desc;
 
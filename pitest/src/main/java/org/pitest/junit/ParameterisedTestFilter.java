@@ -14,10 +14,15 @@
  */
 package org.pitest.junit;
 
+import java.io.Serializable;
+
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 
-public class ParameterisedTestFilter extends Filter {
+public class ParameterisedTestFilter extends Filter implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
   private final String desc;
   private final String parent;
 
@@ -17,6 +17,9 @@ package org.pitest.junit.adapter;
 
 import static org.pitest.util.Unchecked.translateCheckedException;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,11 +31,19 @@ import org.junit.runner.manipulation.Filterable;
 import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runners.model.RunnerBuilder;
 import java.util.Optional;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.junit.DescriptionFilter;
 import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.BatchableTestUnit;
+import org.pitest.testapi.RecreatableTestUnit;
 import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
 import org.pitest.util.Log;
 
-public class AdaptedJUnitTestUnit extends AbstractTestUnit {
+public class AdaptedJUnitTestUnit extends AbstractTestUnit implements
+    BatchableTestUnit, RecreatableTestUnit {
 
   private static final Logger                LOG = Log.getLogger();
 
@@ -101,6 +112,47 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
     }
   }
 
+  /**
+   * Units for single tests of the same class can be batched, as the tests can
+   * be selected from one runner by their descriptions
+   */
+  @Override
+  public boolean canBatchWith(final TestUnit other) {
+    if (!(other instanceof AdaptedJUnitTestUnit)) {
+      return false;
+    }
+    final AdaptedJUnitTestUnit unit = (AdaptedJUnitTestUnit) other;
+    return this.clazz.equals(unit.clazz) && isSingleTest()
+        && unit.isSingleTest();
+  }
+
+  @Override
+  public TestUnit batchWith(final List<TestUnit> others) {
+    final List<org.pitest.testapi.Description> tests = new ArrayList<>();
+    tests.add(getDescription());
+    for (final TestUnit each : others) {
+      tests.add(each.getDescription());
+    }
+    return new BatchedJUnitTestUnit(this.clazz, tests);
+  }
+
+  /**
+   * Units can be described unless their filter cannot be serialised
+   */
+  @Override
+  public Optional<TestUnitDescriptor> descriptor() {
+    if (this.filter.isPresent() && !(this.filter.get() instanceof Serializable)) {
+      return Optional.empty();
+    }
+    return Optional.<TestUnitDescriptor> of(new Descriptor(getDescription(),
+        this.filter.orElse(null)));
+  }
+
+  private boolean isSingleTest() {
+    return this.filter.isPresent()
+        && (this.filter.get() instanceof DescriptionFilter);
+  }
+
   public static Runner createRunner(final Class<?> clazz) {
     final RunnerBuilder builder = createRunnerBuilder();
     try {
@@ -122,4 +174,32 @@ public class AdaptedJUnitTestUnit extends AbstractTestUnit {
         + this.filter + "]";
   }
 
+  private static class Descriptor implements TestUnitDescriptor {
+
+    private static final long                    serialVersionUID = 1L;
+
+    private final org.pitest.testapi.Description description;
+    private final Filter                         filter;
+
+    Descriptor(final org.pitest.testapi.Description description,
+        final Filter filter) {
+      this.description = description;
+      this.filter = filter;
+    }
+
+    @Override
+    public org.pitest.testapi.Description getDescription() {
+      return this.description;
+    }
+
+    @Override
+    public Optional<TestUnit> create(final ClassLoader loader) {
+      return ClassName.nameToClass(loader)
+          .apply(ClassName.fromString(this.description.getFirstTestClass()))
+          .findFirst().map(clazz -> (TestUnit) new AdaptedJUnitTestUnit(clazz,
+              Optional.ofNullable(this.filter)));
+    }
+
+  }
+
 }
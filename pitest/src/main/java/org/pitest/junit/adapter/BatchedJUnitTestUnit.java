@@ -0,0 +1,151 @@
+package org.pitest.junit.adapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.util.Log;
+
+/**
+ * Runs several tests of one JUnit class against a mutant with a single
+ * filtered runner, stopping at the first failure.
+ *
+ * Filtered runners of the default JUnit 4 type are kept for the life of the
+ * minion, so the reflective work of building and validating them is done once
+ * for each batch of tests rather than each time the batch runs. Their
+ * construction only inspects the test class, so they can safely be re-run
+ * against each mutant. Other runners, such as Parameterized, may run code
+ * under test while they are built, so are created afresh for each run.
+ */
+public class BatchedJUnitTestUnit extends AbstractTestUnit {
+
+  private static final Logger                                LOG         = Log.getLogger();
+
+  private static final int                                   MAX_RUNNERS = 256;
+
+  // filtered runners kept for the life of the minion, least recently used
+  // first
+  private static final Map<List<Object>, Runner>             RUNNERS     = Collections
+      .synchronizedMap(new LinkedHashMap<List<Object>, Runner>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<List<Object>, Runner> eldest) {
+          return size() > MAX_RUNNERS;
+        }
+      });
+
+  private final Class<?>                                     clazz;
+  private final List<org.pitest.testapi.Description>         tests;
+  private final Map<String, org.pitest.testapi.Description> byName;
+
+  /**
+   * @param tests
+   *          descriptions of the tests to run, each named by the JUnit
+   *          description of its test
+   */
+  public BatchedJUnitTestUnit(final Class<?> clazz,
+      final List<org.pitest.testapi.Description> tests) {
+    super(new org.pitest.testapi.Description(clazz.getName(), clazz));
+    this.clazz = clazz;
+    this.tests = new ArrayList<>(tests);
+    this.byName = new LinkedHashMap<>();
+    for (final org.pitest.testapi.Description each : tests) {
+      this.byName.put(each.getName(), each);
+    }
+  }
+
+  @Override
+  public void execute(final ResultCollector rc) {
+    final Runner runner = filteredRunner();
+    if (runner == null) {
+      for (final org.pitest.testapi.Description each : this.tests) {
+        rc.notifySkipped(each);
+      }
+      return;
+    }
+
+    final RunNotifier notifier = new RunNotifier();
+    notifier.addFirstListener(new FailFastRunListener(this.byName,
+        this.tests.get(0), rc, notifier));
+    try {
+      runner.run(notifier);
+    } catch (final StoppedByUserException e) {
+      // stopped after the first failure
+    }
+  }
+
+  private Runner filteredRunner() {
+    final List<Object> key = Arrays.<Object> asList(this.clazz,
+        this.byName.keySet());
+    final Runner cached = RUNNERS.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final Runner runner = AdaptedJUnitTestUnit.createRunner(this.clazz);
+    if (!(runner instanceof Filterable)) {
+      LOG.warning("Not able to filter " + runner.getDescription()
+          + ". Mutation may have prevented JUnit from constructing test");
+      return runner;
+    }
+
+    try {
+      ((Filterable) runner).filter(new AnyOf(this.byName.keySet()));
+    } catch (final NoTestsRemainException e) {
+      return null;
+    }
+
+    if (runner.getClass() == BlockJUnit4ClassRunner.class) {
+      RUNNERS.put(key, runner);
+    }
+    return runner;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchedJUnitTestUnit [clazz=" + this.clazz + ", tests="
+        + this.byName.keySet() + "]";
+  }
+
+  /**
+   * Selects each test whose description is one of those given
+   */
+  private static class AnyOf extends Filter {
+
+    private final Set<String> descriptions;
+
+    AnyOf(final Set<String> descriptions) {
+      this.descriptions = new HashSet<>(descriptions);
+    }
+
+    @Override
+    public boolean shouldRun(final Description description) {
+      return this.descriptions.contains(description.toString());
+    }
+
+    @Override
+    public String describe() {
+      return "any of " + this.descriptions;
+    }
+
+  }
+
+}
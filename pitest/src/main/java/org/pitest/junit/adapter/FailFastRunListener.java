@@ -0,0 +1,83 @@
+package org.pitest.junit.adapter;
+
+import java.util.Map;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.pitest.testapi.ResultCollector;
+
+/**
+ * Reports a batch of JUnit tests against the description of each test in the
+ * batch, and asks the runner to stop once any test has failed.
+ *
+ * Failures JUnit reports against something other than a test in the batch,
+ * such as a failing @BeforeClass method, are reported against the test
+ * running at the time, or the first test of the batch if none has started.
+ */
+class FailFastRunListener extends RunListener {
+
+  private final Map<String, org.pitest.testapi.Description> tests;
+  private final ResultCollector                             rc;
+  private final RunNotifier                                 notifier;
+  private org.pitest.testapi.Description                    current;
+  private boolean                                           failed = false;
+
+  /**
+   * @param tests
+   *          the tests of the batch, keyed by their JUnit description
+   * @param first
+   *          the first test of the batch
+   */
+  FailFastRunListener(final Map<String, org.pitest.testapi.Description> tests,
+      final org.pitest.testapi.Description first, final ResultCollector rc,
+      final RunNotifier notifier) {
+    this.tests = tests;
+    this.current = first;
+    this.rc = rc;
+    this.notifier = notifier;
+  }
+
+  @Override
+  public void testFailure(final Failure failure) throws Exception {
+    this.rc.notifyEnd(descriptionFor(failure.getDescription()),
+        failure.getException());
+    this.failed = true;
+    this.notifier.pleaseStop();
+  }
+
+  @Override
+  public void testAssumptionFailure(final Failure failure) {
+    // do nothing so treated as success
+  }
+
+  @Override
+  public void testIgnored(final Description description) throws Exception {
+    this.rc.notifySkipped(descriptionFor(description));
+  }
+
+  @Override
+  public void testStarted(final Description description) throws Exception {
+    this.current = descriptionFor(description);
+    this.rc.notifyStart(this.current);
+  }
+
+  @Override
+  public void testFinished(final Description description) throws Exception {
+    if (!this.failed) {
+      this.rc.notifyEnd(descriptionFor(description));
+    }
+  }
+
+  private org.pitest.testapi.Description descriptionFor(
+      final Description description) {
+    final org.pitest.testapi.Description test = this.tests.get(description
+        .toString());
+    if (test != null) {
+      return test;
+    }
+    return this.current;
+  }
+
+}
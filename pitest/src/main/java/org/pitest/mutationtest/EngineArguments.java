@@ -10,10 +10,24 @@ public class EngineArguments implements Serializable {
 
   private final Collection<String> mutators;
   private final Collection<String> excludedMethods;
+  private final boolean            schemata;
+  private final boolean            cancellableLoops;
 
   public EngineArguments(Collection<String> mutators, Collection<String> excludedMethods) {
+    this(mutators, excludedMethods, false);
+  }
+
+  public EngineArguments(Collection<String> mutators, Collection<String> excludedMethods,
+      boolean schemata) {
+    this(mutators, excludedMethods, schemata, false);
+  }
+
+  public EngineArguments(Collection<String> mutators, Collection<String> excludedMethods,
+      boolean schemata, boolean cancellableLoops) {
     this.mutators = mutators;
     this.excludedMethods = excludedMethods;
+    this.schemata = schemata;
+    this.cancellableLoops = cancellableLoops;
   }
 
   public static EngineArguments arguments() {
@@ -21,11 +35,23 @@ public class EngineArguments implements Serializable {
   }
 
   public EngineArguments withMutators(Collection<String> mutators) {
-    return new EngineArguments(mutators, this.excludedMethods);
+    return new EngineArguments(mutators, this.excludedMethods, this.schemata,
+        this.cancellableLoops);
   }
 
   public EngineArguments withExcludedMethods(Collection<String> excludedMethods) {
-    return new EngineArguments(this.mutators, excludedMethods);
+    return new EngineArguments(this.mutators, excludedMethods, this.schemata,
+        this.cancellableLoops);
+  }
+
+  public EngineArguments withSchemata(boolean schemata) {
+    return new EngineArguments(this.mutators, this.excludedMethods, schemata,
+        this.cancellableLoops);
+  }
+
+  public EngineArguments withCancellableLoops(boolean cancellableLoops) {
+    return new EngineArguments(this.mutators, this.excludedMethods,
+        this.schemata, cancellableLoops);
   }
 
   public Collection<String> mutators() {
@@ -36,5 +62,22 @@ public class EngineArguments implements Serializable {
     return this.excludedMethods;
   }
 
+  /**
+   * @return true if the mutants of each class should be compiled into a
+   *         single class and selected at runtime, rather than hot swapped
+   */
+  public boolean useSchemata() {
+    return this.schemata;
+  }
+
+  /**
+   * @return true if the loops of mutated methods should check whether the
+   *         test running the mutant has been cancelled, so that a mutant that
+   *         times out can be stopped without the minion exiting
+   */
+  public boolean cancellableLoops() {
+    return this.cancellableLoops;
+  }
+
 }
 
@@ -21,4 +21,28 @@ public interface TimeoutLengthStrategy extends Serializable {
 
   long getAllowedTime(long normalDuration);
 
+  /**
+   * @param test
+   *          qualified name of the test
+   * @param normalDuration
+   *          time in milliseconds the test took during coverage
+   * @return time in milliseconds the test may take before it is considered to
+   *         have timed out
+   */
+  default long getAllowedTime(String test, long normalDuration) {
+    return getAllowedTime(normalDuration);
+  }
+
+  /**
+   * Informs the strategy that a test passed against a mutant.
+   *
+   * @param test
+   *          qualified name of the test
+   * @param nanos
+   *          time in nanoseconds the test took
+   */
+  default void recordExecution(String test, long nanos) {
+    // ignored by default
+  }
+
 }
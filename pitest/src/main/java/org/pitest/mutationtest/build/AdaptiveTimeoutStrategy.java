@@ -0,0 +1,123 @@
+package org.pitest.mutationtest.build;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+
+/**
+ * Derives the time a test may take from the times it took to pass, both
+ * unmutated while coverage was calculated and against earlier mutants, rather
+ * than from the single measurement taken during coverage.
+ *
+ * Once a test has passed {@link #MIN_EXECUTIONS} times its normal duration is
+ * taken to be the 99th percentile of the recorded times. Until then the time
+ * recorded during coverage is used. In both cases the allowed time is the
+ * normal duration scaled by a factor plus a constant, as for
+ * {@link PercentAndConstantTimeoutStrategy}.
+ *
+ * The main process records the times reported by every minion, and each minion
+ * receives a copy of what has been learnt so far with each batch of mutations.
+ */
+public class AdaptiveTimeoutStrategy implements TimeoutLengthStrategy {
+
+  private static final long                serialVersionUID = 1L;
+
+  static final int                         MIN_EXECUTIONS   = 3;
+  private static final double              QUANTILE         = 0.99;
+
+  private final float                      percent;
+  private final long                       constant;
+  private final Map<String, LatencySketch> sketches;
+  private long                             executions;
+
+  public AdaptiveTimeoutStrategy(final float percent, final long constant) {
+    this(percent, constant, new HashMap<String, LatencySketch>(), 0);
+  }
+
+  private AdaptiveTimeoutStrategy(final float percent, final long constant,
+      final Map<String, LatencySketch> sketches, final long executions) {
+    this.percent = percent;
+    this.constant = constant;
+    this.sketches = sketches;
+    this.executions = executions;
+  }
+
+  @Override
+  public long getAllowedTime(final long normalDuration) {
+    return Math.round(normalDuration * this.percent) + this.constant;
+  }
+
+  @Override
+  public synchronized long getAllowedTime(final String test,
+      final long normalDuration) {
+    final LatencySketch sketch = this.sketches.get(test);
+    if ((sketch == null) || (sketch.count() < MIN_EXECUTIONS)) {
+      return getAllowedTime(normalDuration);
+    }
+    return getAllowedTime(toMillis(sketch.percentile(QUANTILE)));
+  }
+
+  @Override
+  public synchronized void recordExecution(final String test,
+      final long nanos) {
+    LatencySketch sketch = this.sketches.get(test);
+    if (sketch == null) {
+      sketch = new LatencySketch();
+      this.sketches.put(test, sketch);
+    }
+    sketch.record(nanos);
+    this.executions++;
+  }
+
+  /**
+   * Records the times tests took while coverage was calculated. A test is
+   * recorded once however often it appears.
+   */
+  public synchronized void recordCoverage(final Collection<TestInfo> tests) {
+    final Set<String> seen = new HashSet<>();
+    for (final TestInfo each : tests) {
+      if (seen.add(each.getName())) {
+        recordExecution(each.getName(),
+            TimeUnit.MILLISECONDS.toNanos(each.getTime()));
+      }
+    }
+  }
+
+  public synchronized void report(final PrintStream out) {
+    int learnt = 0;
+    for (final LatencySketch each : this.sketches.values()) {
+      if (each.count() >= MIN_EXECUTIONS) {
+        learnt++;
+      }
+    }
+    out.println(">> Recorded " + this.executions + " passing executions of "
+        + this.sketches.size() + " tests");
+    out.println(">> Timeouts for " + learnt
+        + " tests derived from recorded executions, others from coverage");
+  }
+
+  // a copy is sent to minions so recording can continue while it is written
+  private synchronized Object writeReplace() {
+    final Map<String, LatencySketch> copy = new HashMap<>();
+    for (final Entry<String, LatencySketch> each : this.sketches.entrySet()) {
+      copy.put(each.getKey(), each.getValue().copy());
+    }
+    return new AdaptiveTimeoutStrategy(this.percent, this.constant, copy,
+        this.executions);
+  }
+
+  // rounds up, so a test always has at least the time it has been seen to take
+  private static long toMillis(final long nanos) {
+    final long oneMilli = TimeUnit.MILLISECONDS.toNanos(1);
+    return TimeUnit.NANOSECONDS.toMillis(nanos + oneMilli - 1);
+  }
+
+}
@@ -0,0 +1,76 @@
+package org.pitest.mutationtest.build;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Streaming summary of the durations of a test.
+ *
+ * Durations are counted in buckets whose bounds grow geometrically from one
+ * microsecond, so any percentile can be estimated to within ten percent in a
+ * few hundred bytes however many durations are recorded.
+ */
+class LatencySketch implements Serializable {
+
+  private static final long   serialVersionUID = 1L;
+
+  private static final double GROWTH           = 1.1;
+  private static final long   SMALLEST         = 1000;
+
+  private int[]               counts           = new int[0];
+  private long                total;
+
+  LatencySketch() {
+  }
+
+  private LatencySketch(final LatencySketch other) {
+    this.counts = other.counts.clone();
+    this.total = other.total;
+  }
+
+  void record(final long nanos) {
+    final int bucket = bucketFor(nanos);
+    if (bucket >= this.counts.length) {
+      this.counts = Arrays.copyOf(this.counts, bucket + 1);
+    }
+    this.counts[bucket]++;
+    this.total++;
+  }
+
+  long count() {
+    return this.total;
+  }
+
+  /**
+   * @param quantile
+   *          between 0 and 1
+   * @return upper bound in nanoseconds of the bucket holding the quantile
+   */
+  long percentile(final double quantile) {
+    final long rank = Math.max(1, (long) Math.ceil(quantile * this.total));
+    long seen = 0;
+    for (int i = 0; i != this.counts.length; i++) {
+      seen = seen + this.counts[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(this.counts.length - 1);
+  }
+
+  LatencySketch copy() {
+    return new LatencySketch(this);
+  }
+
+  private static int bucketFor(final long nanos) {
+    if (nanos <= SMALLEST) {
+      return 0;
+    }
+    return 1 + (int) (Math.log((double) nanos / SMALLEST) / Math.log(GROWTH));
+  }
+
+  private static long upperBound(final int bucket) {
+    return (long) Math.ceil(SMALLEST * Math.pow(GROWTH, bucket));
+  }
+
+}
@@ -28,10 +28,7 @@ public class MinionSettings {
   public Configuration getTestFrameworkPlugin(TestPluginArguments options, ClassByteArraySource source) {
     for (final TestPluginFactory each : this.plugins.findTestFrameworkPlugins()) {
       if (each.name().equals(options.getTestPlugin())) {
-        return each.createTestFrameworkConfiguration(options.getGroupConfig(),
-            source,
-            options.getExcludedRunners(),
-            options.getIncludedTestMethods());
+        return each.createTestFrameworkConfiguration(options, source);
       }
     }
     throw new PitError("Could not load requested test plugin "
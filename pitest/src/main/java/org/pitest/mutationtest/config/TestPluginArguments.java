@@ -16,11 +16,20 @@ public class TestPluginArguments implements Serializable {
   private final TestGroupConfig groupConfig;
   private final Collection<String> includedTestMethods;
   private final Collection<String> excludedRunners;
+  private final boolean batchTestsByClass;
 
   public TestPluginArguments(String testPlugin,
       TestGroupConfig groupConfig,
       Collection<String> excludedRunners,
       Collection<String> includedTestMethods) {
+    this(testPlugin, groupConfig, excludedRunners, includedTestMethods, false);
+  }
+
+  public TestPluginArguments(String testPlugin,
+      TestGroupConfig groupConfig,
+      Collection<String> excludedRunners,
+      Collection<String> includedTestMethods,
+      boolean batchTestsByClass) {
     Preconditions.checkNotNull(testPlugin);
     Preconditions.checkNotNull(groupConfig);
     Preconditions.checkNotNull(excludedRunners);
@@ -28,6 +37,7 @@ public class TestPluginArguments implements Serializable {
     this.groupConfig = groupConfig;
     this.excludedRunners = excludedRunners;
     this.includedTestMethods = includedTestMethods;
+    this.batchTestsByClass = batchTestsByClass;
   }
 
   public static TestPluginArguments defaults() {
@@ -36,7 +46,8 @@ public class TestPluginArguments implements Serializable {
   }
 
   public TestPluginArguments withTestPlugin(String plugin) {
-    return new TestPluginArguments(plugin, this.groupConfig, this.excludedRunners, this.includedTestMethods);
+    return new TestPluginArguments(plugin, this.groupConfig, this.excludedRunners, this.includedTestMethods,
+            this.batchTestsByClass);
   }
 
   public TestGroupConfig getGroupConfig() {
@@ -55,4 +66,12 @@ public class TestPluginArguments implements Serializable {
     return this.testPlugin;
   }
 
+  /**
+   * Whether the selected tests of each class should be run against a mutant
+   * in a single invocation of the test framework
+   */
+  public boolean isBatchTestsByClass() {
+    return this.batchTestsByClass;
+  }
+
 }
@@ -0,0 +1,48 @@
+package org.pitest.mutationtest.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+
+/**
+ * A class into which several mutants have been compiled.
+ *
+ * The class behaves as the original until a mutant is selected by setting its
+ * private static int field named {@link #ACTIVE_MUTANT_FIELD} to the switch
+ * value of the mutant. Setting the field back to zero restores the original
+ * behaviour.
+ */
+public final class MutantSchemata {
+
+  public static final String                     ACTIVE_MUTANT_FIELD = "$$pitActiveMutant";
+
+  private final ClassName                        className;
+  private final Map<MutationIdentifier, Integer> switches;
+  private final byte[]                           bytes;
+
+  public MutantSchemata(final ClassName className,
+      final Map<MutationIdentifier, Integer> switches, final byte[] bytes) {
+    this.className = className;
+    this.switches = Collections.unmodifiableMap(switches);
+    this.bytes = bytes;
+  }
+
+  public ClassName getClassName() {
+    return this.className;
+  }
+
+  /**
+   * Returns the mutants within the schemata
+   *
+   * @return map of each mutant to the value that selects it
+   */
+  public Map<MutationIdentifier, Integer> getSwitches() {
+    return this.switches;
+  }
+
+  public byte[] getBytes() {
+    return this.bytes;
+  }
+
+}
@@ -14,7 +14,9 @@
  */
 package org.pitest.mutationtest.engine;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.pitest.classinfo.ClassName;
 
@@ -41,4 +43,36 @@ public interface Mutater {
    */
   List<MutationDetails> findMutations(ClassName classToMutate);
 
+  /**
+   * Creates a single class holding the given mutants, any one of which can
+   * then be selected without redefining the class. Mutants that cannot be
+   * selected in this way are left out.
+   *
+   * @param classToMutate
+   *          the class to mutate
+   * @param mutants
+   *          mutants of the class to include
+   * @return the schemata, or empty if none of the mutants can be included
+   */
+  default Optional<MutantSchemata> createSchemata(ClassName classToMutate,
+      Collection<MutationIdentifier> mutants) {
+    return Optional.empty();
+  }
+
+  /**
+   * Creates a mutant that can be swapped in for a class loaded from the given
+   * schemata, for mutants that the schemata does not hold. Mutaters that
+   * create schemata must override this, as by default the mutant is created
+   * as if the class had been loaded normally.
+   *
+   * @param id
+   *          the mutant to create
+   * @param schemata
+   *          schemata the class was loaded from
+   * @return a Mutant
+   */
+  default Mutant getMutation(MutationIdentifier id, MutantSchemata schemata) {
+    return getMutation(id);
+  }
+
 }
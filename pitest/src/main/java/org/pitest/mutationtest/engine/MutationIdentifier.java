@@ -88,6 +88,15 @@ public final class MutationIdentifier implements Comparable<MutationIdentifier>,
     return this.indexes.iterator().next();
   }
 
+  /**
+   * Returns the indexes to the instructions on which this mutation occurs.
+   *
+   * @return unmodifiable list of zero based instruction indexes
+   */
+  public List<Integer> getIndexes() {
+    return Collections.unmodifiableList(this.indexes);
+  }
+
   @Override
   public String toString() {
     return "MutationIdentifier [location=" + this.location + ", indexes="
@@ -0,0 +1,77 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.mutationtest.engine.Location;
+
+import sun.pitest.MutantCancellation;
+
+/**
+ * Places a check for cancellation before each backward jump of a mutated
+ * method, so that a mutant that loops forever can be stopped from within
+ * the JVM. Jumps in other methods are left alone, as is the code the mutated
+ * method calls.
+ *
+ * Static initializers are never given checks. A cancellation thrown from one
+ * would leave its class erroneous, so every later mutant run by the minion
+ * would fail to use it.
+ */
+class CancellableLoopsClassVisitor extends ClassVisitor {
+
+  private final Location mutated;
+
+  CancellableLoopsClassVisitor(final ClassVisitor cv, final Location mutated) {
+    super(Opcodes.ASM6, cv);
+    this.mutated = mutated;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(final int access, final String name,
+      final String desc, final String signature, final String[] exceptions) {
+    final MethodVisitor mv = super.visitMethod(access, name, desc, signature,
+        exceptions);
+    if (!name.equals("<clinit>")
+        && this.mutated.getMethodName().name().equals(name)
+        && this.mutated.getMethodDesc().equals(desc)) {
+      return new BackEdgeCheckingMethodVisitor(mv);
+    }
+    return mv;
+  }
+
+  /**
+   * A jump to a label that has already been visited is a back edge. The
+   * check takes and leaves nothing on the stack, so can be placed before
+   * the jump regardless of its operands.
+   */
+  private static class BackEdgeCheckingMethodVisitor extends MethodVisitor {
+
+    private final Set<Label> visited = new HashSet<>();
+
+    BackEdgeCheckingMethodVisitor(final MethodVisitor mv) {
+      super(Opcodes.ASM6, mv);
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+      this.visited.add(label);
+      super.visitLabel(label);
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+      if (this.visited.contains(label)) {
+        super.visitMethodInsn(Opcodes.INVOKESTATIC,
+            MutantCancellation.CLASS_NAME,
+            MutantCancellation.CHECK_METHOD_NAME, "()V", false);
+      }
+      super.visitJumpInsn(opcode, label);
+    }
+
+  }
+
+}
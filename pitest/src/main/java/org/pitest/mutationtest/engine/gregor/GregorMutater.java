@@ -21,15 +21,19 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 import org.pitest.bytecode.FrameOptions;
 import org.pitest.bytecode.NullVisitor;
 import org.pitest.classinfo.ClassByteArraySource;
@@ -37,6 +41,7 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.ComputeClassWriter;
 import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchemata;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -47,13 +52,34 @@ public class GregorMutater implements Mutater {
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<>();
+  private final boolean                   schemata;
+  private final boolean                   cancellableLoops;
+
+  // the class most recently mutated. Mutants are requested class by class so
+  // a single entry is enough to avoid re-analysing the class for each mutant
+  private volatile AnalysedClass          lastAnalysed;
 
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
+    this(byteSource, filter, mutators, false);
+  }
+
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators, final boolean schemata) {
+    this(byteSource, filter, mutators, schemata, false);
+  }
+
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators, final boolean schemata,
+      final boolean cancellableLoops) {
     this.filter = filter;
     this.mutators.addAll(mutators);
     this.byteSource = byteSource;
+    this.schemata = schemata;
+    this.cancellableLoops = cancellableLoops;
   }
 
   @Override
@@ -91,25 +117,126 @@ public class GregorMutater implements Mutater {
   @Override
   public Mutant getMutation(final MutationIdentifier id) {
 
+    final AnalysedClass analysed = analyse(id.getClassName());
+
     final ClassContext context = new ClassContext();
     context.setTargetMutation(Optional.ofNullable(id));
 
-    final Optional<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
-        .asJavaName());
+    // Only the mutated method is visited. All other methods are copied as
+    // is from the reader, as is the constant pool.
+    final ClassWriter w = new ComputeClassWriter(analysed.reader,
+        this.byteSource, this.computeCache, analysed.flags);
+    final MutatingClassVisitor mca = new MutatingClassVisitor(
+        cancellable(w, id), context, filterMethods().and(isMethodOf(id)),
+        FCollection.filter(this.mutators, isMutatorFor(id)));
+    analysed.reader.accept(mca, ClassReader.EXPAND_FRAMES);
+
+    // block numbers depend on the preceding methods, so details are taken
+    // from the full analysis of the class rather than the targeted pass
+    final List<MutationDetails> details = FCollection.filter(
+        analysed.mutations, a -> a.matchesId(id));
+
+    return new Mutant(details.get(0), w.toByteArray());
+
+  }
+
+  @Override
+  public Optional<MutantSchemata> createSchemata(final ClassName classToMutate,
+      final Collection<MutationIdentifier> mutants) {
+    if (!this.schemata) {
+      return Optional.empty();
+    }
+
+    final AnalysedClass analysed = analyse(classToMutate);
+    // interfaces cannot hold a mutable static field
+    if ((analysed.reader.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+      return Optional.empty();
+    }
+
+    final Map<MutationIdentifier, Integer> switches = new LinkedHashMap<>();
+    for (final MutationIdentifier each : mutants) {
+      if (SchemataClassVisitor.canSwitch(each)
+          && FCollection.contains(analysed.mutations, a -> a.matchesId(each))) {
+        switches.put(each, switches.size() + 1);
+      }
+    }
+    if (switches.isEmpty()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new MutantSchemata(classToMutate, switches,
+        writeSchemata(analysed, switches, Optional.empty())));
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id,
+      final MutantSchemata schemata) {
+    final AnalysedClass analysed = analyse(id.getClassName());
+    final List<MutationDetails> details = FCollection.filter(
+        analysed.mutations, a -> a.matchesId(id));
+    return new Mutant(details.get(0), writeSchemata(analysed,
+        schemata.getSwitches(), Optional.of(id)));
+  }
+
+  // the class is visited once with the switches added, mutated in place if
+  // required, then once more for each copy of a mutated method
+  private byte[] writeSchemata(final AnalysedClass analysed,
+      final Map<MutationIdentifier, Integer> switches,
+      final Optional<MutationIdentifier> inPlace) {
+    final ClassWriter w = new ComputeClassWriter(analysed.reader,
+        this.byteSource, this.computeCache, analysed.flags);
+    final SchemataClassVisitor schemata = new SchemataClassVisitor(w, switches);
+
+    final ClassVisitor cv = inPlace.isPresent() ? mutating(schemata,
+        inPlace.get()) : schemata;
+    analysed.reader.accept(cv, ClassReader.EXPAND_FRAMES);
+
+    for (final Entry<MutationIdentifier, Integer> each : switches.entrySet()) {
+      analysed.reader.accept(
+          mutating(schemata.copyOf(each.getKey(), each.getValue()),
+              each.getKey()), ClassReader.EXPAND_FRAMES);
+    }
+    schemata.end();
 
-    final ClassReader reader = new ClassReader(bytes.get());
-    final ClassWriter w = new ComputeClassWriter(this.byteSource,
-        this.computeCache, FrameOptions.pickFlags(bytes.get()));
-    final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
-        filterMethods(), FCollection.filter(this.mutators,
+    return w.toByteArray();
+  }
+
+  private ClassVisitor mutating(final ClassVisitor cv,
+      final MutationIdentifier id) {
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Optional.of(id));
+    return new MutatingClassVisitor(cancellable(cv, id), context,
+        filterMethods().and(isMethodOf(id)), FCollection.filter(this.mutators,
             isMutatorFor(id)));
-    reader.accept(mca, ClassReader.EXPAND_FRAMES);
+  }
 
-    final List<MutationDetails> details = context.getMutationDetails(context
-        .getTargetMutation().get());
+  private ClassVisitor cancellable(final ClassVisitor cv,
+      final MutationIdentifier id) {
+    if (!this.cancellableLoops) {
+      return cv;
+    }
+    return new CancellableLoopsClassVisitor(cv, id.getLocation());
+  }
 
-    return new Mutant(details.get(0), w.toByteArray());
+  private AnalysedClass analyse(final ClassName clazz) {
+    final AnalysedClass previous = this.lastAnalysed;
+    if ((previous != null) && previous.name.equals(clazz)) {
+      return previous;
+    }
+
+    final byte[] bytes = this.byteSource.getBytes(clazz.asJavaName()).get();
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Optional.<MutationIdentifier> empty());
+    final AnalysedClass analysed = new AnalysedClass(clazz,
+        new ClassReader(bytes), FrameOptions.pickFlags(bytes),
+        findMutationsForBytes(context, bytes));
+    this.lastAnalysed = analysed;
+    return analysed;
+  }
 
+  private static Predicate<MethodInfo> isMethodOf(final MutationIdentifier id) {
+    return a -> a.getName().equals(id.getLocation().getMethodName().name())
+        && a.getMethodDescriptor().equals(id.getLocation().getMethodDesc());
   }
 
   private static Predicate<MethodMutatorFactory> isMutatorFor(
@@ -134,4 +261,19 @@ public class GregorMutater implements Mutater {
     return a -> a.isGeneratedEnumMethod();
   }
 
+  private static class AnalysedClass {
+    private final ClassName             name;
+    private final ClassReader           reader;
+    private final int                   flags;
+    private final List<MutationDetails> mutations;
+
+    AnalysedClass(final ClassName name, final ClassReader reader,
+        final int flags, final List<MutationDetails> mutations) {
+      this.name = name;
+      this.reader = reader;
+      this.flags = flags;
+      this.mutations = mutations;
+    }
+  }
+
 }
@@ -35,22 +35,47 @@ public class GregorMutationEngine implements MutationEngine {
 
   private final Set<MethodMutatorFactory> mutationOperators = new LinkedHashSet<>();
   private final Predicate<MethodInfo>     methodFilter;
+  private final boolean                   schemata;
+  private final boolean                   cancellableLoops;
 
   public GregorMutationEngine(final MutationEngineConfiguration config) {
+    this(config, false);
+  }
+
+  /**
+   * @param schemata
+   *          if true the mutators created will compile the mutants of a class
+   *          into a single schemata
+   */
+  public GregorMutationEngine(final MutationEngineConfiguration config,
+      final boolean schemata) {
+    this(config, schemata, false);
+  }
+
+  /**
+   * @param cancellableLoops
+   *          if true the mutated methods of the mutants created will check
+   *          whether they have been cancelled on each iteration of their loops
+   */
+  public GregorMutationEngine(final MutationEngineConfiguration config,
+      final boolean schemata, final boolean cancellableLoops) {
     this.methodFilter = config.methodFilter();
     this.mutationOperators.addAll(config.mutators());
+    this.schemata = schemata;
+    this.cancellableLoops = cancellableLoops;
   }
 
   @Override
   public Mutater createMutator(final ClassByteArraySource byteSource) {
     return new GregorMutater(byteSource, this.methodFilter,
-        this.mutationOperators);
+        this.mutationOperators, this.schemata, this.cancellableLoops);
   }
 
   @Override
   public String toString() {
     return "GregorMutationEngine [filter=" + this.methodFilter
-        + ", mutationOperators=" + this.mutationOperators + "]";
+        + ", mutationOperators=" + this.mutationOperators + ", schemata="
+        + this.schemata + ", cancellableLoops=" + this.cancellableLoops + "]";
   }
 
   @Override
@@ -0,0 +1,175 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutantSchemata;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Writes a class in which each method holding mutants starts by reading the
+ * active mutant. If the method holds that mutant it returns the result of a
+ * copy of itself into which the mutant has been inserted, otherwise it runs
+ * as normal.
+ *
+ * The copies are written by visiting the method again through a visitor from
+ * {@link #copyOf}, and the class is completed by calling {@link #end}.
+ */
+class SchemataClassVisitor extends ClassVisitor {
+
+  private final Map<String, List<Integer>> switchesByMethod = new HashMap<>();
+  private String                           owner;
+
+  SchemataClassVisitor(final ClassVisitor cv,
+      final Map<MutationIdentifier, Integer> switches) {
+    super(Opcodes.ASM6, cv);
+    for (final Entry<MutationIdentifier, Integer> each : switches.entrySet()) {
+      this.switchesByMethod.computeIfAbsent(key(each.getKey().getLocation()),
+          k -> new ArrayList<>()).add(each.getValue());
+    }
+  }
+
+  static boolean canSwitch(final MutationIdentifier id) {
+    // constructors must call their super constructor, and static
+    // initializers run only once, so neither can be delegated to a copy
+    final String name = id.getLocation().getMethodName().name();
+    return !name.equals("<init>") && !name.equals("<clinit>");
+  }
+
+  @Override
+  public void visit(final int version, final int access, final String name,
+      final String signature, final String superName, final String[] interfaces) {
+    super.visit(version, access, name, signature, superName, interfaces);
+    this.owner = name;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(final int access, final String name,
+      final String desc, final String signature, final String[] exceptions) {
+    final MethodVisitor mv = super.visitMethod(access, name, desc, signature,
+        exceptions);
+    final List<Integer> switches = this.switchesByMethod.get(name + desc);
+    if ((mv == null) || (switches == null)) {
+      return mv;
+    }
+    return new DispatchingMethodVisitor(mv, access, name, desc, switches);
+  }
+
+  @Override
+  public void visitEnd() {
+    // the class is ended by end once the copies have been written
+  }
+
+  void end() {
+    // private static fields do not contribute to the default serialVersionUID,
+    // so serialisable classes remain compatible with their unmutated form
+    super.visitField(
+        Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+        MutantSchemata.ACTIVE_MUTANT_FIELD, "I", null, null).visitEnd();
+    super.visitEnd();
+  }
+
+  /**
+   * Returns a visitor that writes only the method holding the given mutant,
+   * under the name of its copy
+   */
+  ClassVisitor copyOf(final MutationIdentifier id, final int switchValue) {
+    final Location location = id.getLocation();
+    return new ClassVisitor(Opcodes.ASM6) {
+      @Override
+      public MethodVisitor visitMethod(final int access, final String name,
+          final String desc, final String signature, final String[] exceptions) {
+        if (name.equals(location.getMethodName().name())
+            && desc.equals(location.getMethodDesc())) {
+          return SchemataClassVisitor.this.cv.visitMethod(copyAccess(access),
+              copyName(name, switchValue), desc, signature, exceptions);
+        }
+        return null;
+      }
+    };
+  }
+
+  private static String key(final Location location) {
+    return location.getMethodName().name() + location.getMethodDesc();
+  }
+
+  private static String copyName(final String name, final int switchValue) {
+    return name + "$pitMutant" + switchValue;
+  }
+
+  private static int copyAccess(final int access) {
+    return (access & (Opcodes.ACC_STATIC | Opcodes.ACC_SYNCHRONIZED
+        | Opcodes.ACC_STRICT)) | Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC;
+  }
+
+  private class DispatchingMethodVisitor extends MethodVisitor {
+
+    private final boolean isStatic;
+    private final String  name;
+    private final String  desc;
+    private final int[]   switches;
+
+    DispatchingMethodVisitor(final MethodVisitor mv, final int access,
+        final String name, final String desc, final List<Integer> switches) {
+      super(Opcodes.ASM6, mv);
+      this.isStatic = (access & Opcodes.ACC_STATIC) != 0;
+      this.name = name;
+      this.desc = desc;
+      this.switches = switches.stream().mapToInt(i -> i).sorted().toArray();
+    }
+
+    @Override
+    public void visitCode() {
+      super.visitCode();
+      final Label original = new Label();
+      final Label[] copies = new Label[this.switches.length];
+      for (int i = 0; i != copies.length; i++) {
+        copies[i] = new Label();
+      }
+
+      super.visitFieldInsn(Opcodes.GETSTATIC,
+          SchemataClassVisitor.this.owner, MutantSchemata.ACTIVE_MUTANT_FIELD,
+          "I");
+      super.visitLookupSwitchInsn(original, this.switches, copies);
+      for (int i = 0; i != copies.length; i++) {
+        super.visitLabel(copies[i]);
+        callCopy(this.switches[i]);
+      }
+      super.visitLabel(original);
+    }
+
+    private void callCopy(final int switchValue) {
+      int local = 0;
+      if (!this.isStatic) {
+        super.visitVarInsn(Opcodes.ALOAD, local);
+        local++;
+      }
+      for (final Type each : Type.getArgumentTypes(this.desc)) {
+        super.visitVarInsn(each.getOpcode(Opcodes.ILOAD), local);
+        local = local + each.getSize();
+      }
+
+      // copies are private, so are called directly even if not static
+      super.visitMethodInsn(this.isStatic ? Opcodes.INVOKESTATIC
+          : Opcodes.INVOKESPECIAL, SchemataClassVisitor.this.owner,
+          copyName(this.name, switchValue), this.desc, false);
+
+      final Type returnType = Type.getReturnType(this.desc);
+      if (returnType.equals(Type.VOID_TYPE)) {
+        super.visitInsn(Opcodes.RETURN);
+      } else {
+        super.visitInsn(returnType.getOpcode(Opcodes.IRETURN));
+      }
+    }
+  }
+
+}
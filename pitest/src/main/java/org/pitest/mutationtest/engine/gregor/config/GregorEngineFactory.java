@@ -30,18 +30,26 @@ public final class GregorEngineFactory implements MutationEngineFactory {
 
   @Override
   public MutationEngine createEngine(EngineArguments args) {
-    return createEngineWithMutators(args.excludedMethods(),
-           createMutatorListFromArrayOrUseDefaults(args.mutators()));
+    return createEngine(args.excludedMethods(),
+           createMutatorListFromArrayOrUseDefaults(args.mutators()),
+           args.useSchemata(), args.cancellableLoops());
   }
 
   public MutationEngine createEngineWithMutators(
       final Collection<String> excludedMethods,
       final Collection<? extends MethodMutatorFactory> mutators) {
+    return createEngine(excludedMethods, mutators, false, false);
+  }
+
+  private static MutationEngine createEngine(
+      final Collection<String> excludedMethods,
+      final Collection<? extends MethodMutatorFactory> mutators,
+      final boolean schemata, final boolean cancellableLoops) {
 
     final Predicate<MethodInfo> filter = Prelude.not(stringToMethodInfoPredicate(excludedMethods));
     final DefaultMutationEngineConfiguration config = new DefaultMutationEngineConfiguration(
         filter, mutators);
-    return new GregorMutationEngine(config);
+    return new GregorMutationEngine(config, schemata, cancellableLoops);
   }
 
   private static Collection<? extends MethodMutatorFactory> createMutatorListFromArrayOrUseDefaults(
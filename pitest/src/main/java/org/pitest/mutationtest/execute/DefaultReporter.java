@@ -16,11 +16,13 @@ package org.pitest.mutationtest.execute;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
 
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.SafeDataOutputStream;
 
 public class DefaultReporter implements Reporter {
@@ -35,7 +37,7 @@ public class DefaultReporter implements Reporter {
   public synchronized void describe(final MutationIdentifier i)
       throws IOException {
     this.w.writeByte(Id.DESCRIBE);
-    this.w.write(i);
+    MessageCodec.writeMutationIdentifier(this.w, i);
     this.w.flush();
   }
 
@@ -43,8 +45,16 @@ public class DefaultReporter implements Reporter {
   public synchronized void report(final MutationIdentifier i,
       final MutationStatusTestPair mutationDetected) throws IOException {
     this.w.writeByte(Id.REPORT);
-    this.w.write(i);
-    this.w.write(mutationDetected);
+    MessageCodec.writeMutationIdentifier(this.w, i);
+    MessageCodec.writeStatusTestPair(this.w, mutationDetected);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void timings(final Map<String, Long> nanosByTest)
+      throws IOException {
+    this.w.writeByte(Id.TIMINGS);
+    MessageCodec.writeTimings(this.w, nanosByTest);
     this.w.flush();
   }
 
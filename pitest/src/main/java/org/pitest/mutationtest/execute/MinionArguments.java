@@ -16,38 +16,84 @@ package org.pitest.mutationtest.execute;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.testapi.SerializedTestUnit;
 
 public class MinionArguments implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
-  final Collection<MutationDetails> mutations;
-  final Collection<ClassName>       testClasses;
-  final String                      engine;
-  final EngineArguments             engineArgs;
-  final TimeoutLengthStrategy       timeoutStrategy;
-  final boolean                     verbose;
-  final boolean                     fullMutationMatrix;
-  final TestPluginArguments         pitConfig;
+  final Collection<MutationDetails>    mutations;
+  final Collection<ClassName>          testClasses;
+  final Collection<SerializedTestUnit> testUnits;
+  final String                         engine;
+  final EngineArguments                engineArgs;
+  final TimeoutLengthStrategy          timeoutStrategy;
+  final boolean                        verbose;
+  final boolean                        fullMutationMatrix;
+  final TestPluginArguments            pitConfig;
+  final boolean                        awaitFurtherBatches;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose, final boolean fullMutationMatrix,
       final TestPluginArguments pitConfig) {
+    this(mutations, tests, Collections.<SerializedTestUnit> emptyList(),
+        engine, engineArgs, timeoutStrategy, verbose, fullMutationMatrix,
+        pitConfig);
+  }
+
+  /**
+   * @param tests
+   *          classes whose tests must be found by the minion
+   * @param testUnits
+   *          descriptors of tests the minion can create without finding them
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests,
+      final Collection<SerializedTestUnit> testUnits, final String engine,
+      final EngineArguments engineArgs,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final boolean fullMutationMatrix, final TestPluginArguments pitConfig) {
+    this(mutations, tests, testUnits, engine, engineArgs, timeoutStrategy,
+        verbose, fullMutationMatrix, pitConfig, false);
+  }
+
+  private MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final Collection<SerializedTestUnit> testUnits,
+      final String engine,   final EngineArguments engineArgs,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose, final boolean fullMutationMatrix,
+      final TestPluginArguments pitConfig, final boolean awaitFurtherBatches) {
     this.mutations = mutations;
     this.testClasses = tests;
+    this.testUnits = testUnits;
     this.engine = engine;
     this.engineArgs = engineArgs;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.fullMutationMatrix = fullMutationMatrix;
     this.pitConfig = pitConfig;
+    this.awaitFurtherBatches = awaitFurtherBatches;
+  }
+
+  /**
+   * Returns a copy of these arguments that instructs the minion to wait for
+   * another batch once this one completes, rather than exiting.
+   */
+  public MinionArguments awaitingFurtherBatches(final boolean await) {
+    return new MinionArguments(this.mutations, this.testClasses,
+        this.testUnits, this.engine, this.engineArgs, this.timeoutStrategy,
+        this.verbose, this.fullMutationMatrix, this.pitConfig, await);
+  }
+
+  public boolean awaitFurtherBatches() {
+    return this.awaitFurtherBatches;
   }
 
   public boolean isVerbose() {
@@ -18,7 +18,11 @@ import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
 import java.net.Socket;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -37,15 +41,18 @@ import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.config.ClientPluginServices;
 import org.pitest.mutationtest.config.MinionSettings;
 import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.mocksupport.BendJavassistToMyWillTransformer;
 import org.pitest.mutationtest.mocksupport.JavassistInputStreamInterceptorAdapater;
 import org.pitest.mutationtest.mocksupport.JavassistInterceptor;
 import org.pitest.testapi.Configuration;
+import org.pitest.testapi.SerializedTestUnit;
 import org.pitest.testapi.TestUnit;
 import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
+import org.pitest.util.Id;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.SafeDataInputStream;
@@ -61,6 +68,8 @@ public class MutationTestMinion {
   private final SafeDataInputStream dis;
   private final Reporter            reporter;
   private final MinionSettings      plugins;
+  // tests created from descriptors, kept for later batches of a pooled minion
+  private final Map<String, Optional<TestUnit>> createdTests = new HashMap<>();
 
   public MutationTestMinion(MinionSettings plugins, final SafeDataInputStream dis,
       final Reporter reporter) {
@@ -72,7 +81,7 @@ public class MutationTestMinion {
   public void run() {
     try {
 
-      final MinionArguments paramsFromParent = this.dis
+      MinionArguments paramsFromParent = this.dis
           .read(MinionArguments.class);
 
       Log.setVerbose(paramsFromParent.isVerbose());
@@ -82,23 +91,22 @@ public class MutationTestMinion {
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
           loader), CACHE_SIZE);
 
+      // classes loaded from a schemata must be restored to the schemata
+      final SchemataSwitch schemata = new SchemataSwitch(loader, byteSource);
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
-          byteSource);
+          schemata);
 
-      final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
-
-
-      final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          engine.createMutator(byteSource), loader, paramsFromParent.fullMutationMatrix);
-
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
+      runBatch(paramsFromParent, loader, byteSource, hotswap, schemata);
+      this.reporter.done(ExitCode.OK);
 
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
+      // a pooled minion stays alive and runs further batches of mutations
+      // until the parent tells it to stop
+      while (paramsFromParent.awaitFurtherBatches() && nextBatchIsAvailable()) {
+        paramsFromParent = this.dis.read(MinionArguments.class);
+        runBatch(paramsFromParent, loader, byteSource, hotswap, schemata);
+        this.reporter.done(ExitCode.OK);
+      }
 
-      this.reporter.done(ExitCode.OK);
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
@@ -107,6 +115,60 @@ public class MutationTestMinion {
 
   }
 
+  private void runBatch(final MinionArguments paramsFromParent,
+      final ClassLoader loader, final ClassByteArraySource byteSource,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final SchemataSwitch schemata) throws IOException {
+    final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
+
+    // schemata must be prepared before the tests load the mutated classes
+    final Mutater mutater = engine.createMutator(byteSource);
+    if (paramsFromParent.engineArgs.useSchemata()) {
+      schemata.prepare(mutater, paramsFromParent.mutations);
+    }
+
+    final MutationTestWorker worker = new MutationTestWorker(hotswap,
+        mutater, loader, paramsFromParent.fullMutationMatrix,
+        Optional.of(schemata));
+
+    // tests the parent could describe are created only when a mutation
+    // needs them, the others are found by examining their classes
+    final List<TestUnit> tests = findTestsForTestClasses(loader,
+        paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
+
+    // a batch stops at its first failure, so cannot be used when every test
+    // must be run against each mutant
+    final boolean batchTests = paramsFromParent.pitConfig.isBatchTestsByClass()
+        && !paramsFromParent.fullMutationMatrix;
+
+    worker.run(paramsFromParent.mutations, this.reporter,
+        new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
+            tests, createFromDescriptors(paramsFromParent.testUnits, loader),
+            this.reporter, batchTests,
+            paramsFromParent.engineArgs.cancellableLoops()));
+  }
+
+  private Function<String, Optional<TestUnit>> createFromDescriptors(
+      final Collection<SerializedTestUnit> descriptors,
+      final ClassLoader loader) {
+    final Map<String, SerializedTestUnit> byName = new HashMap<>();
+    for (final SerializedTestUnit each : descriptors) {
+      byName.put(each.getName(), each);
+    }
+    return name -> {
+      final SerializedTestUnit descriptor = byName.get(name);
+      if (descriptor == null) {
+        return Optional.empty();
+      }
+      return this.createdTests.computeIfAbsent(name,
+          n -> descriptor.deserialize().create(loader));
+    };
+  }
+
+  private boolean nextBatchIsAvailable() {
+    return this.dis.readByte() == Id.BATCH;
+  }
+
   private MutationEngine createEngine(String engine, EngineArguments args) {
     return this.plugins.createEngine(engine).createEngine(args);
   }
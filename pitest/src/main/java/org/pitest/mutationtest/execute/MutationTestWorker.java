@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -30,6 +33,7 @@ import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchemata;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -57,14 +61,24 @@ public class MutationTestWorker {
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
   private final boolean                                     fullMutationMatrix;
+  private final Optional<SchemataSwitch>                    schemata;
 
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader, final boolean fullMutationMatrix) {
+    this(hotswap, mutater, loader, fullMutationMatrix,
+        Optional.<SchemataSwitch> empty());
+  }
+
+  MutationTestWorker(
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final boolean fullMutationMatrix, final Optional<SchemataSwitch> schemata) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
     this.fullMutationMatrix = fullMutationMatrix;
+    this.schemata = schemata;
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
@@ -89,7 +103,12 @@ public class MutationTestWorker {
       final MutationDetails mutationDetails) throws IOException {
 
     final MutationIdentifier mutationId = mutationDetails.getId();
-    final Mutant mutatedClass = this.mutater.getMutation(mutationId);
+    final long t0 = System.nanoTime();
+    final Mutant mutatedClass = createMutant(mutationId);
+    if (DEBUG) {
+      LOG.fine("created mutant from bytes in "
+          + TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0) + " us");
+    }
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
@@ -104,15 +123,45 @@ public class MutationTestWorker {
 
     r.describe(mutationId);
 
-    final MutationStatusTestPair mutationDetected = handleMutation(
-        mutationDetails, mutatedClass, relevantTests);
+    final MutationStatusTestPair mutationDetected = timedOutIfCancelled(
+        testSource, handleMutation(mutationDetails, mutatedClass,
+            relevantTests));
 
     r.report(mutationId, mutationDetected);
+
+    final Map<String, Long> passing = testSource.drainPassingExecutions();
+    if (!passing.isEmpty()) {
+      r.timings(passing);
+    }
     if (DEBUG) {
       LOG.fine("Mutation " + mutationId + " detected = " + mutationDetected);
     }
   }
 
+  // a mutant stopped within the minion is reported as timed out, just as it
+  // would have been had the minion exited
+  private static MutationStatusTestPair timedOutIfCancelled(
+      final TimeOutDecoratedTestSource testSource,
+      final MutationStatusTestPair status) {
+    if (testSource.drainCancelledTimeOut()) {
+      return new MutationStatusTestPair(status.getNumberOfTestsRun(),
+          DetectionStatus.TIMED_OUT);
+    }
+    return status;
+  }
+
+  private Mutant createMutant(final MutationIdentifier mutationId) {
+    // a class loaded from a schemata can only be swapped for one of the same
+    // shape
+    final Optional<MutantSchemata> loadedFrom = this.schemata.flatMap(s -> s
+        .schemataFor(mutationId.getClassName()));
+    if (loadedFrom.isPresent()
+        && !loadedFrom.get().getSwitches().containsKey(mutationId)) {
+      return this.mutater.getMutation(mutationId, loadedFrom.get());
+    }
+    return this.mutater.getMutation(mutationId);
+  }
+
   private MutationStatusTestPair handleMutation(
       final MutationDetails mutationId, final Mutant mutatedClass,
       final List<TestUnit> relevantTests) {
@@ -141,12 +190,17 @@ public class MutationTestWorker {
 
     final Container c = createNewContainer();
     final long t0 = System.currentTimeMillis();
-    if (this.hotswap.apply(mutationId.getClassName(), this.loader,
+    if (this.schemata.isPresent()
+        && this.schemata.get().canSwitchTo(mutationId.getId())) {
+      mutationDetected = switchAndTest(this.schemata.get(), mutationId.getId(),
+          c, relevantTests);
+    } else if (this.hotswap.apply(mutationId.getClassName(), this.loader,
         mutatedClass.getBytes())) {
       if (DEBUG) {
         LOG.fine("replaced class with mutant in "
             + (System.currentTimeMillis() - t0) + " ms");
       }
+      this.schemata.ifPresent(s -> s.hotSwapped(mutationId.getClassName()));
       mutationDetected = doTestsDetectMutation(c, relevantTests);
     } else {
       LOG.warning("Mutation " + mutationId + " was not viable ");
@@ -156,6 +210,17 @@ public class MutationTestWorker {
     return mutationDetected;
   }
 
+  private MutationStatusTestPair switchAndTest(final SchemataSwitch s,
+      final MutationIdentifier id, final Container c,
+      final List<TestUnit> relevantTests) {
+    s.activate(id, this.hotswap);
+    try {
+      return doTestsDetectMutation(c, relevantTests);
+    } finally {
+      s.deactivate(id);
+    }
+  }
+
   private static Container createNewContainer() {
     final Container c = new UnContainer() {
       @Override
@@ -14,67 +14,103 @@
  */
 package org.pitest.mutationtest.execute;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.SideEffect;
+import org.pitest.functional.SideEffect2;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
-import org.pitest.util.Unchecked;
 
 public final class MutationTimeoutDecorator extends TestUnitDecorator {
 
-  private final TimeoutLengthStrategy timeOutStrategy;
-  private final SideEffect            timeOutSideEffect;
-  private final long                  executionTime;
+  private final TimeoutLengthStrategy     timeOutStrategy;
+  private final SideEffect                timeOutSideEffect;
+  private final Map<String, Long>         executionTimes;
+  private final TestExecutionThread       thread;
+  private final SideEffect2<String, Long> passed;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
       final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime,
+        new TestExecutionThread(), (test, nanos) -> { });
+  }
+
+  /**
+   * @param passed
+   *          receives the name of the test and the time in nanoseconds it took
+   *          each time it passes
+   */
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TestExecutionThread thread, final SideEffect2<String, Long> passed) {
+    this(child, timeOutSideEffect, timeStrategy, Collections.singletonMap(
+        child.getDescription().getQualifiedName(), executionTime), thread,
+        passed);
+  }
+
+  /**
+   * Decorates a unit that runs several tests, such as a batch. The unit is
+   * allowed the sum of the times allowed for each of its tests, and the time
+   * of each test that passes is recorded separately.
+   *
+   * @param executionTimes
+   *          time each test run by the unit took during coverage, keyed by
+   *          the name of the test
+   */
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy,
+      final Map<String, Long> executionTimes, final TestExecutionThread thread,
+      final SideEffect2<String, Long> passed) {
     super(child);
     this.timeOutSideEffect = timeOutSideEffect;
-    this.executionTime = executionTime;
+    this.executionTimes = new LinkedHashMap<>(executionTimes);
     this.timeOutStrategy = timeStrategy;
+    this.thread = thread;
+    this.passed = passed;
   }
 
   @Override
   public void execute(final ResultCollector rc) {
 
-    final long maxTime = this.timeOutStrategy
-        .getAllowedTime(this.executionTime);
+    final String test = child().getDescription().getQualifiedName();
+    final long maxTime = allowedTime();
 
-    final FutureTask<?> future = createFutureForChildTestUnit(rc);
-    executeFutureWithTimeOut(maxTime, future, rc);
-    if (!future.isDone()) {
+    final FailureCheckingCollector checked = new FailureCheckingCollector(rc);
+    final long t0 = System.nanoTime();
+    if (!this.thread.run(createRunnable(checked), maxTime)) {
       this.timeOutSideEffect.apply();
+    } else if (isBatch()) {
+      for (final Map.Entry<String, Long> each : checked.passes().entrySet()) {
+        if (this.executionTimes.containsKey(each.getKey())) {
+          this.passed.apply(each.getKey(), each.getValue());
+        }
+      }
+    } else if (checked.passed()) {
+      this.passed.apply(test, System.nanoTime() - t0);
     }
 
   }
 
-  private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
-    try {
-      future.get(maxTime, TimeUnit.MILLISECONDS);
-    } catch (final TimeoutException ex) {
-      // swallow
-    } catch (final InterruptedException e) {
-      // swallow
-    } catch (final ExecutionException e) {
-      throw Unchecked.translateCheckedException(e);
+  private long allowedTime() {
+    long maxTime = 0;
+    for (final Map.Entry<String, Long> each : this.executionTimes.entrySet()) {
+      maxTime += this.timeOutStrategy.getAllowedTime(each.getKey(),
+          each.getValue());
     }
+    return maxTime;
   }
 
-  private FutureTask<?> createFutureForChildTestUnit(final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<>(createRunnable(rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
+  private boolean isBatch() {
+    return this.executionTimes.size() > 1;
   }
 
   private Runnable createRunnable(final ResultCollector rc) {
@@ -88,4 +124,62 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     };
   }
 
+  private static class FailureCheckingCollector implements ResultCollector {
+
+    private final ResultCollector   child;
+    private final Map<String, Long> starts = new HashMap<>();
+    private final Map<String, Long> passes = new LinkedHashMap<>();
+    private volatile boolean        ended;
+    private volatile boolean        failed;
+
+    FailureCheckingCollector(final ResultCollector child) {
+      this.child = child;
+    }
+
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+      this.ended = true;
+      this.failed = this.failed || (t != null);
+      this.child.notifyEnd(description, t);
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      this.ended = true;
+      final Long start = this.starts.get(description.getQualifiedName());
+      if (start != null) {
+        this.passes.put(description.getQualifiedName(), System.nanoTime()
+            - start);
+      }
+      this.child.notifyEnd(description);
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+      this.starts.put(description.getQualifiedName(), System.nanoTime());
+      this.child.notifyStart(description);
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+      this.child.notifySkipped(description);
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return this.child.shouldExit();
+    }
+
+    boolean passed() {
+      return this.ended && !this.failed;
+    }
+
+    /**
+     * @return time in nanoseconds taken by each test that passed
+     */
+    Map<String, Long> passes() {
+      return this.passes;
+    }
+  }
+
 }
@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.execute;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -27,6 +28,8 @@ public interface Reporter {
   void report(MutationIdentifier i, MutationStatusTestPair mutationDetected)
       throws IOException;
 
+  void timings(Map<String, Long> nanosByTest) throws IOException;
+
   void done(ExitCode exitCode);
 
 }
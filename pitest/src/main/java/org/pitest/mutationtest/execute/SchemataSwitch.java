@@ -0,0 +1,262 @@
+package org.pitest.mutationtest.execute;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.reflect.Field;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.boot.HotSwapAgent;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.F3;
+import org.pitest.mutationtest.engine.MutantSchemata;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Loads classes from mutant schemata, so the mutants they hold can be tested
+ * by setting a field rather than by redefining the class.
+ *
+ * A schemata is used only if the JVM verifies it and its class has not already
+ * been loaded. Other mutants are hot swapped. When a class has been loaded from
+ * a schemata the bytes swapped in, and those it is restored to, have the same
+ * methods and fields as the schemata.
+ */
+class SchemataSwitch implements ClassFileTransformer, ClassByteArraySource {
+
+  private static final Logger                    LOG      = Log.getLogger();
+
+  private final ClassLoader                      loader;
+  private final ClassByteArraySource             originals;
+  private final Consumer<ClassFileTransformer>   installer;
+
+  // written by the transformer on whichever thread loads the class
+  private final Map<ClassName, MutantSchemata>   pending  = new ConcurrentHashMap<>();
+  private final Map<ClassName, MutantSchemata>   loaded   = new ConcurrentHashMap<>();
+
+  private final Map<ClassName, Field>            switches = new HashMap<>();
+  private ClassName                              hotSwapped;
+  private boolean                                installed;
+
+  SchemataSwitch(final ClassLoader loader,
+      final ClassByteArraySource originals) {
+    this(loader, originals, HotSwapAgent::addTransformer);
+  }
+
+  SchemataSwitch(final ClassLoader loader,
+      final ClassByteArraySource originals,
+      final Consumer<ClassFileTransformer> installer) {
+    this.loader = loader;
+    this.originals = originals;
+    this.installer = installer;
+  }
+
+  /**
+   * Creates schemata for the classes of the given mutations, to be used when
+   * those classes are loaded.
+   */
+  void prepare(final Mutater mutater,
+      final Collection<MutationDetails> mutations) {
+    final Map<ClassName, List<MutationIdentifier>> byClass = new LinkedHashMap<>();
+    for (final MutationDetails each : mutations) {
+      byClass.computeIfAbsent(each.getClassName(), c -> new ArrayList<>())
+          .add(each.getId());
+    }
+
+    for (final Entry<ClassName, List<MutationIdentifier>> each : byClass
+        .entrySet()) {
+      if (this.loaded.containsKey(each.getKey())) {
+        continue;
+      }
+      final Optional<MutantSchemata> schemata = verifiedSchemata(mutater,
+          each.getKey(), each.getValue());
+      if (schemata.isPresent()) {
+        install();
+        this.pending.put(each.getKey(), schemata.get());
+      }
+    }
+  }
+
+  /**
+   * Returns the schemata the class was loaded from, loading it if a schemata
+   * is waiting for it.
+   */
+  Optional<MutantSchemata> schemataFor(final ClassName clazz) {
+    if (this.pending.containsKey(clazz)) {
+      classFor(clazz);
+    }
+    return Optional.ofNullable(this.loaded.get(clazz));
+  }
+
+  boolean canSwitchTo(final MutationIdentifier id) {
+    return schemataFor(id.getClassName())
+        .map(s -> s.getSwitches().containsKey(id)).orElse(false);
+  }
+
+  /**
+   * Selects a mutant held by a loaded schemata, first restoring any class that
+   * still holds a hot swapped mutant.
+   */
+  void activate(final MutationIdentifier id,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap) {
+    if (this.hotSwapped != null) {
+      hotswap.apply(this.hotSwapped, this.loader, getBytes(
+          this.hotSwapped.asJavaName()).get());
+      this.hotSwapped = null;
+    }
+    setActiveMutant(id.getClassName(),
+        this.loaded.get(id.getClassName()).getSwitches().get(id));
+  }
+
+  void deactivate(final MutationIdentifier id) {
+    setActiveMutant(id.getClassName(), 0);
+  }
+
+  /**
+   * Records that a mutant of the class has been hot swapped in
+   */
+  void hotSwapped(final ClassName clazz) {
+    this.hotSwapped = clazz;
+  }
+
+  @Override
+  public Optional<byte[]> getBytes(final String clazz) {
+    final MutantSchemata schemata = this.loaded.get(ClassName.fromString(clazz));
+    if (schemata != null) {
+      return Optional.of(schemata.getBytes());
+    }
+    return this.originals.getBytes(clazz);
+  }
+
+  @Override
+  public byte[] transform(final ClassLoader loader, final String className,
+      final Class<?> classBeingRedefined,
+      final ProtectionDomain protectionDomain, final byte[] classfileBuffer) {
+    if ((loader != this.loader) || (classBeingRedefined != null)
+        || this.pending.isEmpty()) {
+      return null;
+    }
+
+    final ClassName name = ClassName.fromString(className);
+    final MutantSchemata schemata = this.pending.remove(name);
+    if (schemata == null) {
+      return null;
+    }
+    this.loaded.put(name, schemata);
+    return schemata.getBytes();
+  }
+
+  private Optional<MutantSchemata> verifiedSchemata(final Mutater mutater,
+      final ClassName clazz, final List<MutationIdentifier> mutants) {
+    final Optional<MutantSchemata> all = mutater.createSchemata(clazz, mutants);
+    if (!all.isPresent() || verifies(all.get())) {
+      return all;
+    }
+
+    // keep the mutants that verify on their own, the rest are hot swapped
+    final List<MutationIdentifier> valid = new ArrayList<>();
+    for (final MutationIdentifier each : all.get().getSwitches().keySet()) {
+      final Optional<MutantSchemata> one = mutater.createSchemata(clazz,
+          Collections.singletonList(each));
+      if (one.isPresent() && verifies(one.get())) {
+        valid.add(each);
+      }
+    }
+    if (valid.isEmpty()) {
+      return Optional.empty();
+    }
+    return mutater.createSchemata(clazz, valid);
+  }
+
+  private boolean verifies(final MutantSchemata schemata) {
+    try {
+      // listing the methods links the class, and so verifies it
+      Class.forName(schemata.getClassName().asJavaName(), false,
+          new VerifyingLoader(this.loader, schemata)).getDeclaredMethods();
+      return true;
+    } catch (final ClassNotFoundException | LinkageError e) {
+      LOG.log(Level.FINE, "Schemata for " + schemata.getClassName()
+          + " failed verification", e);
+      return false;
+    }
+  }
+
+  private void install() {
+    if (!this.installed) {
+      this.installer.accept(this);
+      this.installed = true;
+    }
+  }
+
+  private void setActiveMutant(final ClassName clazz, final int value) {
+    try {
+      this.switches.computeIfAbsent(clazz, this::switchFor).setInt(null, value);
+    } catch (final IllegalAccessException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private Field switchFor(final ClassName clazz) {
+    try {
+      final Field field = classFor(clazz).getDeclaredField(
+          MutantSchemata.ACTIVE_MUTANT_FIELD);
+      field.setAccessible(true);
+      return field;
+    } catch (final NoSuchFieldException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private Class<?> classFor(final ClassName clazz) {
+    try {
+      return Class.forName(clazz.asJavaName(), false, this.loader);
+    } catch (final ClassNotFoundException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Defines the schemata class alone, leaving all others to its parent
+   */
+  private static class VerifyingLoader extends ClassLoader {
+
+    private final MutantSchemata schemata;
+
+    VerifyingLoader(final ClassLoader parent, final MutantSchemata schemata) {
+      super(parent);
+      this.schemata = schemata;
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve)
+        throws ClassNotFoundException {
+      if (!name.equals(this.schemata.getClassName().asJavaName())) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        final Class<?> clazz = findLoadedClass(name);
+        if (clazz != null) {
+          return clazz;
+        }
+        final byte[] bytes = this.schemata.getBytes();
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.pitest.util.Unchecked;
+
+/**
+ * Runs tests on a long lived thread, so a new thread is not started each time
+ * a test is run against a mutant.
+ *
+ * A test that overruns its allowed time may never finish, so its thread is
+ * abandoned and the next test is run on a new one.
+ */
+public class TestExecutionThread {
+
+  // an idle thread is allowed to die so abandoned instances do not leak
+  private static final long  IDLE_SECONDS = 60;
+
+  private ThreadPoolExecutor executor;
+  private Future<?>          abandoned;
+
+  /**
+   * @param test
+   *          test to run
+   * @param maxTime
+   *          time in milliseconds the test may take
+   * @return true if the test completed within the allowed time
+   */
+  public boolean run(final Runnable test, final long maxTime) {
+    final Future<?> future = executor().submit(test);
+    try {
+      future.get(maxTime, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException ex) {
+      // swallow
+    } catch (final InterruptedException e) {
+      // swallow
+    } catch (final ExecutionException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    if (!future.isDone()) {
+      this.abandoned = future;
+      abandon();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Waits for the test that most recently exceeded its time to finish, as it
+   * may once it has been asked to stop.
+   *
+   * @param maxTime
+   *          time in milliseconds to wait
+   * @return true if the test finished within the time
+   */
+  public boolean awaitAbandoned(final long maxTime) {
+    if (this.abandoned == null) {
+      return true;
+    }
+    try {
+      this.abandoned.get(maxTime, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException | InterruptedException
+        | ExecutionException e) {
+      // swallow
+    }
+    return this.abandoned.isDone();
+  }
+
+  private synchronized ThreadPoolExecutor executor() {
+    if (this.executor == null) {
+      this.executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("mutationTestThread");
+            return thread;
+          });
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+    return this.executor;
+  }
+
+  private synchronized void abandon() {
+    this.executor.shutdown();
+    this.executor = null;
+  }
+
+}
@@ -0,0 +1,144 @@
+package org.pitest.mutationtest.execute;
+
+import org.pitest.functional.SideEffect;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+import sun.pitest.MutantCancellation;
+
+/**
+ * Stops a timed out test by cancelling the loops of the mutant it is running,
+ * so that the minion can go on to the next mutant. A test that does not stop,
+ * as when it is blocked rather than looping, is handled by the fallback,
+ * which would normally exit the minion.
+ *
+ * The fallback is also used when the cancellation escaped a static
+ * initializer, as the class is then left unusable for the rest of the
+ * minion's life.
+ */
+public class TimeOutCancellingSideEffect implements SideEffect {
+
+  // a looping mutant reaches a back edge almost immediately, so this only
+  // needs to cover a pause such as a garbage collection
+  private static final long         GRACE_MILLIS = 500;
+
+  private final TestExecutionThread thread;
+  private final SideEffect          fallback;
+  private final long                grace;
+
+  private boolean                   recovered;
+  // set by the thread running the test, read once it has finished
+  private volatile boolean          initializerFailed;
+
+  public TimeOutCancellingSideEffect(final TestExecutionThread thread,
+      final SideEffect fallback) {
+    this(thread, fallback, GRACE_MILLIS);
+  }
+
+  TimeOutCancellingSideEffect(final TestExecutionThread thread,
+      final SideEffect fallback, final long grace) {
+    this.thread = thread;
+    this.fallback = fallback;
+    this.grace = grace;
+  }
+
+  @Override
+  public void apply() {
+    MutantCancellation.cancel();
+    final boolean stopped;
+    try {
+      stopped = this.thread.awaitAbandoned(this.grace);
+    } finally {
+      MutantCancellation.reset();
+    }
+
+    if (stopped && !this.initializerFailed) {
+      this.recovered = true;
+    } else {
+      this.fallback.apply();
+    }
+  }
+
+  /**
+   * Returns a collector for a test about to be run, through which the test's
+   * failures are checked for classes left uninitialised
+   */
+  ResultCollector watch(final ResultCollector rc) {
+    this.initializerFailed = false;
+    return new InitializerFailureCollector(rc);
+  }
+
+  boolean hasRecovered() {
+    return this.recovered;
+  }
+
+  /**
+   * @return true if a test has been stopped since the last call
+   */
+  public boolean drainRecovered() {
+    final boolean r = this.recovered;
+    this.recovered = false;
+    return r;
+  }
+
+  /**
+   * A class whose initializer throws is marked erroneous by the JVM. An
+   * exception is wrapped in an ExceptionInInitializerError, but an error such
+   * as the cancellation is thrown as is, so is recognised by passing through
+   * an initializer.
+   */
+  static boolean failedInInitializer(final Throwable t) {
+    Throwable each = t;
+    while (each != null) {
+      if (each instanceof ExceptionInInitializerError) {
+        return true;
+      }
+      for (final StackTraceElement frame : each.getStackTrace()) {
+        if (frame.getMethodName().equals("<clinit>")) {
+          return true;
+        }
+      }
+      each = each.getCause();
+    }
+    return false;
+  }
+
+  private class InitializerFailureCollector implements ResultCollector {
+
+    private final ResultCollector child;
+
+    InitializerFailureCollector(final ResultCollector child) {
+      this.child = child;
+    }
+
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+      if (failedInInitializer(t)) {
+        TimeOutCancellingSideEffect.this.initializerFailed = true;
+      }
+      this.child.notifyEnd(description, t);
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      this.child.notifyEnd(description);
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+      this.child.notifyStart(description);
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+      this.child.notifySkipped(description);
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return this.child.shouldExit();
+    }
+
+  }
+
+}
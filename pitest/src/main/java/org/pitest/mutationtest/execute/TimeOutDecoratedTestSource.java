@@ -15,29 +15,87 @@
 
 package org.pitest.mutationtest.execute;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.pitest.coverage.TestInfo;
+import org.pitest.extension.common.TestUnitDecorator;
+import org.pitest.functional.SideEffect;
+import org.pitest.functional.SideEffect2;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.BatchableTestUnit;
+import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
 public class TimeOutDecoratedTestSource {
 
-  private final Map<String, TestUnit> allTests = new HashMap<>();
-  private final TimeoutLengthStrategy timeoutStrategy;
-  private final Reporter              r;
+  private final Map<String, TestUnit>                 allTests = new HashMap<>();
+  private final Function<String, Optional<TestUnit>> createTest;
+  private final TimeoutLengthStrategy                timeoutStrategy;
+  private final Reporter                             r;
+  // shared by all tests run in this minion
+  private final TestExecutionThread                  thread = new TestExecutionThread();
+  private final Map<String, Long>                    passingExecutions = new LinkedHashMap<>();
+  private final boolean                              batchTests;
+  private final Optional<TimeOutCancellingSideEffect> cancelling;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
       final List<TestUnit> allTests, final Reporter r) {
+    this(timeoutStrategy, allTests, r, false);
+  }
+
+  /**
+   * @param batchTests
+   *          if true, tests that can be batched together are run as one unit,
+   *          placed where the first of them would have run
+   */
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final boolean batchTests) {
+    this(timeoutStrategy, allTests, name -> Optional.<TestUnit> empty(), r,
+        batchTests);
+  }
+
+  /**
+   * @param createTest
+   *          creates, when first needed, tests that are not amongst those
+   *          supplied
+   */
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests,
+      final Function<String, Optional<TestUnit>> createTest, final Reporter r,
+      final boolean batchTests) {
+    this(timeoutStrategy, allTests, createTest, r, batchTests, false);
+  }
+
+  /**
+   * @param cancelTimedOut
+   *          if true, tests that time out are first cancelled so that the
+   *          minion can continue, and the minion exits only if that fails
+   */
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests,
+      final Function<String, Optional<TestUnit>> createTest, final Reporter r,
+      final boolean batchTests, final boolean cancelTimedOut) {
     this.timeoutStrategy = timeoutStrategy;
+    this.createTest = createTest;
     mapTests(allTests);
     this.r = r;
+    this.batchTests = batchTests;
+    this.cancelling = cancelTimedOut ? Optional.of(
+        new TimeOutCancellingSideEffect(this.thread,
+            new TimeOutSystemExitSideEffect(r))) : Optional.empty();
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -46,23 +104,151 @@ public class TimeOutDecoratedTestSource {
     }
   }
 
+  private TestUnit testFor(final String name) {
+    TestUnit tu = this.allTests.get(name);
+    if (tu == null) {
+      tu = this.createTest.apply(name).orElse(null);
+      if (tu != null) {
+        this.allTests.put(name, tu);
+      }
+    }
+    return tu;
+  }
+
+  /**
+   * @return time in nanoseconds taken by each test that passed since the last
+   *         call
+   */
+  public Map<String, Long> drainPassingExecutions() {
+    final Map<String, Long> executions = new LinkedHashMap<>(
+        this.passingExecutions);
+    this.passingExecutions.clear();
+    return executions;
+  }
+
+  /**
+   * @return true if a test was cancelled after timing out since the last
+   *         call, leaving the minion able to continue
+   */
+  public boolean drainCancelledTimeOut() {
+    return this.cancelling.map(c -> c.drainRecovered()).orElse(false);
+  }
+
   public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
-    return testsInOrder.stream().flatMap(testToTestUnit()).collect(Collectors.toList());
+    final List<TestUnit> units;
+    if (this.batchTests) {
+      units = batchTests(testsInOrder);
+    } else {
+      units = testsInOrder.stream().flatMap(testToTestUnit())
+          .collect(Collectors.toList());
+    }
+    if (this.cancelling.isPresent()) {
+      return units.stream().map(u -> new SkippedAfterTimeOut(u,
+          this.cancelling.get())).collect(Collectors.toList());
+    }
+    return units;
   }
 
   private Function<TestInfo, Stream<TestUnit>> testToTestUnit() {
     return a -> {
-      final TestUnit tu = TimeOutDecoratedTestSource.this.allTests.get(a
-          .getName());
+      final TestUnit tu = testFor(a.getName());
       if (tu != null) {
         return Stream
             .<TestUnit> of(new MutationTimeoutDecorator(tu,
-                new TimeOutSystemExitSideEffect(
-                    TimeOutDecoratedTestSource.this.r),
-                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+                timeOutSideEffect(),
+                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime(),
+                    TimeOutDecoratedTestSource.this.thread, recordPass()));
       }
       return Stream.empty();
     };
   }
 
+  private List<TestUnit> batchTests(final List<TestInfo> testsInOrder) {
+    final List<List<TestInfo>> batches = new ArrayList<>();
+    for (final TestInfo each : testsInOrder) {
+      final TestUnit tu = testFor(each.getName());
+      if (tu != null) {
+        batchFor(batches, tu).add(each);
+      }
+    }
+
+    final List<TestUnit> units = new ArrayList<>();
+    for (final List<TestInfo> each : batches) {
+      if (each.size() == 1) {
+        units.addAll(testToTestUnit().apply(each.get(0))
+            .collect(Collectors.toList()));
+      } else {
+        units.add(decorateBatch(each));
+      }
+    }
+    return units;
+  }
+
+  private List<TestInfo> batchFor(final List<List<TestInfo>> batches,
+      final TestUnit tu) {
+    for (final List<TestInfo> each : batches) {
+      final TestUnit first = this.allTests.get(each.get(0).getName());
+      if ((first instanceof BatchableTestUnit)
+          && ((BatchableTestUnit) first).canBatchWith(tu)) {
+        return each;
+      }
+    }
+    final List<TestInfo> batch = new ArrayList<>();
+    batches.add(batch);
+    return batch;
+  }
+
+  private TestUnit decorateBatch(final List<TestInfo> batch) {
+    final BatchableTestUnit first = (BatchableTestUnit) this.allTests
+        .get(batch.get(0).getName());
+    final List<TestUnit> others = new ArrayList<>();
+    final Map<String, Long> executionTimes = new LinkedHashMap<>();
+    for (final TestInfo each : batch) {
+      executionTimes.put(each.getName(), (long) each.getTime());
+      if (each != batch.get(0)) {
+        others.add(this.allTests.get(each.getName()));
+      }
+    }
+    return new MutationTimeoutDecorator(first.batchWith(others),
+        timeOutSideEffect(), this.timeoutStrategy, executionTimes,
+        this.thread, recordPass());
+  }
+
+  private SideEffect timeOutSideEffect() {
+    if (this.cancelling.isPresent()) {
+      return this.cancelling.get();
+    }
+    return new TimeOutSystemExitSideEffect(this.r);
+  }
+
+  private SideEffect2<String, Long> recordPass() {
+    return (test, nanos) -> {
+      this.timeoutStrategy.recordExecution(test, nanos);
+      this.passingExecutions.put(test, nanos);
+    };
+  }
+
+  /**
+   * Once a test has been cancelled the mutant is known to time out, so the
+   * remaining tests are not run against it
+   */
+  private static class SkippedAfterTimeOut extends TestUnitDecorator {
+
+    private final TimeOutCancellingSideEffect cancelling;
+
+    SkippedAfterTimeOut(final TestUnit child,
+        final TimeOutCancellingSideEffect cancelling) {
+      super(child);
+      this.cancelling = cancelling;
+    }
+
+    @Override
+    public void execute(final ResultCollector rc) {
+      if (!this.cancelling.hasRecovered()) {
+        child().execute(this.cancelling.watch(rc));
+      }
+    }
+
+  }
+
 }
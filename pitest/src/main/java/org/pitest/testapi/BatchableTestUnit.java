@@ -0,0 +1,23 @@
+package org.pitest.testapi;
+
+import java.util.List;
+
+/**
+ * A test unit that can be combined with compatible units, so that they are
+ * run against a mutant by a single invocation of the test framework.
+ */
+public interface BatchableTestUnit extends TestUnit {
+
+  /**
+   * @return true if the other unit can be run in the same batch as this one
+   */
+  boolean canBatchWith(TestUnit other);
+
+  /**
+   * Creates a unit that runs this unit and the others, all of which this unit
+   * can batch with. Results are reported against the description of each
+   * unit in the batch, and the batch stops at the first failure.
+   */
+  TestUnit batchWith(List<TestUnit> others);
+
+}
@@ -0,0 +1,18 @@
+package org.pitest.testapi;
+
+import java.util.Optional;
+
+/**
+ * A test unit that can describe how to create itself, so that a unit found in
+ * one JVM can be created in another without finding the tests of its class
+ * again.
+ */
+public interface RecreatableTestUnit extends TestUnit {
+
+  /**
+   * @return a descriptor from which the unit can be created, or empty if the
+   *         unit cannot be described
+   */
+  Optional<TestUnitDescriptor> descriptor();
+
+}
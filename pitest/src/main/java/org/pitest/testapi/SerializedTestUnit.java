@@ -0,0 +1,72 @@
+package org.pitest.testapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * A test unit descriptor in serialised form, labelled with the name and class
+ * of the test it creates.
+ *
+ * The parent process only forwards these from the coverage minion to mutation
+ * testing minions. It never deserialises the descriptor, so never loads the
+ * test framework types a descriptor may hold, which need not be on its
+ * classpath.
+ */
+public final class SerializedTestUnit implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String      name;
+  private final String      testClass;
+  private final byte[]      descriptor;
+
+  public SerializedTestUnit(final String name, final String testClass,
+      final byte[] descriptor) {
+    this.name = name;
+    this.testClass = testClass;
+    this.descriptor = descriptor;
+  }
+
+  public static SerializedTestUnit serialize(
+      final TestUnitDescriptor descriptor) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    new SafeDataOutputStream(bos).write(descriptor);
+    final Description description = descriptor.getDescription();
+    return new SerializedTestUnit(description.getQualifiedName(),
+        description.getFirstTestClass(), bos.toByteArray());
+  }
+
+  /**
+   * Recreates the descriptor. Must only be called within a minion, where the
+   * test framework is on the classpath.
+   */
+  public TestUnitDescriptor deserialize() {
+    return new SafeDataInputStream(new ByteArrayInputStream(this.descriptor))
+        .read(TestUnitDescriptor.class);
+  }
+
+  /**
+   * @return the qualified name of the test the descriptor creates
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  public String getTestClass() {
+    return this.testClass;
+  }
+
+  public byte[] getDescriptor() {
+    return this.descriptor;
+  }
+
+  @Override
+  public String toString() {
+    return "SerializedTestUnit [name=" + this.name + "]";
+  }
+
+}
@@ -3,6 +3,7 @@ package org.pitest.testapi;
 import java.util.Collection;
 
 import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.plugin.ClientClasspathPlugin;
 
 public interface TestPluginFactory extends ClientClasspathPlugin {
@@ -10,6 +11,17 @@ public interface TestPluginFactory extends ClientClasspathPlugin {
   Configuration createTestFrameworkConfiguration(TestGroupConfig config,
       ClassByteArraySource source, Collection<String> excludedRunners, Collection<String> includedTestMethods);
 
+  /**
+   * Creates a configuration from the full set of test plugin arguments.
+   * Plugins that make use of arguments not passed to the method above should
+   * override this.
+   */
+  default Configuration createTestFrameworkConfiguration(
+      TestPluginArguments arguments, ClassByteArraySource source) {
+    return createTestFrameworkConfiguration(arguments.getGroupConfig(), source,
+        arguments.getExcludedRunners(), arguments.getIncludedTestMethods());
+  }
+
   String name();
 
 }
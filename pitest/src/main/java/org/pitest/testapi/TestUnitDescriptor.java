@@ -0,0 +1,24 @@
+package org.pitest.testapi;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+/**
+ * Describes a test unit in a form that can be sent to another JVM and used
+ * there to create the unit.
+ */
+public interface TestUnitDescriptor extends Serializable {
+
+  /**
+   * @return the description of the unit the descriptor creates
+   */
+  Description getDescription();
+
+  /**
+   * Creates the unit, loading its test class from the supplied loader.
+   *
+   * @return the unit, or empty if it could not be created
+   */
+  Optional<TestUnit> create(ClassLoader loader);
+
+}
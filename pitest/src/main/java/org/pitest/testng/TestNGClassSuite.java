@@ -0,0 +1,60 @@
+package org.pitest.testng;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.testapi.TestGroupConfig;
+import org.testng.xml.XmlSuite;
+
+/**
+ * The suite for running the tests of one class, built when first needed and
+ * then kept, so that it is not rebuilt each time tests of the class are run.
+ */
+class TestNGClassSuite {
+
+  // suites for units created from descriptors, shared so that units for
+  // methods of the same class can still be batched
+  private static final Map<Class<?>, TestNGClassSuite> SHARED = new HashMap<>();
+
+  private final Class<?>           clazz;
+  private final TestGroupConfig    config;
+  private final Collection<String> includedTestMethods;
+
+  private XmlSuite                 suite;
+
+  TestNGClassSuite(final Class<?> clazz, final TestGroupConfig config,
+      final Collection<String> includedTestMethods) {
+    this.clazz = clazz;
+    this.config = config;
+    this.includedTestMethods = includedTestMethods;
+  }
+
+  static synchronized TestNGClassSuite shared(final Class<?> clazz,
+      final TestGroupConfig config,
+      final Collection<String> includedTestMethods) {
+    return SHARED.computeIfAbsent(clazz, c -> new TestNGClassSuite(c, config,
+        includedTestMethods));
+  }
+
+  Class<?> testClass() {
+    return this.clazz;
+  }
+
+  TestGroupConfig config() {
+    return this.config;
+  }
+
+  Collection<String> includedTestMethods() {
+    return this.includedTestMethods;
+  }
+
+  synchronized XmlSuite suite() {
+    if (this.suite == null) {
+      this.suite = TestNGTestUnit.createSuite(this.clazz, this.config,
+          this.includedTestMethods);
+    }
+    return this.suite;
+  }
+
+}
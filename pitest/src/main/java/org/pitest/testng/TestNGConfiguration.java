@@ -28,15 +28,27 @@ public class TestNGConfiguration implements Configuration {
 
   private final TestGroupConfig config;
   private final Collection<String> includedTestMethods;
+  private final boolean methodUnits;
 
   public TestNGConfiguration(final TestGroupConfig config, final Collection<String> includedTestMethods) {
+    this(config, includedTestMethods, false);
+  }
+
+  /**
+   * @param methodUnits
+   *          if true, a test unit is created for each test method rather than
+   *          each class
+   */
+  public TestNGConfiguration(final TestGroupConfig config, final Collection<String> includedTestMethods,
+      final boolean methodUnits) {
     this.config = config;
     this.includedTestMethods = includedTestMethods;
+    this.methodUnits = methodUnits;
   }
 
   @Override
   public TestUnitFinder testUnitFinder() {
-    return new TestNGTestUnitFinder(this.config, this.includedTestMethods);
+    return new TestNGTestUnitFinder(this.config, this.includedTestMethods, this.methodUnits);
   }
 
   @Override
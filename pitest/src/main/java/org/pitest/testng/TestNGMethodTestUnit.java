@@ -0,0 +1,110 @@
+package org.pitest.testng;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.BatchableTestUnit;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.RecreatableTestUnit;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
+import org.testng.ITestContext;
+
+/**
+ * Runs one or more methods of a test class via TestNG.
+ *
+ * The methods are selected from a suite prepared once for the class, rather
+ * than a suite built for each run, so units for single methods do not pay the
+ * cost of building a suite each time they are run against a mutant. Methods
+ * of the same class can be batched so that they are run by a single
+ * invocation of TestNG.
+ */
+public class TestNGMethodTestUnit extends AbstractTestUnit implements
+    BatchableTestUnit, RecreatableTestUnit {
+
+  private final TestNGClassSuite suite;
+  private final Set<String>      methods;
+
+  TestNGMethodTestUnit(final TestNGClassSuite suite, final String method) {
+    this(suite, Collections.singleton(method), new Description(method,
+        suite.testClass()));
+  }
+
+  private TestNGMethodTestUnit(final TestNGClassSuite suite,
+      final Set<String> methods, final Description description) {
+    super(description);
+    this.suite = suite;
+    this.methods = methods;
+  }
+
+  @Override
+  public void execute(final ResultCollector rc) {
+    TestNGTestUnit.run(this.suite.suite(), new MethodAdapter(
+        this.suite.testClass(), getDescription(), rc), this.methods);
+  }
+
+  @Override
+  public boolean canBatchWith(final TestUnit other) {
+    return (other instanceof TestNGMethodTestUnit)
+        && (((TestNGMethodTestUnit) other).suite == this.suite);
+  }
+
+  @Override
+  public TestUnit batchWith(final List<TestUnit> others) {
+    final Set<String> batch = new LinkedHashSet<>(this.methods);
+    for (final TestUnit each : others) {
+      batch.addAll(((TestNGMethodTestUnit) each).methods);
+    }
+    return new TestNGMethodTestUnit(this.suite, batch, new Description(
+        this.suite.testClass().getName(), this.suite.testClass()));
+  }
+
+  /**
+   * Only units for single methods can be described, as batches are made in
+   * the minion that runs them
+   */
+  @Override
+  public Optional<TestUnitDescriptor> descriptor() {
+    if (this.methods.size() != 1) {
+      return Optional.empty();
+    }
+    return Optional.<TestUnitDescriptor> of(new TestNGTestUnitDescriptor(
+        getDescription(), this.suite.config(),
+        this.suite.includedTestMethods(), this.methods.iterator().next()));
+  }
+
+  @Override
+  public String toString() {
+    return "TestNGMethodTestUnit [clazz=" + this.suite.testClass()
+        + ", methods=" + this.methods + "]";
+  }
+
+  /**
+   * Reports only the results of each method, as the unit describes its
+   * methods rather than the class
+   */
+  private static class MethodAdapter extends TestNGAdapter {
+
+    MethodAdapter(final Class<?> clazz, final Description d,
+        final ResultCollector rc) {
+      super(clazz, d, rc);
+    }
+
+    @Override
+    public void onStart(final ITestContext context) {
+
+    }
+
+    @Override
+    public void onFinish(final ITestContext context) {
+
+    }
+
+  }
+
+}
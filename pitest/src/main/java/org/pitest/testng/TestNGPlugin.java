@@ -3,6 +3,7 @@ package org.pitest.testng;
 import java.util.Collection;
 
 import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.testapi.Configuration;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.testapi.TestPluginFactory;
@@ -20,6 +21,13 @@ public class TestNGPlugin implements TestPluginFactory {
     return new TestNGConfiguration(config, includedTestMethods);
   }
 
+  @Override
+  public Configuration createTestFrameworkConfiguration(
+      TestPluginArguments arguments, ClassByteArraySource source) {
+    return new TestNGConfiguration(arguments.getGroupConfig(),
+        arguments.getIncludedTestMethods(), arguments.isBatchTestsByClass());
+  }
+
   @Override
   public String name() {
     return "testng";
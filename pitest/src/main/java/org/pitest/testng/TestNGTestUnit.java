@@ -17,15 +17,23 @@ package org.pitest.testng;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.RecreatableTestUnit;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnitDescriptor;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.SkipException;
 import org.testng.TestNG;
@@ -35,16 +43,22 @@ import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
 
 /**
- * Runs tests within a class via TestNG. It would be possible to create a test
- * unit per method using TestNG's filters but this is about ten times slower and
- * probably more than negates any advantage from more finely targeting the
- * tests.
+ * Runs tests within a class via TestNG. Creating a test unit per method using
+ * TestNG's filters is about ten times slower, as the suite must be rebuilt for
+ * each method, and probably more than negates any advantage from more finely
+ * targeting the tests. See {@link TestNGMethodTestUnit} for units that select
+ * methods from a suite prepared once per class.
  */
-public class TestNGTestUnit extends AbstractTestUnit {
+public class TestNGTestUnit extends AbstractTestUnit implements
+    RecreatableTestUnit {
 
   // needs to be static as jmockit assumes only a single instance per jvm
   private static final TestNG                TESTNG = new TestNG(false);
   private static final MutableTestListenerWrapper LISTENER = new MutableTestListenerWrapper();
+  private static final MethodSelector        SELECTOR = new MethodSelector();
+  // installed only once methods are first selected, as it replaces the
+  // interceptor TestNG would otherwise use to order methods
+  private static boolean                     selectorInstalled = false;
 
   static {
     TESTNG.addListener(LISTENER);
@@ -72,50 +86,74 @@ public class TestNGTestUnit extends AbstractTestUnit {
     }
   }
 
-
+  @Override
+  public Optional<TestUnitDescriptor> descriptor() {
+    return Optional.<TestUnitDescriptor> of(new TestNGTestUnitDescriptor(
+        getDescription(), this.config, this.includedTestMethods, null));
+  }
 
   private void executeInCurrentLoader(final ResultCollector rc) {
     final TestNGAdapter listener = new TestNGAdapter(this.clazz,
         this.getDescription(), rc);
 
-    final XmlSuite suite = createSuite();
+    run(createSuite(this.clazz, this.config, this.includedTestMethods),
+        listener, Collections.<String> emptySet());
+  }
 
-    TESTNG.setDefaultSuiteName(suite.getName());
-    TESTNG.setXmlSuites(Collections.singletonList(suite));
+  /**
+   * Runs a suite with the single TestNG instance.
+   *
+   * @param methods
+   *          names of the methods to run, or empty to run all methods in the
+   *          suite
+   */
+  static void run(final XmlSuite suite, final TestNGAdapter listener,
+      final Set<String> methods) {
+    synchronized (TESTNG) {
+      TESTNG.setDefaultSuiteName(suite.getName());
+      TESTNG.setXmlSuites(Collections.singletonList(suite));
 
-    LISTENER.setChild(listener);
-    try {
-      TESTNG.run();
-    } finally {
-      // yes this is hideous
-      LISTENER.setChild(null);
+      LISTENER.setChild(listener);
+      if (!methods.isEmpty() && !selectorInstalled) {
+        TESTNG.setMethodInterceptor(SELECTOR);
+        selectorInstalled = true;
+      }
+      SELECTOR.select(methods);
+      try {
+        TESTNG.run();
+      } finally {
+        // yes this is hideous
+        LISTENER.setChild(null);
+        SELECTOR.select(Collections.<String> emptySet());
+      }
     }
   }
 
-  private XmlSuite createSuite() {
+  static XmlSuite createSuite(final Class<?> clazz,
+      final TestGroupConfig config, final Collection<String> includedTestMethods) {
     final XmlSuite suite = new XmlSuite();
-    suite.setName(this.clazz.getName());
+    suite.setName(clazz.getName());
     suite.setSkipFailedInvocationCounts(true);
     final XmlTest test = new XmlTest(suite);
-    test.setName(this.clazz.getName());
-    final XmlClass xclass = new XmlClass(this.clazz.getName());
+    test.setName(clazz.getName());
+    final XmlClass xclass = new XmlClass(clazz.getName());
     test.setXmlClasses(Collections.singletonList(xclass));
 
-    if (!this.includedTestMethods.isEmpty()) {
+    if (!includedTestMethods.isEmpty()) {
       final List<XmlInclude> xmlIncludedTestMethods = new ArrayList<>();
-      for (final String includedTestMethod : this.includedTestMethods) {
+      for (final String includedTestMethod : includedTestMethods) {
         final XmlInclude includedMethod = new XmlInclude(includedTestMethod);
         xmlIncludedTestMethods.add(includedMethod);
       }
       xclass.setIncludedMethods(xmlIncludedTestMethods);
     }
 
-    if (!this.config.getExcludedGroups().isEmpty()) {
-      suite.setExcludedGroups(this.config.getExcludedGroups());
+    if (!config.getExcludedGroups().isEmpty()) {
+      suite.setExcludedGroups(config.getExcludedGroups());
     }
 
-    if (!this.config.getIncludedGroups().isEmpty()) {
-      suite.setIncludedGroups(this.config.getIncludedGroups());
+    if (!config.getIncludedGroups().isEmpty()) {
+      suite.setIncludedGroups(config.getIncludedGroups());
     }
 
     return suite;
@@ -192,3 +230,71 @@ class MutableTestListenerWrapper implements ITestListener, FailureTracker {
     this.child.onFinish(context);
   }
 }
+
+/**
+ * Restricts a run to the selected methods, along with any methods and groups
+ * they depend on. All methods are run if none are selected.
+ *
+ * TestNG first passes every method of the run to the interceptor, then later
+ * just those free to run at each point, so which methods are kept is decided
+ * on the first call after the selection is made.
+ */
+class MethodSelector implements IMethodInterceptor {
+
+  private Set<String> selected = Collections.emptySet();
+  private Set<String> kept;
+
+  void select(Set<String> methods) {
+    this.selected = methods;
+    this.kept = null;
+  }
+
+  @Override
+  public List<IMethodInstance> intercept(List<IMethodInstance> methods,
+      ITestContext context) {
+    if (this.selected.isEmpty()) {
+      return methods;
+    }
+    if (this.kept == null) {
+      this.kept = withDependencies(methods);
+    }
+    final List<IMethodInstance> instances = new ArrayList<>();
+    for (final IMethodInstance each : methods) {
+      if (this.kept.contains(each.getMethod().getMethodName())) {
+        instances.add(each);
+      }
+    }
+    return instances;
+  }
+
+  private Set<String> withDependencies(List<IMethodInstance> methods) {
+    final Set<String> names = new HashSet<>(this.selected);
+    final Set<String> groups = new HashSet<>();
+    boolean added = true;
+    while (added) {
+      added = false;
+      for (final IMethodInstance each : methods) {
+        final ITestNGMethod method = each.getMethod();
+        if (names.contains(method.getMethodName())) {
+          for (final String dependency : method.getMethodsDependedUpon()) {
+            added |= names.add(dependency.substring(dependency.lastIndexOf('.') + 1));
+          }
+          Collections.addAll(groups, method.getGroupsDependedUpon());
+        } else if (inAnyOf(method, groups)) {
+          added |= names.add(method.getMethodName());
+        }
+      }
+    }
+    return names;
+  }
+
+  private static boolean inAnyOf(ITestNGMethod method, Set<String> groups) {
+    for (final String each : method.getGroups()) {
+      if (groups.contains(each)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,59 @@
+package org.pitest.testng;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
+
+/**
+ * Describes a unit that runs a whole class, or a single method of it, via
+ * TestNG.
+ */
+class TestNGTestUnitDescriptor implements TestUnitDescriptor {
+
+  private static final long       serialVersionUID = 1L;
+
+  private final Description       description;
+  private final TestGroupConfig   config;
+  private final ArrayList<String> includedTestMethods;
+  private final String            method;
+
+  /**
+   * @param method
+   *          the method run by the unit, or null if it runs the whole class
+   */
+  TestNGTestUnitDescriptor(final Description description,
+      final TestGroupConfig config,
+      final Collection<String> includedTestMethods, final String method) {
+    this.description = description;
+    this.config = config;
+    this.includedTestMethods = new ArrayList<>(includedTestMethods);
+    this.method = method;
+  }
+
+  @Override
+  public Description getDescription() {
+    return this.description;
+  }
+
+  @Override
+  public Optional<TestUnit> create(final ClassLoader loader) {
+    return ClassName.nameToClass(loader)
+        .apply(ClassName.fromString(this.description.getFirstTestClass()))
+        .findFirst().map(this::createUnit);
+  }
+
+  private TestUnit createUnit(final Class<?> clazz) {
+    if (this.method == null) {
+      return new TestNGTestUnit(clazz, this.config, this.includedTestMethods);
+    }
+    return new TestNGMethodTestUnit(TestNGClassSuite.shared(clazz,
+        this.config, this.includedTestMethods), this.method);
+  }
+
+}
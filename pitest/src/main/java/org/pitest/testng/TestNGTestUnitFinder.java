@@ -14,10 +14,16 @@
  */
 package org.pitest.testng;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.pitest.functional.FCollection;
 import org.pitest.reflection.IsAnnotatedWith;
@@ -28,23 +34,93 @@ import org.pitest.testapi.TestUnitFinder;
 
 public class TestNGTestUnitFinder implements TestUnitFinder {
 
+  // annotations marking public methods of a test class that are not tests
+  private static final List<Class<?>> CONFIGURATION = Arrays.<Class<?>> asList(
+      org.testng.annotations.BeforeMethod.class, org.testng.annotations.AfterMethod.class,
+      org.testng.annotations.BeforeClass.class, org.testng.annotations.AfterClass.class,
+      org.testng.annotations.BeforeTest.class, org.testng.annotations.AfterTest.class,
+      org.testng.annotations.BeforeSuite.class, org.testng.annotations.AfterSuite.class,
+      org.testng.annotations.BeforeGroups.class, org.testng.annotations.AfterGroups.class,
+      org.testng.annotations.DataProvider.class, org.testng.annotations.Factory.class);
+
   private final TestGroupConfig config;
   private final Collection<String> includedTestMethods;
+  private final boolean methodUnits;
 
   public TestNGTestUnitFinder(final TestGroupConfig config, final Collection<String> includedTestMethods) {
+    this(config, includedTestMethods, false);
+  }
+
+  /**
+   * @param methodUnits
+   *          if true, a unit is created for each test method rather than each
+   *          class
+   */
+  public TestNGTestUnitFinder(final TestGroupConfig config, final Collection<String> includedTestMethods,
+      final boolean methodUnits) {
     this.config = config;
     this.includedTestMethods = includedTestMethods;
+    this.methodUnits = methodUnits;
   }
 
   @Override
   public List<TestUnit> findTestUnits(final Class<?> clazz) {
     if (!isAbstract(clazz) && (hasClassAnnotation(clazz) || hasMethodAnnotation(clazz))) {
+      if (this.methodUnits) {
+        final List<TestUnit> units = findMethodUnits(clazz);
+        if (!units.isEmpty()) {
+          return units;
+        }
+      }
       return Collections.<TestUnit> singletonList(new TestNGTestUnit(clazz, this.config, this.includedTestMethods));
     }
     return Collections.emptyList();
 
   }
 
+  private List<TestUnit> findMethodUnits(final Class<?> clazz) {
+    // all units of the class share one suite
+    final TestNGClassSuite suite = new TestNGClassSuite(clazz, this.config, this.includedTestMethods);
+    final List<TestUnit> units = new ArrayList<>();
+    for (final String each : testMethodNames(clazz)) {
+      if (this.includedTestMethods.isEmpty() || this.includedTestMethods.contains(each)) {
+        units.add(new TestNGMethodTestUnit(suite, each));
+      }
+    }
+    return units;
+  }
+
+  private static Set<String> testMethodNames(final Class<?> clazz) {
+    final Set<String> names = new LinkedHashSet<>();
+    for (final Method each : clazz.getMethods()) {
+      if (isTestMethod(clazz, each)) {
+        names.add(each.getName());
+      }
+    }
+    return names;
+  }
+
+  private static boolean isTestMethod(final Class<?> clazz, final Method method) {
+    if (method.isAnnotationPresent(org.testng.annotations.Test.class)) {
+      return true;
+    }
+    // a class level annotation makes each public method a test
+    return (method.getDeclaringClass() != Object.class)
+        && !Modifier.isStatic(method.getModifiers())
+        && (clazz.isAnnotationPresent(org.testng.annotations.Test.class)
+            || method.getDeclaringClass().isAnnotationPresent(org.testng.annotations.Test.class))
+        && !isConfiguration(method);
+  }
+
+  private static boolean isConfiguration(final Method method) {
+    for (final Annotation each : method.getAnnotations()) {
+      if (CONFIGURATION.contains(each.annotationType())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private boolean hasClassAnnotation(final Class<?> clazz) {
     return clazz.getAnnotation(org.testng.annotations.Test.class) != null;
 
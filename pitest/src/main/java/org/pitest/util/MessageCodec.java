@@ -0,0 +1,150 @@
+package org.pitest.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
+
+/**
+ * Binary encoding for the messages sent from minions to the main process
+ * once per test or mutation. Avoids the cost of java serialization, and
+ * interns class, method and test names so that each is sent only once per
+ * connection.
+ *
+ * Each message starts with a version byte so that a mismatched minion
+ * fails fast rather than producing garbage.
+ */
+public final class MessageCodec {
+
+  public static final byte VERSION = 1;
+
+  private MessageCodec() {
+  }
+
+  public static void writeDescription(final SafeDataOutputStream dos,
+      final Description description) {
+    dos.writeByte(VERSION);
+    dos.writeInternedString(description.getFirstTestClass());
+    dos.writeInternedString(description.getName());
+  }
+
+  public static Description readDescription(final SafeDataInputStream dis) {
+    checkVersion(dis);
+    final String testClass = dis.readInternedString();
+    final String name = dis.readInternedString();
+    return new Description(name, testClass);
+  }
+
+  public static void writeMutationIdentifier(final SafeDataOutputStream dos,
+      final MutationIdentifier id) {
+    dos.writeByte(VERSION);
+    final Location location = id.getLocation();
+    dos.writeInternedString(location.getClassName().asInternalName());
+    dos.writeInternedString(location.getMethodName().name());
+    dos.writeInternedString(location.getMethodDesc());
+    dos.writeInternedString(id.getMutator());
+    final List<Integer> indexes = id.getIndexes();
+    dos.writeVarInt(indexes.size());
+    for (final int each : indexes) {
+      dos.writeVarInt(each);
+    }
+  }
+
+  public static MutationIdentifier readMutationIdentifier(
+      final SafeDataInputStream dis) {
+    checkVersion(dis);
+    final ClassName clazz = ClassName.fromString(dis.readInternedString());
+    final MethodName method = MethodName.fromString(dis.readInternedString());
+    final String desc = dis.readInternedString();
+    final String mutator = dis.readInternedString();
+    final int count = dis.readVarInt();
+    final List<Integer> indexes = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      indexes.add(dis.readVarInt());
+    }
+    return new MutationIdentifier(Location.location(clazz, method, desc),
+        indexes, mutator);
+  }
+
+  public static void writeStatusTestPair(final SafeDataOutputStream dos,
+      final MutationStatusTestPair pair) {
+    dos.writeByte(VERSION);
+    dos.writeVarInt(pair.getNumberOfTestsRun());
+    dos.writeVarInt(pair.getStatus().ordinal());
+    writeNames(dos, pair.getKillingTests());
+    writeNames(dos, pair.getSucceedingTests());
+  }
+
+  public static MutationStatusTestPair readStatusTestPair(
+      final SafeDataInputStream dis) {
+    checkVersion(dis);
+    final int testsRun = dis.readVarInt();
+    final DetectionStatus status = DetectionStatus.values()[dis.readVarInt()];
+    final List<String> killing = readNames(dis);
+    final List<String> succeeding = readNames(dis);
+    return new MutationStatusTestPair(testsRun, status, killing, succeeding);
+  }
+
+  public static void writeTimings(final SafeDataOutputStream dos,
+      final Map<String, Long> nanosByTest) {
+    dos.writeByte(VERSION);
+    dos.writeVarInt(nanosByTest.size());
+    for (final Entry<String, Long> each : nanosByTest.entrySet()) {
+      dos.writeInternedString(each.getKey());
+      dos.writeLong(each.getValue());
+    }
+  }
+
+  public static Map<String, Long> readTimings(final SafeDataInputStream dis) {
+    checkVersion(dis);
+    final int count = dis.readVarInt();
+    final Map<String, Long> nanosByTest = new LinkedHashMap<>();
+    for (int i = 0; i != count; i++) {
+      final String test = dis.readInternedString();
+      nanosByTest.put(test, dis.readLong());
+    }
+    return nanosByTest;
+  }
+
+  private static void writeNames(final SafeDataOutputStream dos,
+      final List<String> names) {
+    if (names == null) {
+      dos.writeVarInt(0);
+      return;
+    }
+    dos.writeVarInt(names.size() + 1);
+    for (final String each : names) {
+      dos.writeInternedString(each);
+    }
+  }
+
+  private static List<String> readNames(final SafeDataInputStream dis) {
+    final int count = dis.readVarInt() - 1;
+    if (count < 0) {
+      return null;
+    }
+    final List<String> names = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      names.add(dis.readInternedString());
+    }
+    return names;
+  }
+
+  private static void checkVersion(final SafeDataInputStream dis) {
+    final byte version = dis.readByte();
+    if (version != VERSION) {
+      throw new PitError("Unsupported message version " + version
+          + ". Minion and main process are running different versions of pitest.");
+    }
+  }
+
+}
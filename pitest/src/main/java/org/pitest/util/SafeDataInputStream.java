@@ -18,16 +18,35 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InvalidClassException;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 
 public class SafeDataInputStream {
 
   private final DataInputStream dis;
+  private final int             maxLength;
+
+  private final List<String> interned = new ArrayList<>();
 
   public SafeDataInputStream(final InputStream is) {
+    this(is, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxLength
+   *          largest number of bytes a single string or object may take, so
+   *          that a stream from an untrusted source cannot claim a length that
+   *          exhausts memory
+   */
+  public SafeDataInputStream(final InputStream is, final int maxLength) {
     this.dis = new DataInputStream(is);
+    this.maxLength = maxLength;
   }
 
   public int readInt() {
@@ -46,9 +65,29 @@ public class SafeDataInputStream {
     }
   }
 
+  public String readInternedString() {
+    final int index = readVarInt();
+    if (index == 0) {
+      return null;
+    }
+    if (index == 1) {
+      final String str = readString();
+      this.interned.add(str);
+      return str;
+    }
+    if ((index - 2) >= this.interned.size()) {
+      throw new PitError("Unknown interned string " + (index - 2));
+    }
+    return this.interned.get(index - 2);
+  }
+
   public byte[] readBytes() {
     try {
       final int length = this.dis.readInt();
+      if ((length < 0) || (length > this.maxLength)) {
+        throw new PitError("Refused to read " + length
+            + " bytes, limit is " + this.maxLength);
+      }
       final byte[] data = new byte[length];
       this.dis.readFully(data);
       return data;
@@ -57,10 +96,20 @@ public class SafeDataInputStream {
     }
   }
 
-  @SuppressWarnings("unchecked")
   public <T extends Serializable> T read(final Class<T> type) {
+    return read(type, c -> true);
+  }
+
+  /**
+   * Reads an object, refusing to create any class whose name is not allowed,
+   * so that objects from an untrusted source cannot run code during
+   * deserialization
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Serializable> T read(final Class<T> type,
+      final Predicate<String> allowedClasses) {
     try {
-      return (T) deserialize(readBytes());
+      return (T) deserialize(readBytes(), allowedClasses);
     } catch (final IOException e) {
       throw Unchecked.translateCheckedException(e);
     }
@@ -90,6 +139,22 @@ public class SafeDataInputStream {
     }
   }
 
+  public int readVarInt() {
+    try {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = this.dis.readByte();
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   public long readLong() {
     try {
       return this.dis.readLong();
@@ -98,11 +163,12 @@ public class SafeDataInputStream {
     }
   }
 
-  private Object deserialize(byte[] bytes) throws IOException {
+  private Object deserialize(byte[] bytes,
+      final Predicate<String> allowedClasses) throws IOException {
     final ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
     ObjectInput in = null;
     try {
-      in = new ObjectInputStream(bis);
+      in = new FilteringObjectInputStream(bis, allowedClasses);
       return in.readObject();
     } catch (final ClassNotFoundException e) {
       throw Unchecked.translateCheckedException(e);
@@ -113,4 +179,37 @@ public class SafeDataInputStream {
     }
   }
 
+  private static class FilteringObjectInputStream extends ObjectInputStream {
+
+    private final Predicate<String> allowedClasses;
+
+    FilteringObjectInputStream(final InputStream in,
+        final Predicate<String> allowedClasses) throws IOException {
+      super(in);
+      this.allowedClasses = allowedClasses;
+    }
+
+    @Override
+    protected Class<?> resolveClass(final ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      if (!this.allowedClasses.test(desc.getName())) {
+        throw new InvalidClassException(desc.getName(),
+            "not allowed in this stream");
+      }
+      return super.resolveClass(desc);
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(final String[] interfaces)
+        throws IOException, ClassNotFoundException {
+      for (final String each : interfaces) {
+        if (!this.allowedClasses.test(each)) {
+          throw new InvalidClassException(each, "not allowed in this stream");
+        }
+      }
+      return super.resolveProxyClass(interfaces);
+    }
+
+  }
+
 }
@@ -21,11 +21,15 @@ import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SafeDataOutputStream {
 
   private final DataOutputStream dos;
 
+  private final Map<String, Integer> interned = new HashMap<>();
+
   public SafeDataOutputStream(final OutputStream os) {
     this.dos = new DataOutputStream(os);
   }
@@ -47,6 +51,25 @@ public class SafeDataOutputStream {
     }
   }
 
+  /**
+   * Writes a possibly null string, sending its content only the first time it
+   * is seen on this stream. Later writes of an equal string send only its
+   * index. Must be read with {@link SafeDataInputStream#readInternedString}.
+   */
+  public void writeInternedString(final String str) {
+    if (str == null) {
+      writeVarInt(0);
+      return;
+    }
+    final Integer index = this.interned.get(str);
+    if (index != null) {
+      writeVarInt(index + 2);
+    } else {
+      this.interned.put(str, this.interned.size());
+      writeVarInt(1);
+      writeString(str);
+    }
+  }
 
   public void writeBytes(final byte[] data) {
     try {
@@ -97,6 +120,23 @@ public class SafeDataOutputStream {
     }
   }
 
+  /**
+   * Writes an int using between one and five bytes, with smaller positive
+   * values taking less space.
+   */
+  public void writeVarInt(final int value) {
+    try {
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        this.dos.writeByte((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      this.dos.writeByte(remaining);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   public void writeLong(final long l) {
     try {
       this.dos.writeLong(l);
@@ -0,0 +1,50 @@
+// placed in a sun package so non delegating classloaders are likely
+// to still delegate its loading
+package sun.pitest;
+
+/**
+ * Allows a mutant that loops forever to be stopped without the minion
+ * exiting. Calls to check are placed on the loop back edges of mutated
+ * methods, and throw while the test running the mutant is cancelled.
+ */
+public final class MutantCancellation {
+
+  public static final String      CLASS_NAME        = MutantCancellation.class
+                                                        .getName().replace(
+                                                            '.', '/');
+  public static final String      CHECK_METHOD_NAME = "check";
+
+  private static volatile boolean cancelled;
+
+  private MutantCancellation() {
+  }
+
+  public static void check() { // NO_UCD
+    if (cancelled) {
+      throw new Cancelled();
+    }
+  }
+
+  public static void cancel() {
+    cancelled = true;
+  }
+
+  public static void reset() {
+    cancelled = false;
+  }
+
+  /**
+   * An error rather than an exception so that it is not caught by code that
+   * handles exceptions
+   */
+  public static final class Cancelled extends Error {
+
+    private static final long serialVersionUID = 1L;
+
+    Cancelled() {
+      super("Mutant cancelled after timing out");
+    }
+
+  }
+
+}
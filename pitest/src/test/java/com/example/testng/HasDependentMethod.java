@@ -0,0 +1,23 @@
+package com.example.testng;
+
+import static org.testng.Assert.assertTrue;
+
+public class HasDependentMethod {
+
+  private boolean setUp;
+
+  @org.testng.annotations.Test
+  public void setsUp() {
+    this.setUp = true;
+  }
+
+  @org.testng.annotations.Test(dependsOnMethods = "setsUp")
+  public void dependsOnSetUp() {
+    assertTrue(this.setUp);
+  }
+
+  @org.testng.annotations.Test
+  public void unrelated() {
+  }
+
+}
@@ -0,0 +1,97 @@
+package org.pitest.classinfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+public class ClassInfoIndexTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File           archive;
+  private File           indexFile;
+
+  @Before
+  public void setUp() throws IOException {
+    this.archive = this.folder.newFile("foo.jar");
+    this.indexFile = new File(this.folder.getRoot(), "history.classinfo");
+  }
+
+  @Test
+  public void shouldReuseSavedClassInfoWithoutReadingSource() {
+    final ClassInfoIndex index = ClassInfoIndex.load(this.indexFile,
+        inArchive());
+    analyse(index);
+    index.save(this.indexFile);
+
+    final ClassByteArraySource source = mock(ClassByteArraySource.class);
+    final Repository testee = new Repository(source, ClassInfoIndex.load(
+        this.indexFile, inArchive()));
+
+    final Optional<ClassInfo> actual = testee.fetchClass(ClassName
+        .fromClass(Integer.class));
+    assertTrue(actual.isPresent());
+    assertEquals(ClassName.fromClass(Integer.class), actual.get().getName());
+    verify(source, never()).getBytes(anyString());
+  }
+
+  @Test
+  public void shouldDiscardClassInfoForChangedArchives() {
+    final ClassInfoIndex index = ClassInfoIndex.load(this.indexFile,
+        inArchive());
+    analyse(index);
+    this.archive.setLastModified(this.archive.lastModified() - 10000);
+    index.save(this.indexFile);
+
+    assertEquals(0, ClassInfoIndex.load(this.indexFile, inArchive()).size());
+  }
+
+  @Test
+  public void shouldNotStoreClassesNotReadFromArchives() {
+    final ClassInfoIndex index = ClassInfoIndex.load(this.indexFile,
+        c -> Optional.empty());
+    analyse(index);
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void shouldReturnEmptyIndexWhenFileCannotBeRead() throws IOException {
+    try (FileOutputStream out = new FileOutputStream(this.indexFile)) {
+      out.write(new byte[] { 1, 2, 3 });
+    }
+    assertEquals(0, ClassInfoIndex.load(this.indexFile, inArchive()).size());
+  }
+
+  @Test
+  public void shouldReturnEmptyIndexWhenNoFileExists() {
+    assertEquals(0, ClassInfoIndex.load(this.indexFile, inArchive()).size());
+  }
+
+  private void analyse(final ClassInfoIndex index) {
+    final Repository repository = new Repository(new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader()), index);
+    repository.fetchClass(ClassName.fromClass(Integer.class));
+  }
+
+  private Function<ClassName, Optional<ArchiveVersion>> inArchive() {
+    return c -> Optional.of(ArchiveVersion.of(this.archive));
+  }
+
+}
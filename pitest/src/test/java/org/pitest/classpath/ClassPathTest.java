@@ -17,11 +17,13 @@ package org.pitest.classpath;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.function.Predicate;
@@ -84,6 +86,16 @@ public class ClassPathTest {
         .getComponent(rootIsEqualTo("foo")).classNames());
   }
 
+  @Test
+  public void shouldFindArchiveWithoutReadingClassFromOtherRoots()
+      throws IOException {
+    when(this.firstComponent.getResource("foo/Bar.class")).thenReturn(
+        new URL("file:/foo/Bar.class"));
+    assertEquals(Optional.empty(), this.testee.findArchive("foo.Bar"));
+    verify(this.firstComponent, never()).getData(any(String.class));
+    verify(this.secondComponent, never()).getResource(any(String.class));
+  }
+
   private Predicate<ClassPathRoot> rootIsEqualTo(final String value) {
     return a -> a.cacheLocation().get().equals(value);
   }
@@ -0,0 +1,96 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.util.StreamUtil;
+
+public class IndexedArchiveClassPathRootTest {
+
+  private IndexedArchiveClassPathRoot testee;
+
+  @Before
+  public void setup() throws Exception {
+    // see ArchiveClassPathRootTest for origin of mytests.jar
+    this.testee = new IndexedArchiveClassPathRoot(new File("mytests.jar"));
+  }
+
+  @After
+  public void tearDown() {
+    this.testee.close();
+  }
+
+  @Test
+  public void classNamesShouldReturnAllClassNamesInArchive() {
+    final Collection<String> expected = Arrays.asList(
+        "injar.p1.P1NoTest$InnerTest", "injar.p1.P1NoTest", "injar.p1.P1Test",
+        "injar.p2.P2Test");
+    assertEquals(expected, this.testee.classNames());
+  }
+
+  @Test
+  public void getDataShouldReturnNullForUnknownClass() throws Exception {
+    assertNull(this.testee.getData("bar"));
+  }
+
+  @Test
+  public void getDataShouldReturnSameBytesAsUnindexedRoot() throws Exception {
+    final ArchiveClassPathRoot unindexed = new ArchiveClassPathRoot(new File(
+        "mytests.jar"));
+    assertEquals(
+        Arrays.toString(StreamUtil.streamToByteArray(unindexed
+            .getData("injar.p1.P1Test"))),
+        Arrays.toString(StreamUtil.streamToByteArray(this.testee
+            .getData("injar.p1.P1Test"))));
+  }
+
+  @Test
+  public void getResourceShouldReturnNullForAnUnknownResource()
+      throws Exception {
+    assertNull(this.testee.getResource("bar"));
+  }
+
+  @Test
+  public void getResourceShouldReturnURLForAKnownResource() throws Exception {
+    assertNotNull(this.testee.getResource("injar/p1/P1Test.class"));
+  }
+
+  @Test
+  public void shouldReopenArchiveWhenUsedAfterClose() throws Exception {
+    assertNotNull(this.testee.getData("injar.p1.P1Test"));
+    this.testee.close();
+    assertNotNull(this.testee.getData("injar.p1.P1Test"));
+  }
+
+  @Test
+  public void shouldSupportConcurrentReaders() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<byte[]>> results = new ArrayList<>();
+      for (int i = 0; i != 100; i++) {
+        results.add(executor.submit(() -> StreamUtil
+            .streamToByteArray(this.testee.getData("injar.p2.P2Test"))));
+      }
+      final byte[] expected = results.get(0).get();
+      for (final Future<byte[]> each : results) {
+        assertEquals(Arrays.toString(expected), Arrays.toString(each.get()));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -15,6 +15,9 @@
 
 package org.pitest.junit.adapter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -26,7 +29,13 @@ import org.junit.runner.manipulation.Filter;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import java.util.Optional;
+
+import org.pitest.junit.DescriptionFilter;
 import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.SerializedTestUnit;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.TestUnitDescriptor;
+import org.pitest.util.IsolationUtils;
 
 public class AdaptedJUnitTestUnitTest {
 
@@ -83,6 +92,62 @@ public class AdaptedJUnitTestUnitTest {
         any(Throwable.class));
   }
 
+  @Test
+  public void shouldBatchWithUnitsForSingleTestsOfSameClass() {
+    assertTrue(singleTest(HideFromJUnit.JUnit4Test.class, "pass")
+        .canBatchWith(singleTest(HideFromJUnit.JUnit4Test.class, "fail")));
+  }
+
+  @Test
+  public void shouldNotBatchWithUnitsForOtherClasses() {
+    assertFalse(singleTest(HideFromJUnit.JUnit4Test.class, "pass")
+        .canBatchWith(singleTest(AdaptedJUnitTestUnitTest.class, "pass")));
+  }
+
+  @Test
+  public void shouldNotBatchUnitsNotSelectingSingleTest() {
+    createTestee(HideFromJUnit.JUnit4Test.class, "pass");
+    assertFalse(this.testee.canBatchWith(singleTest(
+        HideFromJUnit.JUnit4Test.class, "fail")));
+  }
+
+  @Test
+  public void shouldCreateUnitForSameTestFromDescriptor() {
+    final AdaptedJUnitTestUnit unit = singleTest(HideFromJUnit.JUnit4Test.class,
+        "fail");
+    final TestUnit created = sendToOtherJVM(unit.descriptor().get()).create(
+        IsolationUtils.getContextClassLoader()).get();
+    assertEquals(unit.getDescription(), created.getDescription());
+    created.execute(this.rc);
+    verify(this.rc).notifyEnd(eq(unit.getDescription()), any(Throwable.class));
+  }
+
+  @Test
+  public void shouldDescribeUnitsForWholeClasses() {
+    final AdaptedJUnitTestUnit unit = new AdaptedJUnitTestUnit(
+        HideFromJUnit.JUnit4Test.class, Optional.<Filter> empty());
+    assertEquals(unit.getDescription(), sendToOtherJVM(unit.descriptor().get())
+        .create(IsolationUtils.getContextClassLoader()).get().getDescription());
+  }
+
+  @Test
+  public void shouldNotDescribeUnitsWithFiltersThatCannotBeSerialised() {
+    createTestee(HideFromJUnit.JUnit4Test.class, "pass");
+    assertFalse(this.testee.descriptor().isPresent());
+  }
+
+  private static TestUnitDescriptor sendToOtherJVM(
+      final TestUnitDescriptor descriptor) {
+    return SerializedTestUnit.serialize(descriptor).deserialize();
+  }
+
+  private static AdaptedJUnitTestUnit singleTest(final Class<?> clazz,
+      final String method) {
+    return new AdaptedJUnitTestUnit(clazz, Optional.<Filter> of(
+        new DescriptionFilter(Description.createTestDescription(clazz, method)
+            .toString())));
+  }
+
   private void createTestee(
       final Class<?> clazz, final String method) {
     this.testee = new AdaptedJUnitTestUnit(clazz,
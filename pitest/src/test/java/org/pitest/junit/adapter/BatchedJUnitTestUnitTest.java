@@ -0,0 +1,135 @@
+package org.pitest.junit.adapter;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.ResultCollector;
+
+public class BatchedJUnitTestUnitTest {
+
+  @Mock
+  private ResultCollector rc;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  private static class HideFromJUnit {
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class JUnit4Test {
+
+      @Test
+      public void a() {
+
+      }
+
+      @Test
+      public void b() {
+        org.junit.Assert.fail();
+      }
+
+      @Test
+      public void c() {
+
+      }
+
+    }
+
+    public static class FailsBeforeClass {
+
+      @BeforeClass
+      public static void fail() {
+        throw new RuntimeException();
+      }
+
+      @Test
+      public void a() {
+
+      }
+
+    }
+
+  }
+
+  @Test
+  public void shouldReportEachTestAgainstItsOwnDescription() {
+    final List<org.pitest.testapi.Description> tests = describe(
+        HideFromJUnit.JUnit4Test.class, "a", "c");
+    new BatchedJUnitTestUnit(HideFromJUnit.JUnit4Test.class, tests)
+        .execute(this.rc);
+    for (final org.pitest.testapi.Description each : tests) {
+      verify(this.rc).notifyStart(each);
+      verify(this.rc).notifyEnd(each);
+    }
+  }
+
+  @Test
+  public void shouldStopAtFirstFailure() {
+    final List<org.pitest.testapi.Description> tests = describe(
+        HideFromJUnit.JUnit4Test.class, "a", "b", "c");
+    new BatchedJUnitTestUnit(HideFromJUnit.JUnit4Test.class, tests)
+        .execute(this.rc);
+    verify(this.rc).notifyEnd(tests.get(0));
+    verify(this.rc).notifyEnd(eq(tests.get(1)), any(Throwable.class));
+    verify(this.rc, never()).notifyStart(tests.get(2));
+  }
+
+  @Test
+  public void shouldGiveSameResultsEachTimeBatchIsRun() {
+    final List<org.pitest.testapi.Description> tests = describe(
+        HideFromJUnit.JUnit4Test.class, "a", "b");
+    final BatchedJUnitTestUnit testee = new BatchedJUnitTestUnit(
+        HideFromJUnit.JUnit4Test.class, tests);
+    testee.execute(this.rc);
+    new BatchedJUnitTestUnit(HideFromJUnit.JUnit4Test.class, tests)
+        .execute(this.rc);
+    verify(this.rc, times(2)).notifyEnd(tests.get(0));
+    verify(this.rc, times(2)).notifyEnd(eq(tests.get(1)),
+        any(Throwable.class));
+  }
+
+  @Test
+  public void shouldReportFailureOutsideOfTestsAgainstFirstTest() {
+    final List<org.pitest.testapi.Description> tests = describe(
+        HideFromJUnit.FailsBeforeClass.class, "a");
+    new BatchedJUnitTestUnit(HideFromJUnit.FailsBeforeClass.class, tests)
+        .execute(this.rc);
+    verify(this.rc).notifyEnd(eq(tests.get(0)), any(Throwable.class));
+  }
+
+  @Test
+  public void shouldSkipTestsWhenNoneCanBeFound() {
+    final List<org.pitest.testapi.Description> tests = describe(
+        HideFromJUnit.JUnit4Test.class, "missing");
+    new BatchedJUnitTestUnit(HideFromJUnit.JUnit4Test.class, tests)
+        .execute(this.rc);
+    verify(this.rc).notifySkipped(tests.get(0));
+  }
+
+  private static List<org.pitest.testapi.Description> describe(
+      final Class<?> clazz, final String... methods) {
+    final List<org.pitest.testapi.Description> tests = new ArrayList<>();
+    for (final String each : methods) {
+      tests.add(new org.pitest.testapi.Description(Description
+          .createTestDescription(clazz, each).toString(), clazz));
+    }
+    return tests;
+  }
+
+}
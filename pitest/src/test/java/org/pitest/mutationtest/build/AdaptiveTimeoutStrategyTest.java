@@ -0,0 +1,118 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.pitest.coverage.TestInfo;
+
+public class AdaptiveTimeoutStrategyTest {
+
+  private final AdaptiveTimeoutStrategy testee = new AdaptiveTimeoutStrategy(
+      1.5f, 100);
+
+  @Test
+  public void shouldReturnProductOfFactorAndTestTimePlusConstant() {
+    assertThat(this.testee.getAllowedTime(10)).isEqualTo(115);
+  }
+
+  @Test
+  public void shouldUseCoverageTimeUntilEnoughExecutionsRecorded() {
+    for (int i = 1; i != AdaptiveTimeoutStrategy.MIN_EXECUTIONS; i++) {
+      this.testee.recordExecution("foo", millis(200));
+    }
+    assertThat(this.testee.getAllowedTime("foo", 10)).isEqualTo(115);
+  }
+
+  @Test
+  public void shouldUseRecordedExecutionsOnceEnoughRecorded() {
+    recordExecutions("foo", 200);
+    final long allowed = this.testee.getAllowedTime("foo", 10);
+    // percentile is estimated to within ten percent
+    assertThat(allowed).isBetween(this.testee.getAllowedTime(200),
+        this.testee.getAllowedTime(220));
+  }
+
+  @Test
+  public void shouldNotApplyExecutionsOfOneTestToAnother() {
+    recordExecutions("foo", 200);
+    assertThat(this.testee.getAllowedTime("bar", 10)).isEqualTo(115);
+  }
+
+  @Test
+  public void shouldAllowForSlowestExecutions() {
+    for (int i = 0; i != 99; i++) {
+      this.testee.recordExecution("foo", millis(10));
+    }
+    this.testee.recordExecution("foo", millis(500));
+    assertThat(this.testee.getAllowedTime("foo", 10)).isGreaterThan(
+        this.testee.getAllowedTime(10));
+  }
+
+  @Test
+  public void shouldCountCoverageTimesAsExecutions() {
+    this.testee.recordCoverage(Arrays.asList(test("foo", 200)));
+    for (int i = 2; i != AdaptiveTimeoutStrategy.MIN_EXECUTIONS; i++) {
+      this.testee.recordExecution("foo", millis(200));
+    }
+    assertThat(this.testee.getAllowedTime("foo", 10)).isEqualTo(115);
+    this.testee.recordExecution("foo", millis(200));
+    assertThat(this.testee.getAllowedTime("foo", 10)).isGreaterThanOrEqualTo(
+        this.testee.getAllowedTime(200));
+  }
+
+  @Test
+  public void shouldRecordCoverageTimeOfEachTestOnce() {
+    this.testee.recordCoverage(Arrays.asList(test("foo", 200),
+        test("foo", 200), test("bar", 100)));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    this.testee.report(new PrintStream(out));
+    assertThat(out.toString()).contains("Recorded 2 passing executions of 2 tests");
+  }
+
+  @Test
+  public void shouldRetainRecordedExecutionsWhenSerialized() throws Exception {
+    recordExecutions("foo", 200);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(this.testee);
+    }
+    final AdaptiveTimeoutStrategy copy = (AdaptiveTimeoutStrategy) new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    assertThat(copy.getAllowedTime("foo", 10)).isEqualTo(
+        this.testee.getAllowedTime("foo", 10));
+  }
+
+  @Test
+  public void shouldReportNumberOfTestsWithLearntTimeouts() {
+    recordExecutions("foo", 200);
+    this.testee.recordExecution("bar", millis(1));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    this.testee.report(new PrintStream(out));
+    assertThat(out.toString()).contains("Recorded 4 passing executions of 2 tests");
+    assertThat(out.toString()).contains("Timeouts for 1 tests");
+  }
+
+  private void recordExecutions(final String test, final long ms) {
+    for (int i = 0; i != AdaptiveTimeoutStrategy.MIN_EXECUTIONS; i++) {
+      this.testee.recordExecution(test, millis(ms));
+    }
+  }
+
+  private static TestInfo test(final String name, final int ms) {
+    return new TestInfo("foo", name, ms, Optional.empty(), 0);
+  }
+
+  private static long millis(final long ms) {
+    return TimeUnit.MILLISECONDS.toNanos(ms);
+  }
+
+}
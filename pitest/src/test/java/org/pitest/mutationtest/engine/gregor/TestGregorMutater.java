@@ -18,14 +18,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchemata;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.config.Mutator;
 import org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.InvertNegsMutator;
@@ -33,6 +52,8 @@ import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.ReturnValsMutator;
 import org.pitest.util.ResourceFolderByteArraySource;
 
+import sun.pitest.MutantCancellation;
+
 public class TestGregorMutater extends MutatorTestBase {
 
   public static class HasMultipleMutations {
@@ -347,6 +368,263 @@ public class TestGregorMutater extends MutatorTestBase {
                                                                     // target?
   }
 
+  @Test
+  public void shouldReportSameDetailsForMutantsAsWhenFindingMutations() {
+    createTesteeWith(Mutator.byName("RETURN_VALS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(HasTwoMutableMethods.class);
+    for (final MutationDetails each : actualDetails) {
+      final MutationDetails mutantDetails = this.engine.getMutation(
+          each.getId()).getDetails();
+      assertEquals(each.getBlock(), mutantDetails.getBlock());
+      assertEquals(each.getLineNumber(), mutantDetails.getLineNumber());
+    }
+  }
+
+  @Test
+  public void shouldCopyMethodsWithoutTheMutationUnchanged() {
+    createTesteeWith(Mutator.byName("RETURN_VALS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(HasTwoMutableMethods.class);
+    final Mutant mutant = this.engine.getMutation(actualDetails.get(0).getId());
+
+    final ClassNode original = toClassNode(ClassloaderByteArraySource
+        .fromContext().getBytes(HasTwoMutableMethods.class.getName()).get());
+    final ClassNode mutated = toClassNode(mutant.getBytes());
+
+    assertEquals(opcodesOf(original, "(I)I"), opcodesOf(mutated, "(I)I"));
+    assertFalse(opcodesOf(original, "()I").equals(opcodesOf(mutated, "()I")));
+  }
+
+  public static class HasSchemataMutants {
+    private final int base;
+
+    public HasSchemataMutants(final int base) {
+      this.base = base + 1;
+    }
+
+    public long add(final long a, final int b) {
+      return (a + b) * this.base;
+    }
+  }
+
+  @Test
+  public void shouldNotCreateSchemataUnlessEnabled() {
+    createTesteeWith(Mutator.byName("MATH"));
+    assertThat(this.engine.createSchemata(schemataClass(),
+        idsOf(findMutationsFor(HasSchemataMutants.class)))).isEmpty();
+  }
+
+  @Test
+  public void shouldCreateSchemataThatBehavesAsOriginalUntilAMutantIsSelected()
+      throws Exception {
+    final MutantSchemata schemata = createSchemata();
+    assertEquals(16L, addUsing(schemata.getBytes(), 0));
+  }
+
+  @Test
+  public void shouldRunEachMutantHeldBySchemataWhenSelected() throws Exception {
+    final MutantSchemata schemata = createSchemata();
+    final List<Long> results = new ArrayList<>();
+    for (final int each : schemata.getSwitches().values()) {
+      results.add(addUsing(schemata.getBytes(), each));
+    }
+    assertThat(results).containsExactly(8L, 4L);
+  }
+
+  @Test
+  public void shouldLeaveConstructorMutantsOutOfSchemata() {
+    final MutantSchemata schemata = createSchemata();
+    assertThat(schemata.getSwitches().keySet()).extracting(
+        a -> a.getLocation().getMethodName().name()).containsOnly("add");
+  }
+
+  @Test
+  public void shouldCreateMutantsThatCanReplaceAClassLoadedFromSchemata()
+      throws Exception {
+    final MutantSchemata schemata = createSchemata();
+    final MutationDetails constructorMutant = FCollection.filter(
+        findMutationsFor(HasSchemataMutants.class),
+        a -> a.getMethod().name().equals("<init>")).get(0);
+
+    final Mutant mutant = this.engine.getMutation(constructorMutant.getId(),
+        schemata);
+
+    assertEquals(methodsOf(schemata.getBytes()), methodsOf(mutant.getBytes()));
+    assertEquals(0L, addUsing(mutant.getBytes(), 0));
+  }
+
+  public static class HasSerializableSchemataMutants implements Serializable {
+    private int count;
+
+    public int increment(final int by) {
+      this.count = this.count + by;
+      return this.count;
+    }
+  }
+
+  @Test
+  public void shouldNotChangeDefaultSerialVersionUIDOfSchemata()
+      throws Exception {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Mutator.byName("MATH"), true);
+    final MutantSchemata schemata = this.engine.createSchemata(
+        ClassName.fromClass(HasSerializableSchemataMutants.class),
+        idsOf(findMutationsFor(HasSerializableSchemataMutants.class))).get();
+
+    final Class<?> clazz = define(HasSerializableSchemataMutants.class,
+        schemata.getBytes());
+
+    assertEquals(ObjectStreamClass.lookup(HasSerializableSchemataMutants.class)
+        .getSerialVersionUID(), ObjectStreamClass.lookup(clazz)
+        .getSerialVersionUID());
+  }
+
+  public static class HasLoop {
+    public int sum(final int n) {
+      int total = 0;
+      for (int i = 0; i != n; i++) {
+        total += i;
+      }
+      return total;
+    }
+  }
+
+  @Test
+  public void shouldNotCheckForCancellationUnlessEnabled() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final Mutant mutant = this.engine.getMutation(findMutationsFor(
+        HasLoop.class).get(0).getId());
+    assertFalse(callsCancellationCheck(mutant.getBytes()));
+  }
+
+  @Test
+  public void shouldCheckForCancellationOnLoopsOfMutatedMethod() {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Mutator.byName("INCREMENTS"), false, true);
+    final Mutant mutant = this.engine.getMutation(findMutationsFor(
+        HasLoop.class).get(0).getId());
+    assertTrue(callsCancellationCheck(mutant.getBytes()));
+  }
+
+  @Test
+  public void shouldStopLoopOfMutantWhenCancelled() throws Exception {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Mutator.byName("INCREMENTS"), false, true);
+    final byte[] bytes = this.engine.getMutation(findMutationsFor(
+        HasLoop.class).get(0).getId()).getBytes();
+    final String name = HasLoop.class.getName();
+    final Class<?> clazz = new ClassLoader(
+        TestGregorMutater.class.getClassLoader()) {
+      Class<?> define() {
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+    }.define();
+
+    MutantCancellation.cancel();
+    try {
+      clazz.getMethod("sum", int.class).invoke(clazz.newInstance(), 10);
+      fail("Expected mutant to be cancelled");
+    } catch (final InvocationTargetException e) {
+      assertThat(e.getCause()).isInstanceOf(MutantCancellation.Cancelled.class);
+    } finally {
+      MutantCancellation.reset();
+    }
+  }
+
+  public static class HasLoopInStaticInitializer {
+    static int total;
+
+    static {
+      for (int i = 0; i != 10; i++) {
+        total += i;
+      }
+    }
+  }
+
+  @Test
+  public void shouldNotCheckForCancellationOnLoopsOfStaticInitializers() {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Mutator.byName("INCREMENTS"), false, true);
+    final MutationDetails mutation = findMutationsFor(
+        HasLoopInStaticInitializer.class).get(0);
+    assertEquals("<clinit>", mutation.getMethod().name());
+    assertFalse(callsCancellationCheck(this.engine.getMutation(
+        mutation.getId()).getBytes()));
+  }
+
+  private static boolean callsCancellationCheck(final byte[] bytes) {
+    for (final MethodNode each : toClassNode(bytes).methods) {
+      for (final AbstractInsnNode insn : each.instructions.toArray()) {
+        if ((insn instanceof MethodInsnNode)
+            && ((MethodInsnNode) insn).owner.equals(
+                MutantCancellation.CLASS_NAME)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private MutantSchemata createSchemata() {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Mutator.byName("MATH"), true);
+    return this.engine.createSchemata(schemataClass(),
+        idsOf(findMutationsFor(HasSchemataMutants.class))).get();
+  }
+
+  private static ClassName schemataClass() {
+    return ClassName.fromClass(HasSchemataMutants.class);
+  }
+
+  private static List<MutationIdentifier> idsOf(
+      final List<MutationDetails> details) {
+    return FCollection.map(details, MutationDetails::getId);
+  }
+
+  private static Set<String> methodsOf(final byte[] bytes) {
+    return toClassNode(bytes).methods.stream().map(m -> m.name + m.desc)
+        .collect(Collectors.toSet());
+  }
+
+  private static long addUsing(final byte[] bytes, final int activeMutant)
+      throws Exception {
+    final Class<?> clazz = define(HasSchemataMutants.class, bytes);
+    final Field activeMutantField = clazz
+        .getDeclaredField(MutantSchemata.ACTIVE_MUTANT_FIELD);
+    activeMutantField.setAccessible(true);
+    activeMutantField.setInt(null, activeMutant);
+    final Object instance = clazz.getConstructor(int.class).newInstance(1);
+    return (Long) clazz.getMethod("add", long.class, int.class).invoke(
+        instance, 6L, 2);
+  }
+
+  private static Class<?> define(final Class<?> original, final byte[] bytes) {
+    final String name = original.getName();
+    return new ClassLoader(TestGregorMutater.class.getClassLoader()) {
+      Class<?> define() {
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+    }.define();
+  }
+
+  private static ClassNode toClassNode(final byte[] bytes) {
+    final ClassNode node = new ClassNode();
+    new ClassReader(bytes).accept(node, ClassReader.EXPAND_FRAMES);
+    return node;
+  }
+
+  private static List<Integer> opcodesOf(final ClassNode node,
+      final String desc) {
+    final List<Integer> opcodes = new ArrayList<>();
+    for (final MethodNode each : node.methods) {
+      if (each.desc.equals(desc)) {
+        for (final AbstractInsnNode insn : each.instructions.toArray()) {
+          opcodes.add(insn.getOpcode());
+        }
+      }
+    }
+    return opcodes;
+  }
+
   @Test
   public void shouldNotMutateCompilerGeneratedConditionalsInStringSwitch() {
     createTesteeWith(new ResourceFolderByteArraySource(),
@@ -6,6 +6,8 @@ import static org.pitest.mutationtest.LocationMother.aMutationId;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -14,6 +16,7 @@ import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
+import org.pitest.util.MessageCodec;
 import org.pitest.util.SafeDataInputStream;
 
 public class DefaultReporterTest {
@@ -35,7 +38,7 @@ public class DefaultReporterTest {
     this.testee.describe(mi);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.DESCRIBE, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
+    assertEquals(MessageCodec.readMutationIdentifier(is), mi);
   }
 
   @Test
@@ -47,8 +50,19 @@ public class DefaultReporterTest {
     this.testee.report(mi, ms);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.REPORT, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
-    assertEquals(is.read(MutationStatusTestPair.class), ms);
+    assertEquals(MessageCodec.readMutationIdentifier(is), mi);
+    assertEquals(MessageCodec.readStatusTestPair(is), ms);
+  }
+
+  @Test
+  public void shouldSendTimings() throws IOException {
+    final Map<String, Long> timings = new LinkedHashMap<>();
+    timings.put("foo", 42L);
+    timings.put("bar", 1L);
+    this.testee.timings(timings);
+    final SafeDataInputStream is = resultToStream();
+    assertEquals(Id.TIMINGS, is.readByte());
+    assertEquals(timings, MessageCodec.readTimings(is));
   }
 
   private SafeDataInputStream resultToStream() {
@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
@@ -26,6 +28,7 @@ import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
 import org.pitest.util.PitError;
 import org.pitest.util.SafeDataInputStream;
 
@@ -87,6 +90,21 @@ public class MutationTestMinionTest {
     verify(this.reporter).done(ExitCode.OK);
   }
 
+  @Test
+  public void shouldRunFurtherBatchesWhenParentSendsThem() {
+    when(this.is.read(MinionArguments.class)).thenReturn(
+        this.args.awaitingFurtherBatches(true));
+    when(this.is.readByte()).thenReturn(Id.BATCH, Id.DONE);
+    this.testee.run();
+    verify(this.reporter, times(2)).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldNotWaitForFurtherBatchesUnlessAskedTo() {
+    this.testee.run();
+    verify(this.is, never()).readByte();
+  }
+
   @Test
   public void shouldReportErrorWhenOneOccursDuringAnalysis() {
     this.mutations.add(new MutationDetails(aMutationId().withIndex(0)
@@ -1,6 +1,7 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -12,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -51,6 +53,9 @@ public class MutationTestWorkerTest {
   @Mock
   private Reporter                                    reporter;
 
+  @Mock
+  private SchemataSwitch                              schemata;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -128,6 +133,49 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @Test
+  public void shouldSelectMutantFromSchemataInsteadOfHotSwappingWhenPossible()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, false, Optional.of(this.schemata));
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final TestUnit tu = makeFailingTest();
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(tu));
+    when(this.schemata.schemataFor(any(ClassName.class))).thenReturn(
+        Optional.empty());
+    when(this.schemata.canSwitchTo(mutantOne.getId())).thenReturn(true);
+
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    verify(this.schemata).activate(mutantOne.getId(), this.hotswapper);
+    verify(this.schemata).deactivate(mutantOne.getId());
+    verify(this.hotswapper, never()).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+    verify(this.reporter).report(
+        mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, tu
+            .getDescription().getName()));
+  }
+
+  @Test
+  public void shouldRecordHotSwapsWhenUsingSchemata() throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, false, Optional.of(this.schemata));
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(this.schemata.schemataFor(any(ClassName.class))).thenReturn(
+        Optional.empty());
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    verify(this.schemata).hotSwapped(mutantOne.getClassName());
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -15,17 +15,24 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.functional.SideEffect;
+import org.pitest.functional.SideEffect2;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
@@ -45,27 +52,63 @@ public class MutationTimeoutDecoratorTest {
   @Mock
   private ResultCollector          rc;
 
+  @Mock
+  private SideEffect2<String, Long> passed;
+
   private static final long        NORMAL_EXECUTION = 1;
 
+  private final Description        description      = new Description(
+      "aTest", "aClass");
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
+    when(this.child.getDescription()).thenReturn(this.description);
     this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
-        this.timeoutStrategy, NORMAL_EXECUTION);
+        this.timeoutStrategy, NORMAL_EXECUTION, new TestExecutionThread(),
+        this.passed);
   }
 
   @Test
   public void shouldCompleteNormallyWhenChildExecutesWithinAllowedTime() {
-    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
-        1000l);
+    allowTime(1000);
     this.testee.execute(this.rc);
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect, never()).apply();
   }
 
+  @Test
+  public void shouldRecordExecutionTimeWhenChildPasses() {
+    allowTime(1000);
+    doAnswer(invocation -> {
+      final ResultCollector collector = (ResultCollector) invocation
+          .getArguments()[0];
+      collector.notifyEnd(this.description);
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.passed).apply(eq(this.description.getQualifiedName()),
+        any(Long.class));
+  }
+
+  @Test
+  public void shouldNotRecordExecutionTimeWhenChildFails() {
+    allowTime(1000);
+    doAnswer(invocation -> {
+      final ResultCollector collector = (ResultCollector) invocation
+          .getArguments()[0];
+      collector.notifyEnd(this.description, new AssertionError());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.passed, never()).apply(any(String.class), any(Long.class));
+  }
+
   @Test
   public void shouldApplySideEffectWhenChildRunsForLongerThanAllowedTime() {
-    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(50l);
+    allowTime(50);
 
     doAnswer(invocation -> {
       Thread.sleep(100);
@@ -75,5 +118,58 @@ public class MutationTimeoutDecoratorTest {
     this.testee.execute(this.rc);
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect).apply();
+    verify(this.passed, never()).apply(any(String.class), any(Long.class));
+  }
+
+  @Test
+  public void shouldAllowBatchesTheSumOfTheTimesAllowedForEachTest() {
+    final Description other = new Description("anotherTest", "aClass");
+    when(this.timeoutStrategy.getAllowedTime(
+        eq(this.description.getQualifiedName()), anyLong())).thenReturn(40L);
+    when(this.timeoutStrategy.getAllowedTime(eq(other.getQualifiedName()),
+        anyLong())).thenReturn(40L);
+    doAnswer(invocation -> {
+      Thread.sleep(60);
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    makeBatchTestee(other).execute(this.rc);
+    verify(this.sideEffect, never()).apply();
+  }
+
+  @Test
+  public void shouldRecordExecutionTimeOfEachTestInBatchThatPasses() {
+    final Description other = new Description("anotherTest", "aClass");
+    allowTime(1000);
+    when(this.timeoutStrategy.getAllowedTime(eq(other.getQualifiedName()),
+        anyLong())).thenReturn(1000L);
+    doAnswer(invocation -> {
+      final ResultCollector collector = (ResultCollector) invocation
+          .getArguments()[0];
+      collector.notifyStart(this.description);
+      collector.notifyEnd(this.description);
+      collector.notifyStart(other);
+      collector.notifyEnd(other, new AssertionError());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    makeBatchTestee(other).execute(this.rc);
+    verify(this.passed).apply(eq(this.description.getQualifiedName()),
+        any(Long.class));
+    verify(this.passed, never()).apply(eq(other.getQualifiedName()),
+        any(Long.class));
+  }
+
+  private MutationTimeoutDecorator makeBatchTestee(final Description other) {
+    final Map<String, Long> times = new LinkedHashMap<>();
+    times.put(this.description.getQualifiedName(), NORMAL_EXECUTION);
+    times.put(other.getQualifiedName(), NORMAL_EXECUTION);
+    return new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, times, new TestExecutionThread(), this.passed);
+  }
+
+  private void allowTime(final long time) {
+    when(this.timeoutStrategy.getAllowedTime(
+        eq(this.description.getQualifiedName()), anyLong())).thenReturn(time);
   }
 }
@@ -0,0 +1,177 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.F3;
+import org.pitest.mutationtest.engine.MutantSchemata;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+import org.pitest.util.Unchecked;
+
+public class SchemataSwitchTest {
+
+  private static final ClassName           ADDER     = ClassName
+      .fromClass(Adder.class);
+
+  private final ClassByteArraySource       source    = ClassloaderByteArraySource
+      .fromContext();
+  private final List<ClassFileTransformer> installed = new ArrayList<>();
+
+  private TransformingLoader               loader;
+  private SchemataSwitch                   testee;
+  private Mutater                          mutater;
+
+  public static class Adder {
+    public static int add(final int a, final int b) {
+      return a + b;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    this.mutater = new GregorMutater(this.source, m -> true,
+        Mutator.byName("MATH"), true);
+    this.loader = new TransformingLoader();
+    this.testee = new SchemataSwitch(this.loader, this.source,
+        this.installed::add);
+    this.loader.transformer = this.testee;
+  }
+
+  @Test
+  public void shouldLoadClassFromSchemataOncePrepared() throws Exception {
+    this.testee.prepare(this.mutater, mutations());
+    assertThat(this.installed).containsExactly(this.testee);
+    assertThat(this.testee.schemataFor(ADDER)).isPresent();
+    assertThat(add()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldSwitchToMutantsHeldBySchemata() throws Exception {
+    final MutationIdentifier id = mutations().get(0).getId();
+    this.testee.prepare(this.mutater, mutations());
+    assertThat(this.testee.canSwitchTo(id)).isTrue();
+
+    this.testee.activate(id, noHotSwap());
+    assertThat(add()).isEqualTo(-1);
+    this.testee.deactivate(id);
+    assertThat(add()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotUseSchemataForClassesAlreadyLoaded() throws Exception {
+    assertThat(add()).isEqualTo(5);
+    this.testee.prepare(this.mutater, mutations());
+    assertThat(this.testee.canSwitchTo(mutations().get(0).getId())).isFalse();
+  }
+
+  @Test
+  public void shouldNotUseSchemataThatFailsVerification() {
+    final Mutater invalid = mock(Mutater.class);
+    when(invalid.createSchemata(any(ClassName.class), any(List.class)))
+        .thenReturn(Optional.of(new MutantSchemata(ADDER,
+            Collections.singletonMap(mutations().get(0).getId(), 1),
+            new byte[] { 1, 2, 3 })));
+    this.testee.prepare(invalid, mutations());
+    assertThat(this.installed).isEmpty();
+    assertThat(this.testee.canSwitchTo(mutations().get(0).getId())).isFalse();
+  }
+
+  @Test
+  public void shouldProvideSchemataBytesForClassesLoadedFromThem() {
+    this.testee.prepare(this.mutater, mutations());
+    final MutantSchemata schemata = this.testee.schemataFor(ADDER).get();
+    assertThat(this.testee.getBytes(ADDER.asJavaName()).get()).isSameAs(
+        schemata.getBytes());
+  }
+
+  @Test
+  public void shouldProvideOriginalBytesForOtherClasses() {
+    assertThat(this.testee.getBytes(ADDER.asJavaName()).get()).isEqualTo(
+        this.source.getBytes(ADDER.asJavaName()).get());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRestoreHotSwappedClassBeforeSwitching() {
+    final MutationIdentifier id = mutations().get(0).getId();
+    this.testee.prepare(this.mutater, mutations());
+    this.testee.schemataFor(ADDER);
+    final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = mock(F3.class);
+
+    this.testee.hotSwapped(ADDER);
+    this.testee.activate(id, hotswap);
+
+    verify(hotswap).apply(ADDER, this.loader,
+        this.testee.getBytes(ADDER.asJavaName()).get());
+  }
+
+  private List<MutationDetails> mutations() {
+    return this.mutater.findMutations(ADDER);
+  }
+
+  private int add() throws Exception {
+    return (Integer) this.loader.loadClass(ADDER.asJavaName())
+        .getMethod("add", int.class, int.class).invoke(null, 2, 3);
+  }
+
+  private static F3<ClassName, ClassLoader, byte[], Boolean> noHotSwap() {
+    return (c, l, b) -> {
+      throw new AssertionError("Unexpected hot swap");
+    };
+  }
+
+  // defines the adder itself, passing it through the switch as the agent would
+  private class TransformingLoader extends ClassLoader {
+
+    private SchemataSwitch transformer;
+
+    TransformingLoader() {
+      super(SchemataSwitchTest.class.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve)
+        throws ClassNotFoundException {
+      if (!name.equals(ADDER.asJavaName())) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        final Class<?> loaded = findLoadedClass(name);
+        if (loaded != null) {
+          return loaded;
+        }
+        final byte[] original = SchemataSwitchTest.this.source.getBytes(name)
+            .get();
+        try {
+          byte[] bytes = this.transformer.transform(this,
+              ADDER.asInternalName(), null, null, original);
+          if (bytes == null) {
+            bytes = original;
+          }
+          return defineClass(name, bytes, 0, bytes.length);
+        } catch (final Exception e) {
+          throw Unchecked.translateCheckedException(e);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class TestExecutionThreadTest {
+
+  private final TestExecutionThread testee = new TestExecutionThread();
+
+  @Test
+  public void shouldReportCompletionWhenTestRunsWithinAllowedTime() {
+    assertThat(this.testee.run(() -> { }, 1000)).isTrue();
+  }
+
+  @Test
+  public void shouldReportTimeOutWhenTestRunsForLongerThanAllowedTime() {
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      assertThat(this.testee.run(awaiting(release), 50)).isFalse();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void shouldRunSuccessiveTestsOnTheSameThread() {
+    final Thread first = threadRunning(this.testee);
+    final Thread second = threadRunning(this.testee);
+    assertThat(first).isSameAs(second);
+    assertThat(first).isNotSameAs(Thread.currentThread());
+    assertThat(first.isDaemon()).isTrue();
+  }
+
+  @Test
+  public void shouldRunTestsOnNewThreadAfterATimeOut() {
+    final Thread first = threadRunning(this.testee);
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      this.testee.run(awaiting(release), 50);
+      final Thread afterTimeOut = threadRunning(this.testee);
+      assertThat(afterTimeOut).isNotSameAs(first);
+      assertThat(this.testee.run(() -> { }, 1000)).isTrue();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static Thread threadRunning(final TestExecutionThread thread) {
+    final AtomicReference<Thread> ran = new AtomicReference<>();
+    thread.run(() -> ran.set(Thread.currentThread()), 1000);
+    return ran.get();
+  }
+
+  private static Runnable awaiting(final CountDownLatch latch) {
+    return () -> {
+      try {
+        latch.await();
+      } catch (final InterruptedException e) {
+        // swallow
+      }
+    };
+  }
+
+}
@@ -0,0 +1,149 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.functional.SideEffect;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+import sun.pitest.MutantCancellation;
+
+public class TimeOutCancellingSideEffectTest {
+
+  @Mock
+  private SideEffect                  fallback;
+
+  @Mock
+  private ResultCollector             rc;
+
+  private TestExecutionThread         thread;
+
+  private TimeOutCancellingSideEffect testee;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.thread = new TestExecutionThread();
+    this.testee = new TimeOutCancellingSideEffect(this.thread, this.fallback,
+        1000);
+  }
+
+  @Test
+  public void shouldStopLoopingTestWithoutFallingBack() {
+    assertThat(this.thread.run(loopsUntilCancelled(), 50)).isFalse();
+    this.testee.apply();
+    verify(this.fallback, never()).apply();
+    assertThat(this.testee.drainRecovered()).isTrue();
+  }
+
+  @Test
+  public void shouldReportEachStoppedTestOnce() {
+    this.thread.run(loopsUntilCancelled(), 50);
+    this.testee.apply();
+    this.testee.drainRecovered();
+    assertThat(this.testee.drainRecovered()).isFalse();
+  }
+
+  @Test
+  public void shouldNoLongerCancelMutantsOnceTestHasStopped() {
+    this.thread.run(loopsUntilCancelled(), 50);
+    this.testee.apply();
+    MutantCancellation.check();
+  }
+
+  @Test
+  public void shouldFallBackWhenTestDoesNotStop() {
+    final CountDownLatch release = new CountDownLatch(1);
+    this.testee = new TimeOutCancellingSideEffect(this.thread, this.fallback,
+        50);
+    try {
+      this.thread.run(awaiting(release), 50);
+      this.testee.apply();
+      verify(this.fallback).apply();
+      assertThat(this.testee.drainRecovered()).isFalse();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void shouldRecoverWhenCancelledTestFailsOutsideStaticInitializers() {
+    this.thread.run(reportingFailure(this.testee.watch(this.rc),
+        loopsUntilCancelled()), 50);
+    this.testee.apply();
+    verify(this.fallback, never()).apply();
+    assertThat(this.testee.drainRecovered()).isTrue();
+  }
+
+  @Test
+  public void shouldFallBackWhenCancellationEscapesStaticInitializer() {
+    this.thread.run(reportingFailure(this.testee.watch(this.rc),
+        () -> LoopsDuringInitialization.initialize()), 50);
+    this.testee.apply();
+    verify(this.fallback).apply();
+    assertThat(this.testee.drainRecovered()).isFalse();
+  }
+
+  @Test
+  public void shouldRecognizeFailuresCausedByStaticInitializers() {
+    assertThat(TimeOutCancellingSideEffect
+        .failedInInitializer(new RuntimeException(
+            new ExceptionInInitializerError(new NullPointerException()))))
+        .isTrue();
+    assertThat(TimeOutCancellingSideEffect
+        .failedInInitializer(new RuntimeException())).isFalse();
+  }
+
+  private static class LoopsDuringInitialization {
+    static {
+      loopUntilCancelled();
+    }
+
+    static void initialize() {
+    }
+  }
+
+  private static Runnable reportingFailure(final ResultCollector rc,
+      final Runnable test) {
+    return () -> {
+      try {
+        test.run();
+      } catch (final Throwable t) {
+        rc.notifyEnd(new Description("test"), t);
+      }
+    };
+  }
+
+  private static void loopUntilCancelled() {
+    while (true) {
+      MutantCancellation.check();
+    }
+  }
+
+  private static Runnable loopsUntilCancelled() {
+    return () -> {
+      while (true) {
+        MutantCancellation.check();
+      }
+    };
+  }
+
+  private static Runnable awaiting(final CountDownLatch latch) {
+    return () -> {
+      try {
+        latch.await();
+      } catch (final InterruptedException e) {
+        // swallow
+      }
+    };
+  }
+
+}
@@ -15,8 +15,15 @@
 package org.pitest.mutationtest.execute;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -29,9 +36,13 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
 import java.util.Optional;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.BatchableTestUnit;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
+import org.pitest.util.ExitCode;
+
+import sun.pitest.MutantCancellation;
 
 public class TimeOutDecoratedTestSourceTest {
 
@@ -43,6 +54,9 @@ public class TimeOutDecoratedTestSourceTest {
   @Mock
   private Reporter                   reporter;
 
+  @Mock
+  private ResultCollector            rc;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -71,12 +85,123 @@ public class TimeOutDecoratedTestSourceTest {
     assertEquals(1, actual.size());
   }
 
+  @Test
+  public void shouldRunTestsThatCanBeBatchedAsOneUnitWhenBatching() {
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeBatchableTestUnit("a1", "a"),
+            makeBatchableTestUnit("b1", "b"), makeBatchableTestUnit("a2", "a"),
+            makeTestUnit("one")), this.reporter, true);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays.asList(
+        makeTestInfo("a.a1"), makeTestInfo("b.b1"), makeTestInfo("one"),
+        makeTestInfo("a.a2")));
+    assertEquals(3, actual.size());
+  }
+
+  @Test
+  public void shouldNotBatchTestsWhenNotBatching() {
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeBatchableTestUnit("a1", "a"),
+            makeBatchableTestUnit("a2", "a")), this.reporter, false);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays.asList(
+        makeTestInfo("a.a1"), makeTestInfo("a.a2")));
+    assertEquals(2, actual.size());
+  }
+
+  @Test
+  public void shouldCreateTestsNotSuppliedWhenFirstNeeded() {
+    final List<String> created = new ArrayList<>();
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one")), name -> {
+          created.add(name);
+          return Optional.of(makeTestUnit(name));
+        }, this.reporter, false);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays.asList(
+        makeTestInfo("one"), makeTestInfo("two"), makeTestInfo("two")));
+    assertEquals(3, actual.size());
+    assertEquals(Arrays.asList("two"), created);
+  }
+
+  @Test
+  public void shouldCancelTimedOutTestAndSkipRemainingTestsWhenCancelling() {
+    final List<String> ran = new ArrayList<>();
+    when(this.timeoutStrategy.getAllowedTime(anyString(), anyLong()))
+        .thenReturn(50L);
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeLoopingTestUnit("loops"), makeTestUnit("one", ran)),
+        name -> Optional.<TestUnit> empty(), this.reporter, false, true);
+
+    for (final TestUnit each : this.testee.translateTests(Arrays.asList(
+        makeTestInfo("loops"), makeTestInfo("one")))) {
+      each.execute(this.rc);
+    }
+
+    verify(this.reporter, never()).done(ExitCode.TIMEOUT);
+    assertTrue(ran.isEmpty());
+    assertTrue(this.testee.drainCancelledTimeOut());
+    assertFalse(this.testee.drainCancelledTimeOut());
+  }
+
+  private static TestInfo makeTestInfo(final String name) {
+    return new TestInfo("foo", name, 42, Optional.<ClassName> empty(), 0);
+  }
+
+  private BatchableTestUnit makeBatchableTestUnit(final String name,
+      final String batch) {
+    return new BatchableTestUnit() {
+      private final Description description = new Description(name, batch);
+
+      @Override
+      public void execute(final ResultCollector rc) {
+      }
+
+      @Override
+      public Description getDescription() {
+        return this.description;
+      }
+
+      @Override
+      public boolean canBatchWith(final TestUnit other) {
+        return batch.equals(other.getDescription().getFirstTestClass());
+      }
+
+      @Override
+      public TestUnit batchWith(final List<TestUnit> others) {
+        return this;
+      }
+
+    };
+  }
+
   private TestUnit makeTestUnit(final String name) {
+    return makeTestUnit(name, new ArrayList<String>());
+  }
+
+  private TestUnit makeTestUnit(final String name, final List<String> ran) {
+    return new TestUnit() {
+      private final Description description = new Description(name);
+
+      @Override
+      public void execute(final ResultCollector rc) {
+        ran.add(name);
+      }
+
+      @Override
+      public Description getDescription() {
+        return this.description;
+      }
+
+    };
+  }
+
+  private TestUnit makeLoopingTestUnit(final String name) {
     return new TestUnit() {
       private final Description description = new Description(name);
 
       @Override
       public void execute(final ResultCollector rc) {
+        while (true) {
+          MutantCancellation.check();
+        }
       }
 
       @Override
@@ -0,0 +1,135 @@
+package org.pitest.testng;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.testapi.BatchableTestUnit;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+import org.pitest.util.IsolationUtils;
+
+import com.example.testng.HasDependentMethod;
+import com.example.testng.HasOnePassingAndOneFailingMethod;
+
+public class TestNGMethodTestUnitTest {
+
+  @Mock
+  private ResultCollector  rc;
+
+  private TestNGClassSuite suite;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.suite = suiteFor(HasOnePassingAndOneFailingMethod.class);
+  }
+
+  @Test
+  public void shouldRunOnlySelectedMethod() {
+    new TestNGMethodTestUnit(this.suite, "passes").execute(this.rc);
+    verify(this.rc).notifyEnd(
+        new Description("passes", HasOnePassingAndOneFailingMethod.class));
+    verify(this.rc, never()).notifyStart(
+        new Description("fails", HasOnePassingAndOneFailingMethod.class));
+  }
+
+  @Test
+  public void shouldReportFailureAgainstMethod() {
+    new TestNGMethodTestUnit(this.suite, "fails").execute(this.rc);
+    verify(this.rc).notifyEnd(
+        eq(new Description("fails", HasOnePassingAndOneFailingMethod.class)),
+        any(RuntimeException.class));
+  }
+
+  @Test
+  public void shouldGiveSameResultsEachTimeMethodIsRun() {
+    final TestNGMethodTestUnit testee = new TestNGMethodTestUnit(this.suite,
+        "passes");
+    testee.execute(this.rc);
+    testee.execute(this.rc);
+    verify(this.rc, times(2)).notifyEnd(
+        new Description("passes", HasOnePassingAndOneFailingMethod.class));
+  }
+
+  @Test
+  public void shouldRunMethodsSelectedMethodDependsOn() {
+    new TestNGMethodTestUnit(suiteFor(HasDependentMethod.class),
+        "dependsOnSetUp").execute(this.rc);
+    verify(this.rc).notifyEnd(
+        new Description("setsUp", HasDependentMethod.class));
+    verify(this.rc).notifyEnd(
+        new Description("dependsOnSetUp", HasDependentMethod.class));
+    verify(this.rc, never()).notifyStart(
+        new Description("unrelated", HasDependentMethod.class));
+  }
+
+  @Test
+  public void shouldRunAllMethodsOfBatchInOneUnit() {
+    final TestNGClassSuite shared = suiteFor(HasDependentMethod.class);
+    final TestUnit batch = new TestNGMethodTestUnit(shared, "setsUp")
+        .batchWith(Arrays.<TestUnit> asList(new TestNGMethodTestUnit(shared,
+            "unrelated")));
+    batch.execute(this.rc);
+    verify(this.rc).notifyEnd(
+        new Description("setsUp", HasDependentMethod.class));
+    verify(this.rc).notifyEnd(
+        new Description("unrelated", HasDependentMethod.class));
+  }
+
+  @Test
+  public void shouldBatchWithUnitsSharingItsSuite() {
+    assertTrue(new TestNGMethodTestUnit(this.suite, "passes")
+        .canBatchWith(new TestNGMethodTestUnit(this.suite, "fails")));
+  }
+
+  @Test
+  public void shouldNotBatchWithUnitsForOtherSuites() {
+    assertFalse(new TestNGMethodTestUnit(this.suite, "passes")
+        .canBatchWith(new TestNGMethodTestUnit(
+            suiteFor(HasDependentMethod.class), "setsUp")));
+  }
+
+  @Test
+  public void shouldCreateUnitsThatCanBeBatchedFromDescriptors() {
+    final TestNGMethodTestUnit passes = new TestNGMethodTestUnit(this.suite,
+        "passes");
+    final TestNGMethodTestUnit fails = new TestNGMethodTestUnit(this.suite,
+        "fails");
+    final TestUnit createdPasses = passes.descriptor().get()
+        .create(IsolationUtils.getContextClassLoader()).get();
+    final TestUnit createdFails = fails.descriptor().get()
+        .create(IsolationUtils.getContextClassLoader()).get();
+    assertEquals(passes.getDescription(), createdPasses.getDescription());
+    assertTrue(((BatchableTestUnit) createdPasses).canBatchWith(createdFails));
+  }
+
+  @Test
+  public void shouldNotDescribeBatches() {
+    final TestUnit batch = new TestNGMethodTestUnit(this.suite, "passes")
+        .batchWith(Arrays.<TestUnit> asList(new TestNGMethodTestUnit(
+            this.suite, "fails")));
+    assertFalse(((TestNGMethodTestUnit) batch).descriptor().isPresent());
+  }
+
+  private static TestNGClassSuite suiteFor(final Class<?> clazz) {
+    return new TestNGClassSuite(clazz, new TestGroupConfig(
+        Collections.<String> emptyList(), Collections.<String> emptyList()),
+        Collections.<String> emptyList());
+  }
+
+}
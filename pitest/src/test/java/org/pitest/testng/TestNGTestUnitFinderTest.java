@@ -14,13 +14,16 @@
  */
 package org.pitest.testng;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
 
 import com.example.testng.AbstractTestNGClass;
 import com.example.testng.AnnotatedAtClassLevel;
@@ -29,12 +32,13 @@ import com.example.testng.AnnotatedAtMethodLevel;
 public class TestNGTestUnitFinderTest {
 
   private TestNGTestUnitFinder testee;
+  private TestGroupConfig      config;
 
   @Before
   public void setUp() {
-    final TestGroupConfig config = new TestGroupConfig(
+    this.config = new TestGroupConfig(
         Collections.<String> emptyList(), Collections.<String> emptyList());
-    this.testee = new TestNGTestUnitFinder(config, Collections.<String> emptyList());
+    this.testee = new TestNGTestUnitFinder(this.config, Collections.<String> emptyList());
   }
 
   @Test
@@ -58,4 +62,34 @@ public class TestNGTestUnitFinderTest {
   public void shouldIgnoreAbstractClasses() {
     assertEquals(0, this.testee.findTestUnits(AbstractTestNGClass.class).size());
   }
+
+  @Test
+  public void shouldFindUnitForEachPublicMethodInAnnotatedClassWhenFindingMethodUnits() {
+    this.testee = new TestNGTestUnitFinder(this.config,
+        Collections.<String> emptyList(), true);
+    final List<TestUnit> actual = this.testee
+        .findTestUnits(AnnotatedAtClassLevel.class);
+    assertThat(actual).extracting("description.name").containsOnly("aTest",
+        "anotherTest");
+  }
+
+  @Test
+  public void shouldFindUnitForEachAnnotatedMethodWhenFindingMethodUnits() {
+    this.testee = new TestNGTestUnitFinder(this.config,
+        Collections.<String> emptyList(), true);
+    final List<TestUnit> actual = this.testee
+        .findTestUnits(AnnotatedAtMethodLevel.class);
+    assertThat(actual).extracting("description.name").containsOnly("aTest",
+        "anotherTest");
+  }
+
+  @Test
+  public void shouldOnlyFindUnitsForIncludedMethodsWhenFindingMethodUnits() {
+    this.testee = new TestNGTestUnitFinder(this.config,
+        Collections.singletonList("aTest"), true);
+    final List<TestUnit> actual = this.testee
+        .findTestUnits(AnnotatedAtMethodLevel.class);
+    assertThat(actual).extracting("description.name").containsOnly("aTest");
+  }
+
 }
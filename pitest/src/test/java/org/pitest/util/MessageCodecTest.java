@@ -0,0 +1,110 @@
+package org.pitest.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
+
+public class MessageCodecTest {
+
+  private ByteArrayOutputStream os;
+  private SafeDataOutputStream  dos;
+
+  @Before
+  public void setUp() {
+    this.os = new ByteArrayOutputStream();
+    this.dos = new SafeDataOutputStream(this.os);
+  }
+
+  @Test
+  public void shouldRoundTripDescriptions() {
+    final Description d = new Description("foo", "com.example.BarTest");
+    MessageCodec.writeDescription(this.dos, d);
+    assertEquals(d, MessageCodec.readDescription(input()));
+  }
+
+  @Test
+  public void shouldRoundTripDescriptionsWithoutTestClass() {
+    final Description d = new Description("foo");
+    MessageCodec.writeDescription(this.dos, d);
+    assertEquals(d, MessageCodec.readDescription(input()));
+  }
+
+  @Test
+  public void shouldRoundTripMutationIdentifiers() {
+    final MutationIdentifier mi = aMutationId(Arrays.asList(42, 43));
+    MessageCodec.writeMutationIdentifier(this.dos, mi);
+    final MutationIdentifier actual = MessageCodec.readMutationIdentifier(input());
+    assertEquals(mi, actual);
+    assertEquals(mi.getIndexes(), actual.getIndexes());
+  }
+
+  @Test
+  public void shouldRoundTripStatusTestPairs() {
+    final MutationStatusTestPair pair = new MutationStatusTestPair(3,
+        DetectionStatus.KILLED, Arrays.asList("a", "b"),
+        Collections.singletonList("a"));
+    MessageCodec.writeStatusTestPair(this.dos, pair);
+    final MutationStatusTestPair actual = MessageCodec.readStatusTestPair(input());
+    assertEquals(pair, actual);
+    assertEquals(pair.getSucceedingTests(), actual.getSucceedingTests());
+  }
+
+  @Test
+  public void shouldRoundTripStatusTestPairsWithoutTestLists() {
+    final MutationStatusTestPair pair = new MutationStatusTestPair(0,
+        DetectionStatus.NO_COVERAGE, null, null);
+    MessageCodec.writeStatusTestPair(this.dos, pair);
+    final MutationStatusTestPair actual = MessageCodec.readStatusTestPair(input());
+    assertEquals(null, actual.getKillingTests());
+    assertEquals(DetectionStatus.NO_COVERAGE, actual.getStatus());
+  }
+
+  @Test
+  public void shouldShareStringTableAcrossMessages() {
+    final MutationIdentifier mi = aMutationId(Collections.singletonList(1));
+    MessageCodec.writeMutationIdentifier(this.dos, mi);
+    this.dos.flush();
+    final int firstSize = this.os.size();
+    MessageCodec.writeMutationIdentifier(this.dos, mi);
+    this.dos.flush();
+    assertEquals(7, this.os.size() - firstSize);
+
+    final SafeDataInputStream is = input();
+    assertEquals(mi, MessageCodec.readMutationIdentifier(is));
+    assertEquals(mi, MessageCodec.readMutationIdentifier(is));
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectMessagesWithUnknownVersion() {
+    this.dos.writeByte((byte) (MessageCodec.VERSION + 1));
+    MessageCodec.readDescription(input());
+  }
+
+  private MutationIdentifier aMutationId(final List<Integer> indexes) {
+    final Location location = Location.location(
+        ClassName.fromString("com.example.Foo"), MethodName.fromString("bar"),
+        "()V");
+    return new MutationIdentifier(location, indexes, "foo");
+  }
+
+  private SafeDataInputStream input() {
+    this.dos.flush();
+    return new SafeDataInputStream(new ByteArrayInputStream(
+        this.os.toByteArray()));
+  }
+
+}
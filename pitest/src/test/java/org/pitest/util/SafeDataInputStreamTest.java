@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import org.junit.Test;
@@ -43,4 +44,92 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldRoundTripVarInts() {
+    final int[] values = { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE,
+        -1, Integer.MIN_VALUE };
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    for (final int each : values) {
+      dos.writeVarInt(each);
+    }
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    for (final int each : values) {
+      assertEquals(each, dis.readVarInt());
+    }
+  }
+
+  @Test
+  public void shouldWriteSmallVarIntsAsSingleByte() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeVarInt(127);
+    dos.flush();
+    assertEquals(1, o.size());
+  }
+
+  @Test
+  public void shouldRoundTripInternedStrings() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("foo");
+    dos.writeInternedString("bar");
+    dos.writeInternedString(null);
+    dos.writeInternedString("foo");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertEquals("foo", dis.readInternedString());
+    assertEquals("bar", dis.readInternedString());
+    assertEquals(null, dis.readInternedString());
+    assertEquals("foo", dis.readInternedString());
+  }
+
+  @Test
+  public void shouldSendRepeatedInternedStringsAsSingleByte() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("com.example.SomeLongClassName");
+    dos.flush();
+    final int firstWrite = o.size();
+    dos.writeInternedString("com.example.SomeLongClassName");
+    dos.flush();
+    assertEquals(firstWrite + 1, o.size());
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRefuseToReadMoreThanLimit() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeString("too long");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()), 4);
+    dis.readString();
+  }
+
+  @Test
+  public void shouldReadObjectsOfAllowedClasses() {
+    final ArrayList<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    final SafeDataInputStream dis = streamHolding(value);
+    assertEquals(value, dis.read(ArrayList.class,
+        c -> c.startsWith("java.")));
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRefuseToReadObjectsOfOtherClasses() {
+    final SafeDataInputStream dis = streamHolding(new ArrayList<>(
+        Arrays.asList(1)));
+    dis.read(ArrayList.class, c -> c.equals(ArrayList.class.getName()));
+  }
+
+  private static SafeDataInputStream streamHolding(final ArrayList<?> value) {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.write(value);
+    return new SafeDataInputStream(new ByteArrayInputStream(o.toByteArray()));
+  }
+
 }
@@ -99,6 +99,58 @@ public class CodeCoverageStoreTest {
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReportHitsToClassesHitAgainAfterReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 2);
+
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true, false });
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { false, true });
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 1));
+  }
+
+  @Test
+  public void shouldOnlyReturnProbesForClassesHitSinceReset() {
+    final int hit = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(hit, 1);
+    final int notHit = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(notHit, 1);
+
+    CodeCoverageStore.visitProbes(notHit, 0, new boolean[] { true });
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitProbes(hit, 0, new boolean[] { true });
+
+    assertThat(CodeCoverageStore.getClassHits().keySet()).containsExactly(hit);
+  }
+
+  @Test
+  public void shouldNotCreditLateWritesToPreviousArraysAfterReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 2);
+
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true, false });
+    final boolean[] heldByLeftoverThread = CodeCoverageStore.getClassHits()
+        .get(classId);
+    CodeCoverageStore.reset();
+    heldByLeftoverThread[2] = true;
+
+    assertEquals(Collections.emptyList(), CodeCoverageStore.getHits());
+  }
+
+  @Test
+  public void shouldStoreHitsForClassesRegisteredBeyondInitialCapacity() {
+    final int classId = 100000;
+    CodeCoverageStore.registerClassProbes(classId, 1);
+
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true });
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 0));
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {